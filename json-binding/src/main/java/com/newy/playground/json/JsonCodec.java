@@ -0,0 +1,14 @@
+package com.newy.playground.json;
+
+import java.io.IOException;
+
+/**
+ * {@link JsonRecord} 로 생성하는 Record 1개의 JSON 읽기/쓰기 구현.
+ */
+public interface JsonCodec<T> {
+    Class<T> type();
+
+    T read(JsonReader in) throws IOException;
+
+    void write(JsonWriter out, T value) throws IOException;
+}
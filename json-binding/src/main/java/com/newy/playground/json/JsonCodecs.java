@@ -0,0 +1,38 @@
+package com.newy.playground.json;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * 애노테이션 프로세서가 META-INF/services 에 등록한 {@link JsonCodec} 목록.
+ * 시작할 때 1번만 읽고, 이후에는 타입으로 바로 찾는다.
+ */
+public final class JsonCodecs {
+    private final Map<Class<?>, JsonCodec<?>> codecs;
+
+    private JsonCodecs(Map<Class<?>, JsonCodec<?>> codecs) {
+        this.codecs = codecs;
+    }
+
+    @SuppressWarnings("rawtypes")
+    public static JsonCodecs load(ClassLoader classLoader) {
+        var codecs = new HashMap<Class<?>, JsonCodec<?>>();
+        for (JsonCodec codec : ServiceLoader.load(JsonCodec.class, classLoader)) {
+            codecs.put(codec.type(), codec);
+        }
+        return new JsonCodecs(Map.copyOf(codecs));
+    }
+
+    /**
+     * @return 생성한 코덱이 없으면 null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> JsonCodec<T> find(Class<T> type) {
+        return (JsonCodec<T>) codecs.get(type);
+    }
+
+    public int size() {
+        return codecs.size();
+    }
+}
@@ -0,0 +1,13 @@
+package com.newy.playground.json;
+
+import java.io.IOException;
+
+/**
+ * JSON 문법 오류나, 컴포넌트 타입과 맞지 않는 값.
+ * Record 생성자에서 발생한 예외(입력 유효성 검증 실패 등)는 감싸지 않고 그대로 던진다.
+ */
+public class JsonParseException extends IOException {
+    public JsonParseException(String message) {
+        super(message);
+    }
+}
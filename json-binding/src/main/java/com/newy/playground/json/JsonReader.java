@@ -0,0 +1,525 @@
+package com.newy.playground.json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 입력 스트림의 UTF-8 바이트를 앞에서부터 한 번만 읽는 JSON 파서. 트리를 만들지 않고, 생성한 코드가 값을 바로 꺼내 간다.
+ * <pre>{@code
+ * in.beginObject();
+ * while (in.nextField()) {
+ *     switch (in.matchField(FIELDS)) {
+ *         case 0 -> code = in.readString();
+ *         default -> in.skipValue();
+ *     }
+ * }
+ * }</pre>
+ * 필드 이름은 문자열로 만들지 않고 바이트로 비교한다. 스레드 안전하지 않다.
+ */
+public final class JsonReader {
+    private static final int MAX_DEPTH = 64;
+    /**
+     * 10^22 까지는 double 로 정확하게 표현할 수 있다.
+     */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final InputStream in;
+    private final byte[] buffer;
+    private int position;
+    private int limit;
+    private long offset;
+
+    private final boolean[] hasElements = new boolean[MAX_DEPTH];
+    private int depth;
+
+    private byte[] name = new byte[32];
+    private int nameLength;
+    private char[] chars = new char[64];
+
+    public JsonReader(InputStream in) {
+        this(in, 8192);
+    }
+
+    public JsonReader(InputStream in, int bufferSize) {
+        this.in = in;
+        this.buffer = new byte[bufferSize];
+    }
+
+    public JsonReader(byte[] bytes) {
+        this.in = null;
+        this.buffer = bytes;
+        this.limit = bytes.length;
+    }
+
+    @FunctionalInterface
+    public interface ElementReader<E> {
+        E read(JsonReader in) throws IOException;
+    }
+
+    /**
+     * 생성한 코드의 필드 이름 상수를 만든다.
+     */
+    public static byte[][] fieldNames(String... names) {
+        var result = new byte[names.length][];
+        for (int i = 0; i < names.length; i++) {
+            result[i] = names[i].getBytes(StandardCharsets.UTF_8);
+        }
+        return result;
+    }
+
+    public void beginObject() throws IOException {
+        expect(nextToken(), '{', "'{'");
+        push();
+    }
+
+    /**
+     * 다음 필드 이름과 ':' 를 읽는다. 객체가 끝났으면 '}' 를 읽고 false 를 반환한다.
+     */
+    public boolean nextField() throws IOException {
+        var c = nextToken();
+        if (c == '}') {
+            depth--;
+            return false;
+        }
+        if (hasElements[depth]) {
+            expect(c, ',', "',' 또는 '}'");
+            c = nextToken();
+        }
+        hasElements[depth] = true;
+        expect(c, '"', "필드 이름");
+        readName();
+        expect(nextToken(), ':', "':'");
+        return true;
+    }
+
+    /**
+     * @return 마지막으로 읽은 필드 이름의 names 안의 위치. 없으면 -1
+     */
+    public int matchField(byte[][] names) {
+        for (int i = 0; i < names.length; i++) {
+            if (Arrays.equals(name, 0, nameLength, names[i], 0, names[i].length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public void beginArray() throws IOException {
+        expect(nextToken(), '[', "'['");
+        push();
+    }
+
+    /**
+     * 다음 원소가 있으면 ',' 까지 읽고 true 를 반환한다. 배열이 끝났으면 ']' 를 읽고 false 를 반환한다.
+     */
+    public boolean nextElement() throws IOException {
+        var c = peekToken();
+        if (c == ']') {
+            position++;
+            depth--;
+            return false;
+        }
+        if (hasElements[depth]) {
+            expect(c, ',', "',' 또는 ']'");
+            position++;
+        }
+        hasElements[depth] = true;
+        return true;
+    }
+
+    public <E> List<E> readList(ElementReader<E> elementReader) throws IOException {
+        beginArray();
+        var list = new ArrayList<E>();
+        while (nextElement()) {
+            list.add(elementReader.read(this));
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    /**
+     * 다음 값이 null 이면 읽고 true 를 반환한다.
+     */
+    public boolean readNull() throws IOException {
+        if (peekToken() != 'n') {
+            return false;
+        }
+        position++;
+        expectLiteral("ull");
+        return true;
+    }
+
+    public boolean readBoolean() throws IOException {
+        var c = nextToken();
+        if (c == 't') {
+            expectLiteral("rue");
+            return true;
+        }
+        if (c == 'f') {
+            expectLiteral("alse");
+            return false;
+        }
+        throw error("boolean 값이 필요합니다.");
+    }
+
+    public int readInt() throws IOException {
+        var value = readLong();
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw error("int 범위를 벗어났습니다. value=" + value);
+        }
+        return (int) value;
+    }
+
+    public long readLong() throws IOException {
+        var c = nextToken();
+        var negative = c == '-';
+        if (negative) {
+            c = read();
+        }
+        if (c < '0' || c > '9') {
+            throw error("숫자가 필요합니다.");
+        }
+
+        // Long.MIN_VALUE 까지 읽을 수 있도록 음수로 누적한다.
+        var value = 0L;
+        while (true) {
+            var digit = c - '0';
+            if (value < (Long.MIN_VALUE + digit) / 10) {
+                throw error("long 범위를 벗어났습니다.");
+            }
+            value = value * 10 - digit;
+            c = peekByte();
+            if (c < '0' || c > '9') {
+                break;
+            }
+            position++;
+        }
+        if (c == '.' || c == 'e' || c == 'E') {
+            throw error("정수가 필요합니다.");
+        }
+        if (!negative && value == Long.MIN_VALUE) {
+            throw error("long 범위를 벗어났습니다.");
+        }
+        return negative ? value : -value;
+    }
+
+    public double readDouble() throws IOException {
+        var length = readNumberChars();
+
+        // 유효 숫자 15개 이하, 지수 없음: 정수 / 10^n 으로 정확하게 계산한다.
+        var negative = chars[0] == '-';
+        var mantissa = 0L;
+        var digits = 0;
+        var fractionDigits = -1;
+        for (int i = negative ? 1 : 0; i < length; i++) {
+            var c = chars[i];
+            if (c >= '0' && c <= '9') {
+                mantissa = mantissa * 10 + (c - '0');
+                digits++;
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            } else if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                digits = Integer.MAX_VALUE;
+                break;
+            }
+        }
+        if (digits > 0 && digits <= 15 && fractionDigits != 0) {
+            var value = fractionDigits < 0 ? (double) mantissa : mantissa / POWERS_OF_TEN[fractionDigits];
+            return negative ? -value : value;
+        }
+
+        try {
+            return Double.parseDouble(new String(chars, 0, length));
+        } catch (NumberFormatException e) {
+            throw error("숫자 형식이 아닙니다.");
+        }
+    }
+
+    public BigDecimal readBigDecimal() throws IOException {
+        if (readNull()) {
+            return null;
+        }
+        var length = readNumberChars();
+        try {
+            return new BigDecimal(chars, 0, length);
+        } catch (NumberFormatException e) {
+            throw error("숫자 형식이 아닙니다.");
+        }
+    }
+
+    /**
+     * @return JSON null 이면 null
+     */
+    public String readString() throws IOException {
+        var c = nextToken();
+        if (c == 'n') {
+            expectLiteral("ull");
+            return null;
+        }
+        expect(c, '"', "문자열");
+
+        var length = 0;
+        while (true) {
+            var b = read();
+            if (b == '"') {
+                return new String(chars, 0, length);
+            }
+            if (length + 2 > chars.length) {
+                chars = Arrays.copyOf(chars, chars.length * 2);
+            }
+            if (b == '\\') {
+                chars[length++] = readEscape();
+            } else if (b < 0x80) {
+                if (b < 0x20) {
+                    throw error("문자열에 제어 문자를 그대로 쓸 수 없습니다.");
+                }
+                chars[length++] = (char) b;
+            } else if ((b & 0xE0) == 0xC0) {
+                chars[length++] = (char) (((b & 0x1F) << 6) | continuation());
+            } else if ((b & 0xF0) == 0xE0) {
+                chars[length++] = (char) (((b & 0x0F) << 12) | (continuation() << 6) | continuation());
+            } else if ((b & 0xF8) == 0xF0) {
+                var codePoint = ((b & 0x07) << 18) | (continuation() << 12) | (continuation() << 6) | continuation();
+                chars[length++] = Character.highSurrogate(codePoint);
+                chars[length++] = Character.lowSurrogate(codePoint);
+            } else {
+                throw error("UTF-8 형식이 아닙니다.");
+            }
+        }
+    }
+
+    /**
+     * 문자열을 같은 이름의 enum 상수로 읽는다.
+     *
+     * @return JSON null 이면 null
+     * @throws JsonParseException 없는 상수 이름
+     */
+    public <E extends Enum<E>> E readEnum(Class<E> type) throws IOException {
+        var name = readString();
+        if (name == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException e) {
+            throw error(type.getSimpleName() + " 에 없는 값입니다. value=" + name);
+        }
+    }
+
+    /**
+     * 모르는 필드의 값을 읽고 버린다.
+     */
+    public void skipValue() throws IOException {
+        switch (peekToken()) {
+            case '{' -> {
+                beginObject();
+                while (nextField()) {
+                    skipValue();
+                }
+            }
+            case '[' -> {
+                beginArray();
+                while (nextElement()) {
+                    skipValue();
+                }
+            }
+            case '"' -> {
+                position++;
+                for (int b = read(); b != '"'; b = read()) {
+                    if (b == '\\') {
+                        readEscape();
+                    }
+                }
+            }
+            case 't', 'f' -> readBoolean();
+            case 'n' -> readNull();
+            default -> readNumberChars();
+        }
+    }
+
+    /**
+     * 최상위 값 뒤에 공백 외의 값이 없는지 확인한다.
+     */
+    public void endDocument() throws IOException {
+        if (peekToken() != -1) {
+            throw error("JSON 값 뒤에 다른 값이 있습니다.");
+        }
+    }
+
+    private void push() throws JsonParseException {
+        if (depth == MAX_DEPTH - 1) {
+            throw error("중첩 깊이가 " + MAX_DEPTH + " 를 넘었습니다.");
+        }
+        hasElements[++depth] = false;
+    }
+
+    private void readName() throws IOException {
+        nameLength = 0;
+        while (true) {
+            var b = read();
+            if (b == '"') {
+                return;
+            }
+            if (nameLength + 3 > name.length) {
+                name = Arrays.copyOf(name, name.length * 2);
+            }
+            if (b == '\\') {
+                // 이스케이프한 필드 이름은 UTF-8 바이트로 바꿔서 비교한다.
+                var c = readEscape();
+                if (c < 0x80) {
+                    name[nameLength++] = (byte) c;
+                } else if (c < 0x800) {
+                    name[nameLength++] = (byte) (0xC0 | (c >> 6));
+                    name[nameLength++] = (byte) (0x80 | (c & 0x3F));
+                } else {
+                    name[nameLength++] = (byte) (0xE0 | (c >> 12));
+                    name[nameLength++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    name[nameLength++] = (byte) (0x80 | (c & 0x3F));
+                }
+            } else {
+                name[nameLength++] = (byte) b;
+            }
+        }
+    }
+
+    private char readEscape() throws IOException {
+        return switch (read()) {
+            case '"' -> '"';
+            case '\\' -> '\\';
+            case '/' -> '/';
+            case 'b' -> '\b';
+            case 'f' -> '\f';
+            case 'n' -> '\n';
+            case 'r' -> '\r';
+            case 't' -> '\t';
+            case 'u' -> (char) ((hex() << 12) | (hex() << 8) | (hex() << 4) | hex());
+            default -> throw error("잘못된 이스케이프 문자입니다.");
+        };
+    }
+
+    private int hex() throws IOException {
+        var value = Character.digit(read(), 16);
+        if (value < 0) {
+            throw error("\\u 뒤에는 16진수 4자리가 필요합니다.");
+        }
+        return value;
+    }
+
+    private int continuation() throws IOException {
+        var b = read();
+        if ((b & 0xC0) != 0x80) {
+            throw error("UTF-8 형식이 아닙니다.");
+        }
+        return b & 0x3F;
+    }
+
+    /**
+     * 숫자 값을 chars 에 읽는다.
+     *
+     * @return 읽은 문자 수
+     */
+    private int readNumberChars() throws IOException {
+        var c = nextToken();
+        if (c != '-' && (c < '0' || c > '9')) {
+            throw error("숫자가 필요합니다.");
+        }
+        var length = 0;
+        while (true) {
+            if (length == chars.length) {
+                chars = Arrays.copyOf(chars, chars.length * 2);
+            }
+            chars[length++] = (char) c;
+            c = peekByte();
+            if (!((c >= '0' && c <= '9') || c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-')) {
+                return length;
+            }
+            position++;
+        }
+    }
+
+    private void expectLiteral(String rest) throws IOException {
+        for (int i = 0; i < rest.length(); i++) {
+            if (read() != rest.charAt(i)) {
+                throw error("잘못된 값입니다.");
+            }
+        }
+    }
+
+    private void expect(int actual, char expected, String description) throws JsonParseException {
+        if (actual != expected) {
+            throw error(description + " 가 필요합니다.");
+        }
+    }
+
+    /**
+     * 공백을 건너뛰고 다음 바이트를 읽는다.
+     */
+    private int nextToken() throws IOException {
+        var c = peekToken();
+        if (c < 0) {
+            throw error("JSON 이 중간에 끝났습니다.");
+        }
+        position++;
+        return c;
+    }
+
+    /**
+     * 공백을 건너뛰고 다음 바이트를 반환한다. 읽은 위치는 바꾸지 않는다.
+     */
+    private int peekToken() throws IOException {
+        while (true) {
+            var c = peekByte();
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                return c;
+            }
+            position++;
+        }
+    }
+
+    private int peekByte() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position] & 0xFF;
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            throw error("JSON 이 중간에 끝났습니다.");
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    private boolean fill() throws IOException {
+        if (in == null) {
+            return false;
+        }
+        offset += limit;
+        position = 0;
+        limit = 0;
+        int read;
+        do {
+            read = in.read(buffer, 0, buffer.length);
+        } while (read == 0);
+        if (read < 0) {
+            return false;
+        }
+        limit = read;
+        return true;
+    }
+
+    private JsonParseException error(String message) {
+        return new JsonParseException(message + " offset=" + (offset + position));
+    }
+}
@@ -0,0 +1,20 @@
+package com.newy.playground.json;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 컴파일 시 Record 의 {@link JsonCodec} 구현을 생성한다. (이름: 감싸는 클래스 이름 + '_' + Record 이름 + "JsonCodec")
+ * <p>
+ * JSON 을 읽을 때 리플렉션 없이 정규(canonical) 생성자를 직접 호출한다.
+ * 그래서 생성자에서 {@code validate()} 를 호출하는 입력 모델도 그대로 검증된다.
+ * <p>
+ * 지원하는 컴포넌트 타입: boolean, int, long, double 과 래퍼 타입, String, BigDecimal, enum,
+ * {@code @JsonRecord} Record, 그리고 이 타입들의 List.
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface JsonRecord {
+}
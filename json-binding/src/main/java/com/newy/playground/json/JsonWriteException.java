@@ -0,0 +1,12 @@
+package com.newy.playground.json;
+
+import java.io.IOException;
+
+/**
+ * JSON 으로 표현할 수 없는 값. (예: NaN, Infinity)
+ */
+public class JsonWriteException extends IOException {
+    public JsonWriteException(String message) {
+        super(message);
+    }
+}
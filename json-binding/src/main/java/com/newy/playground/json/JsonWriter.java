@@ -0,0 +1,239 @@
+package com.newy.playground.json;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * UTF-8 바이트를 내부 버퍼에 모아서 출력 스트림에 쓴다. 필드 이름은 생성한 코드의 상수({@link #fieldName})를 그대로 복사한다.
+ * 마지막에 {@link #flush()} 를 호출해야 한다. 스레드 안전하지 않다.
+ */
+public final class JsonWriter implements Flushable {
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private int position;
+
+    public JsonWriter(OutputStream out) {
+        this(out, 8192);
+    }
+
+    public JsonWriter(OutputStream out, int bufferSize) {
+        this.out = out;
+        this.buffer = new byte[Math.max(64, bufferSize)];
+    }
+
+    /**
+     * 생성한 코드의 필드 이름 상수를 만든다. 예: {@code ,"code":}
+     *
+     * @param first 객체의 첫 번째 필드이면 앞에 ',' 를 붙이지 않는다.
+     */
+    public static byte[] fieldName(String name, boolean first) {
+        var bytes = new ByteArrayOutputStream();
+        var writer = new JsonWriter(bytes);
+        try {
+            if (!first) {
+                writer.comma();
+            }
+            writer.writeString(name);
+            writer.writeByte(':');
+            writer.flush();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public void beginObject() throws IOException {
+        writeByte('{');
+    }
+
+    public void endObject() throws IOException {
+        writeByte('}');
+    }
+
+    public void beginArray() throws IOException {
+        writeByte('[');
+    }
+
+    public void endArray() throws IOException {
+        writeByte(']');
+    }
+
+    public void comma() throws IOException {
+        writeByte(',');
+    }
+
+    public void writeRaw(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.length - position) {
+            flushBuffer();
+            if (bytes.length > buffer.length) {
+                out.write(bytes);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    public void writeNull() throws IOException {
+        writeRaw(NULL);
+    }
+
+    public void writeBoolean(boolean value) throws IOException {
+        writeRaw(value ? TRUE : FALSE);
+    }
+
+    public void writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            writeAscii(Long.toString(value));
+            return;
+        }
+        ensure(20);
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        var end = position + digitCount(value);
+        for (int i = end - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position = end;
+    }
+
+    /**
+     * {@link Double#toString} 과 같은 형식으로 쓴다. (10^7 미만의 정수는 문자열을 만들지 않는다)
+     *
+     * @throws JsonWriteException NaN, Infinity 는 JSON 으로 표현할 수 없다. (null 로 쓰면 값이 바뀐 것을 알 수 없다)
+     */
+    public void writeDouble(double value) throws IOException {
+        if (!Double.isFinite(value)) {
+            throw new JsonWriteException("NaN, Infinity 는 JSON 으로 쓸 수 없습니다. value=" + value);
+        }
+        if (value == (long) value && Math.abs(value) < 1e7 && !(value == 0 && 1 / value < 0)) {
+            writeLong((long) value);
+            ensure(2);
+            buffer[position++] = '.';
+            buffer[position++] = '0';
+            return;
+        }
+        writeAscii(Double.toString(value));
+    }
+
+    public void writeBigDecimal(BigDecimal value) throws IOException {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+        writeAscii(value.toString());
+    }
+
+    public void writeString(String value) throws IOException {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+        ensure(1);
+        buffer[position++] = '"';
+        for (int i = 0, length = value.length(); i < length; i++) {
+            ensure(6);
+            var c = value.charAt(i);
+            if (c < 0x80) {
+                if (c >= 0x20 && c != '"' && c != '\\') {
+                    buffer[position++] = (byte) c;
+                } else {
+                    writeEscape(c);
+                }
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xC0 | (c >> 6));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                var codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // 짝이 없는 surrogate 는 UTF-8 로 인코딩할 수 없어서 이스케이프한다.
+                writeEscape(c);
+            } else {
+                buffer[position++] = (byte) (0xE0 | (c >> 12));
+                buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        ensure(1);
+        buffer[position++] = '"';
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    private void writeEscape(char c) {
+        buffer[position++] = '\\';
+        switch (c) {
+            case '"', '\\' -> buffer[position++] = (byte) c;
+            case '\n' -> buffer[position++] = 'n';
+            case '\r' -> buffer[position++] = 'r';
+            case '\t' -> buffer[position++] = 't';
+            case '\b' -> buffer[position++] = 'b';
+            case '\f' -> buffer[position++] = 'f';
+            default -> {
+                buffer[position++] = 'u';
+                buffer[position++] = HEX[(c >> 12) & 0xF];
+                buffer[position++] = HEX[(c >> 8) & 0xF];
+                buffer[position++] = HEX[(c >> 4) & 0xF];
+                buffer[position++] = HEX[c & 0xF];
+            }
+        }
+    }
+
+    private void writeAscii(String value) throws IOException {
+        if (value.length() > buffer.length) {
+            writeRaw(value.getBytes(StandardCharsets.US_ASCII));
+            return;
+        }
+        ensure(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            buffer[position++] = (byte) value.charAt(i);
+        }
+    }
+
+    private void writeByte(char c) throws IOException {
+        ensure(1);
+        buffer[position++] = (byte) c;
+    }
+
+    private void ensure(int length) throws IOException {
+        if (length > buffer.length - position) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    private static int digitCount(long value) {
+        var count = 1;
+        while (value >= 10) {
+            value /= 10;
+            count++;
+        }
+        return count;
+    }
+}
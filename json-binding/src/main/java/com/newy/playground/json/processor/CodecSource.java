@@ -0,0 +1,302 @@
+package com.newy.playground.json.processor;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Record 1개의 코덱 소스. 컴포넌트 타입마다 읽기 식과 쓰기 문장을 만든다.
+ */
+final class CodecSource {
+    private static final String INDENT = "    ";
+
+    private final ProcessingEnvironment env;
+    private final TypeElement record;
+    private final List<? extends RecordComponentElement> components;
+
+    CodecSource(ProcessingEnvironment env, TypeElement record) {
+        this.env = env;
+        this.record = record;
+        this.components = record.getRecordComponents();
+    }
+
+    /**
+     * @return 코덱의 전체 이름. 예: com.example.Outer_InnerJsonCodec
+     */
+    static String codecName(Elements elements, TypeElement record) {
+        var names = new ArrayList<String>();
+        for (Element e = record; e instanceof TypeElement type; e = e.getEnclosingElement()) {
+            names.addFirst(type.getSimpleName().toString());
+        }
+        var packageName = elements.getPackageOf(record).getQualifiedName().toString();
+        var simpleName = String.join("_", names) + "JsonCodec";
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+
+    String render() {
+        var elements = env.getElementUtils();
+        var codecName = codecName(elements, record);
+        var packageName = elements.getPackageOf(record).getQualifiedName().toString();
+        var simpleName = codecName.substring(codecName.lastIndexOf('.') + 1);
+        var type = record.getQualifiedName().toString();
+
+        var s = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            s.append("package ").append(packageName).append(";\n\n");
+        }
+        s.append("import com.newy.playground.json.JsonCodec;\n");
+        s.append("import com.newy.playground.json.JsonReader;\n");
+        s.append("import com.newy.playground.json.JsonWriter;\n\n");
+        s.append("import java.io.IOException;\n\n");
+        s.append("@javax.annotation.processing.Generated(\"").append(JsonRecordProcessor.class.getName()).append("\")\n");
+        s.append("public final class ").append(simpleName).append(" implements JsonCodec<").append(type).append("> {\n");
+        s.append(INDENT).append("public static final ").append(simpleName).append(" INSTANCE = new ").append(simpleName).append("();\n\n");
+        s.append(INDENT).append("private static final byte[][] FIELDS = JsonReader.fieldNames(")
+                .append(components.stream().map(c -> literal(c.getSimpleName().toString())).collect(Collectors.joining(", ")))
+                .append(");\n");
+        for (int i = 0; i < components.size(); i++) {
+            s.append(INDENT).append("private static final byte[] NAME_").append(i).append(" = JsonWriter.fieldName(")
+                    .append(literal(components.get(i).getSimpleName().toString())).append(", ").append(i == 0).append(");\n");
+        }
+
+        s.append("\n").append(INDENT).append("@Override\n");
+        s.append(INDENT).append("public Class<").append(type).append("> type() {\n");
+        s.append(INDENT).append(INDENT).append("return ").append(type).append(".class;\n");
+        s.append(INDENT).append("}\n");
+
+        renderRead(s, type);
+        renderWrite(s, type);
+        s.append("}\n");
+        return s.toString();
+    }
+
+    private void renderRead(StringBuilder s, String type) {
+        var body = INDENT + INDENT;
+        s.append("\n").append(INDENT).append("@Override\n");
+        s.append(INDENT).append("public ").append(type).append(" read(JsonReader in) throws IOException {\n");
+        for (int i = 0; i < components.size(); i++) {
+            var componentType = components.get(i).asType();
+            s.append(body).append(typeName(componentType)).append(" f").append(i).append(" = ").append(defaultValue(componentType)).append(";\n");
+        }
+        s.append(body).append("in.beginObject();\n");
+        s.append(body).append("while (in.nextField()) {\n");
+        s.append(body).append(INDENT).append("switch (in.matchField(FIELDS)) {\n");
+        for (int i = 0; i < components.size(); i++) {
+            var component = components.get(i);
+            s.append(body).append(INDENT).append(INDENT).append("case ").append(i).append(" -> f").append(i).append(" = ")
+                    .append(readExpression(component, component.asType(), "in", 1)).append(";\n");
+        }
+        s.append(body).append(INDENT).append(INDENT).append("default -> in.skipValue();\n");
+        s.append(body).append(INDENT).append("}\n");
+        s.append(body).append("}\n");
+        // 정규 생성자를 직접 호출하기 때문에, 생성자의 입력 유효성 검증도 그대로 실행된다.
+        s.append(body).append("return new ").append(type).append("(");
+        for (int i = 0; i < components.size(); i++) {
+            s.append(i == 0 ? "" : ", ").append("f").append(i);
+        }
+        s.append(");\n");
+        s.append(INDENT).append("}\n");
+    }
+
+    private void renderWrite(StringBuilder s, String type) {
+        var body = INDENT + INDENT;
+        s.append("\n").append(INDENT).append("@Override\n");
+        s.append(INDENT).append("public void write(JsonWriter out, ").append(type).append(" value) throws IOException {\n");
+        s.append(body).append("out.beginObject();\n");
+        for (int i = 0; i < components.size(); i++) {
+            var component = components.get(i);
+            s.append(body).append("out.writeRaw(NAME_").append(i).append(");\n");
+            s.append(body).append("var f").append(i).append(" = value.").append(component.getAccessor().getSimpleName()).append("();\n");
+            writeStatement(s, component, component.asType(), "f" + i, 1, body);
+        }
+        s.append(body).append("out.endObject();\n");
+        s.append(INDENT).append("}\n");
+    }
+
+    private String readExpression(Element component, TypeMirror type, String in, int depth) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return in + ".readBoolean()";
+            case INT:
+                return in + ".readInt()";
+            case LONG:
+                return in + ".readLong()";
+            case DOUBLE:
+                return in + ".readDouble()";
+            case DECLARED:
+                break;
+            default:
+                throw unsupported(component, type);
+        }
+
+        var declared = (DeclaredType) type;
+        var element = (TypeElement) declared.asElement();
+        var nullable = "(" + in + ".readNull() ? null : ";
+        switch (element.getQualifiedName().toString()) {
+            case "java.lang.String":
+                return in + ".readString()";
+            case "java.math.BigDecimal":
+                return in + ".readBigDecimal()";
+            case "java.lang.Boolean":
+                return nullable + "Boolean.valueOf(" + in + ".readBoolean()))";
+            case "java.lang.Integer":
+                return nullable + "Integer.valueOf(" + in + ".readInt()))";
+            case "java.lang.Long":
+                return nullable + "Long.valueOf(" + in + ".readLong()))";
+            case "java.lang.Double":
+                return nullable + "Double.valueOf(" + in + ".readDouble()))";
+            case "java.util.List": {
+                var elementType = listElementType(component, declared);
+                var next = "in" + depth;
+                return nullable + in + ".<" + typeName(elementType) + ">readList(" + next + " -> "
+                        + readExpression(component, elementType, next, depth + 1) + "))";
+            }
+            default:
+                if (element.getKind() == ElementKind.ENUM) {
+                    return in + ".readEnum(" + element.getQualifiedName() + ".class)";
+                }
+                if (isJsonRecord(element)) {
+                    return nullable + codecName(env.getElementUtils(), element) + ".INSTANCE.read(" + in + "))";
+                }
+                throw unsupported(component, type);
+        }
+    }
+
+    private void writeStatement(StringBuilder s, Element component, TypeMirror type, String value, int depth, String indent) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+                s.append(indent).append("out.writeBoolean(").append(value).append(");\n");
+                return;
+            case INT:
+            case LONG:
+                s.append(indent).append("out.writeLong(").append(value).append(");\n");
+                return;
+            case DOUBLE:
+                s.append(indent).append("out.writeDouble(").append(value).append(");\n");
+                return;
+            case DECLARED:
+                break;
+            default:
+                throw unsupported(component, type);
+        }
+
+        var declared = (DeclaredType) type;
+        var element = (TypeElement) declared.asElement();
+        String write;
+        switch (element.getQualifiedName().toString()) {
+            case "java.lang.String":
+                s.append(indent).append("out.writeString(").append(value).append(");\n");
+                return;
+            case "java.math.BigDecimal":
+                s.append(indent).append("out.writeBigDecimal(").append(value).append(");\n");
+                return;
+            case "java.lang.Boolean":
+                write = "out.writeBoolean(" + value + ");";
+                break;
+            case "java.lang.Integer":
+            case "java.lang.Long":
+                write = "out.writeLong(" + value + ");";
+                break;
+            case "java.lang.Double":
+                write = "out.writeDouble(" + value + ");";
+                break;
+            case "java.util.List": {
+                var elementType = listElementType(component, declared);
+                var first = "first" + depth;
+                var item = "e" + depth;
+                var inner = indent + INDENT + INDENT;
+                s.append(indent).append("if (").append(value).append(" == null) {\n");
+                s.append(indent).append(INDENT).append("out.writeNull();\n");
+                s.append(indent).append("} else {\n");
+                s.append(indent).append(INDENT).append("out.beginArray();\n");
+                s.append(indent).append(INDENT).append("var ").append(first).append(" = true;\n");
+                s.append(indent).append(INDENT).append("for (var ").append(item).append(" : ").append(value).append(") {\n");
+                s.append(inner).append("if (!").append(first).append(") {\n");
+                s.append(inner).append(INDENT).append("out.comma();\n");
+                s.append(inner).append("}\n");
+                s.append(inner).append(first).append(" = false;\n");
+                writeStatement(s, component, elementType, item, depth + 1, inner);
+                s.append(indent).append(INDENT).append("}\n");
+                s.append(indent).append(INDENT).append("out.endArray();\n");
+                s.append(indent).append("}\n");
+                return;
+            }
+            default:
+                if (element.getKind() == ElementKind.ENUM) {
+                    write = "out.writeString(" + value + ".name());";
+                } else if (isJsonRecord(element)) {
+                    write = codecName(env.getElementUtils(), element) + ".INSTANCE.write(out, " + value + ");";
+                } else {
+                    throw unsupported(component, type);
+                }
+        }
+        s.append(indent).append("if (").append(value).append(" == null) {\n");
+        s.append(indent).append(INDENT).append("out.writeNull();\n");
+        s.append(indent).append("} else {\n");
+        s.append(indent).append(INDENT).append(write).append("\n");
+        s.append(indent).append("}\n");
+    }
+
+    private TypeMirror listElementType(Element component, DeclaredType list) {
+        var arguments = list.getTypeArguments();
+        if (arguments.size() != 1 || arguments.getFirst().getKind() != TypeKind.DECLARED) {
+            throw unsupported(component, list);
+        }
+        return arguments.getFirst();
+    }
+
+    private boolean isJsonRecord(TypeElement element) {
+        return element.getKind() == ElementKind.RECORD && element.getAnnotationMirrors().stream()
+                .anyMatch(mirror -> ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(JsonRecordProcessor.JSON_RECORD));
+    }
+
+    /**
+     * 타입 애노테이션(@NotEmpty 등)을 뺀 소스 코드용 타입 이름
+     */
+    private static String typeName(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return type.getKind().name().toLowerCase();
+        }
+        var declared = (DeclaredType) type;
+        var name = ((TypeElement) declared.asElement()).getQualifiedName().toString();
+        if (declared.getTypeArguments().isEmpty()) {
+            return name;
+        }
+        return name + declared.getTypeArguments().stream().map(CodecSource::typeName).collect(Collectors.joining(", ", "<", ">"));
+    }
+
+    private static String defaultValue(TypeMirror type) {
+        return switch (type.getKind()) {
+            case BOOLEAN -> "false";
+            case INT, LONG -> "0";
+            case DOUBLE -> "0.0";
+            default -> "null";
+        };
+    }
+
+    private static String literal(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    private static UnsupportedTypeException unsupported(Element component, TypeMirror type) {
+        return new UnsupportedTypeException(component, "@JsonRecord 가 지원하지 않는 타입입니다. type=" + type);
+    }
+
+    static final class UnsupportedTypeException extends RuntimeException {
+        final transient Element element;
+
+        UnsupportedTypeException(Element element, String message) {
+            super(message);
+            this.element = element;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.newy.playground.json.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * {@code @JsonRecord} Record 마다 {@code JsonCodec} 구현 소스를 생성하고,
+ * 생성한 코덱을 META-INF/services/com.newy.playground.json.JsonCodec 에 등록한다.
+ */
+@SupportedAnnotationTypes(JsonRecordProcessor.JSON_RECORD)
+public class JsonRecordProcessor extends AbstractProcessor {
+    static final String JSON_RECORD = "com.newy.playground.json.JsonRecord";
+    private static final String SERVICE_FILE = "META-INF/services/com.newy.playground.json.JsonCodec";
+
+    private final Set<String> codecs = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        var annotation = processingEnv.getElementUtils().getTypeElement(JSON_RECORD);
+        if (annotation != null) {
+            for (var element : round.getElementsAnnotatedWith(annotation)) {
+                generate(element);
+            }
+        }
+        if (round.processingOver() && !codecs.isEmpty()) {
+            writeServiceFile();
+        }
+        return true;
+    }
+
+    private void generate(Element element) {
+        if (element.getKind() != ElementKind.RECORD) {
+            error(element, "@JsonRecord 는 Record 에만 사용할 수 있습니다.");
+            return;
+        }
+        var record = (TypeElement) element;
+        if (!isAccessible(record)) {
+            error(record, "@JsonRecord 는 private, 지역(local) Record 에 사용할 수 없습니다.");
+            return;
+        }
+        if (!record.getTypeParameters().isEmpty()) {
+            error(record, "@JsonRecord 는 타입 파라미터가 있는 Record 에 사용할 수 없습니다.");
+            return;
+        }
+
+        try {
+            var source = new CodecSource(processingEnv, record).render();
+            var codecName = CodecSource.codecName(processingEnv.getElementUtils(), record);
+            try (var writer = processingEnv.getFiler().createSourceFile(codecName, record).openWriter()) {
+                writer.write(source);
+            }
+            codecs.add(codecName);
+        } catch (CodecSource.UnsupportedTypeException e) {
+            error(e.element, e.getMessage());
+        } catch (IOException e) {
+            error(record, "코덱 소스를 만들 수 없습니다. " + e.getMessage());
+        }
+    }
+
+    private void writeServiceFile() {
+        try (var writer = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE).openWriter()) {
+            for (var codec : codecs) {
+                writer.write(codec);
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "서비스 파일을 만들 수 없습니다. " + e.getMessage());
+        }
+    }
+
+    private static boolean isAccessible(TypeElement record) {
+        var enclosing = new ArrayList<Element>();
+        for (Element e = record; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            enclosing.add(e);
+        }
+        for (var e : enclosing) {
+            var type = (TypeElement) e;
+            if (type.getModifiers().contains(Modifier.PRIVATE)
+                    || type.getNestingKind() == NestingKind.LOCAL
+                    || type.getNestingKind() == NestingKind.ANONYMOUS) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -0,0 +1,162 @@
+package com.newy.playground.common.collection;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 원시 타입 컬렉션과 박싱된 JDK 컬렉션의 조회, 순회, 생성 시간을 비교한다.
+ * build* 의 gc.alloc.rate.norm 은 컬렉션 1개를 만드는 데 할당한 바이트로, 메모리 사용량 비교에 사용한다.
+ * <pre>
+ * ./gradlew jmh -Pjmh.includes=PrimitiveCollectionsBenchmark -Pjmh.profilers=gc
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PrimitiveCollectionsBenchmark {
+    @Param({"1000", "100000"})
+    int size;
+
+    private long[] ids;
+    private long[] lookups;
+
+    private LongObjectMap<Object> longObjectMap;
+    private Map<Long, Object> hashMap;
+    private LongHashSet longHashSet;
+    private Set<Long> hashSet;
+    private DoubleArrayList doubleList;
+    private List<Double> boxedList;
+
+    @Setup
+    public void setUp() {
+        var random = new Random(1);
+        ids = random.longs(size, 1, Long.MAX_VALUE).toArray();
+        // 절반은 있는 키, 절반은 없는 키
+        lookups = new long[size];
+        for (int i = 0; i < size; i++) {
+            lookups[i] = (i & 1) == 0 ? ids[random.nextInt(size)] : random.nextLong(1, Long.MAX_VALUE);
+        }
+
+        longObjectMap = new LongObjectMap<>(size);
+        hashMap = new HashMap<>();
+        longHashSet = new LongHashSet(size);
+        hashSet = new HashSet<>();
+        doubleList = new DoubleArrayList(size);
+        boxedList = new ArrayList<>(size);
+        for (var id : ids) {
+            longObjectMap.put(id, Boolean.TRUE);
+            hashMap.put(id, Boolean.TRUE);
+            longHashSet.add(id);
+            hashSet.add(id);
+            doubleList.add(id * 0.5);
+            boxedList.add(id * 0.5);
+        }
+    }
+
+    @Benchmark
+    public int getLongObjectMap() {
+        var hits = 0;
+        for (var key : lookups) {
+            if (longObjectMap.get(key) != null) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int getHashMap() {
+        var hits = 0;
+        for (var key : lookups) {
+            if (hashMap.get(key) != null) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int containsLongHashSet() {
+        var hits = 0;
+        for (var key : lookups) {
+            if (longHashSet.contains(key)) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int containsHashSet() {
+        var hits = 0;
+        for (var key : lookups) {
+            if (hashSet.contains(key)) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public double sumDoubleArrayList() {
+        var sum = new double[1];
+        doubleList.forEach(value -> sum[0] += value);
+        return sum[0];
+    }
+
+    @Benchmark
+    public double sumArrayList() {
+        var sum = 0.0;
+        for (var value : boxedList) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public LongLongMap buildLongLongMap() {
+        var map = new LongLongMap(size);
+        for (var id : ids) {
+            map.put(id, id);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public Map<Long, Long> buildHashMap() {
+        var map = new HashMap<Long, Long>(size * 2);
+        for (var id : ids) {
+            map.put(id, id);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public LongHashSet buildLongHashSet() {
+        var set = new LongHashSet(size);
+        for (var id : ids) {
+            set.add(id);
+        }
+        return set;
+    }
+
+    @Benchmark
+    public Set<Long> buildHashSet() {
+        var set = new HashSet<Long>(size * 2);
+        for (var id : ids) {
+            set.add(id);
+        }
+        return set;
+    }
+}
@@ -0,0 +1,189 @@
+package com.newy.playground.common.function;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Predicate;
+
+/**
+ * 같은 로직을 직접 작성한 코드, 표준 합성(andThen/and/or), 파이프라인(compile) 으로 실행한 시간을 비교한다.
+ * 파이프라인은 직접 작성한 코드와 같은 시간이 걸려야 한다. 표준 합성은 단계가 깊어질수록 인라인되지 않아서 느려진다.
+ * 속도 차이는 이 벤치마크의 결과로 판단한다. 반복문으로 직접 잰 값은 워밍업과 데드 코드 제거의 영향을 받아서 사용하지 않는다.
+ * <pre>
+ * ./gradlew jmh -Pjmh.includes=PipelineBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PipelineBenchmark {
+    private static final int VALUES = 1024;
+
+    private final long[] values = new long[VALUES];
+    private final String[] codes = new String[VALUES];
+
+    private LongUnaryOperator composedOperator;
+    private LongUnaryOperator fusedOperator;
+    private LongPredicate composedPredicate;
+    private LongPredicate fusedPredicate;
+    private Predicate<String> composedCodePredicate;
+    private Predicate<String> fusedCodePredicate;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < VALUES; i++) {
+            values[i] = i * 0x9E3779B97F4A7C15L;
+            codes[i] = (i % 3 == 0 ? "KRW-" : "BTC-") + i;
+        }
+
+        // 람다마다 클래스가 다르다. 표준 합성에서는 모든 단계가 andThen 람다 안의 같은 호출 지점을 지나간다.
+        LongUnaryOperator[] stages = {
+                v -> v * 31 + 1, v -> v ^ (v >>> 7), v -> v + 0x9E37, v -> v * 13,
+                v -> v ^ (v << 3), v -> v - 17, v -> v * 7 + 3, v -> v ^ (v >>> 11),
+                v -> v + 101, v -> v * 5, v -> v ^ (v >>> 5), v -> v - 3,
+                v -> v * 9 + 1, v -> v ^ (v << 7), v -> v + 55, v -> v * 3
+        };
+        var composed = stages[0];
+        var pipeline = Pipeline.longOperator(stages[0]);
+        for (int i = 1; i < stages.length; i++) {
+            composed = composed.andThen(stages[i]);
+            pipeline = pipeline.andThen(stages[i]);
+        }
+        composedOperator = composed;
+        fusedOperator = pipeline.compile();
+
+        LongPredicate positive = v -> v > 0;
+        LongPredicate even = v -> (v & 1) == 0;
+        LongPredicate small = v -> v < 1L << 62;
+        LongPredicate multipleOfThree = v -> v % 3 == 0;
+        LongPredicate notTen = v -> (v & 0xF) != 10;
+        composedPredicate = positive.and(even.or(multipleOfThree)).and(small.negate().or(notTen));
+        fusedPredicate = Pipeline.longPredicate(positive)
+                .and(Pipeline.longPredicate(even).or(multipleOfThree))
+                .and(Pipeline.longPredicate(small).negate().or(notTen))
+                .compile();
+
+        Predicate<String> krw = code -> code.startsWith("KRW-");
+        Predicate<String> shortCode = code -> code.length() <= 7;
+        Predicate<String> endsWithZero = code -> code.endsWith("0");
+        composedCodePredicate = krw.and(shortCode).or(endsWithZero.negate().and(shortCode.negate()));
+        fusedCodePredicate = Pipeline.predicate(krw).and(shortCode)
+                .or(Pipeline.predicate(endsWithZero).negate().and(Pipeline.predicate(shortCode).negate()))
+                .compile();
+    }
+
+    @Benchmark
+    public long operatorHandWritten() {
+        var sum = 0L;
+        for (var value : values) {
+            var v = value;
+            v = v * 31 + 1;
+            v = v ^ (v >>> 7);
+            v = v + 0x9E37;
+            v = v * 13;
+            v = v ^ (v << 3);
+            v = v - 17;
+            v = v * 7 + 3;
+            v = v ^ (v >>> 11);
+            v = v + 101;
+            v = v * 5;
+            v = v ^ (v >>> 5);
+            v = v - 3;
+            v = v * 9 + 1;
+            v = v ^ (v << 7);
+            v = v + 55;
+            v = v * 3;
+            sum += v;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long operatorComposed() {
+        var sum = 0L;
+        for (var value : values) {
+            sum += composedOperator.applyAsLong(value);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long operatorFused() {
+        var sum = 0L;
+        for (var value : values) {
+            sum += fusedOperator.applyAsLong(value);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int predicateHandWritten() {
+        var count = 0;
+        for (var v : values) {
+            if (v > 0 && ((v & 1) == 0 || v % 3 == 0) && (!(v < 1L << 62) || (v & 0xF) != 10)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int predicateComposed() {
+        var count = 0;
+        for (var v : values) {
+            if (composedPredicate.test(v)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int predicateFused() {
+        var count = 0;
+        for (var v : values) {
+            if (fusedPredicate.test(v)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int codePredicateHandWritten() {
+        var count = 0;
+        for (var code : codes) {
+            if (code.startsWith("KRW-") && code.length() <= 7 || !code.endsWith("0") && !(code.length() <= 7)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int codePredicateComposed() {
+        var count = 0;
+        for (var code : codes) {
+            if (composedCodePredicate.test(code)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int codePredicateFused() {
+        var count = 0;
+        for (var code : codes) {
+            if (fusedCodePredicate.test(code)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,82 @@
+package com.newy.playground.common.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.newy.playground.json.JsonCodec;
+import com.newy.playground.json.JsonCodecs;
+import com.newy.playground.json.JsonReader;
+import com.newy.playground.json.JsonRecord;
+import com.newy.playground.json.JsonWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 본문 1개를 Record 로 읽고 쓰는 시간과 할당량을, 생성한 코덱과 Jackson(ObjectMapper 기본 설정)으로 비교한다.
+ * <pre>
+ * ./gradlew jmh -Pjmh.includes=JsonBindingBenchmark -Pjmh.profilers=gc
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JsonBindingBenchmark {
+    enum Side {
+        BUY, SELL
+    }
+
+    @JsonRecord
+    record Fee(BigDecimal rate, Long minimum) {
+    }
+
+    @JsonRecord
+    record OrderRequest(String code, long quantity, double price, Side side, Boolean postOnly, List<String> tags, List<Fee> fees) {
+    }
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final JsonCodec<OrderRequest> codec = JsonCodecs.load(getClass().getClassLoader()).find(OrderRequest.class);
+    private final OrderRequest request = new OrderRequest(
+            "KRW-BTC", 3, 50_123.25, Side.BUY, true,
+            List.of("api", "mobile"), List.of(new Fee(new BigDecimal("0.0005"), 10L))
+    );
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream(512);
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws IOException {
+        body = mapper.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public OrderRequest readCodec() throws IOException {
+        return codec.read(new JsonReader(new ByteArrayInputStream(body), 512));
+    }
+
+    @Benchmark
+    public OrderRequest readJackson() throws IOException {
+        return mapper.readValue(new ByteArrayInputStream(body), OrderRequest.class);
+    }
+
+    @Benchmark
+    public int writeCodec() throws IOException {
+        output.reset();
+        var writer = new JsonWriter(output, 512);
+        codec.write(writer, request);
+        writer.flush();
+        return output.size();
+    }
+
+    @Benchmark
+    public int writeJackson() throws IOException {
+        output.reset();
+        mapper.writeValue(output, request);
+        return output.size();
+    }
+}
@@ -0,0 +1,65 @@
+package com.newy.playground.market.event;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 생산자 4개가 이벤트를 보낼 때, 샤드 수에 따른 처리량을 측정한다.
+ * 큐가 가득 차면 생산자가 기다리기 때문에, 측정한 처리량은 샤드의 처리량에 수렴한다.
+ * <pre>
+ * ./gradlew jmh -Pjmh.includes=ShardedEventProcessorBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class ShardedEventProcessorBenchmark {
+    private static final int MARKETS = 1_024;
+
+    @Param({"1", "2", "4", "8"})
+    public int shards;
+
+    private ShardedEventProcessor processor;
+    private final TradeEvent[] events = new TradeEvent[MARKETS];
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        for (int i = 0; i < MARKETS; i++) {
+            events[i] = new TradeEvent(i, i, 100, 1);
+        }
+        // 이벤트 1건마다 약간의 상태 갱신 비용이 있는 핸들러
+        processor = new ShardedEventProcessor(ProcessorConfig.defaults().withShards(shards), shard -> new MarketEventHandler() {
+            private final double[] lastPrices = new double[MARKETS];
+            private final double[] volumes = new double[MARKETS];
+
+            @Override
+            public void onTrade(TradeEvent event) {
+                var index = (int) event.marketId();
+                lastPrices[index] = event.price();
+                volumes[index] += event.volume();
+            }
+        });
+        processor.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        processor.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Producer {
+        int next;
+    }
+
+    @Benchmark
+    public void publish(Producer producer) {
+        producer.next = (producer.next + 1) & (MARKETS - 1);
+        processor.publish(events[producer.next]);
+    }
+}
@@ -0,0 +1,86 @@
+package com.newy.playground.market.indicator;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 지표 1회 갱신 시간과 할당량을 측정한다. gc 프로파일러의 gc.alloc.rate.norm 이 0 B/op 에 가까워야 한다.
+ * 비교를 위해, 박싱된 {@code Function<Double, Double>} 로 매번 구간을 다시 계산하는 방식도 측정한다.
+ * <pre>
+ * ./gradlew jmh -Pjmh.includes=IndicatorBenchmark -Pjmh.profilers=gc
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IndicatorBenchmark {
+    private static final int PERIOD = 20;
+
+    private final double[] prices = new Random(1).doubles(1024, 90, 110).toArray();
+    private int next;
+
+    private final Sma sma = new Sma(PERIOD);
+    private final Ema ema = new Ema(PERIOD);
+    private final Rsi rsi = new Rsi(14);
+    private final BollingerBands bands = new BollingerBands(PERIOD, 2);
+    private final Vwap vwap = new Vwap(PERIOD);
+    private final Indicator chained = new Rsi(14).andThen(new Ema(9)).andThen(new BollingerBands(PERIOD, 2));
+
+    private final Double[] boxedWindow = new Double[PERIOD];
+    private int boxedNext;
+    private final Function<Double, Double> boxedSma = price -> {
+        boxedWindow[boxedNext] = price;
+        boxedNext = (boxedNext + 1) % PERIOD;
+        var sum = 0.0;
+        for (var value : boxedWindow) {
+            sum += value == null ? 0 : value;
+        }
+        return sum / PERIOD;
+    };
+
+    private double nextPrice() {
+        next = (next + 1) & (prices.length - 1);
+        return prices[next];
+    }
+
+    @Benchmark
+    public double sma() {
+        return sma.applyAsDouble(nextPrice());
+    }
+
+    @Benchmark
+    public double ema() {
+        return ema.applyAsDouble(nextPrice());
+    }
+
+    @Benchmark
+    public double rsi() {
+        return rsi.applyAsDouble(nextPrice());
+    }
+
+    @Benchmark
+    public double bollingerBands() {
+        return bands.applyAsDouble(nextPrice());
+    }
+
+    @Benchmark
+    public double vwap() {
+        return vwap.applyAsDouble(nextPrice(), next & 7);
+    }
+
+    @Benchmark
+    public double rsiThenEmaThenBollinger() {
+        return chained.applyAsDouble(nextPrice());
+    }
+
+    @Benchmark
+    public Double boxedRecomputingSma() {
+        return boxedSma.apply(nextPrice());
+    }
+}
@@ -0,0 +1,68 @@
+package com.newy.playground.market.journal;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 1천만 레코드(약 400MB) 저널의 재생 시간을 측정한다. 레코드 수 / 측정 시간 = 초당 재생 레코드 수.
+ * <pre>
+ * ./gradlew jmh -Pjmh.includes=TickJournalReplayBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TickJournalReplayBenchmark {
+    private static final int RECORDS = 10_000_000;
+    private static final int MARKETS = 100;
+
+    @Param({"true", "false"})
+    public boolean verifyChecksums;
+
+    private Path directory;
+    private TickJournal journal;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("tick-journal-benchmark");
+        journal = TickJournal.open(directory, JournalConfig.defaults().withVerifyChecksums(verifyChecksums));
+        for (int i = 0; i < RECORDS; i++) {
+            journal.appendTick(i % MARKETS, i, 100 + (i & 0xFF), 1);
+        }
+        journal.flush();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        journal.close();
+        try (var files = Files.walk(directory)) {
+            for (var file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public void replayAll(Blackhole blackhole) {
+        journal.replay((type, marketId, timestamp, price, volume) -> blackhole.consume(price));
+    }
+
+    @Benchmark
+    public void replayOneMarket(Blackhole blackhole) {
+        journal.replayTicks(7, (marketId, tradedAt, price, volume) -> blackhole.consume(price));
+    }
+
+    @Benchmark
+    public void replayOnePercentTimeRange(Blackhole blackhole) {
+        journal.replay(RECORDS / 2, RECORDS / 2 + RECORDS / 100, (type, marketId, timestamp, price, volume) -> blackhole.consume(price));
+    }
+}
@@ -0,0 +1,76 @@
+package com.newy.playground.market.orderbook;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 호가창이 채워진 상태에서 주문 1건의 처리 지연 분포(p50, p99 ...)를 측정한다.
+ * 매 호출마다 상태가 원래대로 돌아오도록 '추가 후 취소', '체결 후 다시 채우기' 를 한 쌍으로 측정한다.
+ * <pre>
+ * ./gradlew jmh -Pjmh.includes=OrderBookLatencyBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseParallelGC")
+@State(Scope.Thread)
+public class OrderBookLatencyBenchmark {
+    private static final int LEVELS = 100;
+    private static final int ORDERS_PER_LEVEL = 10;
+    private static final long MID = 10_000;
+
+    private OrderBook book;
+    private long nextOrderId;
+    private long offset;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        book = new OrderBook(1, LEVELS * ORDERS_PER_LEVEL * 2 + 1_024, LEVELS + 64);
+        nextOrderId = 1;
+        for (int level = 1; level <= LEVELS; level++) {
+            for (int i = 0; i < ORDERS_PER_LEVEL; i++) {
+                book.add(nextOrderId++, Side.BUY, MID - level, 100, MatchListener.NONE);
+                book.add(nextOrderId++, Side.SELL, MID + level, 100, MatchListener.NONE);
+            }
+        }
+    }
+
+    /**
+     * 최우선 호가 근처의 기존 가격 단계에 등록하고 취소한다.
+     */
+    @Benchmark
+    public boolean addAndCancel() {
+        var orderId = nextOrderId++;
+        offset = (offset + 1) % 5;
+        book.add(orderId, Side.BUY, MID - 1 - offset, 10, MatchListener.NONE);
+        return book.cancel(orderId);
+    }
+
+    /**
+     * 새 가격 단계를 만들고 취소한다. (가격 단계 배열 삽입/삭제 포함)
+     */
+    @Benchmark
+    public boolean addNewLevelAndCancel() {
+        var orderId = nextOrderId++;
+        book.add(orderId, Side.SELL, MID + LEVELS + 1, 10, MatchListener.NONE);
+        return book.cancel(orderId);
+    }
+
+    /**
+     * 최우선 매도 호가와 체결한 뒤, 체결된 수량을 다시 채운다.
+     */
+    @Benchmark
+    public long matchAndRefill() {
+        var remaining = book.add(nextOrderId++, Side.BUY, MID + 1, 100, MatchListener.NONE);
+        book.add(nextOrderId++, Side.SELL, MID + 1, 100, MatchListener.NONE);
+        return remaining;
+    }
+
+    @Benchmark
+    public long bestBidAsk() {
+        return book.bestBid() + book.bestAsk();
+    }
+}
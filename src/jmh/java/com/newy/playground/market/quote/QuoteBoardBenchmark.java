@@ -0,0 +1,72 @@
+package com.newy.playground.market.quote;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 쓰기 스레드 1개와 읽기 스레드 여러 개가 동시에 실행될 때의 처리량을 측정한다.
+ * <pre>
+ * ./gradlew jmh -Pjmh.includes=QuoteBoardBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuoteBoardBenchmark {
+    private static final int MARKETS = 1024;
+
+    @State(Scope.Group)
+    public static class Board {
+        final QuoteBoard board = new QuoteBoard(MARKETS);
+        long tick;
+
+        @Setup
+        public void setUp() {
+            for (int id = 0; id < MARKETS; id++) {
+                board.update(id, 1, 2, 1.5, 0);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Reader {
+        final QuoteView view = new QuoteView();
+        int next;
+    }
+
+    @Benchmark
+    @Group("oneWriterEightReaders")
+    @GroupThreads(1)
+    public void update(Board state) {
+        var tick = ++state.tick;
+        state.board.update(tick & (MARKETS - 1), tick, tick + 1, tick + 0.5, tick);
+    }
+
+    @Benchmark
+    @Group("oneWriterEightReaders")
+    @GroupThreads(8)
+    public void read(Board state, Reader reader, Blackhole blackhole) {
+        reader.next = (reader.next + 1) & (MARKETS - 1);
+        state.board.read(reader.next, reader.view);
+        blackhole.consume(reader.view.last());
+    }
+
+    @Benchmark
+    @Group("oneWriterEightLastPriceReaders")
+    @GroupThreads(1)
+    public void updateForLastPrice(Board state) {
+        update(state);
+    }
+
+    @Benchmark
+    @Group("oneWriterEightLastPriceReaders")
+    @GroupThreads(8)
+    public double readLastPrice(Board state, Reader reader) {
+        reader.next = (reader.next + 1) & (MARKETS - 1);
+        return state.board.last(reader.next);
+    }
+}
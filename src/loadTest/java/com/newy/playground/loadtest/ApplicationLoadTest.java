@@ -0,0 +1,107 @@
+package com.newy.playground.loadtest;
+
+import com.newy.playground.JavaSpringPlaygroundApplication;
+import com.newy.playground.market.MarketService;
+import com.newy.playground.study.spring.test_config.TestContainerConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.LongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 애플리케이션 전체(Spring MVC + JPA + Testcontainers DB)에 고정 도착률 부하를 주고, 엔드포인트별 p99 예산을 확인한다.
+ * <pre>
+ * X_DBMS_NAME=postgresql ./gradlew loadTest -Dloadtest.duration=PT30S -Dloadtest.p99.market-get=PT0.05S
+ * </pre>
+ * [시스템 속성]
+ * - loadtest.warmup, loadtest.duration: ISO-8601 기간 (기본 5초, 10초)
+ * - loadtest.rate.(엔드포인트 이름): 초당 요청 수
+ * - loadtest.p99.(엔드포인트 이름): p99 예산
+ */
+@SpringBootTest(classes = JavaSpringPlaygroundApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(TestContainerConfig.class)
+public class ApplicationLoadTest {
+    private static final Logger log = LoggerFactory.getLogger(ApplicationLoadTest.class);
+    private static final int SEED_MARKETS = 1_000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MarketService marketService;
+
+    private final long[] marketIds = new long[SEED_MARKETS];
+    private final String[] marketCodes = new String[SEED_MARKETS];
+    private final String runId = UUID.randomUUID().toString().substring(0, 8);
+
+    @BeforeEach
+    public void setUp() {
+        for (int i = 0; i < SEED_MARKETS; i++) {
+            marketCodes[i] = "S" + runId + "-" + i;
+            marketIds[i] = marketService.create(marketCodes[i]).getId();
+        }
+    }
+
+    @Test
+    public void 엔드포인트별_p99_지연_시간이_예산_이내이다() throws InterruptedException {
+        var endpoints = List.of(
+                endpoint("market-get", 200, Duration.ofMillis(50),
+                        sequence -> get("/markets/" + marketIds[(int) (sequence % SEED_MARKETS)])),
+                endpoint("market-find-by-code", 100, Duration.ofMillis(50),
+                        sequence -> get("/markets?code=" + marketCodes[(int) (sequence % SEED_MARKETS)])),
+                endpoint("market-create", 20, Duration.ofMillis(100),
+                        sequence -> post("/markets", "{\"code\":\"L" + runId + "-" + sequence + "\"}"))
+        );
+
+        try (var client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build()) {
+            var report = new OpenModelLoadGenerator(client).run(
+                    endpoints,
+                    duration("loadtest.warmup", Duration.ofSeconds(5)),
+                    duration("loadtest.duration", Duration.ofSeconds(10))
+            );
+            log.info("\n{}", report);
+
+            assertTrue(report.overBudget().isEmpty(), "p99 예산을 넘은 엔드포인트가 있습니다.\n" + report);
+        }
+    }
+
+    private LoadEndpoint endpoint(String name, int defaultRate, Duration defaultBudget, LongFunction<HttpRequest> requestFactory) {
+        var rate = Integer.getInteger("loadtest.rate." + name, defaultRate);
+        return new LoadEndpoint(name, requestFactory, rate, duration("loadtest.p99." + name, defaultBudget));
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(uri(path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static Duration duration(String key, Duration defaultValue) {
+        var value = System.getProperty(key);
+        return value == null ? defaultValue : Duration.parse(value);
+    }
+}
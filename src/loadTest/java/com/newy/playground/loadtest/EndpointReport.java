@@ -0,0 +1,64 @@
+package com.newy.playground.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+
+/**
+ * 엔드포인트 1개의 부하 테스트 결과. 지연 시간은 '예정된 시작 시각'부터 응답 완료까지의 시간이다.
+ *
+ * @param requests   완료한 요청 수 (실패 포함)
+ * @param errors     2xx 이외의 응답 또는 예외로 끝난 요청 수
+ * @param throughput 초당 완료한 요청 수
+ */
+public record EndpointReport(
+        String name,
+        int targetRate,
+        long requests,
+        long errors,
+        double throughput,
+        Duration p50,
+        Duration p90,
+        Duration p99,
+        Duration p999,
+        Duration max,
+        Duration p99Budget
+) {
+    static EndpointReport of(LoadEndpoint endpoint, Histogram histogram, long errors, Duration elapsed) {
+        return new EndpointReport(
+                endpoint.name(),
+                endpoint.ratePerSecond(),
+                histogram.getTotalCount(),
+                errors,
+                histogram.getTotalCount() / (elapsed.toNanos() / 1e9),
+                Duration.ofNanos(histogram.getValueAtPercentile(50)),
+                Duration.ofNanos(histogram.getValueAtPercentile(90)),
+                Duration.ofNanos(histogram.getValueAtPercentile(99)),
+                Duration.ofNanos(histogram.getValueAtPercentile(99.9)),
+                Duration.ofNanos(histogram.getMaxValue()),
+                endpoint.p99Budget()
+        );
+    }
+
+    public boolean withinBudget() {
+        return p99.compareTo(p99Budget) <= 0;
+    }
+
+    String toRow() {
+        return "%-20s %8d %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f  %s".formatted(
+                name, targetRate, requests, errors, throughput,
+                millis(p50), millis(p90), millis(p99), millis(p999), millis(max), millis(p99Budget),
+                withinBudget() ? "OK" : "OVER"
+        );
+    }
+
+    static String header() {
+        return "%-20s %8s %10s %8s %10s %9s %9s %9s %9s %9s %9s  %s".formatted(
+                "endpoint", "rate/s", "requests", "errors", "tput/s", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)", "budget", "result"
+        );
+    }
+
+    private static double millis(Duration duration) {
+        return duration.toNanos() / 1e6;
+    }
+}
@@ -0,0 +1,25 @@
+package com.newy.playground.loadtest;
+
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.function.LongFunction;
+
+/**
+ * 부하를 줄 엔드포인트 1개.
+ *
+ * @param requestFactory 요청 번호(0 부터)로 요청을 만든다
+ * @param ratePerSecond  초당 요청 시작 수 (응답 속도와 관계없이 유지한다)
+ * @param p99Budget      허용하는 p99 지연 시간
+ */
+public record LoadEndpoint(
+        String name,
+        LongFunction<HttpRequest> requestFactory,
+        int ratePerSecond,
+        Duration p99Budget
+) {
+    public LoadEndpoint {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("ratePerSecond 는 1 이상이어야 합니다. name=" + name);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.newy.playground.loadtest;
+
+import java.time.Duration;
+import java.util.List;
+
+public record LoadTestReport(Duration duration, List<EndpointReport> endpoints) {
+    public List<EndpointReport> overBudget() {
+        return endpoints.stream().filter(endpoint -> !endpoint.withinBudget()).toList();
+    }
+
+    @Override
+    public String toString() {
+        var builder = new StringBuilder()
+                .append("load test duration=").append(duration).append('\n')
+                .append(EndpointReport.header()).append('\n');
+        for (var endpoint : endpoints) {
+            builder.append(endpoint.toRow()).append('\n');
+        }
+        return builder.toString();
+    }
+}
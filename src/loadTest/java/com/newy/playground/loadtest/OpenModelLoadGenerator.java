@@ -0,0 +1,102 @@
+package com.newy.playground.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 응답 속도와 관계없이 정해진 간격으로 요청을 시작하는 open model 부하 생성기.
+ * <p>
+ * [특징]
+ * - 요청마다 가상 스레드 1개를 사용하기 때문에, 서버가 느려져도 다음 요청의 시작이 늦어지지 않는다.
+ * - 지연 시간을 실제 전송 시각이 아니라 '예정된 시작 시각'부터 측정한다. 생성기가 밀려서 늦게 보낸 요청도
+ *   대기한 시간만큼 지연으로 기록되기 때문에, coordinated omission 으로 지연 시간이 작게 측정되지 않는다.
+ * - 지연 시간은 엔드포인트별 HdrHistogram {@link Recorder} 에 기록한다. (여러 스레드에서 락 없이 기록한다)
+ */
+public final class OpenModelLoadGenerator {
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final HttpClient client;
+
+    public OpenModelLoadGenerator(HttpClient client) {
+        this.client = client;
+    }
+
+    /**
+     * warmup 동안 같은 부하를 주고 결과는 버린 뒤, duration 동안 측정한다.
+     */
+    public LoadTestReport run(List<LoadEndpoint> endpoints, Duration warmup, Duration duration) throws InterruptedException {
+        if (!warmup.isZero()) {
+            runOnce(endpoints, warmup);
+        }
+        return runOnce(endpoints, duration);
+    }
+
+    private LoadTestReport runOnce(List<LoadEndpoint> endpoints, Duration duration) throws InterruptedException {
+        var recorders = new ArrayList<Recorder>();
+        var errors = new ArrayList<LongAdder>();
+        var dispatchers = new ArrayList<Thread>();
+        var startedAt = System.nanoTime();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (var endpoint : endpoints) {
+                var recorder = new Recorder(HIGHEST_TRACKABLE_NANOS, 3);
+                var errorCount = new LongAdder();
+                recorders.add(recorder);
+                errors.add(errorCount);
+                dispatchers.add(Thread.ofPlatform()
+                        .name("load-dispatcher-" + endpoint.name())
+                        .start(() -> dispatch(endpoint, startedAt, duration, clients, recorder, errorCount)));
+            }
+            for (var dispatcher : dispatchers) {
+                dispatcher.join();
+            }
+            // try 블록이 끝나면 진행 중인 요청이 모두 끝날 때까지 기다린다.
+        }
+        var elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+
+        var reports = new ArrayList<EndpointReport>();
+        for (int i = 0; i < endpoints.size(); i++) {
+            Histogram histogram = recorders.get(i).getIntervalHistogram();
+            reports.add(EndpointReport.of(endpoints.get(i), histogram, errors.get(i).sum(), elapsed));
+        }
+        return new LoadTestReport(duration, reports);
+    }
+
+    private void dispatch(LoadEndpoint endpoint, long startedAt, Duration duration, ExecutorService clients, Recorder recorder, LongAdder errors) {
+        var intervalNanos = TimeUnit.SECONDS.toNanos(1) / endpoint.ratePerSecond();
+        var total = duration.toNanos() / intervalNanos;
+
+        for (long sequence = 0; sequence < total; sequence++) {
+            var intendedStart = startedAt + sequence * intervalNanos;
+            var wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            var request = endpoint.requestFactory().apply(sequence);
+            clients.execute(() -> {
+                try {
+                    var response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() / 100 != 2) {
+                        errors.increment();
+                    }
+                } catch (Exception e) {
+                    errors.increment();
+                } finally {
+                    recorder.recordValue(Math.min(HIGHEST_TRACKABLE_NANOS, System.nanoTime() - intendedStart));
+                }
+            });
+        }
+    }
+}
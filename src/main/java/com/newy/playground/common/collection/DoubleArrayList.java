@@ -0,0 +1,115 @@
+package com.newy.playground.common.collection;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoublePredicate;
+
+/**
+ * double 값을 박싱하지 않는 {@code List<Double>}. 시세, 지표 같은 숫자 시계열을 모을 때 사용한다.
+ * <p>
+ * 스레드 안전하지 않다.
+ */
+public final class DoubleArrayList {
+    private double[] elements;
+    private int size;
+
+    public DoubleArrayList() {
+        this(16);
+    }
+
+    public DoubleArrayList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity 는 0 이상이어야 합니다.");
+        }
+        this.elements = new double[initialCapacity];
+    }
+
+    public static DoubleArrayList of(double... values) {
+        var list = new DoubleArrayList(values.length);
+        System.arraycopy(values, 0, list.elements, 0, values.length);
+        list.size = values.length;
+        return list;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void add(double value) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(16, size + (size >> 1)));
+        }
+        elements[size++] = value;
+    }
+
+    public double get(int index) {
+        return elements[checkIndex(index)];
+    }
+
+    /**
+     * @return 이전 값
+     */
+    public double set(int index, double value) {
+        var previous = elements[checkIndex(index)];
+        elements[index] = value;
+        return previous;
+    }
+
+    /**
+     * @return 삭제한 값
+     */
+    public double removeAt(int index) {
+        var previous = elements[checkIndex(index)];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+        return previous;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public void forEach(DoubleConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(elements[i]);
+        }
+    }
+
+    /**
+     * 남길 값을 앞으로 당겨서 한 번에 삭제한다.
+     *
+     * @return 삭제한 값의 수
+     */
+    public int removeIf(DoublePredicate filter) {
+        var kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (!filter.test(elements[i])) {
+                elements[kept++] = elements[i];
+            }
+        }
+        var removed = size - kept;
+        size = kept;
+        return removed;
+    }
+
+    public double sum() {
+        var sum = 0.0;
+        for (int i = 0; i < size; i++) {
+            sum += elements[i];
+        }
+        return sum;
+    }
+
+    public double[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    private int checkIndex(int index) {
+        return Objects.checkIndex(index, size);
+    }
+}
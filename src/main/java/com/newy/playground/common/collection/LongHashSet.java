@@ -0,0 +1,188 @@
+package com.newy.playground.common.collection;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+
+/**
+ * long 값을 박싱하지 않는 {@code Set<Long>}. 구조는 {@link LongObjectMap} 에서 값 배열만 뺀 것과 같다.
+ * <p>
+ * 스레드 안전하지 않다. 반복 순서는 정해져 있지 않다.
+ */
+public final class LongHashSet {
+    private long[] keys;
+    private int mask;
+    private int resizeAt;
+    private int size;
+    private boolean hasZero;
+
+    public LongHashSet() {
+        this(16);
+    }
+
+    public LongHashSet(int expectedSize) {
+        allocate(LongHashing.tableSize(expectedSize));
+    }
+
+    public static LongHashSet of(long... values) {
+        var set = new LongHashSet(values.length);
+        for (var value : values) {
+            set.add(value);
+        }
+        return set;
+    }
+
+    public int size() {
+        return hasZero ? size + 1 : size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public boolean contains(long value) {
+        if (value == 0) {
+            return hasZero;
+        }
+        for (int i = LongHashing.mix(value) & mask; ; i = (i + 1) & mask) {
+            if (keys[i] == value) {
+                return true;
+            }
+            if (keys[i] == 0) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * @return 새로 추가했으면 true
+     */
+    public boolean add(long value) {
+        if (value == 0) {
+            var added = !hasZero;
+            hasZero = true;
+            return added;
+        }
+
+        var i = LongHashing.mix(value) & mask;
+        for (; keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == value) {
+                return false;
+            }
+        }
+        keys[i] = value;
+        if (++size > resizeAt) {
+            rehash(keys.length << 1);
+        }
+        return true;
+    }
+
+    /**
+     * @return 있었으면 true
+     */
+    public boolean remove(long value) {
+        if (value == 0) {
+            var existed = hasZero;
+            hasZero = false;
+            return existed;
+        }
+        for (int i = LongHashing.mix(value) & mask; keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == value) {
+                shiftFrom(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        size = 0;
+        hasZero = false;
+    }
+
+    /**
+     * 반복 중에 집합을 변경하면 안 된다.
+     */
+    public void forEach(LongConsumer action) {
+        if (hasZero) {
+            action.accept(0);
+        }
+        for (var key : keys) {
+            if (key != 0) {
+                action.accept(key);
+            }
+        }
+    }
+
+    /**
+     * filter 를 만족하는 값을 삭제한다. 삭제 후 당겨온 항목을 다시 검사하기 때문에, filter 는 부수 효과가 없어야 한다.
+     *
+     * @return 삭제한 값의 수
+     */
+    public int removeIf(LongPredicate filter) {
+        var removed = 0;
+        if (hasZero && filter.test(0)) {
+            hasZero = false;
+            removed++;
+        }
+        for (int i = 0; i < keys.length; ) {
+            if (keys[i] != 0 && filter.test(keys[i])) {
+                shiftFrom(i);
+                removed++;
+            } else {
+                i++;
+            }
+        }
+        return removed;
+    }
+
+    public long[] toArray() {
+        var result = new long[size()];
+        var index = 0;
+        if (hasZero) {
+            index++;
+        }
+        for (var key : keys) {
+            if (key != 0) {
+                result[index++] = key;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 삭제한 자리 뒤의 항목 중, 원래 위치에서 삭제한 자리를 지나쳐 온 항목을 당겨온다.
+     */
+    private void shiftFrom(int hole) {
+        for (int j = (hole + 1) & mask; keys[j] != 0; j = (j + 1) & mask) {
+            var home = LongHashing.mix(keys[j]) & mask;
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                keys[hole] = keys[j];
+                hole = j;
+            }
+        }
+        keys[hole] = 0;
+        size--;
+    }
+
+    private void rehash(int capacity) {
+        var oldKeys = keys;
+        allocate(capacity);
+        for (var key : oldKeys) {
+            if (key != 0) {
+                var j = LongHashing.mix(key) & mask;
+                while (keys[j] != 0) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = key;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        mask = capacity - 1;
+        resizeAt = LongHashing.resizeAt(capacity);
+    }
+}
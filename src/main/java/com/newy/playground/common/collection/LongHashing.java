@@ -0,0 +1,38 @@
+package com.newy.playground.common.collection;
+
+/**
+ * long 키 open addressing 테이블의 공통 계산.
+ * 키 0 은 빈 슬롯을 뜻하기 때문에, 각 컬렉션은 키 0 을 테이블 밖의 필드에 따로 저장한다.
+ */
+final class LongHashing {
+    static final float LOAD_FACTOR = 0.75f;
+
+    private LongHashing() {
+    }
+
+    /**
+     * 연속된 ID 가 인접한 슬롯에 몰리지 않도록 섞는다.
+     */
+    static int mix(long key) {
+        var h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * expectedSize 개를 넣어도 크기를 늘리지 않는 2의 거듭제곱 테이블 크기
+     */
+    static int tableSize(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize 는 0 이상이어야 합니다.");
+        }
+        var needed = (long) Math.ceil(expectedSize / LOAD_FACTOR) + 1;
+        if (needed > 1 << 30) {
+            throw new IllegalArgumentException("expectedSize 가 너무 큽니다. expectedSize=" + expectedSize);
+        }
+        return needed <= 2 ? 2 : Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    static int resizeAt(int capacity) {
+        return Math.min(capacity - 1, (int) (capacity * LOAD_FACTOR));
+    }
+}
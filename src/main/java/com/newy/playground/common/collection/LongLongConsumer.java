@@ -0,0 +1,9 @@
+package com.newy.playground.common.collection;
+
+/**
+ * (키, 값)을 박싱하지 않고 전달받는 콜백. JDK 에는 long 2개를 받는 Consumer 가 없다.
+ */
+@FunctionalInterface
+public interface LongLongConsumer {
+    void accept(long key, long value);
+}
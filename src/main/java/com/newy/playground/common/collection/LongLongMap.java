@@ -0,0 +1,218 @@
+package com.newy.playground.common.collection;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+
+/**
+ * 키와 값을 모두 박싱하지 않는 {@code Map<Long, Long>}. 거래소별 카운터, ID 매핑에 사용한다.
+ * 구조는 {@link LongObjectMap} 과 같다.
+ * <p>
+ * 스레드 안전하지 않다. 반복 순서는 정해져 있지 않다.
+ */
+public final class LongLongMap {
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int resizeAt;
+    private int size;
+
+    private boolean hasZeroKey;
+    private long zeroValue;
+
+    public LongLongMap() {
+        this(16);
+    }
+
+    public LongLongMap(int expectedSize) {
+        allocate(LongHashing.tableSize(expectedSize));
+    }
+
+    public int size() {
+        return hasZeroKey ? size + 1 : size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public boolean containsKey(long key) {
+        return key == 0 ? hasZeroKey : indexOf(key) >= 0;
+    }
+
+    public long getOrDefault(long key, long defaultValue) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        var index = indexOf(key);
+        return index < 0 ? defaultValue : values[index];
+    }
+
+    public void put(long key, long value) {
+        if (key == 0) {
+            hasZeroKey = true;
+            zeroValue = value;
+            return;
+        }
+        values[insert(key)] = value;
+    }
+
+    /**
+     * 키가 없으면 0 에 delta 를 더한다.
+     *
+     * @return 더한 후의 값
+     */
+    public long addTo(long key, long delta) {
+        if (key == 0) {
+            zeroValue = hasZeroKey ? zeroValue + delta : delta;
+            hasZeroKey = true;
+            return zeroValue;
+        }
+        var index = insert(key);
+        return values[index] += delta;
+    }
+
+    /**
+     * @return 키가 있었으면 true
+     */
+    public boolean remove(long key) {
+        if (key == 0) {
+            var existed = hasZeroKey;
+            hasZeroKey = false;
+            zeroValue = 0;
+            return existed;
+        }
+        var index = indexOf(key);
+        if (index < 0) {
+            return false;
+        }
+        shiftFrom(index);
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, 0);
+        size = 0;
+        hasZeroKey = false;
+        zeroValue = 0;
+    }
+
+    /**
+     * 반복 중에 맵을 변경하면 안 된다.
+     */
+    public void forEach(LongLongConsumer action) {
+        if (hasZeroKey) {
+            action.accept(0, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    public void forEachKey(LongConsumer action) {
+        if (hasZeroKey) {
+            action.accept(0);
+        }
+        for (var key : keys) {
+            if (key != 0) {
+                action.accept(key);
+            }
+        }
+    }
+
+    /**
+     * filter 를 만족하는 키를 삭제한다. 삭제 후 당겨온 항목을 다시 검사하기 때문에, filter 는 부수 효과가 없어야 한다.
+     *
+     * @return 삭제한 항목 수
+     */
+    public int removeIf(LongPredicate filter) {
+        var removed = 0;
+        if (hasZeroKey && filter.test(0)) {
+            remove(0);
+            removed++;
+        }
+        for (int i = 0; i < keys.length; ) {
+            if (keys[i] != 0 && filter.test(keys[i])) {
+                shiftFrom(i);
+                removed++;
+            } else {
+                i++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * 키의 슬롯을 찾는다. 키가 없으면 값 0 으로 추가한다. (키 0 은 호출하는 쪽에서 처리한다)
+     */
+    private int insert(long key) {
+        var i = LongHashing.mix(key) & mask;
+        for (; keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return i;
+            }
+        }
+        if (size + 1 > resizeAt) {
+            rehash(keys.length << 1);
+            return insert(key);
+        }
+        keys[i] = key;
+        values[i] = 0;
+        size++;
+        return i;
+    }
+
+    private int indexOf(long key) {
+        for (int i = LongHashing.mix(key) & mask; ; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return i;
+            }
+            if (keys[i] == 0) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * 삭제한 자리 뒤의 항목 중, 원래 위치에서 삭제한 자리를 지나쳐 온 항목을 당겨온다.
+     */
+    private void shiftFrom(int hole) {
+        for (int j = (hole + 1) & mask; keys[j] != 0; j = (j + 1) & mask) {
+            var home = LongHashing.mix(keys[j]) & mask;
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                keys[hole] = keys[j];
+                values[hole] = values[j];
+                hole = j;
+            }
+        }
+        keys[hole] = 0;
+        values[hole] = 0;
+        size--;
+    }
+
+    private void rehash(int capacity) {
+        var oldKeys = keys;
+        var oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                var j = LongHashing.mix(oldKeys[i]) & mask;
+                while (keys[j] != 0) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        resizeAt = LongHashing.resizeAt(capacity);
+    }
+}
@@ -0,0 +1,229 @@
+package com.newy.playground.common.collection;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * long 키를 박싱하지 않는 {@code Map<Long, V>}.
+ * 키와 값을 배열 2개에 나눠 저장하고(선형 탐사), 삭제 시 뒤쪽 항목을 당겨와서 tombstone 을 남기지 않는다.
+ * <p>
+ * 스레드 안전하지 않다. 반복 순서는 정해져 있지 않다.
+ */
+public final class LongObjectMap<V> {
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int resizeAt;
+    private int size;
+
+    private boolean hasZeroKey;
+    private V zeroValue;
+
+    public LongObjectMap() {
+        this(16);
+    }
+
+    public LongObjectMap(int expectedSize) {
+        allocate(LongHashing.tableSize(expectedSize));
+    }
+
+    public int size() {
+        return hasZeroKey ? size + 1 : size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public boolean containsKey(long key) {
+        return key == 0 ? hasZeroKey : indexOf(key) >= 0;
+    }
+
+    /**
+     * @return 키가 없으면 null
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        if (key == 0) {
+            return zeroValue;
+        }
+        var index = indexOf(key);
+        return index < 0 ? null : (V) values[index];
+    }
+
+    public V getOrDefault(long key, V defaultValue) {
+        return containsKey(key) ? get(key) : defaultValue;
+    }
+
+    /**
+     * @return 이전 값. 키가 없었으면 null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (key == 0) {
+            var previous = zeroValue;
+            hasZeroKey = true;
+            zeroValue = value;
+            return previous;
+        }
+
+        var i = LongHashing.mix(key) & mask;
+        for (; keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                var previous = (V) values[i];
+                values[i] = value;
+                return previous;
+            }
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size > resizeAt) {
+            rehash(keys.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * 키가 없을 때만 값을 만든다. mappingFunction 이 null 을 반환하면 저장하지 않는다.
+     */
+    public V computeIfAbsent(long key, LongFunction<? extends V> mappingFunction) {
+        var value = get(key);
+        if (value == null) {
+            value = mappingFunction.apply(key);
+            if (value != null) {
+                put(key, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * @return 삭제한 값. 키가 없었으면 null
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        if (key == 0) {
+            var previous = zeroValue;
+            hasZeroKey = false;
+            zeroValue = null;
+            return previous;
+        }
+        var index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        var previous = (V) values[index];
+        shiftFrom(index);
+        return previous;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, null);
+        size = 0;
+        hasZeroKey = false;
+        zeroValue = null;
+    }
+
+    /**
+     * action 에는 (값, 키) 순서로 전달한다. 반복 중에 맵을 변경하면 안 된다.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(ObjLongConsumer<? super V> action) {
+        if (hasZeroKey) {
+            action.accept(zeroValue, 0);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                action.accept((V) values[i], keys[i]);
+            }
+        }
+    }
+
+    public void forEachKey(LongConsumer action) {
+        if (hasZeroKey) {
+            action.accept(0);
+        }
+        for (var key : keys) {
+            if (key != 0) {
+                action.accept(key);
+            }
+        }
+    }
+
+    /**
+     * filter 를 만족하는 키를 삭제한다. 삭제 후 당겨온 항목을 다시 검사하기 때문에, filter 는 부수 효과가 없어야 한다.
+     *
+     * @return 삭제한 항목 수
+     */
+    public int removeIf(LongPredicate filter) {
+        var removed = 0;
+        if (hasZeroKey && filter.test(0)) {
+            remove(0);
+            removed++;
+        }
+        for (int i = 0; i < keys.length; ) {
+            if (keys[i] != 0 && filter.test(keys[i])) {
+                shiftFrom(i);
+                removed++;
+            } else {
+                i++;
+            }
+        }
+        return removed;
+    }
+
+    private int indexOf(long key) {
+        for (int i = LongHashing.mix(key) & mask; ; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return i;
+            }
+            if (keys[i] == 0) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * 삭제한 자리 뒤의 항목 중, 원래 위치에서 삭제한 자리를 지나쳐 온 항목을 당겨온다.
+     */
+    private void shiftFrom(int hole) {
+        for (int j = (hole + 1) & mask; keys[j] != 0; j = (j + 1) & mask) {
+            var home = LongHashing.mix(keys[j]) & mask;
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                keys[hole] = keys[j];
+                values[hole] = values[j];
+                hole = j;
+            }
+        }
+        keys[hole] = 0;
+        values[hole] = null;
+        size--;
+    }
+
+    private void rehash(int capacity) {
+        var oldKeys = keys;
+        var oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                var j = LongHashing.mix(oldKeys[i]) & mask;
+                while (keys[j] != 0) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeAt = LongHashing.resizeAt(capacity);
+    }
+}
@@ -0,0 +1,18 @@
+package com.newy.playground.common.function;
+
+/**
+ * {@link PredicatePipeline} 의 조건 트리.
+ */
+sealed interface Condition {
+    record Test(Object predicate) implements Condition {
+    }
+
+    record And(Condition left, Condition right) implements Condition {
+    }
+
+    record Or(Condition left, Condition right) implements Condition {
+    }
+
+    record Not(Condition condition) implements Condition {
+    }
+}
@@ -0,0 +1,47 @@
+package com.newy.playground.common.function;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * {@link Function} 연쇄. 단계마다 입력과 반환 타입이 바뀔 수 있다.
+ */
+public final class FunctionPipeline<T, R> {
+    private final List<Object> stages;
+
+    FunctionPipeline(List<Object> stages) {
+        this.stages = stages;
+    }
+
+    /**
+     * {@link Function#andThen} 과 같다. after 를 마지막에 호출한다.
+     */
+    public <V> FunctionPipeline<T, V> andThen(Function<? super R, ? extends V> after) {
+        return new FunctionPipeline<>(Pipeline.concat(stages, List.of(Objects.requireNonNull(after))));
+    }
+
+    public <V> FunctionPipeline<T, V> andThen(FunctionPipeline<? super R, ? extends V> after) {
+        return new FunctionPipeline<>(Pipeline.concat(stages, after.stages));
+    }
+
+    /**
+     * {@link Function#compose} 와 같다. before 를 처음에 호출한다.
+     */
+    public <V> FunctionPipeline<V, R> compose(Function<? super V, ? extends T> before) {
+        return new FunctionPipeline<>(Pipeline.concat(List.of(Objects.requireNonNull(before)), stages));
+    }
+
+    public <V> FunctionPipeline<V, R> compose(FunctionPipeline<? super V, ? extends T> before) {
+        return new FunctionPipeline<>(Pipeline.concat(before.stages, stages));
+    }
+
+    public int size() {
+        return stages.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    public Function<T, R> compile() {
+        return (Function<T, R>) PipelineCompiler.compileChain(FunctionShape.FUNCTION, stages);
+    }
+}
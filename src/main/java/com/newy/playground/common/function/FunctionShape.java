@@ -0,0 +1,47 @@
+package com.newy.playground.common.function;
+
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+
+import java.util.function.*;
+
+/**
+ * 파이프라인으로 합칠 수 있는 표준 함수형 인터페이스와, 바이트코드를 만들 때 필요한 값 타입 정보.
+ */
+enum FunctionShape {
+    FUNCTION(Function.class, "apply", Object.class, Object.class),
+    UNARY_OPERATOR(UnaryOperator.class, "apply", Object.class, Object.class),
+    INT_OPERATOR(IntUnaryOperator.class, "applyAsInt", int.class, int.class),
+    LONG_OPERATOR(LongUnaryOperator.class, "applyAsLong", long.class, long.class),
+    DOUBLE_OPERATOR(DoubleUnaryOperator.class, "applyAsDouble", double.class, double.class),
+    PREDICATE(Predicate.class, "test", Object.class, boolean.class),
+    INT_PREDICATE(IntPredicate.class, "test", int.class, boolean.class),
+    LONG_PREDICATE(LongPredicate.class, "test", long.class, boolean.class),
+    DOUBLE_PREDICATE(DoublePredicate.class, "test", double.class, boolean.class);
+
+    final Class<?> type;
+    final String method;
+    final String internalName;
+    final String descriptor;
+    final Type argument;
+
+    FunctionShape(Class<?> type, String method, Class<?> argument, Class<?> result) {
+        this.type = type;
+        this.method = method;
+        this.internalName = Type.getInternalName(type);
+        this.argument = Type.getType(argument);
+        this.descriptor = Type.getMethodDescriptor(Type.getType(result), this.argument);
+    }
+
+    int loadOpcode() {
+        return argument.getOpcode(Opcodes.ILOAD);
+    }
+
+    int storeOpcode() {
+        return argument.getOpcode(Opcodes.ISTORE);
+    }
+
+    int returnOpcode() {
+        return argument.getOpcode(Opcodes.IRETURN);
+    }
+}
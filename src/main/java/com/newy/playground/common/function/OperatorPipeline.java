@@ -0,0 +1,46 @@
+package com.newy.playground.common.function;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 입력과 반환 타입이 같은 연쇄. F 는 UnaryOperator, IntUnaryOperator, LongUnaryOperator, DoubleUnaryOperator 중 하나이다.
+ */
+public final class OperatorPipeline<F> {
+    private final FunctionShape shape;
+    private final List<Object> stages;
+
+    OperatorPipeline(FunctionShape shape, F first) {
+        this(shape, List.of(Objects.requireNonNull(first)));
+    }
+
+    private OperatorPipeline(FunctionShape shape, List<Object> stages) {
+        this.shape = shape;
+        this.stages = stages;
+    }
+
+    public OperatorPipeline<F> andThen(F after) {
+        return new OperatorPipeline<>(shape, Pipeline.concat(stages, List.of(Objects.requireNonNull(after))));
+    }
+
+    public OperatorPipeline<F> andThen(OperatorPipeline<F> after) {
+        return new OperatorPipeline<>(shape, Pipeline.concat(stages, after.stages));
+    }
+
+    public OperatorPipeline<F> compose(F before) {
+        return new OperatorPipeline<>(shape, Pipeline.concat(List.of(Objects.requireNonNull(before)), stages));
+    }
+
+    public OperatorPipeline<F> compose(OperatorPipeline<F> before) {
+        return new OperatorPipeline<>(shape, Pipeline.concat(before.stages, stages));
+    }
+
+    public int size() {
+        return stages.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    public F compile() {
+        return (F) PipelineCompiler.compileChain(shape, stages);
+    }
+}
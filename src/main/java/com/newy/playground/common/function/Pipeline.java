@@ -0,0 +1,68 @@
+package com.newy.playground.common.function;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.*;
+
+/**
+ * 표준 함수형 인터페이스의 합성(andThen/compose, and/or/negate)을 기록했다가, 합성 전체를 구현 1개로 합치는 파이프라인.
+ * <pre>
+ * var normalize = Pipeline.function(String::strip).andThen(String::toUpperCase).andThen(code -> "M-" + code).compile();
+ * var inRange = Pipeline.longPredicate(v -> v >= 0).and(v -> v < 100).or(v -> v == -1).compile();
+ * </pre>
+ * [특징]
+ * - compile() 은 파이프라인마다 hidden class 를 만든다. 단계마다 호출 지점이 따로 있어서 JIT 가 모든 단계를 인라인한다.
+ * - 표준 합성은 단계마다 람다 객체를 만들고, 모든 합성이 같은 호출 지점을 공유해서 깊어질수록 인라인되지 않는다.
+ * - int/long/double 파이프라인은 값을 박싱하지 않는다.
+ * - 파이프라인은 불변이다. 합성 메서드는 새 파이프라인을 반환한다.
+ * - compile() 은 호출할 때마다 클래스를 만든다. 결과를 필드에 저장해서 재사용한다.
+ * - 이미 합성된 함수(예: f.andThen(g))를 단계로 넘기면 1개 단계로 보고 그 안은 합치지 않는다. 파이프라인을 넘기면 단계를 펼친다.
+ */
+public final class Pipeline {
+    private Pipeline() {
+    }
+
+    public static <T, R> FunctionPipeline<T, R> function(Function<T, R> first) {
+        return new FunctionPipeline<>(List.of(Objects.requireNonNull(first)));
+    }
+
+    public static <T> OperatorPipeline<UnaryOperator<T>> operator(UnaryOperator<T> first) {
+        return new OperatorPipeline<>(FunctionShape.UNARY_OPERATOR, first);
+    }
+
+    public static OperatorPipeline<IntUnaryOperator> intOperator(IntUnaryOperator first) {
+        return new OperatorPipeline<>(FunctionShape.INT_OPERATOR, first);
+    }
+
+    public static OperatorPipeline<LongUnaryOperator> longOperator(LongUnaryOperator first) {
+        return new OperatorPipeline<>(FunctionShape.LONG_OPERATOR, first);
+    }
+
+    public static OperatorPipeline<DoubleUnaryOperator> doubleOperator(DoubleUnaryOperator first) {
+        return new OperatorPipeline<>(FunctionShape.DOUBLE_OPERATOR, first);
+    }
+
+    public static <T> PredicatePipeline<Predicate<T>> predicate(Predicate<T> first) {
+        return new PredicatePipeline<>(FunctionShape.PREDICATE, first);
+    }
+
+    public static PredicatePipeline<IntPredicate> intPredicate(IntPredicate first) {
+        return new PredicatePipeline<>(FunctionShape.INT_PREDICATE, first);
+    }
+
+    public static PredicatePipeline<LongPredicate> longPredicate(LongPredicate first) {
+        return new PredicatePipeline<>(FunctionShape.LONG_PREDICATE, first);
+    }
+
+    public static PredicatePipeline<DoublePredicate> doublePredicate(DoublePredicate first) {
+        return new PredicatePipeline<>(FunctionShape.DOUBLE_PREDICATE, first);
+    }
+
+    static List<Object> concat(List<Object> first, List<Object> second) {
+        var stages = new ArrayList<Object>(first.size() + second.size());
+        stages.addAll(first);
+        stages.addAll(second);
+        return List.copyOf(stages);
+    }
+}
@@ -0,0 +1,233 @@
+package com.newy.playground.common.function;
+
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 파이프라인 1개를 hidden class 1개로 만든다.
+ * <p>
+ * [생성하는 클래스]
+ * - 단계(함수 객체)마다 static final 필드를 만들고, class data 로 넘긴 객체로 초기화한다. JIT 는 이 필드를 상수로 본다.
+ * - 단계마다 호출 지점이 따로 있어서 타입 프로파일이 단형(monomorphic)이고, 람다 본문까지 인라인된다.
+ *   (표준 andThen/and 가 반환하는 람다는 모든 합성이 같은 호출 지점을 공유해서 다형(megamorphic)이 된다)
+ * - 연쇄는 {@link #SEGMENT_STAGES} 단계씩 static 메서드로 나눈다. 메서드 1개가 인라인 크기 제한(FreqInlineSize)을 넘지 않게 한다.
+ * - 조건 트리는 단락 평가(short-circuit) 분기로 펼친다. 중간 결과를 boolean 으로 합치지 않는다.
+ * - hidden class 는 파이프라인을 참조하는 곳이 없으면 언로드된다.
+ */
+final class PipelineCompiler {
+    static final int SEGMENT_STAGES = 24;
+    /**
+     * 메서드 1개에 펼치는 조건 수의 상한. 메서드가 커지면 JIT 가 컴파일하지 않는다. (HugeMethodLimit)
+     */
+    static final int MAX_CONDITIONS = 256;
+
+    private static final String CLASS_NAME = PipelineCompiler.class.getPackageName().replace('.', '/') + "/FusedPipeline";
+    private static final String OBJECT = Type.getInternalName(Object.class);
+    private static final String LIST = Type.getInternalName(List.class);
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private PipelineCompiler() {
+    }
+
+    /**
+     * 입력과 반환 타입이 같은 단계를 순서대로 호출하는 구현을 만든다.
+     */
+    static Object compileChain(FunctionShape shape, List<Object> stages) {
+        var writer = newClass(shape, stages);
+        var argument = shape.argument;
+
+        var segments = (stages.size() + SEGMENT_STAGES - 1) / SEGMENT_STAGES;
+        var segmentDescriptor = Type.getMethodDescriptor(argument, argument);
+        for (int segment = 0; segment < segments; segment++) {
+            var mv = writer.visitMethod(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC, "segment" + segment, segmentDescriptor, null, null);
+            mv.visitCode();
+            var end = Math.min(stages.size(), (segment + 1) * SEGMENT_STAGES);
+            for (int stage = segment * SEGMENT_STAGES; stage < end; stage++) {
+                mv.visitFieldInsn(Opcodes.GETSTATIC, CLASS_NAME, field(stage), fieldDescriptor(shape));
+                mv.visitVarInsn(shape.loadOpcode(), 0);
+                mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, shape.internalName, shape.method, shape.descriptor, true);
+                mv.visitVarInsn(shape.storeOpcode(), 0);
+            }
+            mv.visitVarInsn(shape.loadOpcode(), 0);
+            mv.visitInsn(shape.returnOpcode());
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+
+        var mv = writer.visitMethod(Opcodes.ACC_PUBLIC, shape.method, shape.descriptor, null, null);
+        mv.visitCode();
+        mv.visitVarInsn(shape.loadOpcode(), 1);
+        for (int segment = 0; segment < segments; segment++) {
+            mv.visitMethodInsn(Opcodes.INVOKESTATIC, CLASS_NAME, "segment" + segment, segmentDescriptor, false);
+        }
+        mv.visitInsn(shape.returnOpcode());
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        return define(writer, stages);
+    }
+
+    /**
+     * 조건 트리를 단락 평가하는 predicate 구현을 만든다.
+     */
+    static Object compilePredicate(FunctionShape shape, Condition condition) {
+        var predicates = new ArrayList<Object>();
+        collect(condition, predicates);
+        if (predicates.size() > MAX_CONDITIONS) {
+            throw new IllegalArgumentException("조건이 너무 많습니다. size=" + predicates.size() + ", max=" + MAX_CONDITIONS);
+        }
+
+        var writer = newClass(shape, predicates);
+        var mv = writer.visitMethod(Opcodes.ACC_PUBLIC, shape.method, shape.descriptor, null, null);
+        mv.visitCode();
+        var isFalse = new Label();
+        new ConditionEmitter(mv, shape).jumpIfFalse(condition, isFalse);
+        mv.visitInsn(Opcodes.ICONST_1);
+        mv.visitInsn(Opcodes.IRETURN);
+        mv.visitLabel(isFalse);
+        mv.visitInsn(Opcodes.ICONST_0);
+        mv.visitInsn(Opcodes.IRETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        return define(writer, predicates);
+    }
+
+    /**
+     * 필드 선언, class data 로 필드를 초기화하는 static 초기화 블록, 생성자까지 만든다.
+     */
+    private static ClassWriter newClass(FunctionShape shape, List<Object> stages) {
+        var writer = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+        writer.visit(Opcodes.V21, Opcodes.ACC_FINAL | Opcodes.ACC_SUPER, CLASS_NAME, null, OBJECT, new String[]{shape.internalName});
+
+        for (int stage = 0; stage < stages.size(); stage++) {
+            writer.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL, field(stage), fieldDescriptor(shape), null, null).visitEnd();
+        }
+
+        var clinit = writer.visitMethod(Opcodes.ACC_STATIC, "<clinit>", "()V", null, null);
+        clinit.visitCode();
+        clinit.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/invoke/MethodHandles", "lookup", "()Ljava/lang/invoke/MethodHandles$Lookup;", false);
+        clinit.visitLdcInsn("_");
+        clinit.visitLdcInsn(Type.getType(List.class));
+        clinit.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/invoke/MethodHandles", "classData",
+                "(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;Ljava/lang/Class;)Ljava/lang/Object;", false);
+        clinit.visitTypeInsn(Opcodes.CHECKCAST, LIST);
+        clinit.visitVarInsn(Opcodes.ASTORE, 0);
+        for (int stage = 0; stage < stages.size(); stage++) {
+            clinit.visitVarInsn(Opcodes.ALOAD, 0);
+            clinit.visitLdcInsn(stage);
+            clinit.visitMethodInsn(Opcodes.INVOKEINTERFACE, LIST, "get", "(I)Ljava/lang/Object;", true);
+            clinit.visitTypeInsn(Opcodes.CHECKCAST, shape.internalName);
+            clinit.visitFieldInsn(Opcodes.PUTSTATIC, CLASS_NAME, field(stage), fieldDescriptor(shape));
+        }
+        clinit.visitInsn(Opcodes.RETURN);
+        clinit.visitMaxs(0, 0);
+        clinit.visitEnd();
+
+        var init = writer.visitMethod(Opcodes.ACC_PRIVATE, "<init>", "()V", null, null);
+        init.visitCode();
+        init.visitVarInsn(Opcodes.ALOAD, 0);
+        init.visitMethodInsn(Opcodes.INVOKESPECIAL, OBJECT, "<init>", "()V", false);
+        init.visitInsn(Opcodes.RETURN);
+        init.visitMaxs(0, 0);
+        init.visitEnd();
+        return writer;
+    }
+
+    private static Object define(ClassWriter writer, List<Object> stages) {
+        writer.visitEnd();
+        try {
+            var hidden = LOOKUP.defineHiddenClassWithClassData(writer.toByteArray(), List.copyOf(stages), true);
+            return hidden.findConstructor(hidden.lookupClass(), MethodType.methodType(void.class)).invoke();
+        } catch (Throwable e) {
+            throw new IllegalStateException("파이프라인 클래스를 만들 수 없습니다.", e);
+        }
+    }
+
+    private static void collect(Condition condition, List<Object> predicates) {
+        switch (condition) {
+            case Condition.Test test -> predicates.add(test.predicate());
+            case Condition.And and -> {
+                collect(and.left(), predicates);
+                collect(and.right(), predicates);
+            }
+            case Condition.Or or -> {
+                collect(or.left(), predicates);
+                collect(or.right(), predicates);
+            }
+            case Condition.Not not -> collect(not.condition(), predicates);
+        }
+    }
+
+    private static String field(int stage) {
+        return "stage" + stage;
+    }
+
+    private static String fieldDescriptor(FunctionShape shape) {
+        return "L" + shape.internalName + ";";
+    }
+
+    /**
+     * 조건을 분기 명령으로 펼친다. 조건은 {@link #collect} 와 같은 순서로 필드 번호를 받는다.
+     * jumpIfFalse 는 거짓이면 label 로 가고 참이면 다음 명령으로 이어진다. jumpIfTrue 는 반대다.
+     */
+    private static final class ConditionEmitter {
+        private final MethodVisitor mv;
+        private final FunctionShape shape;
+        private int next;
+
+        ConditionEmitter(MethodVisitor mv, FunctionShape shape) {
+            this.mv = mv;
+            this.shape = shape;
+        }
+
+        void jumpIfFalse(Condition condition, Label label) {
+            switch (condition) {
+                case Condition.Test ignored -> test(Opcodes.IFEQ, label);
+                case Condition.And and -> {
+                    jumpIfFalse(and.left(), label);
+                    jumpIfFalse(and.right(), label);
+                }
+                case Condition.Or or -> {
+                    var isTrue = new Label();
+                    jumpIfTrue(or.left(), isTrue);
+                    jumpIfFalse(or.right(), label);
+                    mv.visitLabel(isTrue);
+                }
+                case Condition.Not not -> jumpIfTrue(not.condition(), label);
+            }
+        }
+
+        void jumpIfTrue(Condition condition, Label label) {
+            switch (condition) {
+                case Condition.Test ignored -> test(Opcodes.IFNE, label);
+                case Condition.And and -> {
+                    var isFalse = new Label();
+                    jumpIfFalse(and.left(), isFalse);
+                    jumpIfTrue(and.right(), label);
+                    mv.visitLabel(isFalse);
+                }
+                case Condition.Or or -> {
+                    jumpIfTrue(or.left(), label);
+                    jumpIfTrue(or.right(), label);
+                }
+                case Condition.Not not -> jumpIfFalse(not.condition(), label);
+            }
+        }
+
+        private void test(int jump, Label label) {
+            mv.visitFieldInsn(Opcodes.GETSTATIC, CLASS_NAME, field(next++), fieldDescriptor(shape));
+            mv.visitVarInsn(shape.loadOpcode(), 1);
+            mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, shape.internalName, shape.method, shape.descriptor, true);
+            mv.visitJumpInsn(jump, label);
+        }
+    }
+}
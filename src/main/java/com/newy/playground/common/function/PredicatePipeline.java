@@ -0,0 +1,46 @@
+package com.newy.playground.common.function;
+
+import java.util.Objects;
+
+/**
+ * 조건 트리. P 는 Predicate, IntPredicate, LongPredicate, DoublePredicate 중 하나이다.
+ * 표준 and/or 와 같이 왼쪽 조건부터 단락 평가한다.
+ */
+public final class PredicatePipeline<P> {
+    private final FunctionShape shape;
+    private final Condition condition;
+
+    PredicatePipeline(FunctionShape shape, P first) {
+        this(shape, new Condition.Test(Objects.requireNonNull(first)));
+    }
+
+    private PredicatePipeline(FunctionShape shape, Condition condition) {
+        this.shape = shape;
+        this.condition = condition;
+    }
+
+    public PredicatePipeline<P> and(P other) {
+        return new PredicatePipeline<>(shape, new Condition.And(condition, new Condition.Test(Objects.requireNonNull(other))));
+    }
+
+    public PredicatePipeline<P> and(PredicatePipeline<P> other) {
+        return new PredicatePipeline<>(shape, new Condition.And(condition, other.condition));
+    }
+
+    public PredicatePipeline<P> or(P other) {
+        return new PredicatePipeline<>(shape, new Condition.Or(condition, new Condition.Test(Objects.requireNonNull(other))));
+    }
+
+    public PredicatePipeline<P> or(PredicatePipeline<P> other) {
+        return new PredicatePipeline<>(shape, new Condition.Or(condition, other.condition));
+    }
+
+    public PredicatePipeline<P> negate() {
+        return new PredicatePipeline<>(shape, condition instanceof Condition.Not not ? not.condition() : new Condition.Not(condition));
+    }
+
+    @SuppressWarnings("unchecked")
+    public P compile() {
+        return (P) PipelineCompiler.compilePredicate(shape, condition);
+    }
+}
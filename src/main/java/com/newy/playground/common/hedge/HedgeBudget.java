@@ -0,0 +1,39 @@
+package com.newy.playground.common.hedge;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 일반 호출마다 ratio 만큼 적립하고, 백업 호출마다 1 만큼 차감하는 토큰 버킷.
+ * 적립 한도가 있기 때문에, 한동안 백업 호출이 없었더라도 순간적으로 부하가 몰리지 않는다.
+ */
+class HedgeBudget {
+    private static final long SCALE = 1_000;
+
+    private final long depositPerCall;
+    private final long maxBalance;
+    private final AtomicLong balance = new AtomicLong();
+
+    HedgeBudget(double ratio, long maxTokens) {
+        this.depositPerCall = Math.round(ratio * SCALE);
+        this.maxBalance = maxTokens * SCALE;
+    }
+
+    void deposit() {
+        if (depositPerCall == 0) {
+            return;
+        }
+        balance.getAndUpdate(current -> Math.min(maxBalance, current + depositPerCall));
+    }
+
+    boolean tryWithdraw() {
+        while (true) {
+            var current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - SCALE)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.newy.playground.common.hedge;
+
+import java.time.Duration;
+
+/**
+ * {@link HedgedPort} 상태의 특정 시점 스냅샷.
+ *
+ * @param calls           누적 호출 수
+ * @param hedged          백업 호출을 보낸 누적 수
+ * @param hedgeWins       백업 호출이 먼저 응답한 누적 수
+ * @param budgetExhausted 예산이 부족해서 백업 호출을 보내지 못한 누적 수
+ * @param hedgeDelay      현재 백업 호출 대기 시간 (최소 호출 수를 채우기 전에는 null)
+ */
+public record HedgeMetrics(
+        long calls,
+        long hedged,
+        long hedgeWins,
+        long budgetExhausted,
+        Duration hedgeDelay
+) {
+    /**
+     * 호출 1건 당 백업 호출 비율. 추가 부하의 비율과 같다.
+     */
+    public double hedgeRate() {
+        return calls == 0 ? 0 : (double) hedged / calls;
+    }
+}
@@ -0,0 +1,59 @@
+package com.newy.playground.common.hedge;
+
+import java.time.Duration;
+
+/**
+ * {@link HedgedPort} 설정 값.
+ *
+ * @param percentile  최근 지연 시간의 이 백분위 수를 넘으면 백업 호출을 보낸다 (0 ~ 1)
+ * @param windowSize  백분위 수 계산에 사용할 최근 호출 수
+ * @param minSamples  백업 호출을 시작하기 전에 필요한 최소 호출 수
+ * @param minDelay    백업 호출을 보내기 전 최소 대기 시간
+ * @param budgetRatio 일반 호출 대비 허용할 백업 호출 비율 (예: 0.1 이면 최대 10% 추가 부하)
+ */
+public record HedgePolicy(
+        double percentile,
+        int windowSize,
+        int minSamples,
+        Duration minDelay,
+        double budgetRatio
+) {
+    public HedgePolicy {
+        if (percentile <= 0 || percentile >= 1) {
+            throw new IllegalArgumentException("percentile 은 0 보다 크고 1 보다 작아야 합니다.");
+        }
+        if (windowSize <= 0 || minSamples <= 0 || minSamples > windowSize) {
+            throw new IllegalArgumentException("minSamples 는 1 이상, windowSize 이하여야 합니다.");
+        }
+        if (minDelay == null || minDelay.isNegative()) {
+            throw new IllegalArgumentException("minDelay 는 0 이상이어야 합니다.");
+        }
+        if (budgetRatio < 0) {
+            throw new IllegalArgumentException("budgetRatio 는 0 이상이어야 합니다.");
+        }
+    }
+
+    public static HedgePolicy defaults() {
+        return new HedgePolicy(0.95, 1024, 100, Duration.ofMillis(1), 0.05);
+    }
+
+    public HedgePolicy withPercentile(double percentile) {
+        return new HedgePolicy(percentile, windowSize, minSamples, minDelay, budgetRatio);
+    }
+
+    public HedgePolicy withWindowSize(int windowSize) {
+        return new HedgePolicy(percentile, windowSize, minSamples, minDelay, budgetRatio);
+    }
+
+    public HedgePolicy withMinSamples(int minSamples) {
+        return new HedgePolicy(percentile, windowSize, minSamples, minDelay, budgetRatio);
+    }
+
+    public HedgePolicy withMinDelay(Duration minDelay) {
+        return new HedgePolicy(percentile, windowSize, minSamples, minDelay, budgetRatio);
+    }
+
+    public HedgePolicy withBudgetRatio(double budgetRatio) {
+        return new HedgePolicy(percentile, windowSize, minSamples, minDelay, budgetRatio);
+    }
+}
@@ -0,0 +1,168 @@
+package com.newy.playground.common.hedge;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SAM 형식의 Out Port 에 hedged request 를 적용한다.
+ * <p>
+ * 첫 번째 호출이 최근 지연 시간의 백분위 수({@link HedgePolicy#percentile()})를 넘도록 응답하지 않으면 백업 호출을 보내고,
+ * 먼저 성공한 응답을 사용한다. 나머지 호출은 인터럽트로 취소한다.
+ * 백업 호출은 {@link HedgePolicy#budgetRatio()} 만큼만 허용해서, 장애 상황에서 부하가 2배가 되는 것을 막는다.
+ * <p>
+ * 지연 시간 샘플이 부족해서 백업 호출을 보낼 수 없을 때는 호출 스레드에서 바로 실행한다.
+ * 그 외에는 첫 번째 호출도 Executor 에서 실행한다. 인터럽트에 응답하지 않는 호출이 늦어져도, 백업 호출의 응답을 바로 반환하기 위함이다.
+ * <pre>{@code
+ * var hedged = HedgedPort.of(FirstOutPort.class, firstOutPort, HedgePolicy.defaults());
+ * var service = new SomethingService(hedged.port(), secondOutPort);
+ * }</pre>
+ */
+public final class HedgedPort<T> {
+    private static final ExecutorService DEFAULT_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final T target;
+    private final T port;
+    private final HedgePolicy policy;
+    private final ExecutorService executor;
+    private final LatencyWindow latencies;
+    private final HedgeBudget budget;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder hedged = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LongAdder budgetExhausted = new LongAdder();
+
+    private HedgedPort(Class<T> portType, T target, HedgePolicy policy, ExecutorService executor) {
+        if (!portType.isInterface()) {
+            throw new IllegalArgumentException("Out Port 는 인터페이스여야 합니다. portType=" + portType.getName());
+        }
+        this.target = target;
+        this.policy = policy;
+        this.executor = executor;
+        this.latencies = new LatencyWindow(policy.windowSize(), policy.percentile(), policy.minSamples());
+        this.budget = new HedgeBudget(policy.budgetRatio(), Math.max(1, Math.round(policy.windowSize() * policy.budgetRatio())));
+        this.port = portType.cast(Proxy.newProxyInstance(portType.getClassLoader(), new Class<?>[]{portType}, (proxy, method, args) ->
+                method.getDeclaringClass() == Object.class ? invoke(method, args) : invokeHedged(method, args)
+        ));
+    }
+
+    public static <T> HedgedPort<T> of(Class<T> portType, T port, HedgePolicy policy) {
+        return of(portType, port, policy, DEFAULT_EXECUTOR);
+    }
+
+    /**
+     * @param executor 호출을 실행할 Executor. 호출마다 최대 2개의 작업이 블로킹되므로, 가상 스레드 Executor 를 권장한다.
+     */
+    public static <T> HedgedPort<T> of(Class<T> portType, T port, HedgePolicy policy, ExecutorService executor) {
+        return new HedgedPort<>(portType, port, policy, executor);
+    }
+
+    public T port() {
+        return port;
+    }
+
+    public HedgeMetrics metrics() {
+        var delayNanos = latencies.percentileNanos();
+        return new HedgeMetrics(
+                calls.sum(),
+                hedged.sum(),
+                hedgeWins.sum(),
+                budgetExhausted.sum(),
+                delayNanos == LatencyWindow.NOT_READY ? null : Duration.ofNanos(hedgeDelayNanos(delayNanos))
+        );
+    }
+
+    private Object invokeHedged(Method method, Object[] args) throws Throwable {
+        calls.increment();
+        budget.deposit();
+
+        var startNanos = System.nanoTime();
+        var delayNanos = latencies.percentileNanos();
+        if (delayNanos == LatencyWindow.NOT_READY) {
+            try {
+                return invoke(method, args);
+            } finally {
+                latencies.record(System.nanoTime() - startNanos);
+            }
+        }
+
+        var completion = new ExecutorCompletionService<Object>(executor);
+        var primary = completion.submit(() -> invoke(method, args));
+        Future<?> backup = null;
+        try {
+            var done = completion.poll(hedgeDelayNanos(delayNanos), TimeUnit.NANOSECONDS);
+
+            if (done == null) {
+                if (budget.tryWithdraw()) {
+                    hedged.increment();
+                    backup = completion.submit(() -> invoke(method, args));
+                } else {
+                    budgetExhausted.increment();
+                }
+                done = completion.take();
+            }
+
+            try {
+                var result = done.get();
+                if (done == backup) {
+                    hedgeWins.increment();
+                }
+                return result;
+            } catch (ExecutionException firstFailure) {
+                if (backup == null) {
+                    throw firstFailure.getCause();
+                }
+                // 먼저 끝난 호출이 실패했다면, 남은 호출의 결과를 사용한다.
+                try {
+                    var other = completion.take();
+                    var result = other.get();
+                    if (other == backup) {
+                        hedgeWins.increment();
+                    }
+                    return result;
+                } catch (ExecutionException secondFailure) {
+                    throw firstFailure.getCause();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Out Port 응답을 기다리는 중에 인터럽트가 발생했습니다.", e);
+        } finally {
+            // 첫 번째 호출이 취소된 경우 실제 지연 시간보다 작은 값(하한)이지만, 느린 샘플을 버리지 않기 위해 응답까지 걸린 시간을 기록한다.
+            latencies.record(System.nanoTime() - startNanos);
+            primary.cancel(true);
+            if (backup != null) {
+                backup.cancel(true);
+            }
+        }
+    }
+
+    private long hedgeDelayNanos(long percentileNanos) {
+        return Math.max(policy.minDelay().toNanos(), percentileNanos);
+    }
+
+    /**
+     * 대상이 던진 예외를 감싸지 않고 던진다. Error 도 그대로 던져서, Future 를 거쳐도 호출자가 같은 Error 를 받는다.
+     */
+    private Object invoke(Method method, Object[] args) throws Exception {
+        try {
+            method.setAccessible(true);
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            switch (e.getCause()) {
+                case Exception cause -> throw cause;
+                case Error error -> throw error;
+                case null, default -> throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.newy.playground.common.hedge;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 최근 N 개 호출의 지연 시간을 저장하고, 백분위 수를 계산한다.
+ * 정렬 비용을 줄이기 위해, 백분위 수는 일정 개수의 샘플마다 다시 계산하고 그 사이에는 캐시한 값을 사용한다.
+ */
+class LatencyWindow {
+    private static final int RECALCULATE_INTERVAL = 64;
+    static final long NOT_READY = -1;
+
+    private final AtomicLongArray samples;
+    private final AtomicLong count = new AtomicLong();
+    private final double percentile;
+    private final int minSamples;
+    private volatile long cachedPercentileNanos = NOT_READY;
+
+    LatencyWindow(int windowSize, double percentile, int minSamples) {
+        this.samples = new AtomicLongArray(windowSize);
+        this.percentile = percentile;
+        this.minSamples = minSamples;
+    }
+
+    void record(long latencyNanos) {
+        var index = count.getAndIncrement();
+        samples.set((int) (index % samples.length()), latencyNanos);
+
+        var recorded = index + 1;
+        if (recorded >= minSamples && (recorded == minSamples || recorded % RECALCULATE_INTERVAL == 0)) {
+            cachedPercentileNanos = calculate((int) Math.min(recorded, samples.length()));
+        }
+    }
+
+    /**
+     * @return 백분위 수 지연 시간. 최소 샘플 수를 채우지 못했다면 {@link #NOT_READY}
+     */
+    long percentileNanos() {
+        return cachedPercentileNanos;
+    }
+
+    private long calculate(int size) {
+        var copy = new long[size];
+        for (int i = 0; i < size; i++) {
+            copy[i] = samples.get(i);
+        }
+        Arrays.sort(copy);
+        var rank = (int) Math.ceil(percentile * size) - 1;
+        return copy[Math.max(0, Math.min(size - 1, rank))];
+    }
+}
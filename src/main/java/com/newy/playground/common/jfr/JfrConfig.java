@@ -0,0 +1,31 @@
+package com.newy.playground.common.jfr;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(JfrProperties.class)
+public class JfrConfig {
+    /**
+     * Repository 가 생성되기 전에(afterPropertiesSet 이전에) 프록시에 {@link RepositoryCallInterceptor} 를 추가한다.
+     */
+    @Bean
+    public static BeanPostProcessor repositoryCallEventPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(
+                                    new RepositoryCallInterceptor(repositoryInformation.getRepositoryInterface())
+                            )
+                    ));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package com.newy.playground.common.jfr;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Recording 시작 시 적용할 커스텀 이벤트의 threshold.
+ * threshold 보다 짧은 호출은 기록하지 않기 때문에, 운영 환경에서도 기록 비용이 거의 없다.
+ */
+@ConfigurationProperties("playground.jfr")
+public record JfrProperties(
+        @DefaultValue("10ms") Duration repositoryThreshold,
+        @DefaultValue("1ms") Duration validationThreshold,
+        @DefaultValue("10ms") Duration outPortThreshold,
+        @DefaultValue("30m") Duration maxAge
+) {
+}
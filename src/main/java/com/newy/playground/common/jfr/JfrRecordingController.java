@@ -0,0 +1,70 @@
+package com.newy.playground.common.jfr;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.text.ParseException;
+
+/**
+ * Recording 을 제어하고 덤프를 내려받는 내부용 API. 애플리케이션 포트에 그대로 노출되기 때문에 기본으로 등록하지 않는다.
+ * 필요한 인스턴스에서만 {@code playground.jfr.endpoint-enabled=true} 로 켠다.
+ */
+@RestController
+@RequestMapping("/internal/jfr")
+@ConditionalOnProperty(prefix = "playground.jfr", name = "endpoint-enabled", havingValue = "true")
+public class JfrRecordingController {
+    private final JfrRecordingService recordingService;
+
+    public JfrRecordingController(JfrRecordingService recordingService) {
+        this.recordingService = recordingService;
+    }
+
+    @GetMapping
+    public ResponseEntity<JfrRecordingStatus> status() {
+        return ResponseEntity.of(recordingService.status());
+    }
+
+    @PostMapping("/start")
+    public JfrRecordingStatus start(@RequestParam(defaultValue = "profile") String settings) throws IOException, ParseException {
+        return recordingService.start(settings);
+    }
+
+    @PostMapping("/stop")
+    public JfrRecordingStatus stop() {
+        return recordingService.stop();
+    }
+
+    @GetMapping("/dump")
+    public ResponseEntity<StreamingResponseBody> dump() throws IOException {
+        var file = recordingService.dump();
+        StreamingResponseBody body = outputStream -> {
+            try {
+                Files.copy(file, outputStream);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getFileName() + "\"")
+                .body(body);
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<String> handleIllegalState(IllegalStateException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+}
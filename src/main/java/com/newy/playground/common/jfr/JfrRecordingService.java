@@ -0,0 +1,79 @@
+package com.newy.playground.common.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.Optional;
+
+/**
+ * 실행 중인 인스턴스에서 JFR Recording 을 시작/종료/덤프한다. 동시에 1개의 Recording 만 관리한다.
+ */
+@Service
+public class JfrRecordingService {
+    private static final String RECORDING_NAME = "playground";
+
+    private final JfrProperties properties;
+    private Recording recording;
+
+    public JfrRecordingService(JfrProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * @param settings JDK 에 포함된 설정 이름 ("default" 또는 "profile")
+     */
+    public synchronized JfrRecordingStatus start(String settings) throws IOException, ParseException {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("이미 실행 중인 Recording 이 있습니다. id=" + recording.getId());
+        }
+        if (recording != null) {
+            recording.close();
+        }
+
+        var newRecording = new Recording(Configuration.getConfiguration(settings));
+        newRecording.setName(RECORDING_NAME);
+        newRecording.setToDisk(true);
+        newRecording.setMaxAge(properties.maxAge());
+        newRecording.enable(RepositoryCallEvent.class).withThreshold(properties.repositoryThreshold());
+        newRecording.enable(ValidationEvent.class).withThreshold(properties.validationThreshold());
+        newRecording.enable(OutPortCallEvent.class).withThreshold(properties.outPortThreshold());
+        newRecording.start();
+
+        recording = newRecording;
+        return JfrRecordingStatus.from(recording);
+    }
+
+    public synchronized JfrRecordingStatus stop() {
+        var current = currentRecording();
+        if (current.getState() == RecordingState.RUNNING) {
+            current.stop();
+        }
+        return JfrRecordingStatus.from(current);
+    }
+
+    public synchronized Optional<JfrRecordingStatus> status() {
+        return Optional.ofNullable(recording).map(JfrRecordingStatus::from);
+    }
+
+    /**
+     * 현재까지 기록한 내용을 임시 파일로 덤프한다. 파일 삭제는 호출자가 책임진다.
+     */
+    public synchronized Path dump() throws IOException {
+        var file = Files.createTempFile(RECORDING_NAME + "-", ".jfr");
+        currentRecording().dump(file);
+        return file;
+    }
+
+    private Recording currentRecording() {
+        if (recording == null) {
+            throw new IllegalStateException("시작한 Recording 이 없습니다.");
+        }
+        return recording;
+    }
+}
@@ -0,0 +1,17 @@
+package com.newy.playground.common.jfr;
+
+import jdk.jfr.Recording;
+
+import java.time.Instant;
+
+public record JfrRecordingStatus(long id, String name, String state, Instant startTime, Instant stopTime) {
+    static JfrRecordingStatus from(Recording recording) {
+        return new JfrRecordingStatus(
+                recording.getId(),
+                recording.getName(),
+                recording.getState().name(),
+                recording.getStartTime(),
+                recording.getStopTime()
+        );
+    }
+}
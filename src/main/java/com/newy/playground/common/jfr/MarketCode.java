@@ -0,0 +1,17 @@
+package com.newy.playground.common.jfr;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * {@link RepositoryCallEvent} 에 거래소 코드로 기록할 Repository 메서드 파라미터.
+ * <pre>{@code
+ * Optional<Market> findByCode(@MarketCode String code);
+ * }</pre>
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface MarketCode {
+}
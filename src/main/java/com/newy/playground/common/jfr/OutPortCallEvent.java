@@ -0,0 +1,28 @@
+package com.newy.playground.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Out Port(외부 의존성) 호출 이벤트.
+ */
+@Name("com.newy.playground.OutPortCall")
+@Label("Out Port Call")
+@Category({"Playground", "Out Port"})
+@Description("Out Port 인터페이스 호출")
+@StackTrace(false)
+@Threshold("10 ms")
+public class OutPortCallEvent extends jdk.jfr.Event {
+    @Label("Port")
+    public String port;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Failed")
+    public boolean failed;
+}
@@ -0,0 +1,60 @@
+package com.newy.playground.common.jfr;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * SAM 형식의 Out Port 호출을 {@link OutPortCallEvent} 로 기록한다.
+ * <pre>{@code
+ * var service = new SomethingService(OutPortRecorder.record(FirstOutPort.class, firstOutPort), secondOutPort);
+ * }</pre>
+ */
+public final class OutPortRecorder {
+    private OutPortRecorder() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> T record(Class<T> portType, T port) {
+        if (!portType.isInterface()) {
+            throw new IllegalArgumentException("Out Port 는 인터페이스여야 합니다. portType=" + portType.getName());
+        }
+
+        var portName = portType.getSimpleName();
+        return (T) Proxy.newProxyInstance(portType.getClassLoader(), new Class<?>[]{portType}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return invoke(port, method, args);
+            }
+
+            var event = new OutPortCallEvent();
+            if (!event.isEnabled()) {
+                return invoke(port, method, args);
+            }
+
+            event.begin();
+            try {
+                return invoke(port, method, args);
+            } catch (Throwable e) {
+                event.failed = true;
+                throw e;
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.port = portName;
+                    event.method = method.getName();
+                    event.commit();
+                }
+            }
+        });
+    }
+
+    static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            // 테스트 코드처럼 package-private 인터페이스도 지원한다.
+            method.setAccessible(true);
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
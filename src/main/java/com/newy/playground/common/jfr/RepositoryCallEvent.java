@@ -0,0 +1,34 @@
+package com.newy.playground.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Spring Data Repository 메서드 호출 이벤트.
+ */
+@Name("com.newy.playground.RepositoryCall")
+@Label("Repository Call")
+@Category({"Playground", "Repository"})
+@Description("Spring Data Repository 메서드 호출")
+@StackTrace(false)
+@Threshold("10 ms")
+public class RepositoryCallEvent extends jdk.jfr.Event {
+    @Label("Repository")
+    public String repository;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Market Code")
+    public String marketCode;
+
+    @Label("Rows")
+    public int rows;
+
+    @Label("Failed")
+    public boolean failed;
+}
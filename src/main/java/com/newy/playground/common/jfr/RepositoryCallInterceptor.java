@@ -0,0 +1,81 @@
+package com.newy.playground.common.jfr;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.domain.Slice;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Repository 프록시에 추가되어, 메서드 호출을 {@link RepositoryCallEvent} 로 기록한다.
+ * {@link MarketCode} 를 붙인 파라미터만 거래소 코드로 기록한다. 다른 String 파라미터는 기록하지 않는다.
+ */
+class RepositoryCallInterceptor implements MethodInterceptor {
+    private static final int NO_MARKET_CODE = -1;
+
+    private final String repositoryName;
+    private final Map<Method, Integer> marketCodeIndexes = new ConcurrentHashMap<>();
+
+    RepositoryCallInterceptor(Class<?> repositoryInterface) {
+        this.repositoryName = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        var event = new RepositoryCallEvent();
+        if (!event.isEnabled()) {
+            return invocation.proceed();
+        }
+
+        event.begin();
+        Object result = null;
+        try {
+            result = invocation.proceed();
+            return result;
+        } catch (Throwable e) {
+            event.failed = true;
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.repository = repositoryName;
+                event.method = invocation.getMethod().getName();
+                event.marketCode = findMarketCode(invocation.getMethod(), invocation.getArguments());
+                event.rows = countRows(result);
+                event.commit();
+            }
+        }
+    }
+
+    private String findMarketCode(Method method, Object[] arguments) {
+        int index = marketCodeIndexes.computeIfAbsent(method, RepositoryCallInterceptor::marketCodeIndex);
+        if (index == NO_MARKET_CODE || index >= arguments.length) {
+            return null;
+        }
+        return arguments[index] instanceof String code ? code : null;
+    }
+
+    private static int marketCodeIndex(Method method) {
+        var parameters = method.getParameters();
+        for (int i = 0; i < parameters.length; i++) {
+            if (parameters[i].isAnnotationPresent(MarketCode.class)) {
+                return i;
+            }
+        }
+        return NO_MARKET_CODE;
+    }
+
+    private static int countRows(Object result) {
+        return switch (result) {
+            case null -> 0;
+            case Collection<?> collection -> collection.size();
+            case Optional<?> optional -> optional.isPresent() ? 1 : 0;
+            case Slice<?> slice -> slice.getNumberOfElements();
+            default -> 1;
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package com.newy.playground.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Bean Validation 으로 입력 모델을 검증하는 이벤트.
+ */
+@Name("com.newy.playground.Validation")
+@Label("Validation")
+@Category({"Playground", "Validation"})
+@Description("Bean Validation 입력 유효성 검증")
+@StackTrace(false)
+@Threshold("1 ms")
+public class ValidationEvent extends jdk.jfr.Event {
+    @Label("Type")
+    public String type;
+
+    @Label("Violations")
+    public int violations;
+}
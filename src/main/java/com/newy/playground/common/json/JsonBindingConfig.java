@@ -0,0 +1,20 @@
+package com.newy.playground.common.json;
+
+import com.newy.playground.json.JsonCodecs;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration(proxyBeanMethods = false)
+public class JsonBindingConfig implements WebMvcConfigurer {
+    /**
+     * Jackson 보다 먼저 {@code @JsonRecord} Record 를 처리하도록 맨 앞에 추가한다.
+     * (devtools 의 restart 클래스 로더에서도 코덱을 찾도록, 애플리케이션 클래스 로더로 읽는다)
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.addFirst(new RecordJsonHttpMessageConverter(JsonCodecs.load(getClass().getClassLoader())));
+    }
+}
@@ -0,0 +1,63 @@
+package com.newy.playground.common.json;
+
+import com.newy.playground.json.JsonCodec;
+import com.newy.playground.json.JsonCodecs;
+import com.newy.playground.json.JsonParseException;
+import com.newy.playground.json.JsonReader;
+import com.newy.playground.json.JsonWriteException;
+import com.newy.playground.json.JsonWriter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+
+/**
+ * {@code @JsonRecord} Record 를 생성한 코덱으로 읽고 쓴다. 코덱이 없는 타입은 다음 컨버터(Jackson)가 처리한다.
+ * <p>
+ * JSON 형식 오류는 {@link HttpMessageNotReadableException}, JSON 으로 쓸 수 없는 값은 {@link HttpMessageNotWritableException} 으로 바꾼다.
+ * Record 생성자에서 발생한 예외(입력 유효성 검증 실패 등)도 Jackson 처럼 {@link HttpMessageNotReadableException} 으로 감싸서 400 을 반환한다.
+ */
+public class RecordJsonHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+    private final JsonCodecs codecs;
+
+    public RecordJsonHttpMessageConverter(JsonCodecs codecs) {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.codecs = codecs;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return codecs.find(clazz) != null;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        try {
+            var reader = new JsonReader(inputMessage.getBody());
+            var value = codecs.find(clazz).read(reader);
+            reader.endDocument();
+            return value;
+        } catch (JsonParseException e) {
+            throw new HttpMessageNotReadableException("JSON 을 읽을 수 없습니다. " + e.getMessage(), e, inputMessage);
+        } catch (RuntimeException e) {
+            throw new HttpMessageNotReadableException("Record 를 만들 수 없습니다. " + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object value, HttpOutputMessage outputMessage) throws IOException {
+        var codec = (JsonCodec<Object>) codecs.find(value.getClass());
+        var writer = new JsonWriter(outputMessage.getBody());
+        try {
+            codec.write(writer, value);
+        } catch (JsonWriteException e) {
+            throw new HttpMessageNotWritableException("JSON 을 쓸 수 없습니다. " + e.getMessage(), e);
+        }
+        writer.flush();
+    }
+}
@@ -0,0 +1,71 @@
+package com.newy.playground.common.pool;
+
+import java.lang.ref.Cleaner;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link ResourcePool} 에서 대여한 리소스.
+ * try-with-resources 블록이 끝나면 리소스를 닫지 않고 풀에 반납한다.
+ */
+public final class Lease<T extends AutoCloseable> implements AutoCloseable {
+    private final ResourcePool<T> pool;
+    private final ResourcePool.Entry<T> entry;
+    private final AtomicBoolean returned;
+    private final Cleaner.Cleanable leakWatcher;
+
+    Lease(ResourcePool<T> pool, ResourcePool.Entry<T> entry, Cleaner cleaner) {
+        this.pool = pool;
+        this.entry = entry;
+        this.returned = new AtomicBoolean(false);
+        this.leakWatcher = cleaner == null
+                ? null
+                // LeakWatcher 가 Lease 를 참조하면 GC 대상이 되지 않기 때문에, 필요한 값만 넘긴다.
+                : cleaner.register(this, new LeakWatcher<>(pool, entry, returned, new Throwable("리소스 대여 위치")));
+    }
+
+    public T get() {
+        if (returned.get()) {
+            throw new IllegalStateException("이미 반납한 리소스입니다.");
+        }
+        return entry.resource;
+    }
+
+    /**
+     * 리소스가 더 이상 사용할 수 없는 상태인 경우, 풀에 반납하지 않고 해제한다.
+     */
+    public void invalidate() {
+        if (returned.compareAndSet(false, true)) {
+            pool.destroy(entry);
+            cleanLeakWatcher();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (returned.compareAndSet(false, true)) {
+            pool.release(entry);
+            cleanLeakWatcher();
+        }
+    }
+
+    private void cleanLeakWatcher() {
+        if (leakWatcher != null) {
+            leakWatcher.clean();
+        }
+    }
+
+    private record LeakWatcher<T extends AutoCloseable>(
+            ResourcePool<T> pool,
+            ResourcePool.Entry<T> entry,
+            AtomicBoolean returned,
+            Throwable borrowedAt
+    ) implements Runnable {
+        @Override
+        public void run() {
+            // close() 에서 호출한 경우 returned 가 이미 true 이다.
+            if (returned.compareAndSet(false, true)) {
+                pool.reportLeak(entry, borrowedAt);
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.newy.playground.common.pool;
+
+import java.time.Duration;
+
+/**
+ * {@link ResourcePool} 설정 값.
+ * Record 복사 메서드(withXxx)로 기본 값에서 필요한 값만 바꿔서 사용한다.
+ *
+ * @param maxSize             동시에 존재할 수 있는 최대 리소스 수
+ * @param borrowTimeout       풀이 가득 찬 경우, 반납을 기다리는 최대 시간
+ * @param idleTimeout         유휴 리소스를 제거하기까지의 시간
+ * @param evictionInterval    유휴 리소스 제거 작업 주기 (0 이면 제거 작업을 실행하지 않는다)
+ * @param leakDetection       반납하지 않은 Lease 의 대여 위치(stack trace) 기록 여부
+ */
+public record PoolConfig(
+        int maxSize,
+        Duration borrowTimeout,
+        Duration idleTimeout,
+        Duration evictionInterval,
+        boolean leakDetection
+) {
+    public PoolConfig {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize 는 1 이상이어야 합니다.");
+        }
+        if (borrowTimeout == null || idleTimeout == null || evictionInterval == null) {
+            throw new IllegalArgumentException("시간 설정은 null 일 수 없습니다.");
+        }
+    }
+
+    public static PoolConfig defaults() {
+        return new PoolConfig(8, Duration.ofSeconds(5), Duration.ofMinutes(10), Duration.ofMinutes(1), false);
+    }
+
+    public PoolConfig withMaxSize(int maxSize) {
+        return new PoolConfig(maxSize, borrowTimeout, idleTimeout, evictionInterval, leakDetection);
+    }
+
+    public PoolConfig withBorrowTimeout(Duration borrowTimeout) {
+        return new PoolConfig(maxSize, borrowTimeout, idleTimeout, evictionInterval, leakDetection);
+    }
+
+    public PoolConfig withIdleTimeout(Duration idleTimeout) {
+        return new PoolConfig(maxSize, borrowTimeout, idleTimeout, evictionInterval, leakDetection);
+    }
+
+    public PoolConfig withEvictionInterval(Duration evictionInterval) {
+        return new PoolConfig(maxSize, borrowTimeout, idleTimeout, evictionInterval, leakDetection);
+    }
+
+    public PoolConfig withLeakDetection(boolean leakDetection) {
+        return new PoolConfig(maxSize, borrowTimeout, idleTimeout, evictionInterval, leakDetection);
+    }
+}
@@ -0,0 +1,35 @@
+package com.newy.playground.common.pool;
+
+/**
+ * {@link ResourcePool} 상태의 특정 시점 스냅샷.
+ *
+ * @param total              현재 생성되어 있는 리소스 수 (유휴 + 대여 중)
+ * @param idle               유휴 리소스 수
+ * @param borrowed           대여 중인 리소스 수
+ * @param created            누적 생성 수
+ * @param destroyed          누적 해제 수
+ * @param borrows            누적 대여 수
+ * @param evicted            유휴 시간 초과로 해제된 누적 수
+ * @param validationFailures 대여 시 검증에 실패한 누적 수
+ * @param timeouts           대여 대기 시간 초과 누적 수
+ * @param leaks              반납하지 않고 GC 된 Lease 누적 수
+ */
+public record PoolMetrics(
+        int total,
+        int idle,
+        int borrowed,
+        long created,
+        long destroyed,
+        long borrows,
+        long evicted,
+        long validationFailures,
+        long timeouts,
+        long leaks
+) {
+    /**
+     * 대여 1건 당 새로 생성한 리소스의 비율. 0 에 가까울수록 재사용이 잘 되고 있다.
+     */
+    public double churnRatio() {
+        return borrows == 0 ? 0 : (double) created / borrows;
+    }
+}
@@ -0,0 +1,9 @@
+package com.newy.playground.common.pool;
+
+/**
+ * {@link ResourcePool} 에 채울 리소스를 생성한다.
+ */
+@FunctionalInterface
+public interface ResourceFactory<T extends AutoCloseable> {
+    T create() throws Exception;
+}
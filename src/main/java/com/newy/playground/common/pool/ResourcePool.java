@@ -0,0 +1,262 @@
+package com.newy.playground.common.pool;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.ref.Cleaner;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * 생성 비용이 큰 {@link AutoCloseable} 리소스를 재사용하기 위한 크기 제한 풀.
+ * <p>
+ * [특징]
+ * - 대여/반납은 try-with-resources 로 처리한다. ({@link Lease})
+ * - 유휴 리소스가 있고 풀에 여유가 있으면, 락 없이(CAS 만으로) 대여한다.
+ * - 풀이 가득 찬 경우에만 {@link PoolConfig#borrowTimeout()} 동안 반납을 기다린다.
+ * - 대여 시 검증에 실패한 리소스와 오래된 유휴 리소스는 해제한다.
+ * - leakDetection 을 켜면, 반납하지 않고 GC 된 Lease 의 대여 위치를 로그로 남기고 리소스를 회수한다.
+ */
+public final class ResourcePool<T extends AutoCloseable> implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ResourcePool.class);
+    private static final Cleaner LEAK_CLEANER = Cleaner.create();
+    private static final ScheduledExecutorService EVICTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        var thread = new Thread(runnable, "resource-pool-evictor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final int IDLE = 0;
+    private static final int BORROWED = 1;
+    private static final int DESTROYED = 2;
+
+    private final ResourceFactory<T> factory;
+    private final Predicate<T> validator;
+    private final PoolConfig config;
+    private final Semaphore permits;
+    private final ConcurrentLinkedDeque<Entry<T>> idle = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final AtomicInteger total = new AtomicInteger();
+    private final ScheduledFuture<?> evictionTask;
+    private volatile boolean closed;
+
+    private final LongAdder created = new LongAdder();
+    private final LongAdder destroyed = new LongAdder();
+    private final LongAdder borrows = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder validationFailures = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder leaks = new LongAdder();
+
+    public ResourcePool(ResourceFactory<T> factory, PoolConfig config) {
+        this(factory, resource -> true, config);
+    }
+
+    public ResourcePool(ResourceFactory<T> factory, Predicate<T> validator, PoolConfig config) {
+        this.factory = factory;
+        this.validator = validator;
+        this.config = config;
+        this.permits = new Semaphore(config.maxSize());
+
+        var interval = config.evictionInterval().toNanos();
+        this.evictionTask = interval > 0
+                ? EVICTOR.scheduleWithFixedDelay(this::evictIdle, interval, interval, TimeUnit.NANOSECONDS)
+                : null;
+    }
+
+    public Lease<T> borrow() {
+        ensureOpen();
+        acquirePermit();
+        try {
+            var entry = takeIdleOrCreate();
+            borrows.increment();
+            return new Lease<>(this, entry, config.leakDetection() ? LEAK_CLEANER : null);
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public PoolMetrics metrics() {
+        var totalCount = total.get();
+        var idleNow = idleCount.get();
+        return new PoolMetrics(
+                totalCount,
+                idleNow,
+                Math.max(0, totalCount - idleNow),
+                created.sum(),
+                destroyed.sum(),
+                borrows.sum(),
+                evicted.sum(),
+                validationFailures.sum(),
+                timeouts.sum(),
+                leaks.sum()
+        );
+    }
+
+    /**
+     * 유휴 리소스를 모두 해제한다. 대여 중인 리소스는 반납할 때 해제한다.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (evictionTask != null) {
+            evictionTask.cancel(false);
+        }
+
+        Entry<T> entry;
+        while ((entry = idle.pollFirst()) != null) {
+            idleCount.decrementAndGet();
+            if (entry.state.compareAndSet(IDLE, DESTROYED)) {
+                closeResource(entry);
+            }
+        }
+    }
+
+    void release(Entry<T> entry) {
+        if (closed) {
+            destroy(entry);
+            return;
+        }
+
+        entry.lastUsedNanos = System.nanoTime();
+        entry.state.set(IDLE);
+        // permit 을 반환하기 전에 idle 에 넣어야, 다음 대여자가 새 리소스를 만들지 않는다.
+        idle.offerFirst(entry);
+        idleCount.incrementAndGet();
+        permits.release();
+    }
+
+    void destroy(Entry<T> entry) {
+        discard(entry);
+        permits.release();
+    }
+
+    void reportLeak(Entry<T> entry, Throwable borrowedAt) {
+        leaks.increment();
+        log.warn("반납하지 않은 리소스를 발견했습니다. 리소스를 해제합니다. resource={}", entry.resource, borrowedAt);
+        destroy(entry);
+    }
+
+    void evictIdle() {
+        var now = System.nanoTime();
+        var idleTimeout = config.idleTimeout().toNanos();
+        for (var entry : idle) {
+            if (now - entry.lastUsedNanos < idleTimeout) {
+                continue;
+            }
+            // 대여 스레드와 경쟁하기 때문에, 상태 변경에 성공한 경우에만 해제한다.
+            if (entry.state.compareAndSet(IDLE, DESTROYED)) {
+                if (idle.removeFirstOccurrence(entry)) {
+                    idleCount.decrementAndGet();
+                }
+                evicted.increment();
+                closeResource(entry);
+            }
+        }
+    }
+
+    private void acquirePermit() {
+        if (permits.tryAcquire()) {
+            return;
+        }
+
+        try {
+            if (!permits.tryAcquire(config.borrowTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                timeouts.increment();
+                throw new ResourcePoolException("리소스 대여 대기 시간을 초과했습니다. maxSize=" + config.maxSize());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourcePoolException("리소스 대여를 기다리는 중에 인터럽트가 발생했습니다.", e);
+        }
+    }
+
+    private Entry<T> takeIdleOrCreate() {
+        while (true) {
+            var entry = idle.pollFirst();
+            if (entry != null) {
+                idleCount.decrementAndGet();
+                if (!entry.state.compareAndSet(IDLE, BORROWED)) {
+                    continue; // 유휴 리소스 제거 작업이 먼저 가져갔다.
+                }
+                if (isValid(entry.resource)) {
+                    return entry;
+                }
+                validationFailures.increment();
+                discard(entry);
+                continue;
+            }
+
+            var current = total.get();
+            if (current < config.maxSize()) {
+                if (total.compareAndSet(current, current + 1)) {
+                    return create();
+                }
+                continue;
+            }
+            // permit 을 얻었는데 리소스 수가 가득 찼다면, 다른 스레드가 반납 중인 리소스가 곧 idle 에 들어온다.
+            Thread.onSpinWait();
+        }
+    }
+
+    private Entry<T> create() {
+        try {
+            var entry = new Entry<>(factory.create(), BORROWED);
+            created.increment();
+            return entry;
+        } catch (Exception e) {
+            total.decrementAndGet();
+            throw new ResourcePoolException("리소스 생성에 실패했습니다.", e);
+        }
+    }
+
+    private boolean isValid(T resource) {
+        try {
+            return validator.test(resource);
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private void discard(Entry<T> entry) {
+        if (entry.state.getAndSet(DESTROYED) != DESTROYED) {
+            closeResource(entry);
+        }
+    }
+
+    private void closeResource(Entry<T> entry) {
+        total.decrementAndGet();
+        destroyed.increment();
+        try {
+            entry.resource.close();
+        } catch (Exception e) {
+            log.warn("리소스 해제에 실패했습니다. resource={}", entry.resource, e);
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("이미 종료된 풀입니다.");
+        }
+    }
+
+    static final class Entry<T> {
+        final T resource;
+        final AtomicInteger state;
+        volatile long lastUsedNanos;
+
+        Entry(T resource, int state) {
+            this.resource = resource;
+            this.state = new AtomicInteger(state);
+            this.lastUsedNanos = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.newy.playground.common.pool;
+
+public class ResourcePoolException extends RuntimeException {
+    public ResourcePoolException(String message) {
+        super(message);
+    }
+
+    public ResourcePoolException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,119 @@
+package com.newy.playground.common.snapshot;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * 스냅샷을 복사 없이 고정할 수 있는 고정 크기 long 배열.
+ * <p>
+ * 값을 페이지 단위로 나눠서 저장한다. {@link #freeze()} 는 페이지 참조만 복사하고,
+ * 이후 고정된 페이지에 처음 쓸 때 그 페이지만 복사한다(copy-on-write). 쓰기 스레드는 스냅샷 저장을 기다리지 않는다.
+ * <p>
+ * 쓰기와 freeze 는 같은 스레드에서 호출한다. 고정한 페이지는 다른 스레드에서 읽을 수 있다.
+ */
+public final class CowLongArray {
+    private static final int PAGE_SHIFT = 10;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    private final int length;
+    private final long[][] pages;
+    // 페이지를 마지막으로 복사(또는 생성)한 세대. 현재 세대보다 작으면 스냅샷과 공유 중이다.
+    private final long[] pageGenerations;
+    private long generation = 1;
+    private long copiedPages;
+
+    public CowLongArray(int length) {
+        this.length = length;
+        var pageCount = (length + PAGE_SIZE - 1) >>> PAGE_SHIFT;
+        this.pages = new long[pageCount][];
+        this.pageGenerations = new long[pageCount];
+        for (int i = 0; i < pageCount; i++) {
+            pages[i] = new long[PAGE_SIZE];
+            pageGenerations[i] = generation;
+        }
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public long get(int index) {
+        checkIndex(index);
+        return pages[index >>> PAGE_SHIFT][index & PAGE_MASK];
+    }
+
+    public void set(int index, long value) {
+        checkIndex(index);
+        writablePage(index >>> PAGE_SHIFT)[index & PAGE_MASK] = value;
+    }
+
+    public void add(int index, long delta) {
+        checkIndex(index);
+        writablePage(index >>> PAGE_SHIFT)[index & PAGE_MASK] += delta;
+    }
+
+    /**
+     * 현재 값을 고정한다. 페이지 수 만큼의 참조만 복사한다.
+     */
+    public Frozen freeze() {
+        generation++;
+        return new Frozen(length, pages.clone());
+    }
+
+    /**
+     * @return freeze 이후에 쓰기 때문에 복사한 누적 페이지 수
+     */
+    public long copiedPages() {
+        return copiedPages;
+    }
+
+    public void readFrom(DataInput in) throws IOException {
+        var storedLength = in.readInt();
+        if (storedLength != length) {
+            throw new IOException("배열 길이가 다릅니다. stored=" + storedLength + ", length=" + length);
+        }
+        generation++;
+        for (int page = 0; page < pages.length; page++) {
+            var values = new long[PAGE_SIZE];
+            var count = Math.min(PAGE_SIZE, length - (page << PAGE_SHIFT));
+            for (int i = 0; i < count; i++) {
+                values[i] = in.readLong();
+            }
+            pages[page] = values;
+            pageGenerations[page] = generation;
+        }
+    }
+
+    private long[] writablePage(int page) {
+        if (pageGenerations[page] != generation) {
+            pages[page] = pages[page].clone();
+            pageGenerations[page] = generation;
+            copiedPages++;
+        }
+        return pages[page];
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("index=" + index + ", length=" + length);
+        }
+    }
+
+    /**
+     * {@link #freeze()} 로 고정한 값. 이후의 쓰기가 반영되지 않는다.
+     */
+    public record Frozen(int length, long[][] pages) {
+        public long get(int index) {
+            return pages[index >>> PAGE_SHIFT][index & PAGE_MASK];
+        }
+
+        public void writeTo(DataOutput out) throws IOException {
+            out.writeInt(length);
+            for (int i = 0; i < length; i++) {
+                out.writeLong(get(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.newy.playground.common.snapshot;
+
+import java.io.DataInput;
+import java.io.IOException;
+
+/**
+ * {@link SnapshotStore} 에 스냅샷을 저장하고 복구할 수 있는 메모리 상태.
+ */
+public interface SnapshotComponent {
+    /**
+     * 스냅샷 파일의 디렉터리 이름. 컴포넌트마다 달라야 한다.
+     */
+    String name();
+
+    /**
+     * 현재 상태를 복사하지 않고 고정한다. (예: {@link CowLongArray#freeze()})
+     * 상태를 변경하는 스레드에서 호출해야, 캡처한 상태와 sequence 가 일치한다.
+     */
+    SnapshotImage capture();
+
+    /**
+     * {@link SnapshotWriter} 가 쓴 값으로 상태를 되돌린다.
+     */
+    void restore(DataInput in) throws IOException;
+}
@@ -0,0 +1,8 @@
+package com.newy.playground.common.snapshot;
+
+/**
+ * @param sequence 캡처한 상태에 반영된 마지막 변경의 다음 저널 번호. 복구할 때 이 번호부터 저널을 재생한다.
+ * @param writer   캡처한 상태를 쓰는 작업
+ */
+public record SnapshotImage(long sequence, SnapshotWriter writer) {
+}
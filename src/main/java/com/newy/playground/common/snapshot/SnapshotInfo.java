@@ -0,0 +1,11 @@
+package com.newy.playground.common.snapshot;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * @param bytes   스냅샷 파일 크기
+ * @param elapsed 백그라운드에서 파일을 쓰는 데 걸린 시간 (캡처 시간 제외)
+ */
+public record SnapshotInfo(String name, long sequence, Path file, long bytes, Duration elapsed) {
+}
@@ -0,0 +1,189 @@
+package com.newy.playground.common.snapshot;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * {@link SnapshotComponent} 의 바이너리 스냅샷을 파일로 저장하고 복구한다.
+ * <pre>
+ * 파일 (directory/컴포넌트 이름/sequence.snapshot)
+ * | magic(4) | format(4) | name(UTF) | sequence(8) | 컴포넌트 데이터 | crc(4) |
+ * </pre>
+ * [특징]
+ * - 캡처는 호출한 스레드에서, 파일 쓰기는 백그라운드 스레드에서 한다.
+ * - 임시 파일에 쓰고 fsync 한 뒤 이름을 바꾸기 때문에, 쓰는 중에 종료되어도 이전 스냅샷이 남는다.
+ *   이름을 바꾼 뒤 디렉토리도 fsync 해서, 저장이 끝난 스냅샷은 OS 장애 후에도 남는다.
+ * - 복구할 때 CRC 가 맞지 않는 스냅샷은 건너뛰고 이전 스냅샷을 사용한다.
+ * - 컴포넌트별로 최근 retain 개의 스냅샷만 남긴다.
+ */
+public final class SnapshotStore implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(SnapshotStore.class);
+    private static final int MAGIC = 0x534E4150; // "SNAP"
+    private static final int FORMAT = 1;
+    private static final String FILE_SUFFIX = ".snapshot";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final int retain;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        var thread = new Thread(runnable, "snapshot-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SnapshotStore(Path directory, int retain) {
+        if (retain <= 0) {
+            throw new IllegalArgumentException("retain 은 1 이상이어야 합니다.");
+        }
+        this.directory = directory;
+        this.retain = retain;
+    }
+
+    /**
+     * 상태를 캡처하고, 파일 쓰기는 백그라운드에서 한다. 컴포넌트의 쓰기 스레드에서 호출한다.
+     */
+    public CompletableFuture<SnapshotInfo> save(SnapshotComponent component) {
+        var image = component.capture();
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return write(component.name(), image);
+            } catch (IOException e) {
+                throw new UncheckedIOException("스냅샷을 저장하지 못했습니다. name=" + component.name(), e);
+            }
+        }, writer);
+    }
+
+    /**
+     * 가장 최근의 유효한 스냅샷으로 컴포넌트를 복구한다.
+     *
+     * @return 스냅샷의 sequence (이 번호부터 저널을 재생한다). 스냅샷이 없으면 0
+     */
+    public long restore(SnapshotComponent component) throws IOException {
+        for (var file : snapshots(component.name()).reversed()) {
+            if (!hasValidChecksum(file)) {
+                log.warn("CRC 가 맞지 않는 스냅샷을 건너뜁니다. file={}", file);
+                continue;
+            }
+            try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                if (in.readInt() != MAGIC || in.readInt() != FORMAT || !in.readUTF().equals(component.name())) {
+                    log.warn("형식이 다른 스냅샷을 건너뜁니다. file={}", file);
+                    continue;
+                }
+                var sequence = in.readLong();
+                component.restore(in);
+                return sequence;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return sequence 오름차순으로 정렬한 스냅샷 파일
+     */
+    public List<Path> snapshots(String name) throws IOException {
+        var componentDirectory = directory.resolve(name);
+        if (!Files.isDirectory(componentDirectory)) {
+            return List.of();
+        }
+        try (var files = Files.list(componentDirectory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(FILE_SUFFIX))
+                    .sorted(Comparator.comparing(Path::getFileName))
+                    .toList();
+        }
+    }
+
+    /**
+     * 진행 중인 스냅샷 저장은 끝까지 실행한다.
+     */
+    @Override
+    public void close() {
+        writer.close();
+    }
+
+    private SnapshotInfo write(String name, SnapshotImage image) throws IOException {
+        var startedAt = System.nanoTime();
+        var componentDirectory = Files.createDirectories(directory.resolve(name));
+        var file = componentDirectory.resolve("%020d%s".formatted(image.sequence(), FILE_SUFFIX));
+        var temp = componentDirectory.resolve(file.getFileName() + TEMP_SUFFIX);
+
+        try (var channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            var raw = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            var crc = new CRC32C();
+            var out = new DataOutputStream(new CheckedOutputStream(raw, crc));
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT);
+            out.writeUTF(name);
+            out.writeLong(image.sequence());
+            image.writer().writeTo(out);
+            out.flush();
+            raw.writeInt((int) crc.getValue());
+            raw.flush();
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        // 이름 변경은 디렉토리 항목의 변경이라서, 디렉토리를 fsync 해야 디스크에 반영된다.
+        try (var directoryChannel = FileChannel.open(componentDirectory, StandardOpenOption.READ)) {
+            directoryChannel.force(true);
+        }
+        deleteOldSnapshots(name);
+
+        return new SnapshotInfo(name, image.sequence(), file, Files.size(file), Duration.ofNanos(System.nanoTime() - startedAt));
+    }
+
+    private void deleteOldSnapshots(String name) throws IOException {
+        var files = snapshots(name);
+        for (int i = 0; i < files.size() - retain; i++) {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+
+    /**
+     * 컴포넌트에 값을 반영하기 전에, 파일 전체의 CRC 를 먼저 확인한다.
+     */
+    private static boolean hasValidChecksum(Path file) throws IOException {
+        var size = Files.size(file);
+        if (size < Integer.BYTES) {
+            return false;
+        }
+        try (var in = new BufferedInputStream(Files.newInputStream(file))) {
+            var crc = new CRC32C();
+            var buffer = new byte[8192];
+            var remaining = size - Integer.BYTES;
+            while (remaining > 0) {
+                var read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read < 0) {
+                    return false;
+                }
+                crc.update(buffer, 0, read);
+                remaining -= read;
+            }
+            return readInt(in) == (int) crc.getValue();
+        }
+    }
+
+    private static int readInt(InputStream in) throws IOException {
+        return new DataInputStream(in).readInt();
+    }
+}
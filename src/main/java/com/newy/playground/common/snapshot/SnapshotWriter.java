@@ -0,0 +1,12 @@
+package com.newy.playground.common.snapshot;
+
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * 캡처한 상태를 바이너리로 쓴다. 백그라운드 스레드에서 실행되기 때문에, 캡처 이후에 바뀌지 않는 값만 참조해야 한다.
+ */
+@FunctionalInterface
+public interface SnapshotWriter {
+    void writeTo(DataOutput out) throws IOException;
+}
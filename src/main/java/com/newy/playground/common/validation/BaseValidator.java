@@ -0,0 +1,33 @@
+package com.newy.playground.common.validation;
+
+import com.newy.playground.common.jfr.ValidationEvent;
+import jakarta.validation.ConstraintViolationException;
+
+/**
+ * Record 입력 모델의 생성자에서 호출해서, Bean Validation 으로 입력 유효성을 검증한다.
+ * <pre>{@code
+ * record CreateMarketInput(@NotEmpty String code) implements BaseValidator {
+ *     CreateMarketInput(String code) {
+ *         this.code = code;
+ *         validate();
+ *     }
+ * }
+ * }</pre>
+ */
+public interface BaseValidator {
+    default void validate() {
+        var event = new ValidationEvent();
+        event.begin();
+        var violations = Validators.VALIDATOR.validate(this);
+        event.end();
+        if (event.shouldCommit()) {
+            event.type = getClass().getSimpleName();
+            event.violations = violations.size();
+            event.commit();
+        }
+
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+    }
+}
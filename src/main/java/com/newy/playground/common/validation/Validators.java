@@ -0,0 +1,14 @@
+package com.newy.playground.common.validation;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+/**
+ * ValidatorFactory 생성 비용이 크기 때문에, Validator 를 1번만 생성해서 재사용한다.
+ */
+final class Validators {
+    static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private Validators() {
+    }
+}
@@ -0,0 +1,59 @@
+package com.newy.playground.market;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
+
+import java.time.LocalDateTime;
+
+/**
+ * 거래소.
+ * <p>
+ * [특징]
+ * - 빌드 시 Hibernate 바이트코드 향상(enhancement)으로 변경된 필드를 스스로 추적해서, flush 시 스냅샷 비교를 하지 않는다.
+ * - {@link DynamicUpdate} 로 변경된 컬럼만 UPDATE 한다.
+ * - created_at/updated_at 은 DB 가 관리한다. (001_market.xml 참고)
+ *   UPDATE 마다 재조회하지 않도록 {@code @Generated} 를 사용하지 않기 때문에, 엔티티의 값은 조회 시점의 값이다.
+ */
+@Entity
+@Table(name = "market")
+@DynamicUpdate
+public class Market {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String code;
+
+    @Column(name = "created_at", insertable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
+
+    protected Market() {
+    }
+
+    public Market(String code) {
+        this.code = code;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void changeCode(String code) {
+        this.code = code;
+    }
+}
@@ -0,0 +1,93 @@
+package com.newy.playground.market;
+
+import com.newy.playground.json.JsonRecord;
+import com.newy.playground.market.writebehind.MarketWriteBehindBuffer;
+import com.newy.playground.market.writebehind.WriteBehindRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/markets")
+public class MarketController {
+    private static final int MAX_CODE_LENGTH = 50;
+
+    private final MarketService marketService;
+    private final MarketRepository marketRepository;
+    private final MarketWriteBehindBuffer writeBehindBuffer;
+
+    public MarketController(MarketService marketService, MarketRepository marketRepository, MarketWriteBehindBuffer writeBehindBuffer) {
+        this.marketService = marketService;
+        this.marketRepository = marketRepository;
+        this.writeBehindBuffer = writeBehindBuffer;
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<MarketResponse> get(@PathVariable long id) {
+        return ResponseEntity.of(marketRepository.findById(id).map(MarketResponse::from));
+    }
+
+    @GetMapping
+    public ResponseEntity<MarketResponse> findByCode(@RequestParam String code) {
+        return ResponseEntity.of(marketRepository.findByCode(code).map(MarketResponse::from));
+    }
+
+    @PostMapping
+    public ResponseEntity<MarketResponse> create(@RequestBody CreateMarketRequest request) {
+        validateCode(request.code());
+        return ResponseEntity.status(HttpStatus.CREATED).body(MarketResponse.from(marketService.create(request.code())));
+    }
+
+    /**
+     * 코드 변경은 write-behind 버퍼에 넣고 바로 응답한다. 같은 거래소의 연속된 변경은 마지막 값 1개만 DB 에 쓴다.
+     * DB 에 쓰기 전에 검증해서, 잘못된 값이 dead letter 로 가지 않게 한다.
+     */
+    @PutMapping("/{id}/code")
+    public ResponseEntity<Void> changeCode(@PathVariable long id, @RequestBody ChangeCodeRequest request) {
+        validateCode(request.code());
+        if (!marketRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        writeBehindBuffer.changeCode(id, request.code());
+        return ResponseEntity.accepted().build();
+    }
+
+    @ExceptionHandler(WriteBehindRejectedException.class)
+    public ResponseEntity<String> handleRejected(WriteBehindRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgument(IllegalArgumentException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    }
+
+    private static void validateCode(String code) {
+        if (code == null || code.isBlank() || code.length() > MAX_CODE_LENGTH) {
+            throw new IllegalArgumentException("code 는 1~" + MAX_CODE_LENGTH + "자이어야 합니다.");
+        }
+    }
+
+    @JsonRecord
+    public record CreateMarketRequest(String code) {
+    }
+
+    @JsonRecord
+    public record ChangeCodeRequest(String code) {
+    }
+
+    @JsonRecord
+    public record MarketResponse(Long id, String code) {
+        static MarketResponse from(Market market) {
+            return new MarketResponse(market.getId(), market.getCode());
+        }
+    }
+}
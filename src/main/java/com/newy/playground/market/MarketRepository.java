@@ -0,0 +1,12 @@
+package com.newy.playground.market;
+
+import com.newy.playground.common.jfr.MarketCode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface MarketRepository extends JpaRepository<Market, Long> {
+    Optional<Market> findByCode(@MarketCode String code);
+}
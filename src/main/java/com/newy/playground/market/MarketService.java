@@ -0,0 +1,61 @@
+package com.newy.playground.market;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.newy.playground.market.outbox.MarketChangeType;
+import com.newy.playground.market.outbox.MarketOutbox;
+import com.newy.playground.market.outbox.MarketOutboxRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 거래소를 변경하고, 같은 트랜잭션에서 변경 이벤트를 아웃박스에 저장한다.
+ */
+@Service
+public class MarketService {
+    private final MarketRepository marketRepository;
+    private final MarketOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    public MarketService(MarketRepository marketRepository, MarketOutboxRepository outboxRepository, ObjectMapper objectMapper) {
+        this.marketRepository = marketRepository;
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional
+    public Market create(String code) {
+        var market = marketRepository.saveAndFlush(new Market(code));
+        appendOutbox(market, MarketChangeType.CREATED);
+        return market;
+    }
+
+    @Transactional
+    public Market changeCode(long marketId, String code) {
+        var market = marketRepository.findById(marketId)
+                .orElseThrow(() -> new IllegalArgumentException("거래소를 찾을 수 없습니다. id=" + marketId));
+        market.changeCode(code);
+        // market 행을 먼저 잠가야, 같은 거래소를 변경하는 트랜잭션의 아웃박스 id 순서가 커밋 순서와 같아진다.
+        marketRepository.flush();
+        appendOutbox(market, MarketChangeType.CODE_CHANGED);
+        return market;
+    }
+
+    private void appendOutbox(Market market, MarketChangeType type) {
+        var payload = MarketChangePayload.json(objectMapper, market.getId(), market.getCode());
+        outboxRepository.save(new MarketOutbox(market.getId(), type, payload));
+    }
+
+    public record MarketChangePayload(Long id, String code) {
+        /**
+         * 아웃박스 payload 컬럼에 저장하는 JSON.
+         */
+        public static String json(ObjectMapper objectMapper, long marketId, String code) {
+            try {
+                return objectMapper.writeValueAsString(new MarketChangePayload(marketId, code));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("거래소 변경 이벤트를 직렬화할 수 없습니다. id=" + marketId, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.newy.playground.market.backtest;
+
+/**
+ * {@link BacktestEngine} 설정 값.
+ * 작업 분할은 이 값으로만 정해지고 스레드 수와 무관하기 때문에, 스레드 수가 달라도 결과가 같다.
+ *
+ * @param chunkMillis  거래소 1개의 기간을 이 길이의 구간으로 나눠서 병렬로 실행한다. 기본값은 나누지 않는다 ({@link Long#MAX_VALUE})
+ * @param warmupMillis 구간 시작 전 이 기간의 틱으로 signal 함수의 상태를 채운다 (매매하지 않는다)
+ * @param leafUnits    fork-join 작업을 더 나누지 않고 직접 실행하는 작업 단위 수
+ */
+public record BacktestConfig(
+        long chunkMillis,
+        long warmupMillis,
+        int leafUnits
+) {
+    public BacktestConfig {
+        if (chunkMillis <= 0) {
+            throw new IllegalArgumentException("chunkMillis 는 1 이상이어야 합니다.");
+        }
+        if (warmupMillis < 0) {
+            throw new IllegalArgumentException("warmupMillis 는 0 이상이어야 합니다.");
+        }
+        if (leafUnits <= 0) {
+            throw new IllegalArgumentException("leafUnits 는 1 이상이어야 합니다.");
+        }
+    }
+
+    /**
+     * 거래소 단위로만 나눠서 실행한다. 거래소별 결과는 전체 기간을 이어서 실행한 결과와 같다.
+     */
+    public static BacktestConfig defaults() {
+        return new BacktestConfig(Long.MAX_VALUE, 60 * 60 * 1000L, 1);
+    }
+
+    /**
+     * 주의: 구간마다 보유 수량 없이 시작하고 구간 끝에서 청산하기 때문에, 매매 수와 손익이 구간 길이에 따라 달라진다.
+     * 전체 기간을 이어서 실행한 결과와 다르므로, 거래소 수가 CPU 수보다 적어서 구간으로 나눠야 빨라지는 경우에만 사용한다.
+     */
+    public BacktestConfig withChunkMillis(long chunkMillis) {
+        return new BacktestConfig(chunkMillis, warmupMillis, leafUnits);
+    }
+
+    public BacktestConfig withWarmupMillis(long warmupMillis) {
+        return new BacktestConfig(chunkMillis, warmupMillis, leafUnits);
+    }
+
+    public BacktestConfig withLeafUnits(int leafUnits) {
+        return new BacktestConfig(chunkMillis, warmupMillis, leafUnits);
+    }
+}
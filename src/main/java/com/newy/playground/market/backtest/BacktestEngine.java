@@ -0,0 +1,199 @@
+package com.newy.playground.market.backtest;
+
+import com.newy.playground.market.timeseries.TickHandler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * 여러 거래소의 백테스트를 fork-join pool 에서 병렬로 실행한다.
+ * <p>
+ * [특징]
+ * - 작업 단위는 (거래소, 구간) 이다. 기본 설정은 구간을 나누지 않고 거래소 단위로만 나눈다. 작업 목록을 반씩 나눠서 fork 하기 때문에, 틱 수가 다른 작업도 work stealing 으로 고르게 분배된다.
+ * - 틱은 {@link TickSource} 로 스트리밍 하고, 작업 단위마다 결과 1개만 메모리에 남긴다.
+ * - 작업 결과를 배열의 고정된 위치에 저장하고 (거래소 ID, 구간 시작 시간) 순서로 합치기 때문에, 스레드 수와 실행 순서에 관계없이 결과가 같다.
+ * - 구간의 시작 시점에는 보유 수량이 없고, 구간이 끝나면 마지막 가격으로 청산한다.
+ *   그래서 {@link BacktestConfig#withChunkMillis} 로 구간을 나누면, 결과가 구간 길이에 따라 달라진다.
+ */
+public class BacktestEngine {
+    private final TickSource source;
+    private final BacktestConfig config;
+
+    public BacktestEngine(TickSource source, BacktestConfig config) {
+        this.source = source;
+        this.config = config;
+    }
+
+    /**
+     * 실행마다 CPU 수만큼의 전용 fork-join pool 을 만들어서 실행한다.
+     * {@link TickSource} 가 JDBC 조회처럼 블로킹할 수 있기 때문에, 다른 작업과 함께 쓰는 common pool 은 사용하지 않는다.
+     */
+    public BacktestReport run(BacktestStrategy strategy, long[] marketIds, long from, long to) {
+        try (var pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors())) {
+            return run(strategy, marketIds, from, to, pool);
+        }
+    }
+
+    public BacktestReport run(BacktestStrategy strategy, long[] marketIds, long from, long to, ForkJoinPool pool) {
+        if (from >= to) {
+            throw new IllegalArgumentException("from 은 to 보다 작아야 합니다. from=" + from + ", to=" + to);
+        }
+
+        var markets = Arrays.stream(marketIds).distinct().sorted().toArray();
+        var chunks = (int) ((to - from - 1) / config.chunkMillis() + 1);
+        var results = new BacktestResult[markets.length * chunks];
+
+        var startedAt = System.nanoTime();
+        pool.invoke(new UnitTask(strategy, markets, chunks, from, to, results, 0, results.length));
+        var elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+
+        var perMarket = new ArrayList<BacktestResult>(markets.length);
+        var total = BacktestResult.empty(-1);
+        for (int m = 0; m < markets.length; m++) {
+            var market = BacktestResult.empty(markets[m]);
+            for (int c = 0; c < chunks; c++) {
+                market = market.then(results[m * chunks + c]);
+            }
+            perMarket.add(market);
+            total = total.then(market);
+        }
+        return new BacktestReport(perMarket, total, results.length, pool.getParallelism(), elapsed);
+    }
+
+    /**
+     * 같은 백테스트를 스레드 1개와 parallelism 개의 fork-join pool 에서 실행하고 소요 시간을 비교한다.
+     * JIT 컴파일 영향을 줄이기 위해, 측정 전에 1번 실행한다.
+     */
+    public SpeedupReport compareWithSingleThread(BacktestStrategy strategy, long[] marketIds, long from, long to, int parallelism) {
+        try (var single = new ForkJoinPool(1); var parallel = new ForkJoinPool(parallelism)) {
+            run(strategy, marketIds, from, to, parallel);
+
+            var singleReport = run(strategy, marketIds, from, to, single);
+            var parallelReport = run(strategy, marketIds, from, to, parallel);
+            return new SpeedupReport(
+                    parallelism,
+                    singleReport.elapsed(),
+                    parallelReport.elapsed(),
+                    singleReport.markets().equals(parallelReport.markets())
+            );
+        }
+    }
+
+    private BacktestResult runUnit(BacktestStrategy strategy, long marketId, long chunkFrom, long chunkTo) {
+        var run = new UnitRun(chunkFrom, strategy.signalFactory().get(), strategy.entry(), strategy.exit());
+        source.scan(marketId, chunkFrom - config.warmupMillis(), chunkTo, run);
+        return run.result(marketId);
+    }
+
+    private final class UnitTask extends RecursiveAction {
+        private final BacktestStrategy strategy;
+        private final long[] markets;
+        private final int chunks;
+        private final long from;
+        private final long to;
+        private final BacktestResult[] results;
+        private final int start;
+        private final int end;
+
+        UnitTask(BacktestStrategy strategy, long[] markets, int chunks, long from, long to, BacktestResult[] results, int start, int end) {
+            this.strategy = strategy;
+            this.markets = markets;
+            this.chunks = chunks;
+            this.from = from;
+            this.to = to;
+            this.results = results;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= config.leafUnits()) {
+                for (int unit = start; unit < end; unit++) {
+                    var chunkFrom = from + (unit % chunks) * config.chunkMillis();
+                    var chunkTo = chunkFrom + Math.min(to - chunkFrom, config.chunkMillis());
+                    results[unit] = runUnit(strategy, markets[unit / chunks], chunkFrom, chunkTo);
+                }
+                return;
+            }
+
+            var mid = (start + end) >>> 1;
+            invokeAll(
+                    new UnitTask(strategy, markets, chunks, from, to, results, start, mid),
+                    new UnitTask(strategy, markets, chunks, from, to, results, mid, end)
+            );
+        }
+    }
+
+    /**
+     * 작업 단위 1개의 매매 상태. 틱마다 객체를 만들지 않도록 {@link TickHandler} 를 직접 구현한다.
+     */
+    private static final class UnitRun implements TickHandler {
+        private final long tradeFrom;
+        private final DoubleUnaryOperator signal;
+        private final DoublePredicate entry;
+        private final DoublePredicate exit;
+
+        private boolean holding;
+        private double entryPrice;
+        private double lastPrice;
+        private long ticks;
+        private long trades;
+        private long wins;
+        private double pnl;
+        private double peak;
+        private double trough;
+        private double maxDrawdown;
+
+        UnitRun(long tradeFrom, DoubleUnaryOperator signal, DoublePredicate entry, DoublePredicate exit) {
+            this.tradeFrom = tradeFrom;
+            this.signal = signal;
+            this.entry = entry;
+            this.exit = exit;
+        }
+
+        @Override
+        public void onTick(long marketId, long tradedAt, double price, double volume) {
+            var value = signal.applyAsDouble(price);
+            if (tradedAt < tradeFrom) {
+                return; // warm-up
+            }
+
+            ticks++;
+            lastPrice = price;
+            if (!holding) {
+                if (entry.test(value)) {
+                    holding = true;
+                    entryPrice = price;
+                }
+            } else if (exit.test(value)) {
+                close(price);
+            }
+        }
+
+        BacktestResult result(long marketId) {
+            if (holding) {
+                close(lastPrice);
+            }
+            return new BacktestResult(marketId, ticks, trades, wins, pnl, peak, trough, maxDrawdown);
+        }
+
+        private void close(double price) {
+            var profit = price - entryPrice;
+            holding = false;
+            trades++;
+            if (profit > 0) {
+                wins++;
+            }
+            pnl += profit;
+            peak = Math.max(peak, pnl);
+            trough = Math.min(trough, pnl);
+            maxDrawdown = Math.max(maxDrawdown, peak - pnl);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.newy.playground.market.backtest;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * @param markets     거래소 ID 순서로 정렬한 거래소별 결과
+ * @param total       거래소별 결과를 거래소 ID 순서로 합친 결과 (marketId = -1)
+ * @param units       실행한 작업 단위(거래소 + 구간) 수
+ * @param parallelism 사용한 fork-join pool 의 병렬 수준
+ */
+public record BacktestReport(
+        List<BacktestResult> markets,
+        BacktestResult total,
+        int units,
+        int parallelism,
+        Duration elapsed
+) {
+}
@@ -0,0 +1,48 @@
+package com.newy.playground.market.backtest;
+
+/**
+ * 작업 단위(또는 합친 결과)의 매매 결과. 손익과 자산 곡선은 실현 손익 기준이다.
+ *
+ * @param ticks       처리한 틱 수 (warm-up 제외)
+ * @param trades      청산한 매매 수
+ * @param wins        이익으로 청산한 매매 수
+ * @param pnl         실현 손익 합계
+ * @param peak        시작 시점(0) 대비 자산 곡선의 최고점
+ * @param trough      시작 시점(0) 대비 자산 곡선의 최저점
+ * @param maxDrawdown 최고점 대비 최대 하락 폭
+ */
+public record BacktestResult(
+        long marketId,
+        long ticks,
+        long trades,
+        long wins,
+        double pnl,
+        double peak,
+        double trough,
+        double maxDrawdown
+) {
+    public static BacktestResult empty(long marketId) {
+        return new BacktestResult(marketId, 0, 0, 0, 0, 0, 0, 0);
+    }
+
+    public double winRate() {
+        return trades == 0 ? 0 : (double) wins / trades;
+    }
+
+    /**
+     * 시간 순서로 이어지는 다음 구간의 결과를 합친다. (결합 법칙이 성립한다)
+     * next 의 자산 곡선을 이 결과의 최종 손익만큼 올려서 이어 붙인 것과 같다.
+     */
+    public BacktestResult then(BacktestResult next) {
+        return new BacktestResult(
+                marketId == next.marketId ? marketId : -1,
+                ticks + next.ticks,
+                trades + next.trades,
+                wins + next.wins,
+                pnl + next.pnl,
+                Math.max(peak, pnl + next.peak),
+                Math.min(trough, pnl + next.trough),
+                Math.max(Math.max(maxDrawdown, next.maxDrawdown), peak - (pnl + next.trough))
+        );
+    }
+}
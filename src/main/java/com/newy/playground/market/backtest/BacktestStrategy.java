@@ -0,0 +1,23 @@
+package com.newy.playground.market.backtest;
+
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * 표준 함수형 인터페이스로 조립하는 롱 온리(1 단위) 매매 전략.
+ * <p>
+ * 틱마다 signal 함수로 가격을 신호 값으로 바꾸고, 보유하지 않은 상태에서 entry 가 true 이면 매수,
+ * 보유한 상태에서 exit 가 true 이면 매도한다.
+ *
+ * @param signalFactory 작업 단위(거래소 + 구간)마다 새 signal 함수를 만든다. 이동 평균처럼 상태가 있는 함수를 작업 간에 공유하지 않기 위함이다.
+ * @param entry         매수 조건 (signal 값 기준)
+ * @param exit          매도 조건 (signal 값 기준)
+ */
+public record BacktestStrategy(
+        String name,
+        Supplier<DoubleUnaryOperator> signalFactory,
+        DoublePredicate entry,
+        DoublePredicate exit
+) {
+}
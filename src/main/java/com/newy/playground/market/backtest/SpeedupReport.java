@@ -0,0 +1,32 @@
+package com.newy.playground.market.backtest;
+
+import java.time.Duration;
+
+/**
+ * 같은 백테스트를 스레드 1개와 여러 개로 실행한 시간 비교.
+ *
+ * @param identical 두 실행의 결과가 같은지 여부
+ */
+public record SpeedupReport(
+        int parallelism,
+        Duration singleThread,
+        Duration parallel,
+        boolean identical
+) {
+    public double speedup() {
+        return parallel.isZero() ? 0 : (double) singleThread.toNanos() / parallel.toNanos();
+    }
+
+    /**
+     * 선형 확장(스레드 수 만큼 빨라짐) 대비 비율 (1 에 가까울수록 좋다)
+     */
+    public double efficiency() {
+        return speedup() / parallelism;
+    }
+
+    @Override
+    public String toString() {
+        return "SpeedupReport[parallelism=%d, singleThread=%dms, parallel=%dms, speedup=%.2f, efficiency=%.2f, identical=%s]"
+                .formatted(parallelism, singleThread.toMillis(), parallel.toMillis(), speedup(), efficiency(), identical);
+    }
+}
@@ -0,0 +1,29 @@
+package com.newy.playground.market.backtest;
+
+import com.newy.playground.market.journal.TickJournal;
+import com.newy.playground.market.timeseries.TickHandler;
+import com.newy.playground.market.timeseries.TickRepository;
+
+/**
+ * 백테스트에 사용할 과거 틱을 시간 순서로 전달한다. 결과를 메모리에 모으지 않아야 한다.
+ * <p>
+ * {@link TickRepository#scan} 은 메서드 참조로 바로 사용할 수 있다.
+ */
+@FunctionalInterface
+public interface TickSource {
+    /**
+     * 거래소 1개의 구간 [from, to) 틱을 시간 순서로 전달한다.
+     */
+    void scan(long marketId, long from, long to, TickHandler handler);
+
+    static TickSource of(TickRepository repository) {
+        return repository::scan;
+    }
+
+    /**
+     * 작업 단위(거래소, 구간)마다 해당 거래소와 구간의 블록만 읽는다.
+     */
+    static TickSource of(TickJournal journal) {
+        return journal::replayTicks;
+    }
+}
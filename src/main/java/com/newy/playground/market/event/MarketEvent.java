@@ -0,0 +1,15 @@
+package com.newy.playground.market.event;
+
+/**
+ * 거래소 이벤트. 하위 타입을 제한해서, 처리하는 쪽의 switch 에서 모든 타입을 다루었는지 컴파일러가 확인한다.
+ *
+ * @see MarketEventHandler#onEvent(MarketEvent)
+ */
+public sealed interface MarketEvent permits QuoteEvent, TradeEvent, OrderEvent, StatusEvent {
+    long marketId();
+
+    /**
+     * @return 이벤트 발생 일시 (epoch millis)
+     */
+    long timestamp();
+}
@@ -0,0 +1,36 @@
+package com.newy.playground.market.event;
+
+/**
+ * 샤드 1개의 이벤트를 처리한다. 샤드마다 별도의 인스턴스를 만들고 샤드 스레드에서만 호출하기 때문에, 상태에 락이 필요 없다.
+ */
+public interface MarketEventHandler {
+    /**
+     * 이벤트 타입별 메서드로 전달한다. default 분기가 없어서, 이벤트 타입이 추가되면 컴파일 에러가 발생한다.
+     */
+    default void onEvent(MarketEvent event) {
+        switch (event) {
+            case QuoteEvent quote -> onQuote(quote);
+            case TradeEvent trade -> onTrade(trade);
+            case OrderEvent order -> onOrder(order);
+            case StatusEvent status -> onStatus(status);
+        }
+    }
+
+    default void onQuote(QuoteEvent event) {
+    }
+
+    default void onTrade(TradeEvent event) {
+    }
+
+    default void onOrder(OrderEvent event) {
+    }
+
+    default void onStatus(StatusEvent event) {
+    }
+
+    /**
+     * 큐에서 꺼낸 이벤트 묶음을 모두 처리한 뒤 호출한다. (예: 묶음 단위로 결과 반영)
+     */
+    default void onBatchEnd(int batchSize) {
+    }
+}
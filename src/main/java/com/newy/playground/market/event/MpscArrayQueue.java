@@ -0,0 +1,92 @@
+package com.newy.playground.market.event;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.function.Consumer;
+
+/**
+ * 여러 생산자, 1개의 소비자를 위한 크기 제한 lock-free 큐.
+ * <p>
+ * 생산자는 producerIndex 를 CAS 로 증가시켜 칸을 예약한 뒤 값을 release 로 쓴다.
+ * 소비자는 칸의 값이 보일 때까지만 꺼내기 때문에, 예약은 했지만 아직 쓰지 않은 칸에서 멈춘다. (이후 drain 에서 이어서 꺼낸다)
+ */
+final class MpscArrayQueue<E> {
+    private static final VarHandle ELEMENTS = MethodHandles.arrayElementVarHandle(Object[].class);
+    private static final VarHandle PRODUCER_INDEX;
+    private static final VarHandle CONSUMER_INDEX;
+
+    static {
+        try {
+            var lookup = MethodHandles.lookup();
+            PRODUCER_INDEX = lookup.findVarHandle(MpscArrayQueue.class, "producerIndex", long.class);
+            CONSUMER_INDEX = lookup.findVarHandle(MpscArrayQueue.class, "consumerIndex", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Object[] elements;
+    private final int mask;
+    // 생산자와 소비자가 자주 쓰는 값이 같은 캐시 라인에 있지 않도록 떨어뜨린다.
+    private long p1, p2, p3, p4, p5, p6, p7;
+    private volatile long producerIndex;
+    private long p11, p12, p13, p14, p15, p16, p17;
+    private volatile long consumerIndex;
+    private long p21, p22, p23, p24, p25, p26, p27;
+
+    MpscArrayQueue(int capacity) {
+        var size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.elements = new Object[size];
+        this.mask = size - 1;
+    }
+
+    int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * @return 큐가 가득 찼다면 false
+     */
+    boolean offer(E element) {
+        long index;
+        do {
+            index = (long) PRODUCER_INDEX.getVolatile(this);
+            if (index - (long) CONSUMER_INDEX.getAcquire(this) >= elements.length) {
+                return false;
+            }
+        } while (!PRODUCER_INDEX.compareAndSet(this, index, index + 1));
+
+        ELEMENTS.setRelease(elements, (int) index & mask, element);
+        return true;
+    }
+
+    /**
+     * 소비자 스레드에서만 호출한다.
+     *
+     * @return 꺼낸 수
+     */
+    @SuppressWarnings("unchecked")
+    int drain(Consumer<? super E> consumer, int limit) {
+        var index = (long) CONSUMER_INDEX.getOpaque(this);
+        var count = 0;
+        while (count < limit) {
+            var offset = (int) index & mask;
+            var element = (E) ELEMENTS.getAcquire(elements, offset);
+            if (element == null) {
+                break;
+            }
+            ELEMENTS.setOpaque(elements, offset, null);
+            index++;
+            count++;
+            // 처리 중에 예외가 발생해도 꺼낸 위치를 잃지 않도록, 꺼낼 때마다 소비 위치를 반영한다.
+            CONSUMER_INDEX.setRelease(this, index);
+            consumer.accept(element);
+        }
+        return count;
+    }
+
+    int size() {
+        var size = (long) PRODUCER_INDEX.getVolatile(this) - (long) CONSUMER_INDEX.getVolatile(this);
+        return (int) Math.max(0, Math.min(size, elements.length));
+    }
+}
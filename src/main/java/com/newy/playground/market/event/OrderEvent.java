@@ -0,0 +1,21 @@
+package com.newy.playground.market.event;
+
+import com.newy.playground.market.orderbook.Side;
+
+/**
+ * @param price    호가 단위(tick)의 정수 가격 (CANCEL 은 사용하지 않는다)
+ * @param quantity 주문 수량 (CANCEL 은 사용하지 않는다)
+ */
+public record OrderEvent(
+        long marketId,
+        long timestamp,
+        Action action,
+        long orderId,
+        Side side,
+        long price,
+        long quantity
+) implements MarketEvent {
+    public enum Action {
+        ADD, MODIFY, CANCEL
+    }
+}
@@ -0,0 +1,47 @@
+package com.newy.playground.market.event;
+
+import java.time.Duration;
+
+/**
+ * {@link ShardedEventProcessor} 설정 값.
+ *
+ * @param shards        샤드(처리 스레드) 수
+ * @param queueCapacity 샤드별 큐 크기 (2 의 거듭제곱으로 올림)
+ * @param maxBatchSize  큐에서 한 번에 꺼내서 처리할 최대 이벤트 수
+ * @param idlePark      큐가 비었을 때 다시 확인하기 전까지 대기 시간
+ */
+public record ProcessorConfig(
+        int shards,
+        int queueCapacity,
+        int maxBatchSize,
+        Duration idlePark
+) {
+    public ProcessorConfig {
+        if (shards <= 0 || queueCapacity <= 0 || maxBatchSize <= 0) {
+            throw new IllegalArgumentException("shards, queueCapacity, maxBatchSize 는 1 이상이어야 합니다.");
+        }
+        if (idlePark == null || idlePark.isNegative()) {
+            throw new IllegalArgumentException("idlePark 는 0 이상이어야 합니다.");
+        }
+    }
+
+    public static ProcessorConfig defaults() {
+        return new ProcessorConfig(Runtime.getRuntime().availableProcessors(), 65_536, 1_024, Duration.ofNanos(50_000));
+    }
+
+    public ProcessorConfig withShards(int shards) {
+        return new ProcessorConfig(shards, queueCapacity, maxBatchSize, idlePark);
+    }
+
+    public ProcessorConfig withQueueCapacity(int queueCapacity) {
+        return new ProcessorConfig(shards, queueCapacity, maxBatchSize, idlePark);
+    }
+
+    public ProcessorConfig withMaxBatchSize(int maxBatchSize) {
+        return new ProcessorConfig(shards, queueCapacity, maxBatchSize, idlePark);
+    }
+
+    public ProcessorConfig withIdlePark(Duration idlePark) {
+        return new ProcessorConfig(shards, queueCapacity, maxBatchSize, idlePark);
+    }
+}
@@ -0,0 +1,4 @@
+package com.newy.playground.market.event;
+
+public record QuoteEvent(long marketId, long timestamp, double bid, double ask) implements MarketEvent {
+}
@@ -0,0 +1,25 @@
+package com.newy.playground.market.event;
+
+/**
+ * 샤드 1개 상태의 특정 시점 스냅샷.
+ *
+ * @param queueDepth   처리를 기다리는 이벤트 수
+ * @param processed    처리한 누적 이벤트 수
+ * @param batches      큐에서 이벤트를 꺼낸 누적 횟수 (빈 큐 확인 제외)
+ * @param maxBatchSize 한 번에 꺼낸 최대 이벤트 수
+ * @param rejected     큐가 가득 차서 {@link ShardedEventProcessor#offer} 가 거절한 누적 수
+ * @param failures     핸들러에서 예외가 발생한 누적 수
+ */
+public record ShardMetrics(
+        int shard,
+        int queueDepth,
+        long processed,
+        long batches,
+        int maxBatchSize,
+        long rejected,
+        long failures
+) {
+    public double averageBatchSize() {
+        return batches == 0 ? 0 : (double) processed / batches;
+    }
+}
@@ -0,0 +1,175 @@
+package com.newy.playground.market.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+
+/**
+ * 거래소 이벤트를 market.id 로 샤드에 나눠서 처리한다.
+ * <p>
+ * [특징]
+ * - 같은 거래소의 이벤트는 항상 같은 샤드(스레드)에서 처리하기 때문에, 생산자 1개가 보낸 이벤트의 순서가 유지된다.
+ * - 샤드마다 lock-free 큐({@link MpscArrayQueue})와 전용 스레드, 전용 {@link MarketEventHandler} 가 있다.
+ *   핸들러의 상태는 샤드 스레드에서만 바뀌기 때문에 락이 필요 없다.
+ * - 샤드 스레드는 큐에 쌓인 이벤트를 maxBatchSize 개씩 꺼내서 처리하고, 큐가 비어 있으면 idlePark 동안 대기한다.
+ */
+public final class ShardedEventProcessor implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ShardedEventProcessor.class);
+
+    private final ProcessorConfig config;
+    private final Shard[] shards;
+    private volatile boolean running;
+
+    /**
+     * @param handlerFactory 샤드 번호로 샤드 전용 핸들러를 만든다
+     */
+    public ShardedEventProcessor(ProcessorConfig config, IntFunction<MarketEventHandler> handlerFactory) {
+        this.config = config;
+        this.shards = new Shard[config.shards()];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard(i, new MpscArrayQueue<>(config.queueCapacity()), handlerFactory.apply(i));
+        }
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        for (var shard : shards) {
+            shard.thread = new Thread(shard::run, "market-event-shard-" + shard.index);
+            shard.thread.start();
+        }
+    }
+
+    /**
+     * @return 샤드 큐가 가득 찼다면 false
+     */
+    public boolean offer(MarketEvent event) {
+        var shard = shards[shardOf(event.marketId())];
+        if (shard.queue.offer(event)) {
+            return true;
+        }
+        shard.rejected.increment();
+        return false;
+    }
+
+    /**
+     * 샤드 큐에 자리가 날 때까지 기다린다. (생산자 쪽 배압)
+     */
+    public void publish(MarketEvent event) {
+        var shard = shards[shardOf(event.marketId())];
+        while (!shard.queue.offer(event)) {
+            if (!running) {
+                throw new IllegalStateException("이벤트 처리기가 실행 중이 아닙니다.");
+            }
+            LockSupport.parkNanos(config.idlePark().toNanos());
+        }
+    }
+
+    public int shardOf(long marketId) {
+        // market.id 가 연속된 값이라도 샤드에 고르게 나뉘도록 섞는다.
+        var hash = marketId * 0x9E3779B97F4A7C15L;
+        return (int) Math.floorMod(hash ^ (hash >>> 32), (long) shards.length);
+    }
+
+    public List<ShardMetrics> metrics() {
+        var result = new ArrayList<ShardMetrics>(shards.length);
+        for (var shard : shards) {
+            result.add(new ShardMetrics(
+                    shard.index,
+                    shard.queue.size(),
+                    shard.processed.sum(),
+                    shard.batches.sum(),
+                    shard.maxBatchSize,
+                    shard.rejected.sum(),
+                    shard.failures.sum()
+            ));
+        }
+        return result;
+    }
+
+    /**
+     * 큐에 남은 이벤트를 모두 처리한 뒤 샤드 스레드를 종료한다.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            running = false;
+        }
+        for (var shard : shards) {
+            LockSupport.unpark(shard.thread);
+            try {
+                shard.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private final class Shard {
+        final int index;
+        final MpscArrayQueue<MarketEvent> queue;
+        final MarketEventHandler handler;
+        final LongAdder processed = new LongAdder();
+        final LongAdder batches = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        volatile int maxBatchSize;
+        Thread thread;
+
+        Shard(int index, MpscArrayQueue<MarketEvent> queue, MarketEventHandler handler) {
+            this.index = index;
+            this.queue = queue;
+            this.handler = handler;
+        }
+
+        void run() {
+            var parkNanos = config.idlePark().toNanos();
+            while (true) {
+                var stopping = !running;
+                var count = queue.drain(this::handle, config.maxBatchSize());
+                if (count > 0) {
+                    afterBatch(count);
+                    continue;
+                }
+                if (stopping && queue.size() == 0) {
+                    return; // 종료 요청 이후에 큐가 비었다. (자리만 예약하고 아직 쓰지 않은 이벤트도 기다린다)
+                }
+                LockSupport.parkNanos(parkNanos);
+            }
+        }
+
+        private void handle(MarketEvent event) {
+            try {
+                handler.onEvent(event);
+            } catch (RuntimeException e) {
+                failures.increment();
+                log.warn("이벤트 처리에 실패했습니다. shard={}, event={}", index, event, e);
+            }
+        }
+
+        private void afterBatch(int count) {
+            try {
+                handler.onBatchEnd(count);
+            } catch (RuntimeException e) {
+                failures.increment();
+                log.warn("이벤트 묶음 처리에 실패했습니다. shard={}", index, e);
+            }
+            processed.add(count);
+            batches.increment();
+            if (count > maxBatchSize) {
+                maxBatchSize = count;
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.newy.playground.market.event;
+
+public record StatusEvent(long marketId, long timestamp, Status status) implements MarketEvent {
+    public enum Status {
+        OPEN, HALTED, CLOSED
+    }
+}
@@ -0,0 +1,4 @@
+package com.newy.playground.market.event;
+
+public record TradeEvent(long marketId, long timestamp, double price, double volume) implements MarketEvent {
+}
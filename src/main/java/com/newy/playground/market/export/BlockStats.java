@@ -0,0 +1,23 @@
+package com.newy.playground.market.export;
+
+/**
+ * 블록 1개의 위치와 통계. 파일 끝의 footer 에 저장하고, 읽을 때 구간 밖의 블록을 건너뛰는 데 사용한다.
+ *
+ * @param offset 파일에서 블록이 시작하는 위치
+ */
+public record BlockStats(
+        long offset,
+        int rows,
+        long minTradedAt,
+        long maxTradedAt,
+        long minMarketId,
+        long maxMarketId
+) {
+    boolean overlaps(long from, long to) {
+        return maxTradedAt >= from && minTradedAt < to;
+    }
+
+    boolean within(long from, long to) {
+        return minTradedAt >= from && maxTradedAt < to;
+    }
+}
@@ -0,0 +1,90 @@
+package com.newy.playground.market.export;
+
+import java.util.Arrays;
+
+/**
+ * 컬럼 값을 쓰고 읽는 크기가 늘어나는 바이트 배열. 블록마다 새로 만들지 않고 재사용한다.
+ */
+final class ByteArrayCodec {
+    private byte[] bytes;
+    private int length;
+    private int position;
+
+    ByteArrayCodec(int initialCapacity) {
+        this.bytes = new byte[initialCapacity];
+    }
+
+    byte[] array() {
+        return bytes;
+    }
+
+    int length() {
+        return length;
+    }
+
+    void clear() {
+        length = 0;
+        position = 0;
+    }
+
+    /**
+     * 읽기 전에 length 바이트를 채울 공간을 확보한다.
+     */
+    byte[] prepareRead(int length) {
+        ensureCapacity(length);
+        this.length = length;
+        this.position = 0;
+        return bytes;
+    }
+
+    void writeVarLong(long value) {
+        ensureCapacity(length + 10);
+        while ((value & ~0x7FL) != 0) {
+            bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[length++] = (byte) value;
+    }
+
+    void writeZigZag(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    void writeDouble(double value) {
+        ensureCapacity(length + 8);
+        var bits = Double.doubleToRawLongBits(value);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            bytes[length++] = (byte) (bits >>> shift);
+        }
+    }
+
+    long readVarLong() {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            var b = bytes[position++];
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    long readZigZag() {
+        var value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    double readDouble() {
+        long bits = 0;
+        for (int i = 0; i < 8; i++) {
+            bits = (bits << 8) | (bytes[position++] & 0xFF);
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(capacity, bytes.length * 2));
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.newy.playground.market.export;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * {@link ColumnarTickWriter} 로 쓴 파일을 읽는다.
+ * <p>
+ * [특징]
+ * - footer 의 블록 통계로 구간 밖의 블록은 읽지 않는다.
+ * - 블록 안에서는 요청한 컬럼만 압축을 푼다. 나머지 컬럼은 길이만 읽고 건너뛴다.
+ * - 행을 객체로 만들지 않고 {@link TickRowHandler} 로 전달한다.
+ * - 인스턴스는 스레드 안전하지 않다.
+ */
+public final class ColumnarTickReader implements AutoCloseable {
+    private static final int TRAILER_SIZE = 12;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final List<String> dictionary;
+    private final List<BlockStats> blocks;
+    private final Inflater inflater = new Inflater();
+    private final ByteBuffer header = ByteBuffer.allocate(8);
+    private final ByteArrayCodec column = new ByteArrayCodec(1024);
+    private ByteBuffer compressed = ByteBuffer.allocate(1024);
+
+    private long[] marketIds = new long[0];
+    private int[] codeIds = new int[0];
+    private long[] tradedAts = new long[0];
+    private double[] prices = new double[0];
+    private double[] volumes = new double[0];
+
+    private ColumnarTickReader(Path file, FileChannel channel, List<String> dictionary, List<BlockStats> blocks) {
+        this.file = file;
+        this.channel = channel;
+        this.dictionary = dictionary;
+        this.blocks = blocks;
+    }
+
+    public static ColumnarTickReader open(Path file) throws IOException {
+        var channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            var head = readAt(channel, 0, 8);
+            if (head.getInt() != ColumnarTickWriter.MAGIC || head.getInt() != ColumnarTickWriter.FORMAT) {
+                throw new IOException("컬럼형 틱 파일이 아닙니다. file=" + file);
+            }
+            var trailer = readAt(channel, channel.size() - TRAILER_SIZE, TRAILER_SIZE);
+            var footerOffset = trailer.getLong();
+            if (trailer.getInt() != ColumnarTickWriter.MAGIC) {
+                throw new IOException("footer 가 없습니다. 쓰는 중에 중단된 파일일 수 있습니다. file=" + file);
+            }
+
+            var footer = readAt(channel, footerOffset, (int) (channel.size() - TRAILER_SIZE - footerOffset));
+            var in = new DataInputStream(new ByteArrayInputStream(footer.array()));
+            var codeCount = in.readInt();
+            var dictionary = new ArrayList<String>(codeCount);
+            for (int i = 0; i < codeCount; i++) {
+                dictionary.add(in.readUTF());
+            }
+            var blockCount = in.readInt();
+            var blocks = new ArrayList<BlockStats>(blockCount);
+            for (int i = 0; i < blockCount; i++) {
+                blocks.add(new BlockStats(in.readLong(), in.readInt(), in.readLong(), in.readLong(), in.readLong(), in.readLong()));
+            }
+            return new ColumnarTickReader(file, channel, List.copyOf(dictionary), List.copyOf(blocks));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public List<String> dictionary() {
+        return dictionary;
+    }
+
+    public List<BlockStats> blocks() {
+        return blocks;
+    }
+
+    public long rowCount() {
+        return blocks.stream().mapToLong(BlockStats::rows).sum();
+    }
+
+    public ScanResult scan(Set<TickColumn> columns, TickRowHandler handler) throws IOException {
+        return scan(Long.MIN_VALUE, Long.MAX_VALUE, columns, handler);
+    }
+
+    /**
+     * tradedAt 이 [from, to) 인 행을 파일에 쓴 순서대로 전달한다.
+     * 구간 경계에 걸친 블록은 행 단위로 거르기 위해 요청하지 않아도 TRADED_AT 컬럼을 읽는다.
+     *
+     * @param columns 읽을 컬럼. 나머지 컬럼 값은 0(code 는 null)으로 전달한다.
+     */
+    public ScanResult scan(long from, long to, Set<TickColumn> columns, TickRowHandler handler) throws IOException {
+        var blocksRead = 0;
+        var blocksSkipped = 0;
+        var rows = 0L;
+        for (var block : blocks) {
+            if (!block.overlaps(from, to)) {
+                blocksSkipped++;
+                continue;
+            }
+            var filter = !block.within(from, to);
+            readBlock(block, columns, filter);
+            blocksRead++;
+
+            var readMarketId = columns.contains(TickColumn.MARKET_ID);
+            var readCode = columns.contains(TickColumn.CODE);
+            var readTradedAt = columns.contains(TickColumn.TRADED_AT);
+            var readPrice = columns.contains(TickColumn.PRICE);
+            var readVolume = columns.contains(TickColumn.VOLUME);
+            for (int i = 0; i < block.rows(); i++) {
+                if (filter && (tradedAts[i] < from || tradedAts[i] >= to)) {
+                    continue;
+                }
+                handler.onRow(
+                        readMarketId ? marketIds[i] : 0,
+                        readCode ? dictionary.get(codeIds[i]) : null,
+                        readTradedAt ? tradedAts[i] : 0,
+                        readPrice ? prices[i] : 0,
+                        readVolume ? volumes[i] : 0
+                );
+                rows++;
+            }
+        }
+        return new ScanResult(blocksRead, blocksSkipped, rows);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (channel) {
+            inflater.end();
+        }
+    }
+
+    private void readBlock(BlockStats block, Set<TickColumn> columns, boolean filter) throws IOException {
+        ensureRows(block.rows());
+        var position = block.offset();
+        for (var target : TickColumn.values()) {
+            header.clear();
+            readFully(header, position);
+            var rawLength = header.flip().getInt();
+            var compressedLength = header.getInt();
+            position += header.capacity();
+
+            if (columns.contains(target) || (filter && target == TickColumn.TRADED_AT)) {
+                inflate(position, compressedLength, rawLength);
+                decode(target, block.rows());
+            }
+            position += compressedLength;
+        }
+    }
+
+    private void inflate(long position, int compressedLength, int rawLength) throws IOException {
+        if (compressed.capacity() < compressedLength) {
+            compressed = ByteBuffer.allocate(Math.max(compressedLength, compressed.capacity() * 2));
+        }
+        compressed.clear().limit(compressedLength);
+        readFully(compressed, position);
+
+        inflater.reset();
+        inflater.setInput(compressed.array(), 0, compressedLength);
+        var output = column.prepareRead(rawLength);
+        try {
+            var length = 0;
+            while (length < rawLength) {
+                var inflated = inflater.inflate(output, length, rawLength - length);
+                if (inflated == 0 && (inflater.finished() || inflater.needsInput())) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != rawLength) {
+                throw new IOException("컬럼 길이가 맞지 않습니다. file=" + file + ", position=" + position);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("컬럼 압축을 풀 수 없습니다. file=" + file + ", position=" + position, e);
+        }
+    }
+
+    private void decode(TickColumn target, int rows) {
+        switch (target) {
+            case MARKET_ID -> readDeltas(marketIds, rows);
+            case CODE -> {
+                for (int i = 0; i < rows; i++) {
+                    codeIds[i] = (int) column.readVarLong();
+                }
+            }
+            case TRADED_AT -> readDeltas(tradedAts, rows);
+            case PRICE -> readDoubles(prices, rows);
+            case VOLUME -> readDoubles(volumes, rows);
+        }
+    }
+
+    private void readDeltas(long[] values, int rows) {
+        var previous = 0L;
+        for (int i = 0; i < rows; i++) {
+            previous += column.readZigZag();
+            values[i] = previous;
+        }
+    }
+
+    private void readDoubles(double[] values, int rows) {
+        for (int i = 0; i < rows; i++) {
+            values[i] = column.readDouble();
+        }
+    }
+
+    private void ensureRows(int rows) {
+        if (marketIds.length < rows) {
+            marketIds = new long[rows];
+            codeIds = new int[rows];
+            tradedAts = new long[rows];
+            prices = new double[rows];
+            volumes = new double[rows];
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("파일이 중간에 끝났습니다. file=" + file);
+            }
+        }
+    }
+
+    private static ByteBuffer readAt(FileChannel channel, long position, int length) throws IOException {
+        if (position < 0 || length < 0) {
+            throw new IOException("컬럼형 틱 파일이 아닙니다.");
+        }
+        var buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("파일이 중간에 끝났습니다.");
+            }
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * @param blocksRead    압축을 푼 블록 수
+     * @param blocksSkipped 블록 통계만 보고 건너뛴 블록 수
+     * @param rows          전달한 행 수
+     */
+    public record ScanResult(int blocksRead, int blocksSkipped, long rows) {
+    }
+}
@@ -0,0 +1,213 @@
+package com.newy.playground.market.export;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+/**
+ * 틱을 컬럼형 압축 파일로 쓴다. blockRows 개의 행만 메모리에 모으기 때문에, 행 수와 관계없이 메모리 사용량이 일정하다.
+ * <pre>
+ * | magic(4) | format(4) |
+ * | 블록 ... | 블록 = 컬럼({@link TickColumn} 순서) ... | 컬럼 = 원본 길이(4) | 압축 길이(4) | Deflate 압축 데이터 |
+ * | footer = 사전 크기(4) | code(UTF) ... | 블록 수(4) | {@link BlockStats} ... |
+ * | footer 위치(8) | magic(4) |
+ * </pre>
+ * 컬럼별로 압축하기 때문에, 읽을 때 필요한 컬럼만 압축을 푼다.
+ */
+public final class ColumnarTickWriter implements AutoCloseable {
+    static final int MAGIC = 0x54434F4C; // "TCOL"
+    static final int FORMAT = 1;
+
+    private final FileChannel channel;
+    private final int blockRows;
+
+    private final long[] marketIds;
+    private final int[] codeIds;
+    private final long[] tradedAts;
+    private final double[] prices;
+    private final double[] volumes;
+    private int rows;
+
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private final List<String> codes = new ArrayList<>();
+    private final List<BlockStats> blocks = new ArrayList<>();
+    private final ByteArrayCodec column;
+    private final ByteArrayCodec compressed;
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final ByteBuffer header = ByteBuffer.allocate(8);
+    private long totalRows;
+    private boolean closed;
+
+    private ColumnarTickWriter(FileChannel channel, int blockRows) {
+        this.channel = channel;
+        this.blockRows = blockRows;
+        this.marketIds = new long[blockRows];
+        this.codeIds = new int[blockRows];
+        this.tradedAts = new long[blockRows];
+        this.prices = new double[blockRows];
+        this.volumes = new double[blockRows];
+        this.column = new ByteArrayCodec(blockRows * 8);
+        this.compressed = new ByteArrayCodec(blockRows * 8);
+    }
+
+    public static ColumnarTickWriter open(Path file, int blockRows) throws IOException {
+        if (blockRows <= 0) {
+            throw new IllegalArgumentException("blockRows 는 1 이상이어야 합니다.");
+        }
+        var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        var writer = new ColumnarTickWriter(channel, blockRows);
+        writer.writeFully(ByteBuffer.allocate(8).putInt(MAGIC).putInt(FORMAT).flip());
+        return writer;
+    }
+
+    public void append(long marketId, String code, long tradedAt, double price, double volume) {
+        marketIds[rows] = marketId;
+        codeIds[rows] = dictionary.computeIfAbsent(code, key -> {
+            codes.add(key);
+            return codes.size() - 1;
+        });
+        tradedAts[rows] = tradedAt;
+        prices[rows] = price;
+        volumes[rows] = volume;
+        totalRows++;
+
+        if (++rows == blockRows) {
+            try {
+                flushBlock();
+            } catch (IOException e) {
+                throw new UncheckedIOException("블록을 쓰지 못했습니다.", e);
+            }
+        }
+    }
+
+    public long rowCount() {
+        return totalRows;
+    }
+
+    public int blockCount() {
+        return blocks.size() + (rows > 0 ? 1 : 0);
+    }
+
+    /**
+     * 남은 행과 footer 를 쓰고 파일을 닫는다. 두 번째 호출부터는 아무것도 하지 않는다.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try (channel) {
+            flushBlock();
+            writeFooter();
+            channel.force(true);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        if (rows == 0) {
+            return;
+        }
+
+        long minTradedAt = Long.MAX_VALUE, maxTradedAt = Long.MIN_VALUE;
+        long minMarketId = Long.MAX_VALUE, maxMarketId = Long.MIN_VALUE;
+        for (int i = 0; i < rows; i++) {
+            minTradedAt = Math.min(minTradedAt, tradedAts[i]);
+            maxTradedAt = Math.max(maxTradedAt, tradedAts[i]);
+            minMarketId = Math.min(minMarketId, marketIds[i]);
+            maxMarketId = Math.max(maxMarketId, marketIds[i]);
+        }
+        blocks.add(new BlockStats(channel.position(), rows, minTradedAt, maxTradedAt, minMarketId, maxMarketId));
+
+        for (var target : TickColumn.values()) {
+            column.clear();
+            switch (target) {
+                case MARKET_ID -> writeDeltas(marketIds);
+                case CODE -> {
+                    for (int i = 0; i < rows; i++) {
+                        column.writeVarLong(codeIds[i]);
+                    }
+                }
+                case TRADED_AT -> writeDeltas(tradedAts);
+                case PRICE -> writeDoubles(prices);
+                case VOLUME -> writeDoubles(volumes);
+            }
+            writeCompressedColumn();
+        }
+        rows = 0;
+    }
+
+    private void writeDeltas(long[] values) {
+        var previous = 0L;
+        for (int i = 0; i < rows; i++) {
+            column.writeZigZag(values[i] - previous);
+            previous = values[i];
+        }
+    }
+
+    private void writeDoubles(double[] values) {
+        for (int i = 0; i < rows; i++) {
+            column.writeDouble(values[i]);
+        }
+    }
+
+    private void writeCompressedColumn() throws IOException {
+        deflater.reset();
+        deflater.setInput(column.array(), 0, column.length());
+        deflater.finish();
+        var output = compressed.prepareRead(Math.max(64, column.length() + column.length() / 100 + 64));
+        var length = 0;
+        while (!deflater.finished()) {
+            if (length == output.length) {
+                output = compressed.prepareRead(output.length * 2);
+            }
+            length += deflater.deflate(output, length, output.length - length);
+        }
+
+        header.clear();
+        header.putInt(column.length()).putInt(length).flip();
+        writeFully(header);
+        writeFully(ByteBuffer.wrap(output, 0, length));
+    }
+
+    private void writeFooter() throws IOException {
+        var footerOffset = channel.position();
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new DataOutputStream(bytes)) {
+            out.writeInt(codes.size());
+            for (var code : codes) {
+                out.writeUTF(code);
+            }
+            out.writeInt(blocks.size());
+            for (var block : blocks) {
+                out.writeLong(block.offset());
+                out.writeInt(block.rows());
+                out.writeLong(block.minTradedAt());
+                out.writeLong(block.maxTradedAt());
+                out.writeLong(block.minMarketId());
+                out.writeLong(block.maxMarketId());
+            }
+            out.writeLong(footerOffset);
+            out.writeInt(MAGIC);
+        }
+        writeFully(ByteBuffer.wrap(bytes.toByteArray()));
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
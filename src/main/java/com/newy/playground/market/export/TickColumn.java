@@ -0,0 +1,21 @@
+package com.newy.playground.market.export;
+
+/**
+ * 컬럼형 틱 파일의 컬럼. 블록 안에 이 순서로 저장한다.
+ */
+public enum TickColumn {
+    /**
+     * 블록 안에서 이전 행과의 차이(zigzag varint)
+     */
+    MARKET_ID,
+    /**
+     * market.code 사전의 번호(varint). 사전은 파일 끝에 1번만 저장한다.
+     */
+    CODE,
+    /**
+     * 블록 안에서 이전 행과의 차이(zigzag varint). 첫 행은 0 과의 차이다.
+     */
+    TRADED_AT,
+    PRICE,
+    VOLUME
+}
@@ -0,0 +1,68 @@
+package com.newy.playground.market.export;
+
+import com.newy.playground.market.timeseries.EpochMillis;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+/**
+ * market_tick 구간을 컬럼형 압축 파일로 내보낸다.
+ * 결과를 메모리에 모으지 않고 fetch size 단위로 읽어서 바로 블록에 쓴다.
+ * (PostgreSQL 은 트랜잭션 안에서만 fetch size 로 커서를 사용하기 때문에 readOnly 트랜잭션으로 실행한다)
+ */
+@Service
+public class TickExportService {
+    public static final int DEFAULT_BLOCK_ROWS = 16_384;
+
+    private static final int EXPORT_FETCH_SIZE = 10_000;
+    private static final String EXPORT_SQL = """
+            SELECT t.market_id, m.code, t.traded_at, t.price, t.volume
+            FROM market_tick t
+            JOIN market m ON m.id = t.market_id
+            WHERE t.traded_at >= ? AND t.traded_at < ?
+            ORDER BY t.market_id, t.traded_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TickExportService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 구간 [from, to) 의 틱을 거래소, 시간 순서로 target 파일에 쓴다.
+     */
+    @Transactional(readOnly = true)
+    public ExportResult export(long from, long to, Path target, int blockRows) throws IOException {
+        long rows;
+        int blocks;
+        try (var writer = ColumnarTickWriter.open(target, blockRows)) {
+            jdbcTemplate.query(connection -> {
+                var ps = connection.prepareStatement(EXPORT_SQL);
+                ps.setFetchSize(EXPORT_FETCH_SIZE);
+                ps.setObject(1, EpochMillis.toDateTime(from));
+                ps.setObject(2, EpochMillis.toDateTime(to));
+                return ps;
+            }, rs -> {
+                writer.append(
+                        rs.getLong(1),
+                        rs.getString(2),
+                        EpochMillis.fromDateTime(rs.getObject(3, LocalDateTime.class)),
+                        rs.getDouble(4),
+                        rs.getDouble(5)
+                );
+            });
+            rows = writer.rowCount();
+            blocks = writer.blockCount();
+        }
+        return new ExportResult(rows, blocks, Files.size(target));
+    }
+
+    public record ExportResult(long rows, int blocks, long bytes) {
+    }
+}
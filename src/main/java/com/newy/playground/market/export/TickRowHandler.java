@@ -0,0 +1,9 @@
+package com.newy.playground.market.export;
+
+/**
+ * 행을 객체로 만들지 않고 전달받기 위한 콜백. 읽지 않은 컬럼은 0(code 는 null)이다.
+ */
+@FunctionalInterface
+public interface TickRowHandler {
+    void onRow(long marketId, String code, long tradedAt, double price, double volume);
+}
@@ -0,0 +1,47 @@
+package com.newy.playground.market.indicator;
+
+/**
+ * 볼린저 밴드. {@link #applyAsDouble(double)} 은 %B (0 = 하단, 1 = 상단) 를 반환하고,
+ * 밴드 값은 {@link #middle()}, {@link #upper()}, {@link #lower()} 로 조회한다.
+ */
+public final class BollingerBands implements Indicator {
+    private final RollingStdDev deviation;
+    private final double multiplier;
+
+    public BollingerBands(int period, double multiplier) {
+        this.deviation = new RollingStdDev(period);
+        this.multiplier = multiplier;
+    }
+
+    @Override
+    public double applyAsDouble(double value) {
+        deviation.applyAsDouble(value);
+        if (!isReady()) {
+            return Double.NaN;
+        }
+        var width = upper() - lower();
+        return width == 0 ? 0.5 : (value - lower()) / width;
+    }
+
+    public double middle() {
+        return deviation.mean();
+    }
+
+    public double upper() {
+        return deviation.mean() + multiplier * deviation.value();
+    }
+
+    public double lower() {
+        return deviation.mean() - multiplier * deviation.value();
+    }
+
+    @Override
+    public boolean isReady() {
+        return deviation.isReady();
+    }
+
+    @Override
+    public void reset() {
+        deviation.reset();
+    }
+}
@@ -0,0 +1,28 @@
+package com.newy.playground.market.indicator;
+
+final class ChainedIndicator implements Indicator {
+    private final Indicator before;
+    private final Indicator after;
+
+    ChainedIndicator(Indicator before, Indicator after) {
+        this.before = before;
+        this.after = after;
+    }
+
+    @Override
+    public double applyAsDouble(double value) {
+        var intermediate = before.applyAsDouble(value);
+        return before.isReady() ? after.applyAsDouble(intermediate) : Double.NaN;
+    }
+
+    @Override
+    public boolean isReady() {
+        return before.isReady() && after.isReady();
+    }
+
+    @Override
+    public void reset() {
+        before.reset();
+        after.reset();
+    }
+}
@@ -0,0 +1,58 @@
+package com.newy.playground.market.indicator;
+
+/**
+ * 최근 capacity 개의 값을 저장하는 고정 크기 double 링 버퍼.
+ */
+public final class DoubleRingBuffer {
+    private final double[] values;
+    private int next;
+    private int size;
+
+    public DoubleRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity 는 1 이상이어야 합니다.");
+        }
+        this.values = new double[capacity];
+    }
+
+    /**
+     * @return 버퍼가 가득 찬 상태였다면 밀려난 가장 오래된 값, 아니면 0
+     */
+    public double push(double value) {
+        var evicted = size == values.length ? values[next] : 0;
+        values[next] = value;
+        next = next + 1 == values.length ? 0 : next + 1;
+        if (size < values.length) {
+            size++;
+        }
+        return evicted;
+    }
+
+    /**
+     * @param index 0 이 가장 오래된 값
+     */
+    public double get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index=" + index + ", size=" + size);
+        }
+        var position = next - size + index;
+        return values[position < 0 ? position + values.length : position];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return values.length;
+    }
+
+    public boolean isFull() {
+        return size == values.length;
+    }
+
+    public void clear() {
+        next = 0;
+        size = 0;
+    }
+}
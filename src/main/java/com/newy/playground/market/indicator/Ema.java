@@ -0,0 +1,48 @@
+package com.newy.playground.market.indicator;
+
+/**
+ * 지수 이동 평균. (가중치 = 2 / (period + 1))
+ * 처음 period 개 값의 단순 평균을 시작 값으로 사용한다.
+ */
+public final class Ema implements Indicator {
+    private final int period;
+    private final double alpha;
+    private int count;
+    private double value;
+
+    public Ema(int period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("period 는 1 이상이어야 합니다.");
+        }
+        this.period = period;
+        this.alpha = 2.0 / (period + 1);
+    }
+
+    @Override
+    public double applyAsDouble(double sample) {
+        if (count < period) {
+            value += sample;
+            if (++count == period) {
+                value /= period;
+            }
+        } else {
+            value += alpha * (sample - value);
+        }
+        return value();
+    }
+
+    public double value() {
+        return count < period ? Double.NaN : value;
+    }
+
+    @Override
+    public boolean isReady() {
+        return count >= period;
+    }
+
+    @Override
+    public void reset() {
+        count = 0;
+        value = 0;
+    }
+}
@@ -0,0 +1,23 @@
+package com.newy.playground.market.indicator;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * 값을 1개씩 받아서 O(1) 로 갱신하는 스트리밍 지표.
+ * <p>
+ * {@link #applyAsDouble(double)} 은 새 값을 반영한 현재 지표 값을 반환한다. 계산에 필요한 값이 모이기 전에는 {@code Double.NaN} 을 반환한다.
+ * 상태가 있기 때문에 스레드 안전하지 않고, 종목마다 별도의 인스턴스를 사용한다.
+ */
+public interface Indicator extends DoubleUnaryOperator {
+    boolean isReady();
+
+    void reset();
+
+    /**
+     * 이 지표의 값을 다음 지표의 입력으로 넘긴다. 이 지표가 준비되기 전에는 다음 지표를 갱신하지 않는다.
+     * (예: {@code new Rsi(14).andThen(new Sma(3))} 는 RSI 의 3 구간 이동 평균)
+     */
+    default Indicator andThen(Indicator after) {
+        return new ChainedIndicator(this, after);
+    }
+}
@@ -0,0 +1,60 @@
+package com.newy.playground.market.indicator;
+
+/**
+ * 구간 모 표준 편차. Welford 방식으로 평균과 편차 제곱합(m2)을 갱신한다.
+ * <p>
+ * 제곱 합계에서 평균의 제곱을 빼는 방식은 가격이 크고 변동이 작을 때(예: 100,000 ± 0.01) 자릿수가 상쇄되어 값을 잃는다.
+ * 평균과의 차이로만 갱신하면 가격의 크기와 관계없이 편차의 자릿수를 유지한다.
+ */
+public final class RollingStdDev implements Indicator {
+    private final DoubleRingBuffer window;
+    private double mean;
+    private double m2;
+
+    public RollingStdDev(int period) {
+        this.window = new DoubleRingBuffer(period);
+    }
+
+    @Override
+    public double applyAsDouble(double value) {
+        var full = window.isFull();
+        var evicted = window.push(value);
+        if (full) {
+            // 구간 크기가 같으므로, 밀려난 값을 새 값으로 바꾼 것으로 갱신한다.
+            var delta = value - evicted;
+            var previousMean = mean;
+            mean += delta / window.capacity();
+            m2 += delta * (value - mean + evicted - previousMean);
+        } else {
+            var delta = value - mean;
+            mean += delta / window.size();
+            m2 += delta * (value - mean);
+        }
+        return value();
+    }
+
+    public double value() {
+        return window.isFull() ? Math.sqrt(variance()) : Double.NaN;
+    }
+
+    public double mean() {
+        return window.isFull() ? mean : Double.NaN;
+    }
+
+    @Override
+    public boolean isReady() {
+        return window.isFull();
+    }
+
+    @Override
+    public void reset() {
+        window.clear();
+        mean = 0;
+        m2 = 0;
+    }
+
+    private double variance() {
+        // 부동 소수점 오차로 음수가 될 수 있다.
+        return Math.max(0, m2 / window.capacity());
+    }
+}
@@ -0,0 +1,67 @@
+package com.newy.playground.market.indicator;
+
+/**
+ * 상대 강도 지수 (Wilder 평활). 0 ~ 100 사이의 값이다.
+ * 처음 period 개 변화량의 평균을 시작 값으로 사용하기 때문에, period + 1 개의 값이 필요하다.
+ */
+public final class Rsi implements Indicator {
+    private final int period;
+    private boolean started;
+    private double previous;
+    private int count;
+    private double averageGain;
+    private double averageLoss;
+
+    public Rsi(int period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("period 는 1 이상이어야 합니다.");
+        }
+        this.period = period;
+    }
+
+    @Override
+    public double applyAsDouble(double sample) {
+        if (!started) {
+            started = true;
+            previous = sample;
+            return Double.NaN;
+        }
+
+        var change = sample - previous;
+        previous = sample;
+        var gain = Math.max(change, 0);
+        var loss = Math.max(-change, 0);
+        if (count < period) {
+            averageGain += gain / period;
+            averageLoss += loss / period;
+            count++;
+        } else {
+            averageGain += (gain - averageGain) / period;
+            averageLoss += (loss - averageLoss) / period;
+        }
+        return value();
+    }
+
+    public double value() {
+        if (count < period) {
+            return Double.NaN;
+        }
+        if (averageLoss == 0) {
+            return averageGain == 0 ? 50 : 100;
+        }
+        return 100 - 100 / (1 + averageGain / averageLoss);
+    }
+
+    @Override
+    public boolean isReady() {
+        return count >= period;
+    }
+
+    @Override
+    public void reset() {
+        started = false;
+        count = 0;
+        averageGain = 0;
+        averageLoss = 0;
+    }
+}
@@ -0,0 +1,50 @@
+package com.newy.playground.market.indicator;
+
+/**
+ * 단순 이동 평균. 구간 합계에 새 값을 더하고 밀려난 값을 빼서 갱신한다.
+ * <p>
+ * 더하고 빼기를 계속 반복하면 반올림 오차가 쌓이기 때문에, Neumaier 보정 합계로 잃은 자릿수를 따로 모은다.
+ */
+public final class Sma implements Indicator {
+    private final DoubleRingBuffer window;
+    private double sum;
+    private double compensation;
+
+    public Sma(int period) {
+        this.window = new DoubleRingBuffer(period);
+    }
+
+    @Override
+    public double applyAsDouble(double value) {
+        var evicted = window.push(value);
+        add(value);
+        add(-evicted);
+        return value();
+    }
+
+    public double value() {
+        return window.isFull() ? (sum + compensation) / window.capacity() : Double.NaN;
+    }
+
+    @Override
+    public boolean isReady() {
+        return window.isFull();
+    }
+
+    @Override
+    public void reset() {
+        window.clear();
+        sum = 0;
+        compensation = 0;
+    }
+
+    private void add(double value) {
+        var next = sum + value;
+        if (Math.abs(sum) >= Math.abs(value)) {
+            compensation += (sum - next) + value;
+        } else {
+            compensation += (value - next) + sum;
+        }
+        sum = next;
+    }
+}
@@ -0,0 +1,55 @@
+package com.newy.playground.market.indicator;
+
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * 최근 period 개 체결의 거래량 가중 평균 가격.
+ * 가격과 거래량 2개의 값을 받기 때문에 {@link DoubleBinaryOperator} 를 구현한다.
+ */
+public final class Vwap implements DoubleBinaryOperator {
+    private final DoubleRingBuffer notionals;
+    private final DoubleRingBuffer volumes;
+    private double notionalSum;
+    private double volumeSum;
+
+    public Vwap(int period) {
+        this.notionals = new DoubleRingBuffer(period);
+        this.volumes = new DoubleRingBuffer(period);
+    }
+
+    /**
+     * @return 새 체결을 반영한 VWAP
+     */
+    @Override
+    public double applyAsDouble(double price, double volume) {
+        var notional = price * volume;
+        notionalSum += notional - notionals.push(notional);
+        volumeSum += volume - volumes.push(volume);
+        return value();
+    }
+
+    public double value() {
+        return !volumes.isFull() || volumeSum <= 0 ? Double.NaN : notionalSum / volumeSum;
+    }
+
+    public boolean isReady() {
+        return volumes.isFull();
+    }
+
+    public void reset() {
+        notionals.clear();
+        volumes.clear();
+        notionalSum = 0;
+        volumeSum = 0;
+    }
+
+    /**
+     * VWAP 값을 다음 지표의 입력으로 넘긴다.
+     */
+    public DoubleBinaryOperator andThen(Indicator after) {
+        return (price, volume) -> {
+            var vwap = applyAsDouble(price, volume);
+            return isReady() ? after.applyAsDouble(vwap) : Double.NaN;
+        };
+    }
+}
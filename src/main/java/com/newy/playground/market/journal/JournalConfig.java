@@ -0,0 +1,35 @@
+package com.newy.playground.market.journal;
+
+/**
+ * {@link TickJournal} 설정 값.
+ *
+ * @param segmentRecords  세그먼트 파일 1개에 저장할 레코드 수 (파일 크기 = segmentRecords * 40 byte)
+ * @param indexInterval   시간 인덱스 1개가 담당하는 레코드 수
+ * @param verifyChecksums 재생 시 레코드마다 CRC 를 확인할지 여부
+ */
+public record JournalConfig(int segmentRecords, int indexInterval, boolean verifyChecksums) {
+    public JournalConfig {
+        if (segmentRecords <= 0 || (long) segmentRecords * JournalSegment.RECORD_SIZE > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("segmentRecords 범위를 벗어났습니다. segmentRecords=" + segmentRecords);
+        }
+        if (indexInterval <= 0) {
+            throw new IllegalArgumentException("indexInterval 은 1 이상이어야 합니다.");
+        }
+    }
+
+    public static JournalConfig defaults() {
+        return new JournalConfig(1 << 20, 1024, true);
+    }
+
+    public JournalConfig withSegmentRecords(int segmentRecords) {
+        return new JournalConfig(segmentRecords, indexInterval, verifyChecksums);
+    }
+
+    public JournalConfig withIndexInterval(int indexInterval) {
+        return new JournalConfig(segmentRecords, indexInterval, verifyChecksums);
+    }
+
+    public JournalConfig withVerifyChecksums(boolean verifyChecksums) {
+        return new JournalConfig(segmentRecords, indexInterval, verifyChecksums);
+    }
+}
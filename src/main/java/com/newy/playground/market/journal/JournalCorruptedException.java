@@ -0,0 +1,7 @@
+package com.newy.playground.market.journal;
+
+public class JournalCorruptedException extends RuntimeException {
+    public JournalCorruptedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.newy.playground.market.journal;
+
+/**
+ * 저널 레코드를 객체로 만들지 않고 전달받기 위한 Primitive 콜백.
+ *
+ * @see TickJournal#TICK
+ * @see TickJournal#MARKET_EVENT
+ */
+@FunctionalInterface
+public interface JournalHandler {
+    void onRecord(int type, long marketId, long timestamp, double value1, double value2);
+}
@@ -0,0 +1,286 @@
+package com.newy.playground.market.journal;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+/**
+ * 고정 크기 레코드를 저장하는 메모리 맵 세그먼트 파일.
+ * <pre>
+ * 레코드 (40 byte, big endian)
+ * | crc(4) | type(4) | marketId(8) | timestamp(8) | value1(8) | value2(8) |
+ * </pre>
+ * crc 는 type 부터 레코드 끝까지의 CRC32C 이다. type 이 0 이거나 crc 가 맞지 않는 레코드를 세그먼트의 끝으로 본다.
+ * <p>
+ * 시간 인덱스는 indexInterval 개 레코드(블록)마다 timestamp 의 최소/최대 값을 저장한다.
+ * 세그먼트를 닫을 때 '.idx' 파일로 저장하고, 파일이 없으면 세그먼트를 읽어서 다시 만든다.
+ */
+final class JournalSegment {
+    static final int RECORD_SIZE = 40;
+    static final int CRC = 0;
+    static final int TYPE = 4;
+    static final int MARKET_ID = 8;
+    static final int TIMESTAMP = 16;
+    static final int VALUE1 = 24;
+    static final int VALUE2 = 32;
+
+    private static final String FILE_SUFFIX = ".journal";
+    private static final String INDEX_SUFFIX = ".idx";
+
+    final Path file;
+    final long baseSequence;
+    final int capacity;
+    final MappedByteBuffer buffer;
+
+    private final int indexInterval;
+    private final long[] blockMin;
+    private final long[] blockMax;
+    private final CRC32C writeCrc = new CRC32C();
+    private final ByteBuffer writeView;
+    private volatile int size;
+
+    private JournalSegment(Path file, long baseSequence, int capacity, int indexInterval, MappedByteBuffer buffer) {
+        this.file = file;
+        this.baseSequence = baseSequence;
+        this.capacity = capacity;
+        this.indexInterval = indexInterval;
+        this.buffer = buffer;
+        this.writeView = buffer.duplicate();
+
+        var blocks = (capacity + indexInterval - 1) / indexInterval;
+        this.blockMin = new long[blocks];
+        this.blockMax = new long[blocks];
+        Arrays.fill(blockMin, Long.MAX_VALUE);
+        Arrays.fill(blockMax, Long.MIN_VALUE);
+    }
+
+    static Path fileOf(Path directory, long baseSequence) {
+        return directory.resolve("%020d%s".formatted(baseSequence, FILE_SUFFIX));
+    }
+
+    static boolean isSegmentFile(Path file) {
+        return file.getFileName().toString().endsWith(FILE_SUFFIX);
+    }
+
+    static JournalSegment open(Path file, int capacity, int indexInterval) throws IOException {
+        var name = file.getFileName().toString();
+        var baseSequence = Long.parseLong(name.substring(0, name.length() - FILE_SUFFIX.length()));
+        MappedByteBuffer buffer;
+        try (var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * RECORD_SIZE);
+        }
+
+        var segment = new JournalSegment(file, baseSequence, capacity, indexInterval, buffer);
+        segment.recover();
+        return segment;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isFull() {
+        return size == capacity;
+    }
+
+    long minTimestamp() {
+        return size == 0 ? Long.MAX_VALUE : Arrays.stream(blockMin, 0, blockCount()).min().orElse(Long.MAX_VALUE);
+    }
+
+    long maxTimestamp() {
+        return size == 0 ? Long.MIN_VALUE : Arrays.stream(blockMax, 0, blockCount()).max().orElse(Long.MIN_VALUE);
+    }
+
+    /**
+     * 단일 스레드에서만 호출한다. size 를 마지막에 갱신해서, 다른 스레드의 재생은 완성된 레코드만 읽는다.
+     */
+    void append(int type, long marketId, long timestamp, double value1, double value2) {
+        var index = size;
+        var position = index * RECORD_SIZE;
+        buffer.putInt(position + TYPE, type);
+        buffer.putLong(position + MARKET_ID, marketId);
+        buffer.putLong(position + TIMESTAMP, timestamp);
+        buffer.putDouble(position + VALUE1, value1);
+        buffer.putDouble(position + VALUE2, value2);
+        buffer.putInt(position + CRC, checksum(writeCrc, writeView, position));
+
+        var block = index / indexInterval;
+        blockMin[block] = Math.min(blockMin[block], timestamp);
+        blockMax[block] = Math.max(blockMax[block], timestamp);
+        size = index + 1;
+    }
+
+    /**
+     * [from, to) 구간과 겹칠 수 있는 레코드만 읽는다. 블록의 최소/최대 timestamp 로 구간 밖의 블록은 건너뛴다.
+     */
+    void replay(long from, long to, boolean verifyChecksums, JournalHandler handler) {
+        var count = size;
+        var view = buffer.duplicate();
+        var crc = new CRC32C();
+        for (int block = 0, start = 0; start < count; block++, start += indexInterval) {
+            if (blockMax[block] < from || blockMin[block] >= to) {
+                continue;
+            }
+            var end = Math.min(count, start + indexInterval);
+            for (int i = start; i < end; i++) {
+                var position = i * RECORD_SIZE;
+                var timestamp = view.getLong(position + TIMESTAMP);
+                if (timestamp < from || timestamp >= to) {
+                    continue;
+                }
+                verify(verifyChecksums, crc, view, position, i);
+                handler.onRecord(
+                        view.getInt(position + TYPE),
+                        view.getLong(position + MARKET_ID),
+                        timestamp,
+                        view.getDouble(position + VALUE1),
+                        view.getDouble(position + VALUE2)
+                );
+            }
+        }
+    }
+
+    /**
+     * 세그먼트 안의 start 번째 레코드부터 끝까지 읽는다.
+     */
+    void replayFrom(int start, boolean verifyChecksums, JournalHandler handler) {
+        var count = size;
+        var view = buffer.duplicate();
+        var crc = new CRC32C();
+        for (int i = start; i < count; i++) {
+            var position = i * RECORD_SIZE;
+            verify(verifyChecksums, crc, view, position, i);
+            handler.onRecord(
+                    view.getInt(position + TYPE),
+                    view.getLong(position + MARKET_ID),
+                    view.getLong(position + TIMESTAMP),
+                    view.getDouble(position + VALUE1),
+                    view.getDouble(position + VALUE2)
+            );
+        }
+    }
+
+    /**
+     * 거래소 1개의 레코드만 읽는다. marketId 만 먼저 읽어서, 다른 거래소의 레코드는 나머지 필드를 읽지 않는다.
+     */
+    void replayMarket(long marketId, int type, boolean verifyChecksums, JournalHandler handler) {
+        replayMarket(marketId, type, Long.MIN_VALUE, Long.MAX_VALUE, verifyChecksums, handler);
+    }
+
+    /**
+     * 거래소 1개의 [from, to) 레코드만 읽는다. 구간 밖의 블록은 건너뛰고, 블록 안에서는 marketId 를 먼저 비교한다.
+     */
+    void replayMarket(long marketId, int type, long from, long to, boolean verifyChecksums, JournalHandler handler) {
+        var count = size;
+        var view = buffer.duplicate();
+        var crc = new CRC32C();
+        for (int block = 0, start = 0; start < count; block++, start += indexInterval) {
+            if (blockMax[block] < from || blockMin[block] >= to) {
+                continue;
+            }
+            var end = Math.min(count, start + indexInterval);
+            for (int i = start; i < end; i++) {
+                var position = i * RECORD_SIZE;
+                if (view.getLong(position + MARKET_ID) != marketId || view.getInt(position + TYPE) != type) {
+                    continue;
+                }
+                var timestamp = view.getLong(position + TIMESTAMP);
+                if (timestamp < from || timestamp >= to) {
+                    continue;
+                }
+                verify(verifyChecksums, crc, view, position, i);
+                handler.onRecord(
+                        type,
+                        marketId,
+                        timestamp,
+                        view.getDouble(position + VALUE1),
+                        view.getDouble(position + VALUE2)
+                );
+            }
+        }
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    /**
+     * 세그먼트가 가득 차서 더 이상 쓰지 않을 때, 디스크에 반영하고 시간 인덱스를 저장한다.
+     */
+    void seal() throws IOException {
+        force();
+        var blocks = blockCount();
+        try (var out = new DataOutputStream(Files.newOutputStream(indexFile()))) {
+            out.writeInt(size);
+            out.writeInt(blocks);
+            for (int block = 0; block < blocks; block++) {
+                out.writeLong(blockMin[block]);
+                out.writeLong(blockMax[block]);
+            }
+        }
+    }
+
+    private void recover() throws IOException {
+        if (Files.exists(indexFile())) {
+            try (var in = new DataInputStream(Files.newInputStream(indexFile()))) {
+                var recordCount = in.readInt();
+                var blocks = in.readInt();
+                for (int block = 0; block < blocks; block++) {
+                    blockMin[block] = in.readLong();
+                    blockMax[block] = in.readLong();
+                }
+                size = recordCount;
+                return;
+            }
+        }
+
+        // 인덱스가 없는 세그먼트(마지막에 쓰던 세그먼트)는 유효한 레코드를 다시 읽어서 쓰기 위치와 인덱스를 복구한다.
+        var crc = new CRC32C();
+        var view = buffer.duplicate();
+        var recovered = 0;
+        while (recovered < capacity) {
+            var position = recovered * RECORD_SIZE;
+            if (view.getInt(position + TYPE) == 0 || view.getInt(position + CRC) != checksum(crc, view, position)) {
+                break;
+            }
+            var block = recovered / indexInterval;
+            var timestamp = view.getLong(position + TIMESTAMP);
+            blockMin[block] = Math.min(blockMin[block], timestamp);
+            blockMax[block] = Math.max(blockMax[block], timestamp);
+            recovered++;
+        }
+        size = recovered;
+    }
+
+    private int blockCount() {
+        return (size + indexInterval - 1) / indexInterval;
+    }
+
+    private Path indexFile() {
+        var name = file.getFileName().toString();
+        return file.resolveSibling(name.substring(0, name.length() - FILE_SUFFIX.length()) + INDEX_SUFFIX);
+    }
+
+    private void verify(boolean verifyChecksums, CRC32C crc, ByteBuffer view, int position, int index) {
+        if (verifyChecksums && view.getInt(position + CRC) != checksum(crc, view, position)) {
+            throw new JournalCorruptedException("레코드 CRC 가 맞지 않습니다. file=" + file + ", sequence=" + (baseSequence + index));
+        }
+    }
+
+    private static int checksum(CRC32C crc, ByteBuffer view, int position) {
+        crc.reset();
+        view.limit(position + RECORD_SIZE);
+        view.position(position + TYPE);
+        crc.update(view);
+        view.clear();
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,177 @@
+package com.newy.playground.market.journal;
+
+import com.newy.playground.market.timeseries.TickHandler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 틱과 거래소 이벤트를 고정 크기 바이너리 레코드로 기록하는 append-only 메모리 맵 저널.
+ * <p>
+ * [특징]
+ * - 세그먼트 파일이 가득 차면 다음 세그먼트 파일을 만든다. (파일 이름 = 첫 번째 레코드의 sequence)
+ * - 재생은 메모리 맵 버퍼를 순서대로 읽고 {@link JournalHandler} 로 값을 바로 넘기기 때문에, 레코드마다 객체를 만들지 않는다.
+ * - 세그먼트마다 블록 단위 시간 인덱스가 있어서, 시간 구간 재생은 구간 밖의 블록을 읽지 않는다.
+ * - 쓰기는 단일 스레드에서만 한다. 재생은 다른 스레드에서도 할 수 있고, 완성된 레코드만 읽는다.
+ * - {@link #flush()} 를 호출해야 디스크 반영이 보장된다. 프로세스만 죽은 경우에는 OS 페이지 캐시에 남아 있다.
+ */
+public final class TickJournal implements AutoCloseable {
+    public static final int TICK = 1;
+    /**
+     * value1 은 이벤트 코드, value2 는 이벤트 값이다. (예: 거래 정지/재개)
+     */
+    public static final int MARKET_EVENT = 2;
+    /**
+     * value1 은 수량 변화, value2 는 가격이다.
+     */
+    public static final int POSITION = 3;
+
+    private final Path directory;
+    private final JournalConfig config;
+    private final List<JournalSegment> segments = new CopyOnWriteArrayList<>();
+    private JournalSegment active;
+    // flush 로 디스크 반영을 보장한 레코드 수. 쓰기 스레드만 변경한다.
+    private volatile long durableSize;
+
+    private TickJournal(Path directory, JournalConfig config) {
+        this.directory = directory;
+        this.config = config;
+    }
+
+    public static TickJournal open(Path directory, JournalConfig config) throws IOException {
+        Files.createDirectories(directory);
+        var journal = new TickJournal(directory, config);
+
+        try (var files = Files.list(directory)) {
+            for (var file : files.filter(JournalSegment::isSegmentFile).sorted().toList()) {
+                journal.segments.add(JournalSegment.open(file, config.segmentRecords(), config.indexInterval()));
+            }
+        }
+        if (journal.segments.isEmpty()) {
+            journal.segments.add(JournalSegment.open(JournalSegment.fileOf(directory, 0), config.segmentRecords(), config.indexInterval()));
+        }
+        journal.active = journal.segments.getLast();
+        journal.durableSize = journal.size();
+        return journal;
+    }
+
+    public void appendTick(long marketId, long tradedAt, double price, double volume) {
+        append(TICK, marketId, tradedAt, price, volume);
+    }
+
+    public void appendMarketEvent(long marketId, long timestamp, int eventCode, double value) {
+        append(MARKET_EVENT, marketId, timestamp, eventCode, value);
+    }
+
+    public void append(int type, long marketId, long timestamp, double value1, double value2) {
+        if (type == 0) {
+            throw new IllegalArgumentException("type 0 은 빈 레코드를 뜻하기 때문에 사용할 수 없습니다.");
+        }
+        if (active.isFull()) {
+            roll();
+        }
+        active.append(type, marketId, timestamp, value1, value2);
+    }
+
+    /**
+     * @return 저널에 기록한 전체 레코드 수
+     */
+    public long size() {
+        var last = segments.getLast();
+        return last.baseSequence + last.size();
+    }
+
+    /**
+     * @return 디스크 반영이 보장된 레코드 수. {@link #size()} 보다 클 수 없다.
+     */
+    public long durableSize() {
+        return durableSize;
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    public void replay(JournalHandler handler) {
+        replay(Long.MIN_VALUE, Long.MAX_VALUE, handler);
+    }
+
+    /**
+     * timestamp 가 [from, to) 인 레코드를 기록 순서대로 재생한다.
+     */
+    public void replay(long from, long to, JournalHandler handler) {
+        for (var segment : segments) {
+            if (segment.maxTimestamp() < from || segment.minTimestamp() >= to) {
+                continue;
+            }
+            segment.replay(from, to, config.verifyChecksums(), handler);
+        }
+    }
+
+    /**
+     * sequence 번째 레코드부터 기록 순서대로 재생한다. 스냅샷 이후의 변경만 다시 적용할 때 사용한다.
+     *
+     * @param sequence 0 부터 시작하는 레코드 번호 ({@link #size()} 로 얻은 값)
+     */
+    public void replayFrom(long sequence, JournalHandler handler) {
+        for (var segment : segments) {
+            if (segment.baseSequence + segment.size() <= sequence) {
+                continue;
+            }
+            segment.replayFrom((int) Math.max(0, sequence - segment.baseSequence), config.verifyChecksums(), handler);
+        }
+    }
+
+    /**
+     * 거래소 1개의 틱을 기록 순서대로 재생한다.
+     */
+    public void replayTicks(long marketId, TickHandler handler) {
+        JournalHandler adapter = (type, id, timestamp, price, volume) -> handler.onTick(id, timestamp, price, volume);
+        for (var segment : segments) {
+            segment.replayMarket(marketId, TICK, config.verifyChecksums(), adapter);
+        }
+    }
+
+    /**
+     * 거래소 1개의 timestamp 가 [from, to) 인 틱을 기록 순서대로 재생한다. 구간 밖의 세그먼트와 블록은 읽지 않는다.
+     */
+    public void replayTicks(long marketId, long from, long to, TickHandler handler) {
+        JournalHandler adapter = (type, id, timestamp, price, volume) -> handler.onTick(id, timestamp, price, volume);
+        for (var segment : segments) {
+            if (segment.maxTimestamp() < from || segment.minTimestamp() >= to) {
+                continue;
+            }
+            segment.replayMarket(marketId, TICK, from, to, config.verifyChecksums(), adapter);
+        }
+    }
+
+    public void flush() {
+        var size = size();
+        active.force();
+        durableSize = size;
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+
+    private void roll() {
+        try {
+            active.seal();
+            var next = JournalSegment.open(
+                    JournalSegment.fileOf(directory, active.baseSequence + active.capacity),
+                    config.segmentRecords(),
+                    config.indexInterval()
+            );
+            segments.add(next);
+            active = next;
+        } catch (IOException e) {
+            throw new UncheckedIOException("저널 세그먼트를 만들 수 없습니다. directory=" + directory, e);
+        }
+    }
+}
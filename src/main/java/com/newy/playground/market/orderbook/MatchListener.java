@@ -0,0 +1,17 @@
+package com.newy.playground.market.orderbook;
+
+/**
+ * 체결 결과를 객체로 만들지 않고 전달받기 위한 Primitive 콜백.
+ */
+@FunctionalInterface
+public interface MatchListener {
+    MatchListener NONE = (makerOrderId, takerOrderId, price, quantity) -> {
+    };
+
+    /**
+     * @param makerOrderId 호가창에 있던 주문
+     * @param takerOrderId 새로 들어온 주문
+     * @param price        체결가 (maker 주문의 가격)
+     */
+    void onTrade(long makerOrderId, long takerOrderId, long price, long quantity);
+}
@@ -0,0 +1,414 @@
+package com.newy.playground.market.orderbook;
+
+/**
+ * 거래소 1개의 가격 우선/시간 우선 지정가 호가창과 매칭 엔진.
+ * <p>
+ * [구조]
+ * - 주문은 미리 할당한 Primitive 배열의 슬롯에 저장하고, 같은 가격의 주문끼리 슬롯 번호로 이중 연결 리스트(FIFO)를 만든다.
+ * - 가격 단계는 매수/매도 별로 정렬된 배열에 저장한다. 최우선 호가가 배열의 마지막에 있어서 O(1) 로 조회하고,
+ *   대부분의 추가/삭제가 최우선 호가 근처에서 일어나기 때문에 배열 이동 비용이 작다.
+ * - 주문 ID 는 {@link OrderIndex} 로 슬롯 번호를 찾는다.
+ * <p>
+ * 초기화 이후 추가/취소/정정/매칭에서 객체를 만들지 않는다. 가격과 수량은 호가 단위(tick)의 정수로 표현한다.
+ * 스레드 안전하지 않다. 거래소마다 1개의 스레드에서 사용한다.
+ */
+public final class OrderBook {
+    public static final long NO_PRICE = Long.MIN_VALUE;
+    private static final int NONE = -1;
+
+    private final long marketId;
+
+    private final long[] orderIds;
+    private final long[] orderPrices;
+    private final long[] orderQuantities;
+    private final boolean[] orderBuys;
+    private final int[] orderLevels;
+    private final int[] orderNexts;
+    private final int[] orderPrevs;
+    private int freeOrder;
+    private int orderCount;
+    private final OrderIndex index;
+
+    private final long[] levelPrices;
+    private final long[] levelQuantities;
+    private final int[] levelHeads;
+    private final int[] levelTails;
+    private final int[] levelOrderCounts;
+    private final int[] levelFreeNexts;
+    private int freeLevel;
+
+    private final LevelLadder bids;
+    private final LevelLadder asks;
+
+    public OrderBook(long marketId, int maxOrders, int maxLevels) {
+        this.marketId = marketId;
+
+        this.orderIds = new long[maxOrders];
+        this.orderPrices = new long[maxOrders];
+        this.orderQuantities = new long[maxOrders];
+        this.orderBuys = new boolean[maxOrders];
+        this.orderLevels = new int[maxOrders];
+        this.orderNexts = new int[maxOrders];
+        this.orderPrevs = new int[maxOrders];
+        for (int i = 0; i < maxOrders; i++) {
+            orderNexts[i] = i + 1 < maxOrders ? i + 1 : NONE;
+        }
+        this.freeOrder = 0;
+        this.index = new OrderIndex(maxOrders);
+
+        // 매수/매도 가격 단계를 합친 수 만큼 할당한다.
+        var levelCapacity = maxLevels * 2;
+        this.levelPrices = new long[levelCapacity];
+        this.levelQuantities = new long[levelCapacity];
+        this.levelHeads = new int[levelCapacity];
+        this.levelTails = new int[levelCapacity];
+        this.levelOrderCounts = new int[levelCapacity];
+        this.levelFreeNexts = new int[levelCapacity];
+        for (int i = 0; i < levelCapacity; i++) {
+            levelFreeNexts[i] = i + 1 < levelCapacity ? i + 1 : NONE;
+        }
+        this.freeLevel = 0;
+
+        this.bids = new LevelLadder(true, maxLevels);
+        this.asks = new LevelLadder(false, maxLevels);
+    }
+
+    public long marketId() {
+        return marketId;
+    }
+
+    /**
+     * 반대편 호가와 먼저 매칭하고, 남은 수량을 호가창에 등록한다.
+     *
+     * @return 호가창에 등록된 수량 (모두 체결되었다면 0)
+     */
+    public long add(long orderId, Side side, long price, long quantity, MatchListener listener) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("quantity 는 1 이상이어야 합니다. orderId=" + orderId);
+        }
+        checkPrice(orderId, price);
+        if (index.get(orderId) != OrderIndex.MISSING) {
+            throw new IllegalArgumentException("이미 등록된 주문입니다. orderId=" + orderId);
+        }
+
+        checkCapacity(orderId, side, price, quantity);
+
+        var remaining = match(orderId, side, price, quantity, listener);
+        if (remaining > 0) {
+            rest(orderId, side == Side.BUY, price, remaining);
+        }
+        return remaining;
+    }
+
+    /**
+     * @return 호가창에 없는 주문이라면 false
+     */
+    public boolean cancel(long orderId) {
+        var order = index.get(orderId);
+        if (order == OrderIndex.MISSING) {
+            return false;
+        }
+        levelQuantities[orderLevels[order]] -= orderQuantities[order];
+        removeOrder(order);
+        return true;
+    }
+
+    /**
+     * 같은 가격에서 수량만 줄이면 시간 우선 순위를 유지한다. 그 외에는 취소 후 새로 등록한다. (매칭될 수 있다)
+     * 슬롯이 부족해서 새로 등록하지 못하면, 원래 가격과 수량으로 되돌리고 예외를 던진다. (시간 우선 순위는 잃는다)
+     *
+     * @return 호가창에 없는 주문이라면 false
+     */
+    public boolean modify(long orderId, long newPrice, long newQuantity, MatchListener listener) {
+        var order = index.get(orderId);
+        if (order == OrderIndex.MISSING) {
+            return false;
+        }
+        if (newQuantity <= 0) {
+            return cancel(orderId);
+        }
+        // 취소한 뒤에 인자 검사로 실패하면 주문을 잃기 때문에, 취소하기 전에 검사한다.
+        checkPrice(orderId, newPrice);
+
+        if (newPrice == orderPrices[order] && newQuantity <= orderQuantities[order]) {
+            levelQuantities[orderLevels[order]] -= orderQuantities[order] - newQuantity;
+            orderQuantities[order] = newQuantity;
+            return true;
+        }
+
+        var buy = orderBuys[order];
+        var price = orderPrices[order];
+        var quantity = orderQuantities[order];
+        cancel(orderId);
+        try {
+            add(orderId, buy ? Side.BUY : Side.SELL, newPrice, newQuantity, listener);
+        } catch (IllegalStateException e) {
+            // 매칭 전에 실패했고, 취소로 원래 주문의 슬롯이 반환되었기 때문에 다시 등록할 수 있다.
+            rest(orderId, buy, price, quantity);
+            throw e;
+        }
+        return true;
+    }
+
+    public long bestBid() {
+        return bids.size == 0 ? NO_PRICE : levelPrices[bids.best()];
+    }
+
+    public long bestAsk() {
+        return asks.size == 0 ? NO_PRICE : levelPrices[asks.best()];
+    }
+
+    public long bestBidQuantity() {
+        return bids.size == 0 ? 0 : levelQuantities[bids.best()];
+    }
+
+    public long bestAskQuantity() {
+        return asks.size == 0 ? 0 : levelQuantities[asks.best()];
+    }
+
+    /**
+     * 최우선 호가부터 levels 개의 가격 단계를 호출자의 배열에 채운다.
+     *
+     * @return 채운 가격 단계 수
+     */
+    public int depth(Side side, int levels, long[] prices, long[] quantities) {
+        var ladder = side == Side.BUY ? bids : asks;
+        var count = Math.min(levels, ladder.size);
+        for (int i = 0; i < count; i++) {
+            var level = ladder.slots[ladder.size - 1 - i];
+            prices[i] = levelPrices[level];
+            quantities[i] = levelQuantities[level];
+        }
+        return count;
+    }
+
+    public int orderCount() {
+        return orderCount;
+    }
+
+    public int levelCount(Side side) {
+        return side == Side.BUY ? bids.size : asks.size;
+    }
+
+    private static void checkPrice(long orderId, long price) {
+        if (price == NO_PRICE) {
+            throw new IllegalArgumentException("사용할 수 없는 가격입니다. orderId=" + orderId);
+        }
+    }
+
+    /**
+     * 남은 수량을 등록할 슬롯이 없으면 매칭 전에 예외를 던진다. 체결을 통지한 뒤에 실패하면 호가창과 체결 내역이 어긋나기 때문이다.
+     * 슬롯이 남아 있는 일반적인 경우에는 반대편 호가를 미리 훑지 않는다.
+     */
+    private void checkCapacity(long orderId, Side side, long price, long quantity) {
+        var ladder = side == Side.BUY ? bids : asks;
+        var ladderFull = ladder.size == ladder.capacity() && ladder.search(price) < 0;
+        if (!ladderFull && freeOrder != NONE) {
+            return;
+        }
+
+        var matchable = matchableQuantity(side, price, quantity);
+        if (matchable >= quantity) {
+            return; // 모두 체결되어 등록하지 않는다.
+        }
+        if (ladderFull) {
+            throw new IllegalStateException("가격 단계 수가 최대치를 넘었습니다. marketId=" + marketId + ", orderId=" + orderId);
+        }
+        // 일부라도 체결되면 남은 수량이 있을 때 상대 주문은 모두 체결되어서 주문 슬롯이 반환된다.
+        if (matchable == 0) {
+            throw new IllegalStateException("주문 슬롯이 부족합니다. marketId=" + marketId + ", orderId=" + orderId);
+        }
+    }
+
+    /**
+     * @return limitPrice 까지 체결할 수 있는 반대편 수량 (quantity 에 도달하면 더 세지 않는다)
+     */
+    private long matchableQuantity(Side side, long limitPrice, long quantity) {
+        var opposite = side == Side.BUY ? asks : bids;
+        var matchable = 0L;
+        for (int i = opposite.size - 1; i >= 0 && matchable < quantity; i--) {
+            var level = opposite.slots[i];
+            var levelPrice = levelPrices[level];
+            if (side == Side.BUY ? levelPrice > limitPrice : levelPrice < limitPrice) {
+                break;
+            }
+            matchable += levelQuantities[level];
+        }
+        return matchable;
+    }
+
+    private long match(long takerOrderId, Side side, long limitPrice, long quantity, MatchListener listener) {
+        var opposite = side == Side.BUY ? asks : bids;
+        while (quantity > 0 && opposite.size > 0) {
+            var level = opposite.best();
+            var levelPrice = levelPrices[level];
+            if (side == Side.BUY ? levelPrice > limitPrice : levelPrice < limitPrice) {
+                break;
+            }
+
+            var order = levelHeads[level];
+            while (quantity > 0 && order != NONE) {
+                var fill = Math.min(quantity, orderQuantities[order]);
+                quantity -= fill;
+                orderQuantities[order] -= fill;
+                levelQuantities[level] -= fill;
+                listener.onTrade(orderIds[order], takerOrderId, levelPrice, fill);
+
+                var next = orderNexts[order];
+                if (orderQuantities[order] == 0) {
+                    removeOrder(order);
+                }
+                order = next;
+            }
+        }
+        return quantity;
+    }
+
+    private void rest(long orderId, boolean buy, long price, long quantity) {
+        var order = freeOrder;
+        if (order == NONE) {
+            throw new IllegalStateException("주문 슬롯이 부족합니다. marketId=" + marketId);
+        }
+
+        var ladder = buy ? bids : asks;
+        var position = ladder.search(price);
+        int level;
+        if (position >= 0) {
+            level = ladder.slots[position];
+        } else {
+            level = allocateLevel(price);
+            ladder.insert(-position - 1, level, price);
+        }
+
+        freeOrder = orderNexts[order];
+        orderIds[order] = orderId;
+        orderPrices[order] = price;
+        orderQuantities[order] = quantity;
+        orderBuys[order] = buy;
+        orderLevels[order] = level;
+        orderNexts[order] = NONE;
+        orderPrevs[order] = levelTails[level];
+        if (levelTails[level] == NONE) {
+            levelHeads[level] = order;
+        } else {
+            orderNexts[levelTails[level]] = order;
+        }
+        levelTails[level] = order;
+        levelQuantities[level] += quantity;
+        levelOrderCounts[level]++;
+
+        index.put(orderId, order);
+        orderCount++;
+    }
+
+    /**
+     * 가격 단계에서 주문을 빼고 슬롯을 반환한다. 수량 합계는 호출자가 먼저 차감한다.
+     */
+    private void removeOrder(int order) {
+        var level = orderLevels[order];
+        var prev = orderPrevs[order];
+        var next = orderNexts[order];
+        if (prev == NONE) {
+            levelHeads[level] = next;
+        } else {
+            orderNexts[prev] = next;
+        }
+        if (next == NONE) {
+            levelTails[level] = prev;
+        } else {
+            orderPrevs[next] = prev;
+        }
+
+        if (--levelOrderCounts[level] == 0) {
+            var ladder = orderBuys[order] ? bids : asks;
+            ladder.remove(ladder.search(levelPrices[level]));
+            levelFreeNexts[level] = freeLevel;
+            freeLevel = level;
+        }
+
+        index.remove(orderIds[order]);
+        orderNexts[order] = freeOrder;
+        freeOrder = order;
+        orderCount--;
+    }
+
+    private int allocateLevel(long price) {
+        var level = freeLevel;
+        if (level == NONE) {
+            throw new IllegalStateException("가격 단계 슬롯이 부족합니다. marketId=" + marketId);
+        }
+        freeLevel = levelFreeNexts[level];
+        levelPrices[level] = price;
+        levelQuantities[level] = 0;
+        levelHeads[level] = NONE;
+        levelTails[level] = NONE;
+        levelOrderCounts[level] = 0;
+        return level;
+    }
+
+    /**
+     * 한쪽(매수 또는 매도)의 가격 단계를 '덜 좋은 가격 -> 최우선 가격' 순서로 정렬한 배열.
+     * 매수는 가격 오름차순, 매도는 가격 내림차순이 되도록 정렬 키를 (매도는 부호를 바꿔서) 저장한다.
+     */
+    private static final class LevelLadder {
+        private final boolean buy;
+        private final long[] keys;
+        private final int[] slots;
+        private int size;
+
+        LevelLadder(boolean buy, int capacity) {
+            this.buy = buy;
+            this.keys = new long[capacity];
+            this.slots = new int[capacity];
+        }
+
+        int best() {
+            return slots[size - 1];
+        }
+
+        int capacity() {
+            return keys.length;
+        }
+
+        /**
+         * @return 가격이 있으면 위치, 없으면 -(삽입 위치) - 1
+         */
+        int search(long price) {
+            var key = buy ? price : -price;
+            // 최우선 호가 근처를 먼저 확인한다.
+            if (size > 0 && keys[size - 1] == key) {
+                return size - 1;
+            }
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                var mid = (low + high) >>> 1;
+                if (keys[mid] < key) {
+                    low = mid + 1;
+                } else if (keys[mid] > key) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        void insert(int position, int slot, long price) {
+            if (size == keys.length) {
+                throw new IllegalStateException("가격 단계 수가 최대치를 넘었습니다. capacity=" + keys.length);
+            }
+            System.arraycopy(keys, position, keys, position + 1, size - position);
+            System.arraycopy(slots, position, slots, position + 1, size - position);
+            keys[position] = buy ? price : -price;
+            slots[position] = slot;
+            size++;
+        }
+
+        void remove(int position) {
+            System.arraycopy(keys, position + 1, keys, position, size - position - 1);
+            System.arraycopy(slots, position + 1, slots, position, size - position - 1);
+            size--;
+        }
+    }
+}
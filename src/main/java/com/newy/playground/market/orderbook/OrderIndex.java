@@ -0,0 +1,74 @@
+package com.newy.playground.market.orderbook;
+
+import java.util.Arrays;
+
+/**
+ * 주문 ID 로 주문 슬롯을 찾는 open addressing 해시 테이블.
+ * 선형 탐사를 사용하고, 삭제 시 뒤쪽 항목을 당겨와서(backward shift) tombstone 을 남기지 않는다.
+ */
+final class OrderIndex {
+    static final int MISSING = -1;
+
+    private final long[] keys;
+    private final int[] values;
+    private final int mask;
+
+    OrderIndex(int expectedSize) {
+        var capacity = Integer.highestOneBit(Math.max(2, expectedSize * 2 - 1)) << 1;
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+        Arrays.fill(values, MISSING);
+    }
+
+    int get(long key) {
+        for (int i = hash(key); ; i = (i + 1) & mask) {
+            if (values[i] == MISSING) {
+                return MISSING;
+            }
+            if (keys[i] == key) {
+                return values[i];
+            }
+        }
+    }
+
+    void put(long key, int value) {
+        for (int i = hash(key); ; i = (i + 1) & mask) {
+            if (values[i] == MISSING || keys[i] == key) {
+                keys[i] = key;
+                values[i] = value;
+                return;
+            }
+        }
+    }
+
+    void remove(long key) {
+        var i = hash(key);
+        while (true) {
+            if (values[i] == MISSING) {
+                return;
+            }
+            if (keys[i] == key) {
+                break;
+            }
+            i = (i + 1) & mask;
+        }
+
+        // 삭제한 자리 뒤의 항목 중, 원래 위치에서 삭제한 자리를 지나쳐 온 항목을 당겨온다.
+        var hole = i;
+        for (int j = (hole + 1) & mask; values[j] != MISSING; j = (j + 1) & mask) {
+            var home = hash(keys[j]);
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                keys[hole] = keys[j];
+                values[hole] = values[j];
+                hole = j;
+            }
+        }
+        values[hole] = MISSING;
+    }
+
+    private int hash(long key) {
+        var h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,10 @@
+package com.newy.playground.market.orderbook;
+
+public enum Side {
+    BUY,
+    SELL;
+
+    public Side opposite() {
+        return this == BUY ? SELL : BUY;
+    }
+}
@@ -0,0 +1,24 @@
+package com.newy.playground.market.outbox;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 외부 시스템 대신 메모리에 이벤트를 쌓는 {@link MarketEventSink}. 테스트와 로컬 실행용이다.
+ */
+public class InMemoryMarketEventSink implements MarketEventSink {
+    private final List<MarketChangeMessage> delivered = new ArrayList<>();
+
+    @Override
+    public synchronized void deliver(List<MarketChangeMessage> messages) {
+        delivered.addAll(messages);
+    }
+
+    public synchronized List<MarketChangeMessage> delivered() {
+        return List.copyOf(delivered);
+    }
+
+    public synchronized void clear() {
+        delivered.clear();
+    }
+}
@@ -0,0 +1,17 @@
+package com.newy.playground.market.outbox;
+
+import java.time.LocalDateTime;
+
+/**
+ * {@link MarketEventSink} 로 전달하는 거래소 변경 이벤트.
+ *
+ * @param id 아웃박스 ID. 같은 거래소의 이벤트는 id 순서로 전달한다. (at-least-once 이므로 소비자는 id 로 중복을 제거한다)
+ */
+public record MarketChangeMessage(
+        long id,
+        long marketId,
+        MarketChangeType eventType,
+        String payload,
+        LocalDateTime createdAt
+) {
+}
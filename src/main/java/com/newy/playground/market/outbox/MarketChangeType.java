@@ -0,0 +1,6 @@
+package com.newy.playground.market.outbox;
+
+public enum MarketChangeType {
+    CREATED,
+    CODE_CHANGED
+}
@@ -0,0 +1,12 @@
+package com.newy.playground.market.outbox;
+
+import java.util.List;
+
+/**
+ * 거래소 변경 이벤트를 외부 시스템(메시지 브로커 등)에 전달한다.
+ * 예외를 던지면 Relay 트랜잭션이 롤백되고, 다음 주기에 같은 이벤트를 다시 전달한다.
+ */
+@FunctionalInterface
+public interface MarketEventSink {
+    void deliver(List<MarketChangeMessage> messages);
+}
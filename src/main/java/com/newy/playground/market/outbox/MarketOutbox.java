@@ -0,0 +1,53 @@
+package com.newy.playground.market.outbox;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 거래소 변경과 같은 트랜잭션에서 저장하는 변경 이벤트. {@link MarketOutboxRelay} 가 전달 후 삭제한다.
+ */
+@Entity
+@Table(name = "market_outbox")
+public class MarketOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "market_id")
+    private Long marketId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type")
+    private MarketChangeType eventType;
+
+    private String payload;
+
+    @Column(name = "created_at", insertable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    protected MarketOutbox() {
+    }
+
+    public MarketOutbox(Long marketId, MarketChangeType eventType, String payload) {
+        this.marketId = marketId;
+        this.eventType = eventType;
+        this.payload = payload;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getMarketId() {
+        return marketId;
+    }
+
+    public MarketChangeType getEventType() {
+        return eventType;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+}
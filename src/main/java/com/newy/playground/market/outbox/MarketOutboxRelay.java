@@ -0,0 +1,151 @@
+package com.newy.playground.market.outbox;
+
+import com.newy.playground.common.collection.LongHashSet;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 아웃박스에 쌓인 거래소 변경 이벤트를 배치로 잠그고, {@link MarketEventSink} 로 전달한 뒤 한 번에 삭제한다.
+ * <p>
+ * [특징]
+ * - FOR UPDATE SKIP LOCKED 로 잠그기 때문에(PostgreSQL, MySQL 8+), 여러 인스턴스의 Relay 가 서로 기다리지 않고 다른 이벤트를 처리한다.
+ * - 다른 Relay 가 잠근 이전 이벤트가 있는 거래소는 이번 배치에서 제외해서, 거래소별 전달 순서를 보장한다.
+ * - 전달과 삭제가 같은 트랜잭션이므로, 전달 실패 시 롤백되고 다시 전달한다. (at-least-once)
+ * - 실행 주기는 {@link OutboxProperties#relayDelayMs()} 로 등록한다.
+ */
+@Component
+public class MarketOutboxRelay implements SchedulingConfigurer {
+    private static final String LOCK_BATCH_SQL = """
+            SELECT id, market_id, event_type, payload, created_at
+            FROM market_outbox
+            ORDER BY id
+            LIMIT :batchSize
+            FOR UPDATE SKIP LOCKED
+            """;
+    private static final String PENDING_IDS_SQL = """
+            SELECT market_id, id
+            FROM market_outbox
+            WHERE market_id IN (:marketIds) AND id <= :maxId
+            ORDER BY market_id, id
+            """;
+    private static final String DELETE_SQL = "DELETE FROM market_outbox WHERE id IN (:ids)";
+
+    private static final RowMapper<MarketChangeMessage> MESSAGE_MAPPER = (rs, rowNum) -> new MarketChangeMessage(
+            rs.getLong("id"),
+            rs.getLong("market_id"),
+            MarketChangeType.valueOf(rs.getString("event_type")),
+            rs.getString("payload"),
+            rs.getObject("created_at", LocalDateTime.class)
+    );
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MarketEventSink sink;
+    private final OutboxProperties properties;
+
+    public MarketOutboxRelay(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            MarketEventSink sink,
+            OutboxProperties properties
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.sink = sink;
+        this.properties = properties;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(this::relay, Duration.ofMillis(properties.relayDelayMs()));
+    }
+
+    /**
+     * 배치가 가득 차 있는 동안 반복해서 아웃박스를 비운다.
+     */
+    public void relay() {
+        RelayResult result;
+        do {
+            result = relayBatch();
+        } while (result.delivered() > 0 && result.locked() == properties.batchSize());
+    }
+
+    public RelayResult relayBatch() {
+        return transactionTemplate.execute(status -> {
+            var locked = jdbcTemplate.query(LOCK_BATCH_SQL, Map.of("batchSize", properties.batchSize()), MESSAGE_MAPPER);
+            if (locked.isEmpty()) {
+                return RelayResult.EMPTY;
+            }
+
+            var deliverable = keepMarketOrder(locked);
+            if (!deliverable.isEmpty()) {
+                sink.deliver(deliverable);
+                var ids = deliverable.stream().map(MarketChangeMessage::id).toList();
+                jdbcTemplate.update(DELETE_SQL, Map.of("ids", ids));
+            }
+            return new RelayResult(locked.size(), deliverable.size());
+        });
+    }
+
+    /**
+     * 거래소별로, 잠그지 못한(다른 Relay 가 처리 중인) 이벤트 이전까지만 전달 대상으로 남긴다.
+     */
+    private List<MarketChangeMessage> keepMarketOrder(List<MarketChangeMessage> locked) {
+        var lockedIds = new LongHashSet(locked.size());
+        var marketIds = new HashSet<Long>();
+        for (var message : locked) {
+            lockedIds.add(message.id());
+            marketIds.add(message.marketId());
+        }
+
+        var params = new MapSqlParameterSource()
+                .addValue("marketIds", marketIds)
+                .addValue("maxId", locked.getLast().id());
+        var blockedMarkets = new LongHashSet();
+        var deliverableIds = new LongHashSet(locked.size());
+        jdbcTemplate.query(PENDING_IDS_SQL, params, rs -> {
+            var marketId = rs.getLong("market_id");
+            var id = rs.getLong("id");
+            if (blockedMarkets.contains(marketId)) {
+                return;
+            }
+            if (lockedIds.contains(id)) {
+                deliverableIds.add(id);
+            } else {
+                blockedMarkets.add(marketId);
+            }
+        });
+
+        return filter(locked, deliverableIds);
+    }
+
+    private static List<MarketChangeMessage> filter(List<MarketChangeMessage> messages, LongHashSet ids) {
+        var result = new ArrayList<MarketChangeMessage>(ids.size());
+        for (var message : messages) {
+            if (ids.contains(message.id())) {
+                result.add(message);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param locked    잠근 이벤트 수
+     * @param delivered 전달하고 삭제한 이벤트 수
+     */
+    public record RelayResult(int locked, int delivered) {
+        static final RelayResult EMPTY = new RelayResult(0, 0);
+    }
+}
@@ -0,0 +1,8 @@
+package com.newy.playground.market.outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MarketOutboxRepository extends JpaRepository<MarketOutbox, Long> {
+}
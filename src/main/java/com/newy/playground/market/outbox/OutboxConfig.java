@@ -0,0 +1,16 @@
+package com.newy.playground.market.outbox;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+    @Bean
+    @ConditionalOnMissingBean
+    public MarketEventSink marketEventSink() {
+        return new InMemoryMarketEventSink();
+    }
+}
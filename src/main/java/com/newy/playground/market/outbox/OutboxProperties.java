@@ -0,0 +1,15 @@
+package com.newy.playground.market.outbox;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param batchSize    Relay 가 한 번에 잠그고 전달할 최대 이벤트 수
+ * @param relayDelayMs 전달할 이벤트가 없을 때, 다음 Relay 실행까지 대기 시간
+ */
+@ConfigurationProperties("playground.outbox")
+public record OutboxProperties(
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("1000") long relayDelayMs
+) {
+}
@@ -0,0 +1,134 @@
+package com.newy.playground.market.position;
+
+import com.newy.playground.common.snapshot.CowLongArray;
+import com.newy.playground.common.snapshot.SnapshotComponent;
+import com.newy.playground.common.snapshot.SnapshotImage;
+import com.newy.playground.common.snapshot.SnapshotStore;
+import com.newy.playground.market.journal.JournalConfig;
+import com.newy.playground.market.journal.TickJournal;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * 거래소별 보유 수량과 매입 금액. market.id 를 배열 인덱스로 사용한다.
+ * <p>
+ * 변경은 전용 {@link TickJournal} 에 먼저 기록하고 메모리에 반영한다.
+ * 재시작할 때는 {@link #recover(SnapshotStore)} 로 마지막 스냅샷을 읽고, 스냅샷 이후에 기록한 변경만 재생한다.
+ * <p>
+ * [스레드]
+ * - 저널은 쓰기 스레드가 1개여야 하기 때문에, 틱 저널과 공유하지 않고 {@link #open} 으로 직접 연다.
+ * - {@link #apply}, {@link #recover}, {@link SnapshotStore#save} (캡처) 는 1개의 스레드에서 호출한다.
+ * - {@link #quantity}, {@link #cost} 도 같은 스레드에서 호출한다. 다른 스레드에서는 저장한 스냅샷으로 조회한다.
+ */
+public final class PositionBook implements SnapshotComponent, AutoCloseable {
+    private final TickJournal journal;
+    private final CowLongArray quantities;
+    // double 값을 raw bits 로 저장한다.
+    private final CowLongArray costs;
+
+    private PositionBook(int capacity, TickJournal journal) {
+        this.journal = journal;
+        this.quantities = new CowLongArray(capacity);
+        this.costs = new CowLongArray(capacity);
+    }
+
+    /**
+     * @param journalDirectory 포지션 변경만 기록하는 전용 저널 디렉토리
+     */
+    public static PositionBook open(int capacity, Path journalDirectory, JournalConfig config) throws IOException {
+        return new PositionBook(capacity, TickJournal.open(journalDirectory, config));
+    }
+
+    /**
+     * @param quantityDelta 매수는 양수, 매도는 음수
+     */
+    public void apply(long marketId, long timestamp, long quantityDelta, double price) {
+        var index = index(marketId);
+        journal.append(TickJournal.POSITION, marketId, timestamp, quantityDelta, price);
+        applyChange(index, quantityDelta, price);
+    }
+
+    public long quantity(long marketId) {
+        return quantities.get(index(marketId));
+    }
+
+    /**
+     * @return 매수 금액 - 매도 금액
+     */
+    public double cost(long marketId) {
+        return Double.longBitsToDouble(costs.get(index(marketId)));
+    }
+
+    /**
+     * 스냅샷을 읽고, 스냅샷 이후에 기록한 변경을 재생한다.
+     *
+     * @return 재생한 변경 수
+     */
+    public long recover(SnapshotStore store) throws IOException {
+        var sequence = store.restore(this);
+        var replayed = new long[1];
+        journal.replayFrom(sequence, (type, marketId, timestamp, quantityDelta, price) -> {
+            if (type == TickJournal.POSITION) {
+                applyChange(index(marketId), (long) quantityDelta, price);
+                replayed[0]++;
+            }
+        });
+        return replayed[0];
+    }
+
+    @Override
+    public String name() {
+        return "positions";
+    }
+
+    /**
+     * 스냅샷의 sequence 는 디스크에 반영된 저널 레코드만 가리켜야 한다.
+     * 그렇지 않으면 OS 가 죽은 뒤 같은 sequence 에 새 레코드가 기록되고, 복구할 때 그 레코드를 건너뛰거나 두 번 적용한다.
+     */
+    @Override
+    public SnapshotImage capture() {
+        journal.flush();
+        var frozenQuantities = quantities.freeze();
+        var frozenCosts = costs.freeze();
+        return new SnapshotImage(journal.size(), out -> {
+            frozenQuantities.writeTo(out);
+            frozenCosts.writeTo(out);
+        });
+    }
+
+    @Override
+    public void restore(DataInput in) throws IOException {
+        quantities.readFrom(in);
+        costs.readFrom(in);
+    }
+
+    /**
+     * 저널을 디스크에 반영하고 닫는다.
+     */
+    @Override
+    public void close() {
+        journal.close();
+    }
+
+    /**
+     * @return 디스크 반영이 보장된 저널 레코드 수
+     */
+    long durableSequence() {
+        return journal.durableSize();
+    }
+
+    private void applyChange(int index, long quantityDelta, double price) {
+        quantities.add(index, quantityDelta);
+        var cost = Double.longBitsToDouble(costs.get(index)) + quantityDelta * price;
+        costs.set(index, Double.doubleToRawLongBits(cost));
+    }
+
+    private int index(long marketId) {
+        if (marketId < 0 || marketId >= quantities.length()) {
+            throw new IndexOutOfBoundsException("marketId 범위를 벗어났습니다. marketId=" + marketId + ", capacity=" + quantities.length());
+        }
+        return (int) marketId;
+    }
+}
@@ -0,0 +1,121 @@
+package com.newy.playground.market.quote;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * 거래소별 최신 호가(매수/매도/체결가)를 메모리에 보관하는 게시판. market.id 를 배열 인덱스로 사용한다.
+ * <p>
+ * [특징]
+ * - 모든 값을 1개의 long[] 에 저장해서, 갱신할 때 객체를 만들지 않는다.
+ * - 거래소 1개의 값(40 byte) 앞뒤에 캐시 라인(64 byte) 이상의 간격을 둬서, 다른 거래소 갱신과 false sharing 이 생기지 않는다.
+ *   (long[] 은 8 byte 단위로만 정렬되기 때문에, 값이 캐시 라인 1개에 들어가도록 맞출 수 없다)
+ * - seqlock 으로 일관성을 보장한다. 쓰기 스레드는 기다리지 않는다.
+ * - 읽기는 lock-free 이고 wait-free 는 아니다. 쓰기와 겹치면 쓰기가 끝날 때까지 돌면서 기다리고 다시 읽는다.
+ * - 거래소별 쓰기 스레드는 1개여야 한다. 동시에 쓰면 {@link IllegalStateException} 이 발생한다.
+ */
+public final class QuoteBoard {
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    // 거래소마다 128 byte 를 사용한다. 값은 5칸이기 때문에 다음 거래소의 값과 11칸(88 byte) 떨어진다.
+    private static final int STRIDE = 16;
+    // 배열 앞쪽의 객체 헤더와 캐시 라인을 나누지 않도록, 첫 번째 거래소의 값을 8칸 뒤부터 둔다.
+    private static final int PADDING = 8;
+    private static final int SEQUENCE = 0;
+    private static final int BID = 1;
+    private static final int ASK = 2;
+    private static final int LAST = 3;
+    private static final int TIMESTAMP = 4;
+
+    private final long[] slots;
+    private final int capacity;
+
+    /**
+     * @param capacity 저장할 수 있는 최대 market.id + 1
+     */
+    public QuoteBoard(int capacity) {
+        if (capacity <= 0 || capacity > Integer.MAX_VALUE / STRIDE - 1) {
+            throw new IllegalArgumentException("capacity 범위를 벗어났습니다. capacity=" + capacity);
+        }
+        this.capacity = capacity;
+        // 마지막 거래소 뒤에도 패딩이 남도록 1칸(STRIDE) 더 만든다.
+        this.slots = new long[(capacity + 1) * STRIDE];
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public void update(long marketId, double bid, double ask, double last, long timestamp) {
+        var base = base(marketId);
+        var sequence = (long) SLOTS.getOpaque(slots, base + SEQUENCE);
+        if ((sequence & 1) != 0 || !SLOTS.compareAndSet(slots, base + SEQUENCE, sequence, sequence + 1)) {
+            throw new IllegalStateException("같은 거래소를 여러 스레드에서 동시에 갱신할 수 없습니다. marketId=" + marketId);
+        }
+        // 홀수 sequence 보다 값이 먼저 보이면, 읽기 스레드가 짝수 sequence 사이에서 깨진 값을 읽을 수 있다.
+        VarHandle.storeStoreFence();
+
+        SLOTS.setOpaque(slots, base + BID, Double.doubleToRawLongBits(bid));
+        SLOTS.setOpaque(slots, base + ASK, Double.doubleToRawLongBits(ask));
+        SLOTS.setOpaque(slots, base + LAST, Double.doubleToRawLongBits(last));
+        SLOTS.setOpaque(slots, base + TIMESTAMP, timestamp);
+        SLOTS.setRelease(slots, base + SEQUENCE, sequence + 2);
+    }
+
+    /**
+     * 거래소의 최신 호가를 view 에 채운다.
+     *
+     * @return 한 번도 갱신하지 않은 거래소라면 false
+     */
+    public boolean read(long marketId, QuoteView view) {
+        var base = base(marketId);
+        while (true) {
+            var before = (long) SLOTS.getAcquire(slots, base + SEQUENCE);
+            if (before == 0) {
+                return false;
+            }
+            if ((before & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+
+            var bid = (long) SLOTS.getOpaque(slots, base + BID);
+            var ask = (long) SLOTS.getOpaque(slots, base + ASK);
+            var last = (long) SLOTS.getOpaque(slots, base + LAST);
+            var timestamp = (long) SLOTS.getOpaque(slots, base + TIMESTAMP);
+            VarHandle.loadLoadFence();
+            var after = (long) SLOTS.getOpaque(slots, base + SEQUENCE);
+
+            if (before == after) {
+                view.marketId = marketId;
+                view.bid = Double.longBitsToDouble(bid);
+                view.ask = Double.longBitsToDouble(ask);
+                view.last = Double.longBitsToDouble(last);
+                view.timestamp = timestamp;
+                view.version = before >>> 1;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 체결가만 필요한 경우, seqlock 없이 1번의 읽기로 조회한다. 한 번도 갱신하지 않았다면 0 이다.
+     */
+    public double last(long marketId) {
+        return Double.longBitsToDouble((long) SLOTS.getAcquire(slots, base(marketId) + LAST));
+    }
+
+    /**
+     * @return 거래소별 갱신 횟수. 값이 바뀌었는지 확인하는 용도로 사용한다.
+     */
+    public long version(long marketId) {
+        return ((long) SLOTS.getAcquire(slots, base(marketId) + SEQUENCE)) >>> 1;
+    }
+
+    private int base(long marketId) {
+        if (marketId < 0 || marketId >= capacity) {
+            throw new IndexOutOfBoundsException("marketId 범위를 벗어났습니다. marketId=" + marketId + ", capacity=" + capacity);
+        }
+        return (int) marketId * STRIDE + PADDING;
+    }
+}
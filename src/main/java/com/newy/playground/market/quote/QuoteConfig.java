@@ -0,0 +1,13 @@
+package com.newy.playground.market.quote;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+public class QuoteConfig {
+    @Bean
+    public QuoteBoard quoteBoard(@Value("${playground.quote.capacity:65536}") int capacity) {
+        return new QuoteBoard(capacity);
+    }
+}
@@ -0,0 +1,49 @@
+package com.newy.playground.market.quote;
+
+/**
+ * {@link QuoteBoard} 에서 읽은 호가. 읽기마다 객체를 만들지 않도록, 읽는 스레드가 재사용한다.
+ */
+public final class QuoteView {
+    long marketId;
+    double bid;
+    double ask;
+    double last;
+    long timestamp;
+    long version;
+
+    public long marketId() {
+        return marketId;
+    }
+
+    public double bid() {
+        return bid;
+    }
+
+    public double ask() {
+        return ask;
+    }
+
+    public double last() {
+        return last;
+    }
+
+    /**
+     * @return 호가 일시 (epoch millis)
+     */
+    public long timestamp() {
+        return timestamp;
+    }
+
+    /**
+     * @return 거래소별로 갱신할 때마다 증가하는 값. 같은 값이면 읽은 사이에 갱신이 없었다.
+     */
+    public long version() {
+        return version;
+    }
+
+    @Override
+    public String toString() {
+        return "QuoteView[marketId=" + marketId + ", bid=" + bid + ", ask=" + ask + ", last=" + last
+                + ", timestamp=" + timestamp + ", version=" + version + "]";
+    }
+}
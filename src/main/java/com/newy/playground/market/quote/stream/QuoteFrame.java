@@ -0,0 +1,28 @@
+package com.newy.playground.market.quote.stream;
+
+import com.newy.playground.market.quote.QuoteView;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 전송할 수 있게 인코딩한 SSE 이벤트 1건. 같은 거래소를 구독한 모든 구독자가 같은 bytes 를 공유한다.
+ * NaN, Infinity 는 JSON 으로 표현할 수 없기 때문에 null 로 쓴다.
+ *
+ * @param encodedAtNanos 구독자 지연 시간 계산에 사용하는 인코딩 시각 ({@link System#nanoTime()})
+ */
+public record QuoteFrame(long marketId, long version, long encodedAtNanos, byte[] bytes) {
+    static QuoteFrame encode(QuoteView view, long encodedAtNanos) {
+        var text = "id:" + view.marketId() + "-" + view.version() + "\n"
+                + "event:quote\n"
+                + "data:{\"marketId\":" + view.marketId()
+                + ",\"bid\":" + number(view.bid())
+                + ",\"ask\":" + number(view.ask())
+                + ",\"last\":" + number(view.last())
+                + ",\"timestamp\":" + view.timestamp() + "}\n\n";
+        return new QuoteFrame(view.marketId(), view.version(), encodedAtNanos, text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String number(double value) {
+        return Double.isFinite(value) ? Double.toString(value) : "null";
+    }
+}
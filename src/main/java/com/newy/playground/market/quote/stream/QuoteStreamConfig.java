@@ -0,0 +1,15 @@
+package com.newy.playground.market.quote.stream;
+
+import com.newy.playground.market.quote.QuoteBoard;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(QuoteStreamProperties.class)
+public class QuoteStreamConfig {
+    @Bean
+    public QuoteStreamHub quoteStreamHub(QuoteBoard quoteBoard, QuoteStreamProperties properties) {
+        return new QuoteStreamHub(quoteBoard, properties);
+    }
+}
@@ -0,0 +1,46 @@
+package com.newy.playground.market.quote.stream;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/quotes")
+public class QuoteStreamController {
+    private final QuoteStreamHub hub;
+    private final QuoteStreamProperties properties;
+
+    public QuoteStreamController(QuoteStreamHub hub, QuoteStreamProperties properties) {
+        this.hub = hub;
+        this.properties = properties;
+    }
+
+    /**
+     * 예: GET /quotes/stream?marketIds=1,2,3
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam long[] marketIds) {
+        var emitter = new SseEmitter(properties.emitterTimeout().toMillis());
+        var subscription = hub.subscribe(marketIds, new SseQuoteStreamSink(emitter));
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(e -> subscription.close());
+        return emitter;
+    }
+
+    @GetMapping("/stream/metrics")
+    public QuoteStreamMetrics metrics() {
+        return hub.metrics();
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgument(IllegalArgumentException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    }
+}
@@ -0,0 +1,243 @@
+package com.newy.playground.market.quote.stream;
+
+import com.newy.playground.market.quote.QuoteBoard;
+import com.newy.playground.market.quote.QuoteView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link QuoteBoard} 의 호가 변경을 구독자에게 전달하는 fan-out 허브.
+ * <p>
+ * [특징]
+ * - flushInterval 마다 구독 중인 거래소의 version 만 비교해서, 바뀐 거래소의 호가를 1번만 인코딩하고 모든 구독자가 공유한다.
+ * - 구독자마다 거래소별 1칸짜리 버퍼에 넣고, 가상 스레드 1개가 버퍼에 쌓인 이벤트를 한 번에 전송한다.
+ * - 느린 구독자의 버퍼는 거래소별 최신 값으로 합쳐지기 때문에, 메모리가 늘지 않고 다른 구독자의 전송을 막지 않는다.
+ * - 전송 1건이 maxLag 보다 오래 걸리는 구독자는 연결을 끊는다.
+ */
+public final class QuoteStreamHub implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(QuoteStreamHub.class);
+
+    private final QuoteBoard board;
+    private final QuoteStreamProperties properties;
+    private final ConcurrentHashMap<Long, Set<QuoteSubscription>> subscriptionsByMarket = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, QuoteFrame> latestFrames = new ConcurrentHashMap<>();
+    private final Set<QuoteSubscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService ticker;
+    private final QuoteView view = new QuoteView(); // tick() 에서만 사용한다.
+
+    private final LongAdder framesEncoded = new LongAdder();
+    private final LongAdder framesOffered = new LongAdder();
+    private final LongAdder framesSent = new LongAdder();
+    private final LongAdder framesConflated = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder slowDisconnects = new LongAdder();
+    private final LongAdder sendFailures = new LongAdder();
+    private final LongAccumulator maxLagNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * flushInterval 이 0 이면 주기 실행을 하지 않는다. (테스트에서 {@link #tick()} 을 직접 호출한다)
+     */
+    public QuoteStreamHub(QuoteBoard board, QuoteStreamProperties properties) {
+        this.board = board;
+        this.properties = properties;
+
+        var interval = properties.flushInterval().toNanos();
+        if (interval > 0) {
+            this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                var thread = new Thread(runnable, "quote-stream-ticker");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.ticker.scheduleWithFixedDelay(this::tickSafely, interval, interval, TimeUnit.NANOSECONDS);
+        } else {
+            this.ticker = null;
+        }
+    }
+
+    public QuoteSubscription subscribe(long[] marketIds, QuoteStreamSink sink) {
+        var markets = Arrays.stream(marketIds).distinct().sorted().toArray();
+        if (markets.length == 0 || markets.length > properties.maxMarketsPerSubscriber()) {
+            throw new IllegalArgumentException("구독할 거래소 수는 1 ~ " + properties.maxMarketsPerSubscriber() + " 개여야 합니다. count=" + markets.length);
+        }
+        if (markets[0] < 0 || markets[markets.length - 1] >= board.capacity()) {
+            throw new IllegalArgumentException("marketId 범위를 벗어났습니다. capacity=" + board.capacity());
+        }
+
+        var subscription = new QuoteSubscription(this, markets, sink);
+        subscriptions.add(subscription);
+        for (var marketId : markets) {
+            subscriptionsByMarket.compute(marketId, (key, set) -> {
+                var result = set == null ? ConcurrentHashMap.<QuoteSubscription>newKeySet() : set;
+                result.add(subscription);
+                return result;
+            });
+            // 새 구독자는 다음 변경을 기다리지 않고, 마지막으로 인코딩한 호가부터 받는다.
+            var latest = latestFrames.get(marketId);
+            if (latest != null) {
+                offer(subscription, latest);
+            }
+        }
+        return subscription;
+    }
+
+    public QuoteStreamMetrics metrics() {
+        return new QuoteStreamMetrics(
+                subscriptions.size(),
+                framesEncoded.sum(),
+                framesOffered.sum(),
+                framesSent.sum(),
+                framesConflated.sum(),
+                batches.sum(),
+                slowDisconnects.sum(),
+                sendFailures.sum(),
+                Duration.ofNanos(maxLagNanos.get())
+        );
+    }
+
+    @Override
+    public void close() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+        for (var subscription : subscriptions) {
+            disconnect(subscription);
+        }
+        // 느린 구독자의 전송이 끝나기를 기다리지 않는다.
+        writers.shutdown();
+    }
+
+    void tick() {
+        var now = System.nanoTime();
+        for (var entry : subscriptionsByMarket.entrySet()) {
+            var marketId = (long) entry.getKey();
+            var latest = latestFrames.get(marketId);
+            var version = board.version(marketId);
+            if (version == 0 || (latest != null && latest.version() == version) || !board.read(marketId, view)) {
+                continue;
+            }
+
+            var frame = QuoteFrame.encode(view, now);
+            latestFrames.put(marketId, frame);
+            framesEncoded.increment();
+            for (var subscription : entry.getValue()) {
+                offer(subscription, frame);
+            }
+        }
+
+        var maxLag = properties.maxLag().toNanos();
+        for (var subscription : subscriptions) {
+            var startedAt = subscription.sendStartedNanos;
+            if (startedAt != QuoteSubscription.IDLE && now - startedAt > maxLag) {
+                slowDisconnects.increment();
+                log.info("전송이 느린 구독자의 연결을 끊습니다. marketIds={}", Arrays.toString(subscription.marketIds));
+                disconnect(subscription);
+            }
+        }
+    }
+
+    void disconnect(QuoteSubscription subscription) {
+        if (!subscription.closed.compareAndSet(false, true)) {
+            return;
+        }
+
+        subscriptions.remove(subscription);
+        for (var marketId : subscription.marketIds) {
+            subscriptionsByMarket.compute(marketId, (key, set) -> {
+                if (set == null) {
+                    return null;
+                }
+                set.remove(subscription);
+                if (set.isEmpty()) {
+                    latestFrames.remove(marketId);
+                    return null;
+                }
+                return set;
+            });
+        }
+        // 전송 중인 연결은 close 가 전송이 끝날 때까지 기다릴 수 있어서, 호출한 스레드를 막지 않도록 가상 스레드에서 닫는다.
+        runOnWriter(() -> {
+            try {
+                subscription.sink.close();
+            } catch (RuntimeException e) {
+                log.debug("구독자 연결을 닫는 중에 오류가 발생했습니다.", e);
+            }
+        });
+    }
+
+    private void offer(QuoteSubscription subscription, QuoteFrame frame) {
+        framesOffered.increment();
+        if (subscription.offer(frame)) {
+            framesConflated.increment();
+        }
+        if (subscription.writing.compareAndSet(false, true)) {
+            runOnWriter(() -> drain(subscription));
+        }
+    }
+
+    private void drain(QuoteSubscription subscription) {
+        var batch = new ArrayList<QuoteFrame>();
+        while (!subscription.closed.get()) {
+            subscription.drainTo(batch);
+            if (batch.isEmpty()) {
+                subscription.writing.set(false);
+                // writing 을 내린 직후에 들어온 이벤트는 offer 한 스레드가 전송을 시작하지 못했을 수 있다.
+                if (subscription.hasPending() && subscription.writing.compareAndSet(false, true)) {
+                    continue;
+                }
+                return;
+            }
+
+            var oldest = Long.MAX_VALUE;
+            for (var frame : batch) {
+                oldest = Math.min(oldest, frame.encodedAtNanos());
+            }
+
+            subscription.sendStartedNanos = System.nanoTime();
+            try {
+                subscription.sink.send(batch);
+            } catch (Exception e) {
+                sendFailures.increment();
+                log.debug("구독자에게 전송하지 못해서 연결을 끊습니다.", e);
+                disconnect(subscription);
+                return;
+            } finally {
+                subscription.sendStartedNanos = QuoteSubscription.IDLE;
+            }
+
+            framesSent.add(batch.size());
+            batches.increment();
+            maxLagNanos.accumulate(System.nanoTime() - oldest);
+            batch.clear();
+        }
+    }
+
+    private void runOnWriter(Runnable task) {
+        try {
+            writers.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.run(); // 허브를 닫은 이후
+        }
+    }
+
+    private void tickSafely() {
+        try {
+            tick();
+        } catch (RuntimeException e) {
+            log.warn("호가 전송 중에 오류가 발생했습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.newy.playground.market.quote.stream;
+
+import java.time.Duration;
+
+/**
+ * {@link QuoteStreamHub} 상태의 특정 시점 스냅샷.
+ *
+ * @param subscribers     현재 구독자 수
+ * @param framesEncoded   인코딩한 누적 이벤트 수 (거래소별 1번)
+ * @param framesOffered   구독자 버퍼에 넣은 누적 이벤트 수
+ * @param framesSent      전송한 누적 이벤트 수
+ * @param framesConflated 전송 전에 같은 거래소의 새 값으로 대체되어 버린 누적 이벤트 수
+ * @param batches         전송 호출 누적 수
+ * @param slowDisconnects 느린 구독자로 판단해서 연결을 끊은 누적 수
+ * @param sendFailures    전송 실패로 연결을 끊은 누적 수
+ * @param maxLag          인코딩부터 전송 완료까지 걸린 최대 시간
+ */
+public record QuoteStreamMetrics(
+        int subscribers,
+        long framesEncoded,
+        long framesOffered,
+        long framesSent,
+        long framesConflated,
+        long batches,
+        long slowDisconnects,
+        long sendFailures,
+        Duration maxLag
+) {
+    /**
+     * 구독자에게 넣은 이벤트 중 전송하지 않고 합쳐진 비율.
+     */
+    public double conflationRatio() {
+        return framesOffered == 0 ? 0 : (double) framesConflated / framesOffered;
+    }
+
+    /**
+     * 전송 호출 1번에 담긴 평균 이벤트 수.
+     */
+    public double averageBatchSize() {
+        return batches == 0 ? 0 : (double) framesSent / batches;
+    }
+}
@@ -0,0 +1,21 @@
+package com.newy.playground.market.quote.stream;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param flushInterval           호가 변경을 확인하고 구독자에게 전송하는 주기
+ * @param maxMarketsPerSubscriber 구독자 1명이 구독할 수 있는 최대 거래소 수 (= 구독자별 전송 대기 버퍼 크기)
+ * @param maxLag                  전송 1건이 이 시간보다 오래 걸리면 느린 구독자로 보고 연결을 끊는다
+ * @param emitterTimeout          SSE 연결 유지 시간
+ */
+@ConfigurationProperties("playground.quote.stream")
+public record QuoteStreamProperties(
+        @DefaultValue("100ms") Duration flushInterval,
+        @DefaultValue("200") int maxMarketsPerSubscriber,
+        @DefaultValue("10s") Duration maxLag,
+        @DefaultValue("30m") Duration emitterTimeout
+) {
+}
@@ -0,0 +1,19 @@
+package com.newy.playground.market.quote.stream;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 구독자 1명의 연결. {@link QuoteStreamHub} 는 구독자마다 동시에 1개의 스레드에서만 호출한다.
+ */
+public interface QuoteStreamSink {
+    /**
+     * 모아 둔 이벤트를 한 번에 전송한다. 느린 연결이면 이 메서드가 늦게 반환되고, 그 사이의 호가는 거래소별 최신 값으로 합쳐진다.
+     */
+    void send(List<QuoteFrame> frames) throws IOException;
+
+    /**
+     * 허브가 연결을 끊을 때 호출한다. (느린 구독자, 전송 실패, 허브 종료)
+     */
+    void close();
+}
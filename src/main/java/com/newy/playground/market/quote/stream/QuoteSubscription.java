@@ -0,0 +1,71 @@
+package com.newy.playground.market.quote.stream;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 구독자 1명의 구독 상태와 전송 대기 버퍼.
+ * <p>
+ * 버퍼는 구독한 거래소마다 1칸이다. 전송이 밀리면 같은 칸의 이전 값을 새 값으로 바꾸기 때문에(conflation),
+ * 느린 구독자도 구독한 거래소 수 이상의 메모리를 사용하지 않는다.
+ */
+public final class QuoteSubscription implements AutoCloseable {
+    static final long IDLE = Long.MIN_VALUE;
+
+    final long[] marketIds;
+    final QuoteStreamSink sink;
+    final AtomicBoolean writing = new AtomicBoolean();
+    final AtomicBoolean closed = new AtomicBoolean();
+    volatile long sendStartedNanos = IDLE;
+
+    private final QuoteStreamHub hub;
+    private final AtomicReferenceArray<QuoteFrame> pending;
+
+    QuoteSubscription(QuoteStreamHub hub, long[] marketIds, QuoteStreamSink sink) {
+        this.hub = hub;
+        this.marketIds = marketIds;
+        this.sink = sink;
+        this.pending = new AtomicReferenceArray<>(marketIds.length);
+    }
+
+    public long[] marketIds() {
+        return marketIds.clone();
+    }
+
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    @Override
+    public void close() {
+        hub.disconnect(this);
+    }
+
+    /**
+     * @return 전송하지 않은 이전 값을 대체했다면 true
+     */
+    boolean offer(QuoteFrame frame) {
+        var slot = Arrays.binarySearch(marketIds, frame.marketId());
+        return slot >= 0 && pending.getAndSet(slot, frame) != null;
+    }
+
+    void drainTo(List<QuoteFrame> batch) {
+        for (int i = 0; i < pending.length(); i++) {
+            var frame = pending.getAndSet(i, null);
+            if (frame != null) {
+                batch.add(frame);
+            }
+        }
+    }
+
+    boolean hasPending() {
+        for (int i = 0; i < pending.length(); i++) {
+            if (pending.get(i) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,35 @@
+package com.newy.playground.market.quote.stream;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * 이미 SSE 형식으로 인코딩한 이벤트를 {@link SseEmitter} 로 전송한다.
+ * byte[] 를 그대로 쓰기 때문에 구독자마다 다시 직렬화하지 않고, 이벤트 묶음을 1번의 flush 로 전송한다.
+ */
+class SseQuoteStreamSink implements QuoteStreamSink {
+    private final SseEmitter emitter;
+
+    SseQuoteStreamSink(SseEmitter emitter) {
+        this.emitter = emitter;
+    }
+
+    @Override
+    public void send(List<QuoteFrame> frames) throws IOException {
+        var items = new LinkedHashSet<DataWithMediaType>(frames.size() * 2);
+        for (var frame : frames) {
+            items.add(new DataWithMediaType(frame.bytes(), MediaType.TEXT_PLAIN));
+        }
+        emitter.send(items);
+    }
+
+    @Override
+    public void close() {
+        emitter.complete();
+    }
+}
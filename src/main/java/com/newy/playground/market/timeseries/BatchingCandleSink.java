@@ -0,0 +1,61 @@
+package com.newy.playground.market.timeseries;
+
+import java.util.ArrayList;
+
+/**
+ * 마감된 캔들을 모아서 {@link CandleRepository} 에 일괄 저장한다.
+ * 캔들 값은 Primitive 배열에 모으고, 저장할 때만 {@link Candle} 객체로 만든다.
+ * 스레드 안전하지 않다. {@link CandleAggregator} 와 같은 스레드에서 사용한다.
+ */
+public final class BatchingCandleSink implements CandleSink {
+    private final CandleRepository candleRepository;
+    private final int batchSize;
+
+    private final long[] marketIds;
+    private final CandleResolution[] resolutions;
+    private final long[] openTimes;
+    private final double[] values;
+    private int size;
+
+    public BatchingCandleSink(CandleRepository candleRepository, int batchSize) {
+        this.candleRepository = candleRepository;
+        this.batchSize = batchSize;
+        this.marketIds = new long[batchSize];
+        this.resolutions = new CandleResolution[batchSize];
+        this.openTimes = new long[batchSize];
+        this.values = new double[batchSize * 5];
+    }
+
+    @Override
+    public void onCandle(long marketId, CandleResolution resolution, long openTime,
+                         double open, double high, double low, double close, double volume) {
+        marketIds[size] = marketId;
+        resolutions[size] = resolution;
+        openTimes[size] = openTime;
+        var offset = size * 5;
+        values[offset] = open;
+        values[offset + 1] = high;
+        values[offset + 2] = low;
+        values[offset + 3] = close;
+        values[offset + 4] = volume;
+
+        if (++size == batchSize) {
+            flush();
+        }
+    }
+
+    public void flush() {
+        if (size == 0) {
+            return;
+        }
+
+        var candles = new ArrayList<Candle>(size);
+        for (int i = 0; i < size; i++) {
+            var offset = i * 5;
+            candles.add(new Candle(marketIds[i], resolutions[i], openTimes[i],
+                    values[offset], values[offset + 1], values[offset + 2], values[offset + 3], values[offset + 4]));
+        }
+        candleRepository.upsertAll(candles);
+        size = 0;
+    }
+}
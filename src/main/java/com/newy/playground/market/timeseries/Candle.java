@@ -0,0 +1,18 @@
+package com.newy.playground.market.timeseries;
+
+/**
+ * 거래소 OHLCV 캔들.
+ *
+ * @param openTime 시작일시 (epoch millis, UTC)
+ */
+public record Candle(
+        long marketId,
+        CandleResolution resolution,
+        long openTime,
+        double open,
+        double high,
+        double low,
+        double close,
+        double volume
+) {
+}
@@ -0,0 +1,221 @@
+package com.newy.playground.market.timeseries;
+
+import java.util.Arrays;
+
+/**
+ * 틱을 받아서 여러 단위의 캔들을 증분으로 계산한다. market.id 를 배열 인덱스로 사용한다.
+ * <p>
+ * [특징]
+ * - 틱 1개 당 캔들 단위 수만큼의 배열 갱신만 하고(O(1)), 객체를 만들지 않는다.
+ * - 거래소와 캔들 단위마다 '현재 캔들'과 '직전 캔들' 2개를 열어 둔다.
+ *   직전 캔들은 종료 시간 + grace 까지 늦게 도착한 틱을 반영하고, 그보다 늦은 틱은 버린다.
+ *   틱이 없던 구간에 grace 안으로 도착한 틱은 직전 슬롯에 그 구간의 캔들을 열어서 반영한다.
+ * - 캔들 마감 여부를 벽시계가 아니라 틱 시간(이벤트 시간)으로 판단하기 때문에, 같은 순서로 히스토리를 다시 넣으면 같은 결과가 나온다.
+ * - 스레드 안전하지 않다. 거래소를 샤드로 나눠서 샤드마다 1개씩 사용한다.
+ */
+public final class CandleAggregator {
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final int CURRENT = 0;
+    private static final int PREVIOUS = 1;
+
+    private final int capacity;
+    private final CandleResolution[] resolutions;
+    private final long graceMillis;
+    private final CandleSink sink;
+
+    // 인덱스: ((marketId * resolutions.length) + resolution) * 2 + (CURRENT | PREVIOUS)
+    private final long[] openTimes;
+    private final long[] firstTimes;
+    private final long[] lastTimes;
+    private final double[] opens;
+    private final double[] highs;
+    private final double[] lows;
+    private final double[] closes;
+    private final double[] volumes;
+    private final long[] watermarks;
+    private long lateTicks;
+
+    public CandleAggregator(int capacity, long graceMillis, CandleSink sink, CandleResolution... resolutions) {
+        if (resolutions.length == 0) {
+            throw new IllegalArgumentException("캔들 단위가 1개 이상 필요합니다.");
+        }
+        for (var resolution : resolutions) {
+            if (graceMillis < 0 || graceMillis >= resolution.millis()) {
+                throw new IllegalArgumentException("grace 는 0 이상, 가장 작은 캔들 단위보다 작아야 합니다. resolution=" + resolution);
+            }
+        }
+
+        this.capacity = capacity;
+        this.resolutions = resolutions.clone();
+        this.graceMillis = graceMillis;
+        this.sink = sink;
+
+        var size = capacity * resolutions.length * 2;
+        this.openTimes = new long[size];
+        this.firstTimes = new long[size];
+        this.lastTimes = new long[size];
+        this.opens = new double[size];
+        this.highs = new double[size];
+        this.lows = new double[size];
+        this.closes = new double[size];
+        this.volumes = new double[size];
+        this.watermarks = new long[capacity];
+        Arrays.fill(openTimes, EMPTY);
+        Arrays.fill(watermarks, EMPTY);
+    }
+
+    /**
+     * {@link TickHandler} 로 사용할 수 있다. (예: {@code tickRepository.scan(id, from, to, aggregator::onTick)})
+     */
+    public void onTick(long marketId, long tradedAt, double price, double volume) {
+        checkRange(marketId);
+        var market = (int) marketId;
+        if (watermarks[market] == EMPTY || tradedAt > watermarks[market]) {
+            watermarks[market] = tradedAt;
+        }
+
+        for (int r = 0; r < resolutions.length; r++) {
+            var resolution = resolutions[r];
+            var current = slot(market, r, CURRENT);
+            var previous = slot(market, r, PREVIOUS);
+            var openTime = resolution.openTimeOf(tradedAt);
+
+            if (openTime + resolution.millis() + graceMillis <= watermarks[market]) {
+                lateTicks++;
+                continue;
+            }
+            if (openTimes[current] == EMPTY) {
+                start(current, openTime, tradedAt, price, volume);
+            } else if (openTime == openTimes[current]) {
+                apply(current, tradedAt, price, volume);
+            } else if (openTime > openTimes[current]) {
+                if (openTimes[previous] != EMPTY) {
+                    emit(market, resolution, previous);
+                }
+                moveToPrevious(current, previous);
+                start(current, openTime, tradedAt, price, volume);
+            } else if (openTime == openTimes[previous]) {
+                apply(previous, tradedAt, price, volume);
+            } else {
+                // 틱이 없던 구간(현재 캔들과 직전 캔들 사이)에 grace 안으로 도착한 틱이다.
+                // grace 가 캔들 단위보다 작기 때문에 직전 캔들은 이미 마감되었고, 빈 직전 슬롯에서 새 캔들을 연다.
+                if (openTimes[previous] != EMPTY) {
+                    emit(market, resolution, previous);
+                }
+                start(previous, openTime, tradedAt, price, volume);
+            }
+
+            closeExpired(market, resolution, previous);
+        }
+    }
+
+    /**
+     * 틱이 없는 거래소도, 종료 시간 + grace 가 timestamp 이전인 캔들을 마감한다. (예: 1초마다 현재 시간으로 호출)
+     */
+    public void advanceTo(long timestamp) {
+        for (int market = 0; market < capacity; market++) {
+            if (watermarks[market] == EMPTY) {
+                continue;
+            }
+            if (timestamp > watermarks[market]) {
+                watermarks[market] = timestamp;
+            }
+            for (int r = 0; r < resolutions.length; r++) {
+                var previous = slot(market, r, PREVIOUS);
+                closeExpired(market, resolutions[r], previous);
+                var current = slot(market, r, CURRENT);
+                if (isExpired(resolutions[r], current, watermarks[market])) {
+                    emit(market, resolutions[r], current);
+                }
+            }
+        }
+    }
+
+    /**
+     * 열려 있는 캔들을 모두 마감한다. 히스토리 재구성이 끝났을 때 호출한다.
+     */
+    public void flush() {
+        for (int market = 0; market < capacity; market++) {
+            for (int r = 0; r < resolutions.length; r++) {
+                var previous = slot(market, r, PREVIOUS);
+                if (openTimes[previous] != EMPTY) {
+                    emit(market, resolutions[r], previous);
+                }
+                var current = slot(market, r, CURRENT);
+                if (openTimes[current] != EMPTY) {
+                    emit(market, resolutions[r], current);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return grace 를 넘겨서 도착해 버린 틱 수 (캔들 단위마다 센다)
+     */
+    public long lateTicks() {
+        return lateTicks;
+    }
+
+    private void closeExpired(int market, CandleResolution resolution, int previous) {
+        if (isExpired(resolution, previous, watermarks[market])) {
+            emit(market, resolution, previous);
+        }
+    }
+
+    private boolean isExpired(CandleResolution resolution, int slot, long watermark) {
+        return openTimes[slot] != EMPTY && openTimes[slot] + resolution.millis() + graceMillis <= watermark;
+    }
+
+    private void start(int slot, long openTime, long tradedAt, double price, double volume) {
+        openTimes[slot] = openTime;
+        firstTimes[slot] = tradedAt;
+        lastTimes[slot] = tradedAt;
+        opens[slot] = price;
+        highs[slot] = price;
+        lows[slot] = price;
+        closes[slot] = price;
+        volumes[slot] = volume;
+    }
+
+    private void apply(int slot, long tradedAt, double price, double volume) {
+        // 늦게 도착한 틱도 있기 때문에, 시가/종가는 도착 순서가 아니라 체결 시간으로 정한다.
+        if (tradedAt < firstTimes[slot]) {
+            firstTimes[slot] = tradedAt;
+            opens[slot] = price;
+        }
+        if (tradedAt >= lastTimes[slot]) {
+            lastTimes[slot] = tradedAt;
+            closes[slot] = price;
+        }
+        highs[slot] = Math.max(highs[slot], price);
+        lows[slot] = Math.min(lows[slot], price);
+        volumes[slot] += volume;
+    }
+
+    private void moveToPrevious(int current, int previous) {
+        openTimes[previous] = openTimes[current];
+        firstTimes[previous] = firstTimes[current];
+        lastTimes[previous] = lastTimes[current];
+        opens[previous] = opens[current];
+        highs[previous] = highs[current];
+        lows[previous] = lows[current];
+        closes[previous] = closes[current];
+        volumes[previous] = volumes[current];
+        openTimes[current] = EMPTY;
+    }
+
+    private void emit(int market, CandleResolution resolution, int slot) {
+        sink.onCandle(market, resolution, openTimes[slot], opens[slot], highs[slot], lows[slot], closes[slot], volumes[slot]);
+        openTimes[slot] = EMPTY;
+    }
+
+    private int slot(int market, int resolution, int which) {
+        return ((market * resolutions.length) + resolution) * 2 + which;
+    }
+
+    private void checkRange(long marketId) {
+        if (marketId < 0 || marketId >= capacity) {
+            throw new IndexOutOfBoundsException("marketId 범위를 벗어났습니다. marketId=" + marketId + ", capacity=" + capacity);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.newy.playground.market.timeseries;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 캔들 일괄 저장과 구간 조회. 같은 캔들을 다시 저장하면 덮어쓴다. (히스토리 재구성 시 중복 방지)
+ */
+@Repository
+public class CandleRepository {
+    private static final String FIND_SQL = """
+            SELECT open_time, open_price, high_price, low_price, close_price, volume
+            FROM market_candle
+            WHERE market_id = ? AND resolution = ? AND open_time >= ? AND open_time < ?
+            ORDER BY open_time
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TimeSeriesDialect dialect;
+
+    public CandleRepository(JdbcTemplate jdbcTemplate, TimeSeriesDialect dialect) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = dialect;
+    }
+
+    public void upsertAll(List<Candle> candles) {
+        if (candles.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(dialect.upsertCandleSql(), new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                var candle = candles.get(i);
+                ps.setLong(1, candle.marketId());
+                ps.setString(2, candle.resolution().name());
+                ps.setObject(3, EpochMillis.toDateTime(candle.openTime()));
+                ps.setDouble(4, candle.open());
+                ps.setDouble(5, candle.high());
+                ps.setDouble(6, candle.low());
+                ps.setDouble(7, candle.close());
+                ps.setDouble(8, candle.volume());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return candles.size();
+            }
+        });
+    }
+
+    public List<Candle> findAll(long marketId, CandleResolution resolution, long from, long to) {
+        return jdbcTemplate.query(FIND_SQL, (rs, rowNum) -> new Candle(
+                        marketId,
+                        resolution,
+                        EpochMillis.fromDateTime(rs.getObject(1, LocalDateTime.class)),
+                        rs.getDouble(2),
+                        rs.getDouble(3),
+                        rs.getDouble(4),
+                        rs.getDouble(5),
+                        rs.getDouble(6)
+                ),
+                marketId, resolution.name(), EpochMillis.toDateTime(from), EpochMillis.toDateTime(to)
+        );
+    }
+}
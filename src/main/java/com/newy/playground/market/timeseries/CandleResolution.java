@@ -0,0 +1,27 @@
+package com.newy.playground.market.timeseries;
+
+/**
+ * 캔들 단위.
+ */
+public enum CandleResolution {
+    ONE_MINUTE(60_000L),
+    FIVE_MINUTES(5 * 60_000L),
+    ONE_HOUR(60 * 60_000L);
+
+    private final long millis;
+
+    CandleResolution(long millis) {
+        this.millis = millis;
+    }
+
+    public long millis() {
+        return millis;
+    }
+
+    /**
+     * @return timestamp 가 속한 캔들의 시작 시간 (epoch millis)
+     */
+    public long openTimeOf(long timestamp) {
+        return Math.floorDiv(timestamp, millis) * millis;
+    }
+}
@@ -0,0 +1,10 @@
+package com.newy.playground.market.timeseries;
+
+/**
+ * 마감된 캔들을 객체로 만들지 않고 전달받기 위한 Primitive 콜백.
+ */
+@FunctionalInterface
+public interface CandleSink {
+    void onCandle(long marketId, CandleResolution resolution, long openTime,
+                  double open, double high, double low, double close, double volume);
+}
@@ -0,0 +1,21 @@
+package com.newy.playground.market.timeseries;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 시계열 테이블의 일시 컬럼은 UTC 기준 LocalDateTime 으로 저장한다.
+ */
+public final class EpochMillis {
+    private EpochMillis() {
+    }
+
+    public static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+
+    public static long fromDateTime(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
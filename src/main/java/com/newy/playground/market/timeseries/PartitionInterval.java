@@ -0,0 +1,48 @@
+package com.newy.playground.market.timeseries;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 파티션 1개가 담당하는 기간. 파티션 이름은 'p' + 시작일(UTC) 형식이다. (예: p20261019, p202610)
+ */
+enum PartitionInterval {
+    DAY(DateTimeFormatter.ofPattern("yyyyMMdd"), ChronoUnit.DAYS),
+    MONTH(DateTimeFormatter.ofPattern("yyyyMM"), ChronoUnit.MONTHS);
+
+    private final DateTimeFormatter suffixFormat;
+    private final ChronoUnit unit;
+
+    PartitionInterval(DateTimeFormatter suffixFormat, ChronoUnit unit) {
+        this.suffixFormat = suffixFormat;
+        this.unit = unit;
+    }
+
+    LocalDate startOf(LocalDate date) {
+        return this == MONTH ? date.withDayOfMonth(1) : date;
+    }
+
+    LocalDate next(LocalDate start) {
+        return start.plus(1, unit);
+    }
+
+    LocalDate plus(LocalDate date, long amount) {
+        return date.plus(amount, unit);
+    }
+
+    LocalDate minus(LocalDate date, long amount) {
+        return date.minus(amount, unit);
+    }
+
+    String partitionName(LocalDate start) {
+        return "p" + suffixFormat.format(start);
+    }
+
+    LocalDate parseStart(String partitionName) {
+        var suffix = partitionName.substring(1);
+        return this == MONTH
+                ? LocalDate.parse(suffix + "01", DateTimeFormatter.BASIC_ISO_DATE)
+                : LocalDate.parse(suffix, DateTimeFormatter.BASIC_ISO_DATE);
+    }
+}
@@ -0,0 +1,9 @@
+package com.newy.playground.market.timeseries;
+
+/**
+ * 거래소 체결 틱.
+ *
+ * @param tradedAt 체결일시 (epoch millis, UTC)
+ */
+public record Tick(long marketId, long tradedAt, double price, double volume) {
+}
@@ -0,0 +1,9 @@
+package com.newy.playground.market.timeseries;
+
+/**
+ * 틱을 객체로 만들지 않고 전달받기 위한 Primitive 콜백.
+ */
+@FunctionalInterface
+public interface TickHandler {
+    void onTick(long marketId, long tradedAt, double price, double volume);
+}
@@ -0,0 +1,64 @@
+package com.newy.playground.market.timeseries;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 체결 틱 대량 적재와 구간 조회.
+ * 조회 조건에 항상 traded_at 구간을 포함하기 때문에, DB 가 해당 구간의 파티션만 읽는다. (partition pruning)
+ */
+@Repository
+public class TickRepository {
+    private static final int SCAN_FETCH_SIZE = 10_000;
+    private static final String SCAN_SQL = """
+            SELECT traded_at, price, volume
+            FROM market_tick
+            WHERE market_id = ? AND traded_at >= ? AND traded_at < ?
+            ORDER BY traded_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TimeSeriesDialect dialect;
+
+    public TickRepository(JdbcTemplate jdbcTemplate, TimeSeriesDialect dialect) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = dialect;
+    }
+
+    public void insertAll(List<Tick> ticks) {
+        if (!ticks.isEmpty()) {
+            dialect.insertTicks(jdbcTemplate, ticks);
+        }
+    }
+
+    /**
+     * 구간 [from, to) 의 틱을 시간 순서로 전달한다. 결과를 메모리에 모으지 않고, fetch size 단위로 읽는다.
+     */
+    public void scan(long marketId, long from, long to, TickHandler handler) {
+        jdbcTemplate.query(connection -> {
+            var ps = connection.prepareStatement(SCAN_SQL);
+            ps.setFetchSize(SCAN_FETCH_SIZE);
+            ps.setLong(1, marketId);
+            ps.setObject(2, EpochMillis.toDateTime(from));
+            ps.setObject(3, EpochMillis.toDateTime(to));
+            return ps;
+        }, rs -> {
+            handler.onTick(
+                    marketId,
+                    EpochMillis.fromDateTime(rs.getObject(1, LocalDateTime.class)),
+                    rs.getDouble(2),
+                    rs.getDouble(3)
+            );
+        });
+    }
+
+    public List<Tick> findAll(long marketId, long from, long to) {
+        var result = new ArrayList<Tick>();
+        scan(marketId, from, to, (id, tradedAt, price, volume) -> result.add(new Tick(id, tradedAt, price, volume)));
+        return result;
+    }
+}
@@ -0,0 +1,16 @@
+package com.newy.playground.market.timeseries;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(TimeSeriesProperties.class)
+public class TimeSeriesConfig {
+    @Bean
+    public TimeSeriesDialect timeSeriesDialect(DataSource dataSource) {
+        return TimeSeriesDialect.detect(dataSource);
+    }
+}
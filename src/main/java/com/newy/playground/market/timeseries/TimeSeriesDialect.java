@@ -0,0 +1,206 @@
+package com.newy.playground.market.timeseries;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 시계열 테이블의 DBMS 별 SQL.
+ * 파티션 DDL 과 대량 적재 방식이 PostgreSQL 과 MySQL 이 다르기 때문에 분리한다.
+ */
+public enum TimeSeriesDialect {
+    /**
+     * 파티션은 'table_pYYYYMMDD' 이름의 하위 테이블이다. 대량 적재는 COPY 를 사용한다.
+     */
+    POSTGRESQL {
+        @Override
+        List<String> partitionNames(JdbcTemplate jdbcTemplate, String table) {
+            var prefix = table + "_";
+            return jdbcTemplate.queryForList("""
+                            SELECT child.relname
+                            FROM pg_inherits
+                                JOIN pg_class parent ON parent.oid = pg_inherits.inhparent
+                                JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+                            WHERE parent.relname = ?
+                            """, String.class, table)
+                    .stream()
+                    .filter(name -> name.startsWith(prefix))
+                    .map(name -> name.substring(prefix.length()))
+                    .toList();
+        }
+
+        @Override
+        void createPartition(JdbcTemplate jdbcTemplate, String table, String partitionName, LocalDate from, LocalDate to,
+                             String followingPartition, LocalDate followingTo) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS %s_%s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')"
+                    .formatted(table, partitionName, table, from, to));
+        }
+
+        @Override
+        void dropPartition(JdbcTemplate jdbcTemplate, String table, String partitionName) {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS %s_%s".formatted(table, partitionName));
+        }
+
+        @Override
+        void insertTicks(JdbcTemplate jdbcTemplate, List<Tick> ticks) {
+            jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                var copyIn = connection.unwrap(PGConnection.class).getCopyAPI()
+                        .copyIn("COPY market_tick (market_id, traded_at, price, volume) FROM STDIN WITH (FORMAT csv)");
+                try {
+                    var buffer = new StringBuilder(COPY_CHUNK_SIZE + 128);
+                    for (var tick : ticks) {
+                        buffer.append(tick.marketId()).append(',')
+                                .append(EpochMillis.toDateTime(tick.tradedAt())).append(',')
+                                .append(tick.price()).append(',')
+                                .append(tick.volume()).append('\n');
+                        if (buffer.length() >= COPY_CHUNK_SIZE) {
+                            writeToCopy(copyIn, buffer);
+                        }
+                    }
+                    writeToCopy(copyIn, buffer);
+                    return copyIn.endCopy();
+                } catch (SQLException | RuntimeException e) {
+                    if (copyIn.isActive()) {
+                        copyIn.cancelCopy();
+                    }
+                    throw e;
+                }
+            });
+        }
+
+        @Override
+        String upsertCandleSql() {
+            return """
+                    INSERT INTO market_candle (market_id, resolution, open_time, open_price, high_price, low_price, close_price, volume)
+                    VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                    ON CONFLICT (market_id, resolution, open_time) DO UPDATE SET
+                        open_price = EXCLUDED.open_price,
+                        high_price = EXCLUDED.high_price,
+                        low_price = EXCLUDED.low_price,
+                        close_price = EXCLUDED.close_price,
+                        volume = EXCLUDED.volume
+                    """;
+        }
+    },
+
+    /**
+     * 파티션은 'pYYYYMMDD' 이름의 RANGE COLUMNS 파티션이다.
+     * 대량 적재는 batch INSERT 를 사용하고, rewriteBatchedStatements 로 multi-row INSERT 로 바꿔서 전송한다.
+     */
+    MYSQL {
+        @Override
+        List<String> partitionNames(JdbcTemplate jdbcTemplate, String table) {
+            return jdbcTemplate.queryForList("""
+                    SELECT PARTITION_NAME
+                    FROM information_schema.PARTITIONS
+                    WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL
+                    """, String.class, table);
+        }
+
+        /**
+         * MySQL 은 마지막 파티션 뒤에만 파티션을 추가할 수 있다. 중간 구간은 추가한 파티션이 함께 담당한다.
+         * 뒤에 파티션이 이미 있으면, 빠진 구간을 담당하는 뒤 파티션을 2개로 나눈다. (REORGANIZE)
+         */
+        @Override
+        void createPartition(JdbcTemplate jdbcTemplate, String table, String partitionName, LocalDate from, LocalDate to,
+                             String followingPartition, LocalDate followingTo) {
+            if (followingPartition == null) {
+                jdbcTemplate.execute("ALTER TABLE %s ADD PARTITION (PARTITION %s VALUES LESS THAN ('%s'))"
+                        .formatted(table, partitionName, to));
+                return;
+            }
+            jdbcTemplate.execute("ALTER TABLE %s REORGANIZE PARTITION %s INTO (PARTITION %s VALUES LESS THAN ('%s'), PARTITION %s VALUES LESS THAN ('%s'))"
+                    .formatted(table, followingPartition, partitionName, to, followingPartition, followingTo));
+        }
+
+        @Override
+        void dropPartition(JdbcTemplate jdbcTemplate, String table, String partitionName) {
+            jdbcTemplate.execute("ALTER TABLE %s DROP PARTITION %s".formatted(table, partitionName));
+        }
+
+        @Override
+        void insertTicks(JdbcTemplate jdbcTemplate, List<Tick> ticks) {
+            jdbcTemplate.batchUpdate("INSERT INTO market_tick (market_id, traded_at, price, volume) VALUES (?, ?, ?, ?)",
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            var tick = ticks.get(i);
+                            ps.setLong(1, tick.marketId());
+                            ps.setObject(2, EpochMillis.toDateTime(tick.tradedAt()));
+                            ps.setDouble(3, tick.price());
+                            ps.setDouble(4, tick.volume());
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return ticks.size();
+                        }
+                    });
+        }
+
+        @Override
+        String upsertCandleSql() {
+            return """
+                    INSERT INTO market_candle (market_id, resolution, open_time, open_price, high_price, low_price, close_price, volume)
+                    VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                    ON DUPLICATE KEY UPDATE
+                        open_price = VALUES(open_price),
+                        high_price = VALUES(high_price),
+                        low_price = VALUES(low_price),
+                        close_price = VALUES(close_price),
+                        volume = VALUES(volume)
+                    """;
+        }
+    };
+
+    private static final int COPY_CHUNK_SIZE = 64 * 1024;
+
+    public static TimeSeriesDialect detect(DataSource dataSource) {
+        try {
+            String productName = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return switch (productName) {
+                case "PostgreSQL" -> POSTGRESQL;
+                case "MySQL" -> MYSQL;
+                default -> throw new IllegalStateException("시계열 테이블을 지원하지 않는 DBMS 입니다: " + productName);
+            };
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("DBMS 를 확인할 수 없습니다.", e);
+        }
+    }
+
+    abstract List<String> partitionNames(JdbcTemplate jdbcTemplate, String table);
+
+    /**
+     * @param followingPartition [from, to) 뒤에 이미 있는 첫 번째 파티션. 없으면 null
+     * @param followingTo        followingPartition 의 끝 (포함하지 않음). 없으면 null
+     */
+    abstract void createPartition(JdbcTemplate jdbcTemplate, String table, String partitionName, LocalDate from, LocalDate to,
+                                  String followingPartition, LocalDate followingTo);
+
+    abstract void dropPartition(JdbcTemplate jdbcTemplate, String table, String partitionName);
+
+    abstract void insertTicks(JdbcTemplate jdbcTemplate, List<Tick> ticks);
+
+    abstract String upsertCandleSql();
+
+    private static void writeToCopy(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        var bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+}
@@ -0,0 +1,99 @@
+package com.newy.playground.market.timeseries;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * 시계열 테이블의 파티션을 기간 단위로 미리 만들고, 보관 기간이 지난 파티션을 삭제한다.
+ * 파티션 삭제는 DELETE 보다 훨씬 싸고, 테이블 크기를 일정하게 유지한다.
+ */
+@Component
+public class TimeSeriesPartitionManager {
+    private static final Logger log = LoggerFactory.getLogger(TimeSeriesPartitionManager.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TimeSeriesDialect dialect;
+    private final TimeSeriesProperties properties;
+
+    public TimeSeriesPartitionManager(JdbcTemplate jdbcTemplate, TimeSeriesDialect dialect, TimeSeriesProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = dialect;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 0 * * * *", zone = "UTC")
+    public void maintain() {
+        maintain(LocalDate.now(ZoneOffset.UTC));
+    }
+
+    public synchronized void maintain(LocalDate today) {
+        maintain("market_tick", PartitionInterval.DAY, today, properties.tickRetentionDays());
+        maintain("market_candle", PartitionInterval.MONTH, today, properties.candleRetentionMonths());
+    }
+
+    public List<String> partitionNames(String table) {
+        return dialect.partitionNames(jdbcTemplate, table).stream()
+                .filter(name -> name.matches("p\\d+"))
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * 보관 기간의 시작부터 오늘 이후 partitionsAhead 개 기간까지 없는 파티션을 모두 만들고, 보관 기간이 지난 파티션을 삭제한다.
+     * 마지막 파티션 뒤뿐만 아니라, 중간에 빠진 파티션도 다시 만든다.
+     * <p>
+     * 과거 파티션도 만드는 이유: PostgreSQL 은 DEFAULT 파티션이 없기 때문에, 처음 배포한 날에 보관 기간 안의 과거 데이터를 적재하면 실패한다.
+     * (MySQL 은 처음 추가한 파티션이 그 앞의 구간을 모두 담당해서 성공한다)
+     */
+    void maintain(String table, PartitionInterval interval, LocalDate today, int retention) {
+        var existing = new TreeSet<>(partitionNames(table).stream().map(interval::parseStart).toList());
+
+        var current = interval.startOf(today);
+        var retentionStart = interval.minus(current, retention);
+        var last = interval.plus(current, properties.partitionsAhead());
+        for (var start = retentionStart; !start.isAfter(last); start = interval.next(start)) {
+            if (existing.contains(start)) {
+                continue;
+            }
+            var partitionStart = start;
+            var following = existing.higher(start);
+            execute(table, "생성", () -> dialect.createPartition(
+                    jdbcTemplate,
+                    table,
+                    interval.partitionName(partitionStart),
+                    partitionStart,
+                    interval.next(partitionStart),
+                    following == null ? null : interval.partitionName(following),
+                    following == null ? null : interval.next(following)
+            ));
+            existing.add(start);
+        }
+
+        for (var partitionStart : existing.headSet(retentionStart)) {
+            execute(table, "삭제", () -> dialect.dropPartition(jdbcTemplate, table, interval.partitionName(partitionStart)));
+        }
+    }
+
+    /**
+     * 여러 인스턴스가 동시에 실행하면 이미 처리된 파티션에서 실패할 수 있다. 다음 주기에 다시 확인하므로 로그만 남긴다.
+     */
+    private void execute(String table, String action, Runnable ddl) {
+        try {
+            ddl.run();
+        } catch (DataAccessException e) {
+            log.warn("파티션 {}에 실패했습니다. table={}", action, table, e);
+        }
+    }
+}
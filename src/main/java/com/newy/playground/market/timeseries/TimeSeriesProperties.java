@@ -0,0 +1,17 @@
+package com.newy.playground.market.timeseries;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param partitionsAhead       미리 만들어 둘 미래 파티션 수
+ * @param tickRetentionDays     market_tick 파티션 보관 기간 (일)
+ * @param candleRetentionMonths market_candle 파티션 보관 기간 (월)
+ */
+@ConfigurationProperties("playground.timeseries")
+public record TimeSeriesProperties(
+        @DefaultValue("3") int partitionsAhead,
+        @DefaultValue("30") int tickRetentionDays,
+        @DefaultValue("24") int candleRetentionMonths
+) {
+}
@@ -0,0 +1,60 @@
+package com.newy.playground.market.writebehind;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.newy.playground.market.MarketService.MarketChangePayload;
+import com.newy.playground.market.outbox.MarketChangeType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 합친 변경을 batch UPDATE 로 쓰고, 같은 트랜잭션에서 변경 이벤트를 아웃박스에 저장한다. ({@code MarketService} 와 같은 규칙)
+ * market 행을 먼저 갱신(잠금)한 후 아웃박스에 저장해야, 같은 거래소의 아웃박스 id 순서가 커밋 순서와 같아진다.
+ */
+public class JdbcMarketUpdateWriter implements MarketUpdateWriter {
+    private static final String UPDATE_SQL = "UPDATE market SET code = ? WHERE id = ?";
+    private static final String INSERT_OUTBOX_SQL = "INSERT INTO market_outbox (market_id, event_type, payload) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    public JdbcMarketUpdateWriter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void write(List<MarketUpdate> updates) {
+        transactionTemplate.executeWithoutResult(status -> {
+            var counts = jdbcTemplate.batchUpdate(UPDATE_SQL, updates, updates.size(), (ps, update) -> {
+                ps.setString(1, update.code());
+                ps.setLong(2, update.marketId());
+            });
+
+            // 삭제된 거래소(0 행)는 이벤트를 만들지 않는다. 드라이버가 행 수를 알려주지 않으면(SUCCESS_NO_INFO) 이벤트를 만든다.
+            var changed = new ArrayList<MarketUpdate>(updates.size());
+            var index = 0;
+            for (var batch : counts) {
+                for (var count : batch) {
+                    if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                        changed.add(updates.get(index));
+                    }
+                    index++;
+                }
+            }
+            if (changed.isEmpty()) {
+                return;
+            }
+            jdbcTemplate.batchUpdate(INSERT_OUTBOX_SQL, changed, changed.size(), (ps, update) -> {
+                ps.setLong(1, update.marketId());
+                ps.setString(2, MarketChangeType.CODE_CHANGED.name());
+                ps.setString(3, MarketChangePayload.json(objectMapper, update.marketId(), update.code()));
+            });
+        });
+    }
+}
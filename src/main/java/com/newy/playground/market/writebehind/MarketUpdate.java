@@ -0,0 +1,7 @@
+package com.newy.playground.market.writebehind;
+
+/**
+ * 거래소 1개의 최신 값. 같은 거래소의 변경은 flush 전까지 마지막 값 1개로 합친다.
+ */
+public record MarketUpdate(long marketId, String code) {
+}
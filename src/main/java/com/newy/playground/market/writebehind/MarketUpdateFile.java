@@ -0,0 +1,73 @@
+package com.newy.playground.market.writebehind;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * DB 에 쓰지 못한 변경을 저장하는 append-only 파일. 레코드는 | marketId(8) | code(modified UTF-8) | 이다.
+ * append 는 fsync 까지 한 후에 반환한다. 쓰는 중에 프로세스가 죽어서 마지막 레코드가 잘렸으면, 읽을 때 잘린 레코드를 버린다.
+ */
+final class MarketUpdateFile {
+    private final Path file;
+
+    MarketUpdateFile(Path file) {
+        this.file = file;
+    }
+
+    Path path() {
+        return file;
+    }
+
+    synchronized void append(Collection<MarketUpdate> updates) throws IOException {
+        if (updates.isEmpty()) {
+            return;
+        }
+        var created = !Files.exists(file);
+        Files.createDirectories(file.getParent());
+        try (var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            var out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            for (var update : updates) {
+                out.writeLong(update.marketId());
+                out.writeUTF(update.code());
+            }
+            out.flush();
+            channel.force(true);
+        }
+        if (created) {
+            // 새로 만든 파일의 디렉토리 항목도 디스크에 반영해야, 장애 후에 파일이 남는다.
+            try (var directory = FileChannel.open(file.getParent(), StandardOpenOption.READ)) {
+                directory.force(true);
+            }
+        }
+    }
+
+    synchronized List<MarketUpdate> readAll() throws IOException {
+        var updates = new ArrayList<MarketUpdate>();
+        if (!Files.exists(file)) {
+            return updates;
+        }
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            while (true) {
+                updates.add(new MarketUpdate(in.readLong(), in.readUTF()));
+            }
+        } catch (EOFException e) {
+            return updates;
+        }
+    }
+
+    synchronized void delete() throws IOException {
+        Files.deleteIfExists(file);
+    }
+}
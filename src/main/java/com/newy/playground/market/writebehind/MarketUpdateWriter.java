@@ -0,0 +1,14 @@
+package com.newy.playground.market.writebehind;
+
+import java.util.List;
+
+/**
+ * 합친 변경을 DB 에 쓴다. 호출 1번을 트랜잭션 1개로 처리해야 한다.
+ */
+@FunctionalInterface
+public interface MarketUpdateWriter {
+    /**
+     * @param updates marketId 오름차순으로 정렬한, 거래소별 최신 값 (최대 batchSize 개)
+     */
+    void write(List<MarketUpdate> updates);
+}
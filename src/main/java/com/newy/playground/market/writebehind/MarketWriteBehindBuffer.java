@@ -0,0 +1,421 @@
+package com.newy.playground.market.writebehind;
+
+import com.newy.playground.common.collection.LongObjectMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 같은 거래소를 짧은 시간에 여러 번 바꾸는 피드를 위한 write-behind 버퍼.
+ * 변경을 거래소별 최신 값 1개로 메모리에 합치고, batchSize 만큼 쌓이거나 flushInterval 이 지나면 flush 스레드가 한 번에 쓴다.
+ * <p>
+ * [특징]
+ * - flush 스레드는 대기 중인 맵을 빈 맵과 바꾸고(double buffering) 잠금 밖에서 쓴다. 쓰는 동안에도 변경을 받는다.
+ * - 트랜잭션 1개에 최대 batchSize 개를 marketId 순서로 쓴다. (다른 트랜잭션과 같은 순서로 행을 잠가서 교착을 피한다)
+ * - 대기 중인 거래소가 capacity 에 도달하면, 새 거래소의 변경은 offerTimeout 까지 기다린 후 거절한다. 이미 대기 중인 거래소의 변경은 항상 받는다.
+ * - 실패한 트랜잭션은 retryBackoff 부터 2배씩 늘려가며 maxRetries 번 다시 시도한다. 그래도 실패하면 행 1개씩 쓰고,
+ *   실패한 행만 dead letter 파일에 저장한다. 잘못된 행 1개가 뒤의 거래소를 계속 막지 않는다.
+ * - 종료 시 새 변경을 거절하고, 남은 변경을 shutdownTimeout 까지 쓴다. 시간 안에 쓰지 못한 변경(쓰는 중인 변경 포함)은 spill 파일에 저장하고,
+ *   다음 시작 시 다시 쓴다. 쓰는 중이던 트랜잭션이 나중에 커밋되면 같은 값을 한 번 더 쓴다. (at-least-once)
+ * - 웹 서버가 요청을 멈춘 후에 종료하도록 phase 를 낮게 둔다.
+ * - flush 는 flush 스레드 1개만 하기 때문에, 같은 거래소의 오래된 값이 새 값을 덮어쓰지 않는다.
+ */
+public class MarketWriteBehindBuffer implements SmartLifecycle {
+    /**
+     * 웹 서버 graceful shutdown (DEFAULT_PHASE - 1024) 보다 나중에 종료한다.
+     */
+    public static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private static final Logger log = LoggerFactory.getLogger(MarketWriteBehindBuffer.class);
+
+    private final MarketUpdateWriter writer;
+    private final WriteBehindProperties properties;
+    private final MarketUpdateFile spill;
+    private final MarketUpdateFile deadLetters;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final Condition flushNeeded = lock.newCondition();
+    private final Condition drained = lock.newCondition();
+    private LongObjectMap<MarketUpdate> pending;
+    private LongObjectMap<MarketUpdate> spare;
+    private LongObjectMap<MarketUpdate> inFlight;
+    private boolean running;
+    private boolean stopping;
+    private volatile boolean abandoned;
+    private boolean writing;
+    private int flushRequests;
+    private int handledFlushRequests;
+    private long updates;
+    private long coalesced;
+    private long rejected;
+    private Thread flusher;
+
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+    private final AtomicLong spilled = new AtomicLong();
+    private final AtomicLong totalFlushNanos = new AtomicLong();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+
+    public MarketWriteBehindBuffer(MarketUpdateWriter writer, WriteBehindProperties properties) {
+        this.writer = writer;
+        this.properties = properties;
+        this.spill = new MarketUpdateFile(properties.directory().resolve("pending.spill"));
+        this.deadLetters = new MarketUpdateFile(properties.directory().resolve("dead-letter.bin"));
+        this.pending = new LongObjectMap<>(properties.capacity());
+        this.spare = new LongObjectMap<>(properties.capacity());
+    }
+
+    public void changeCode(long marketId, String code) {
+        offer(new MarketUpdate(marketId, code));
+    }
+
+    /**
+     * 변경을 버퍼에 넣는다. 버퍼가 가득 차면 호출 스레드를 offerTimeout 까지 기다리게 한다.
+     *
+     * @throws WriteBehindRejectedException 기다려도 자리가 나지 않았거나, 버퍼가 실행 중이 아니다
+     */
+    public void offer(MarketUpdate update) {
+        lock.lock();
+        try {
+            var remaining = properties.offerTimeout().toNanos();
+            while (running && !pending.containsKey(update.marketId()) && pending.size() >= properties.capacity()) {
+                if (remaining <= 0) {
+                    rejected++;
+                    throw new WriteBehindRejectedException("write-behind 버퍼가 가득 찼습니다. capacity=" + properties.capacity());
+                }
+                flushNeeded.signal();
+                remaining = notFull.awaitNanos(remaining);
+            }
+            if (!running) {
+                rejected++;
+                throw new WriteBehindRejectedException("write-behind 버퍼가 실행 중이 아닙니다.");
+            }
+
+            if (pending.put(update.marketId(), update) != null) {
+                coalesced++;
+            }
+            updates++;
+            if (pending.size() >= properties.batchSize()) {
+                flushNeeded.signal();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejected++;
+            throw new WriteBehindRejectedException("버퍼에 자리가 나기를 기다리는 중에 인터럽트되었습니다.");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 지금까지 받은 변경을 주기를 기다리지 않고 쓰고, 모두 쓸 때까지 기다린다.
+     *
+     * @return timeout 안에 모두 썼으면 true
+     */
+    public boolean flush(Duration timeout) throws InterruptedException {
+        lock.lock();
+        try {
+            flushRequests++;
+            flushNeeded.signal();
+            var remaining = timeout.toNanos();
+            while (!pending.isEmpty() || writing) {
+                if (remaining <= 0 || abandoned || flusher == null || !flusher.isAlive()) {
+                    return false;
+                }
+                remaining = drained.awaitNanos(remaining);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public WriteBehindMetrics metrics() {
+        lock.lock();
+        try {
+            return new WriteBehindMetrics(
+                    updates,
+                    coalesced,
+                    rejected,
+                    rowsWritten.get(),
+                    flushes.get(),
+                    failures.get(),
+                    deadLettered.get(),
+                    spilled.get(),
+                    pending.size(),
+                    Duration.ofNanos(totalFlushNanos.get()),
+                    Duration.ofNanos(maxFlushNanos.get())
+            );
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 이전 종료 때 spill 파일에 저장한 변경을 버퍼에 다시 넣고 flush 스레드를 시작한다.
+     * spill 파일은 다시 넣은 변경을 모두 처리한 후에 삭제한다.
+     */
+    @Override
+    public void start() {
+        lock.lock();
+        try {
+            if (running) {
+                return;
+            }
+            var recovered = spill.readAll();
+            for (var update : recovered) {
+                pending.put(update.marketId(), update);
+            }
+            if (!recovered.isEmpty()) {
+                log.info("spill 파일의 변경을 다시 씁니다. file={}, markets={}", spill.path(), pending.size());
+            }
+            running = true;
+            stopping = false;
+            abandoned = false;
+            var recovering = !recovered.isEmpty();
+            flusher = Thread.ofPlatform().name("market-write-behind").daemon().start(() -> runFlusher(recovering));
+        } catch (IOException e) {
+            throw new UncheckedIOException("spill 파일을 읽을 수 없습니다. file=" + spill.path(), e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 새 변경을 거절하고, 남은 변경을 shutdownTimeout 까지 쓴다. 시간 안에 쓰지 못한 변경은 spill 파일에 저장한 후에 반환한다.
+     */
+    @Override
+    public void stop() {
+        Thread thread;
+        lock.lock();
+        try {
+            if (!running) {
+                return;
+            }
+            running = false;
+            stopping = true;
+            thread = flusher;
+            flushNeeded.signal();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            if (!thread.join(properties.shutdownTimeout())) {
+                abandon();
+                thread.interrupt();
+            }
+        } catch (InterruptedException e) {
+            abandon();
+            thread.interrupt();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        lock.lock();
+        try {
+            return running;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void runFlusher(boolean recovering) {
+        while (true) {
+            LongObjectMap<MarketUpdate> batch;
+            lock.lock();
+            try {
+                var remaining = properties.flushInterval().toNanos();
+                while (!stopping && !abandoned && handledFlushRequests == flushRequests && pending.size() < properties.batchSize() && remaining > 0) {
+                    remaining = flushNeeded.awaitNanos(remaining);
+                }
+                handledFlushRequests = flushRequests;
+                if (abandoned) {
+                    return;
+                }
+                if (pending.isEmpty()) {
+                    drained.signalAll();
+                    if (stopping) {
+                        return;
+                    }
+                    continue;
+                }
+                batch = pending;
+                pending = spare;
+                spare = null;
+                inFlight = batch;
+                writing = true;
+                notFull.signalAll();
+            } catch (InterruptedException e) {
+                batch = null;
+            } finally {
+                lock.unlock();
+            }
+            if (batch == null) {
+                abandon();
+                return;
+            }
+
+            var completed = writeAll(batch);
+
+            lock.lock();
+            try {
+                // abandon() 이 저장한 변경을 지우지 않도록 잠금 안에서 확인하고 삭제한다.
+                if (completed && recovering && !abandoned) {
+                    recovering = false;
+                    deleteSpill();
+                }
+                batch.clear();
+                spare = batch;
+                inFlight = null;
+                writing = false;
+                drained.signalAll();
+                if (abandoned) {
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * @return 모든 변경을 쓰거나 dead letter 로 보냈으면 true. 중간에 종료되었으면 false
+     */
+    private boolean writeAll(LongObjectMap<MarketUpdate> batch) {
+        var updates = new ArrayList<MarketUpdate>(batch.size());
+        batch.forEach((update, marketId) -> updates.add(update));
+        updates.sort(Comparator.comparingLong(MarketUpdate::marketId));
+
+        for (int from = 0; from < updates.size(); from += properties.batchSize()) {
+            if (abandoned || !writeChunk(updates.subList(from, Math.min(updates.size(), from + properties.batchSize())))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean writeChunk(List<MarketUpdate> chunk) {
+        var backoff = properties.retryBackoff().toNanos();
+        for (int attempt = 0; !tryWrite(chunk); attempt++) {
+            if (attempt == properties.maxRetries()) {
+                return writeEach(chunk);
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(backoff);
+            } catch (InterruptedException e) {
+                return false;
+            }
+            backoff = Math.min(backoff * 2, TimeUnit.MINUTES.toNanos(1));
+        }
+        return true;
+    }
+
+    /**
+     * 재시도해도 실패한 트랜잭션의 행을 1개씩 써서, 실패하는 행만 dead letter 로 보낸다.
+     */
+    private boolean writeEach(List<MarketUpdate> chunk) {
+        log.warn("재시도해도 쓰지 못한 변경을 행 1개씩 씁니다. rows={}", chunk.size());
+        for (var update : chunk) {
+            if (abandoned) {
+                return false;
+            }
+            if (!tryWrite(List.of(update))) {
+                deadLetter(update);
+            }
+        }
+        return true;
+    }
+
+    private boolean tryWrite(List<MarketUpdate> chunk) {
+        var started = System.nanoTime();
+        try {
+            writer.write(chunk);
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+            log.warn("거래소 변경을 쓰지 못했습니다. rows={}", chunk.size(), e);
+            return false;
+        }
+        var elapsed = System.nanoTime() - started;
+        rowsWritten.addAndGet(chunk.size());
+        flushes.incrementAndGet();
+        totalFlushNanos.addAndGet(elapsed);
+        maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+        return true;
+    }
+
+    private void deadLetter(MarketUpdate update) {
+        deadLettered.incrementAndGet();
+        log.error("거래소 변경을 dead letter 로 보냅니다. marketId={}, code={}, file={}", update.marketId(), update.code(), deadLetters.path());
+        try {
+            deadLetters.append(List.of(update));
+        } catch (IOException e) {
+            log.error("dead letter 파일에 저장하지 못했습니다. marketId={}, code={}", update.marketId(), update.code(), e);
+        }
+    }
+
+    /**
+     * 쓰는 중인 변경과 대기 중인 변경을 spill 파일에 저장하고, flush 스레드가 더 이상 쓰지 않게 한다.
+     * 같은 거래소는 대기 중인 값(새 값)을 저장한다.
+     */
+    private void abandon() {
+        List<MarketUpdate> leftovers;
+        lock.lock();
+        try {
+            if (abandoned) {
+                return;
+            }
+            abandoned = true;
+            var latest = new LongObjectMap<MarketUpdate>(pending.size() + (inFlight == null ? 0 : inFlight.size()));
+            if (inFlight != null) {
+                inFlight.forEach((update, marketId) -> latest.put(marketId, update));
+            }
+            pending.forEach((update, marketId) -> latest.put(marketId, update));
+            pending.clear();
+            leftovers = new ArrayList<>(latest.size());
+            latest.forEach((update, marketId) -> leftovers.add(update));
+            drained.signalAll();
+            flushNeeded.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            spill.append(leftovers);
+            spilled.addAndGet(leftovers.size());
+            log.warn("종료 시간 안에 쓰지 못한 변경을 spill 파일에 저장했습니다. file={}, markets={}", spill.path(), leftovers.size());
+        } catch (IOException e) {
+            log.error("spill 파일에 저장하지 못했습니다. lost={}", leftovers.size(), e);
+        }
+    }
+
+    private void deleteSpill() {
+        try {
+            spill.delete();
+        } catch (IOException e) {
+            log.warn("spill 파일을 삭제하지 못했습니다. 다음 시작 시 같은 변경을 한 번 더 씁니다. file={}", spill.path(), e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.newy.playground.market.writebehind;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(WriteBehindProperties.class)
+public class WriteBehindConfig {
+    @Bean
+    public MarketWriteBehindBuffer marketWriteBehindBuffer(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            WriteBehindProperties properties
+    ) {
+        return new MarketWriteBehindBuffer(new JdbcMarketUpdateWriter(jdbcTemplate, transactionTemplate, objectMapper), properties);
+    }
+}
@@ -0,0 +1,18 @@
+package com.newy.playground.market.writebehind;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class WriteBehindController {
+    private final MarketWriteBehindBuffer buffer;
+
+    public WriteBehindController(MarketWriteBehindBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    @GetMapping("/markets/write-behind/metrics")
+    public WriteBehindMetrics metrics() {
+        return buffer.metrics();
+    }
+}
@@ -0,0 +1,50 @@
+package com.newy.playground.market.writebehind;
+
+import java.time.Duration;
+
+/**
+ * {@link MarketWriteBehindBuffer} 상태의 특정 시점 스냅샷.
+ *
+ * @param updates          받은 누적 변경 수
+ * @param coalesced        flush 전에 같은 거래소의 새 값으로 대체된 누적 변경 수
+ * @param rejected         버퍼가 가득 차서 거절한 누적 변경 수
+ * @param rowsWritten      DB 에 쓴 누적 행 수
+ * @param flushes          성공한 트랜잭션 누적 수
+ * @param failures         실패한 트랜잭션 누적 수 (재시도 포함)
+ * @param deadLettered     행 1개씩 써도 실패해서 dead letter 파일에 저장한 누적 변경 수
+ * @param spilled          종료 시간 안에 쓰지 못해서 spill 파일에 저장한 누적 변경 수
+ * @param pending          flush 를 기다리는 거래소 수
+ * @param totalFlushTime   성공한 트랜잭션 시간의 합
+ * @param maxFlushTime     가장 오래 걸린 트랜잭션 시간
+ */
+public record WriteBehindMetrics(
+        long updates,
+        long coalesced,
+        long rejected,
+        long rowsWritten,
+        long flushes,
+        long failures,
+        long deadLettered,
+        long spilled,
+        int pending,
+        Duration totalFlushTime,
+        Duration maxFlushTime
+) {
+    /**
+     * 받은 변경 중 DB 에 쓰지 않고 합쳐진 비율.
+     */
+    public double coalescingRatio() {
+        return updates == 0 ? 0 : (double) coalesced / updates;
+    }
+
+    /**
+     * 트랜잭션 1개에 쓴 평균 행 수.
+     */
+    public double averageBatchSize() {
+        return flushes == 0 ? 0 : (double) rowsWritten / flushes;
+    }
+
+    public Duration averageFlushTime() {
+        return flushes == 0 ? Duration.ZERO : totalFlushTime.dividedBy(flushes);
+    }
+}
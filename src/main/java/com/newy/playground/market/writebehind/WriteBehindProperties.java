@@ -0,0 +1,71 @@
+package com.newy.playground.market.writebehind;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * @param capacity        flush 를 기다리는 최대 거래소 수. 가득 차면 새 거래소의 변경은 offerTimeout 까지 기다린다
+ * @param batchSize       이만큼 쌓이면 주기를 기다리지 않고 flush 한다. 트랜잭션 1개에 쓰는 최대 행 수이기도 하다
+ * @param flushInterval   쌓인 변경을 flush 하는 주기
+ * @param offerTimeout    버퍼가 가득 찼을 때 변경 요청을 기다리게 하는 최대 시간 (backpressure)
+ * @param shutdownTimeout 종료 시 남은 변경을 flush 하는 최대 시간. 지나면 남은 변경을 spill 파일에 저장한다
+ * @param maxRetries      실패한 트랜잭션을 다시 시도하는 횟수. 모두 실패하면 행 1개씩 쓰고, 그래도 실패한 행은 dead letter 파일에 저장한다
+ * @param retryBackoff    첫 번째 재시도까지 기다리는 시간. 재시도마다 2배로 늘린다
+ * @param directory       spill 파일과 dead letter 파일을 저장하는 디렉토리
+ */
+@ConfigurationProperties("playground.market.write-behind")
+public record WriteBehindProperties(
+        @DefaultValue("10000") int capacity,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("100ms") Duration flushInterval,
+        @DefaultValue("1s") Duration offerTimeout,
+        @DefaultValue("10s") Duration shutdownTimeout,
+        @DefaultValue("3") int maxRetries,
+        @DefaultValue("200ms") Duration retryBackoff,
+        @DefaultValue("data/write-behind") Path directory
+) {
+    public WriteBehindProperties {
+        if (capacity <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("capacity, batchSize 는 1 이상이어야 합니다.");
+        }
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException("maxRetries 는 0 이상이어야 합니다.");
+        }
+    }
+
+    public static WriteBehindProperties defaults() {
+        return new WriteBehindProperties(10_000, 500, Duration.ofMillis(100), Duration.ofSeconds(1), Duration.ofSeconds(10),
+                3, Duration.ofMillis(200), Path.of("data/write-behind"));
+    }
+
+    public WriteBehindProperties withCapacity(int capacity) {
+        return new WriteBehindProperties(capacity, batchSize, flushInterval, offerTimeout, shutdownTimeout, maxRetries, retryBackoff, directory);
+    }
+
+    public WriteBehindProperties withBatchSize(int batchSize) {
+        return new WriteBehindProperties(capacity, batchSize, flushInterval, offerTimeout, shutdownTimeout, maxRetries, retryBackoff, directory);
+    }
+
+    public WriteBehindProperties withFlushInterval(Duration flushInterval) {
+        return new WriteBehindProperties(capacity, batchSize, flushInterval, offerTimeout, shutdownTimeout, maxRetries, retryBackoff, directory);
+    }
+
+    public WriteBehindProperties withOfferTimeout(Duration offerTimeout) {
+        return new WriteBehindProperties(capacity, batchSize, flushInterval, offerTimeout, shutdownTimeout, maxRetries, retryBackoff, directory);
+    }
+
+    public WriteBehindProperties withShutdownTimeout(Duration shutdownTimeout) {
+        return new WriteBehindProperties(capacity, batchSize, flushInterval, offerTimeout, shutdownTimeout, maxRetries, retryBackoff, directory);
+    }
+
+    public WriteBehindProperties withRetries(int maxRetries, Duration retryBackoff) {
+        return new WriteBehindProperties(capacity, batchSize, flushInterval, offerTimeout, shutdownTimeout, maxRetries, retryBackoff, directory);
+    }
+
+    public WriteBehindProperties withDirectory(Path directory) {
+        return new WriteBehindProperties(capacity, batchSize, flushInterval, offerTimeout, shutdownTimeout, maxRetries, retryBackoff, directory);
+    }
+}
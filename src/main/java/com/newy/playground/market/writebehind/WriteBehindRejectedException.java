@@ -0,0 +1,10 @@
+package com.newy.playground.market.writebehind;
+
+/**
+ * 버퍼가 가득 찬 상태가 offerTimeout 동안 계속되었거나, 버퍼가 종료된 후에 변경을 요청했다.
+ */
+public class WriteBehindRejectedException extends RuntimeException {
+    public WriteBehindRejectedException(String message) {
+        super(message);
+    }
+}
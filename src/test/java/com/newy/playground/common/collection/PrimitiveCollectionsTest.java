@@ -0,0 +1,132 @@
+package com.newy.playground.common.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrimitiveCollectionsTest {
+    @Test
+    public void LongObjectMap_은_HashMap_과_같은_결과를_반환한다() {
+        var random = new Random(42);
+        var map = new LongObjectMap<String>(4);
+        var expected = new HashMap<Long, String>();
+
+        for (int i = 0; i < 200_000; i++) {
+            // 키 범위를 좁혀서 덮어쓰기, 삭제, 탐사 충돌이 자주 일어나게 한다.
+            var key = (long) random.nextInt(2_000) - 100;
+            switch (random.nextInt(4)) {
+                case 0, 1 -> assertEquals(expected.put(key, "v" + i), map.put(key, "v" + i));
+                case 2 -> assertEquals(expected.remove(key), map.remove(key));
+                default -> assertEquals(expected.get(key), map.get(key));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+
+        assertEquals(expected.keySet().removeIf(key -> key % 3 == 0), map.removeIf(key -> key % 3 == 0) > 0);
+        var actual = new HashMap<Long, String>();
+        map.forEach((value, key) -> actual.put(key, value));
+        assertEquals(expected, actual);
+        assertEquals("x", map.computeIfAbsent(3, key -> "x"));
+        assertEquals("x", map.computeIfAbsent(3, key -> "y"));
+    }
+
+    @Test
+    public void LongLongMap_은_키가_없으면_0_에_더한다() {
+        var counts = new LongLongMap();
+        for (long id = 0; id < 1_000; id++) {
+            counts.addTo(id % 10, 1);
+        }
+        counts.put(-5, 7);
+
+        assertEquals(11, counts.size());
+        assertEquals(100, counts.getOrDefault(0, -1));
+        assertEquals(7, counts.getOrDefault(-5, -1));
+        assertEquals(-1, counts.getOrDefault(99, -1));
+
+        var sum = new long[1];
+        counts.forEach((key, value) -> sum[0] += value);
+        assertEquals(1_007, sum[0]);
+
+        assertEquals(5, counts.removeIf(key -> key >= 5));
+        assertTrue(counts.remove(-5));
+        assertFalse(counts.containsKey(-5));
+        assertEquals(5, counts.size());
+    }
+
+    @Test
+    public void LongHashSet_은_HashSet_과_같은_결과를_반환한다() {
+        var random = new Random(7);
+        var set = new LongHashSet();
+        var expected = new HashSet<Long>();
+
+        for (int i = 0; i < 200_000; i++) {
+            var value = (long) random.nextInt(3_000);
+            if (random.nextBoolean()) {
+                assertEquals(expected.add(value), set.add(value));
+            } else {
+                assertEquals(expected.remove(value), set.remove(value));
+            }
+        }
+        expected.removeIf(value -> (value & 1) == 0);
+        set.removeIf(value -> (value & 1) == 0);
+
+        var actual = new HashSet<Long>();
+        set.forEach(actual::add);
+        assertEquals(expected, actual);
+        assertEquals(expected.size(), set.toArray().length);
+    }
+
+    @Test
+    public void DoubleArrayList_는_남길_값을_앞으로_당겨서_삭제한다() {
+        var list = new DoubleArrayList(0);
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+
+        assertEquals(50, list.removeIf(value -> value % 2 == 1));
+        assertEquals(50, list.size());
+        assertEquals(98.0, list.get(49));
+        assertEquals(2.0, list.set(1, -2.0));
+        assertEquals(-2.0, list.removeAt(1));
+        assertEquals(2450.0 - 2.0, list.sum());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(49));
+    }
+
+    @Test
+    public void 박싱_컬렉션보다_메모리를_적게_사용한다() {
+        var entries = 10_000;
+        // 작은 Long 은 캐시되기 때문에, 캐시 범위 밖의 키와 값을 사용한다.
+        var boxed = allocatedBytes(() -> {
+            var map = new HashMap<Long, Long>(entries * 2);
+            for (long i = 0; i < entries; i++) {
+                map.put(1_000_000 + i, 2_000_000 + i);
+            }
+            return map;
+        });
+        var primitive = allocatedBytes(() -> {
+            var map = new LongLongMap(entries);
+            for (long i = 0; i < entries; i++) {
+                map.put(1_000_000 + i, 2_000_000 + i);
+            }
+            return map;
+        });
+
+        assertTrue(primitive * 2 < boxed, "LongLongMap=" + primitive + ", HashMap=" + boxed);
+    }
+
+    private static long allocatedBytes(Supplier<Object> build) {
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        build.get();
+        var before = threads.getCurrentThreadAllocatedBytes();
+        var result = build.get();
+        var allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        assertNotNull(result);
+        return allocated;
+    }
+}
@@ -0,0 +1,126 @@
+package com.newy.playground.common.function;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PipelineTest {
+    @Test
+    public void Function_연쇄는_표준_합성과_같은_순서로_호출한다() {
+        Function<String, String> quote = s -> "'" + s + "'";
+        Function<Integer, String> integerToString = Object::toString;
+
+        var fused = Pipeline.function(integerToString).andThen(quote).compose((String s) -> s.length()).compile();
+
+        assertEquals(integerToString.andThen(quote).compose((String s) -> s.length()).apply("abc"), fused.apply("abc"));
+        assertEquals("'3'", fused.apply("abc"));
+        assertTrue(fused.getClass().isHidden(), "파이프라인마다 hidden class 를 만든다.");
+    }
+
+    @Test
+    public void UnaryOperator_연쇄() {
+        UnaryOperator<String> toUpper = String::toUpperCase;
+        UnaryOperator<String> appendString = s -> s + "xyz";
+
+        assertEquals("ABCxyz", Pipeline.operator(toUpper).andThen(appendString).compile().apply("abc"));
+        assertEquals("ABCXYZ", Pipeline.operator(toUpper).compose(appendString).compile().apply("abc"));
+    }
+
+    @Test
+    public void primitive_타입_연쇄는_박싱하지_않는_인터페이스를_구현한다() {
+        IntUnaryOperator increase = i -> i + 1;
+        IntUnaryOperator times = i -> i * 2;
+        assertEquals(increase.andThen(times).applyAsInt(1), Pipeline.intOperator(increase).andThen(times).compile().applyAsInt(1));
+        assertEquals(increase.compose(times).applyAsInt(1), Pipeline.intOperator(increase).compose(times).compile().applyAsInt(1));
+
+        LongUnaryOperator fused = Pipeline.longOperator(v -> v * 31).andThen(v -> v + 7).andThen(v -> v >>> 1).compile();
+        assertEquals((5L * 31 + 7) >>> 1, fused.applyAsLong(5));
+
+        DoubleUnaryOperator half = Pipeline.doubleOperator(v -> v + 0.5).andThen(v -> v / 2).compile();
+        assertEquals(0.75, half.applyAsDouble(1.0));
+    }
+
+    @Test
+    public void 단계가_많아도_모든_단계를_순서대로_호출한다() {
+        var standard = LongUnaryOperator.identity();
+        var pipeline = Pipeline.longOperator(LongUnaryOperator.identity());
+        for (int i = 0; i < 100; i++) {
+            var stage = i;
+            LongUnaryOperator next = v -> v * 31 + stage;
+            standard = standard.andThen(next);
+            pipeline = pipeline.andThen(next);
+        }
+
+        assertEquals(101, pipeline.size());
+        var fused = pipeline.compile();
+        for (long v = -10; v <= 10; v++) {
+            assertEquals(standard.applyAsLong(v), fused.applyAsLong(v));
+        }
+    }
+
+    @Test
+    public void 파이프라인을_단계로_넘기면_펼친다() {
+        var quote = Pipeline.function((String s) -> "'" + s + "'").andThen(s -> "[" + s + "]");
+        var fused = Pipeline.function((Integer i) -> Integer.toString(i)).andThen(quote).compile();
+
+        assertEquals(3, Pipeline.function((Integer i) -> Integer.toString(i)).andThen(quote).size());
+        assertEquals("['1']", fused.apply(1));
+    }
+
+    @Test
+    public void 조건은_표준_and_or_negate_와_같은_결과를_반환한다() {
+        IntPredicate isMinSize = n -> n >= 10;
+        IntPredicate isMaxSize = n -> n <= 20;
+        IntPredicate isEven = n -> n % 2 == 0;
+
+        var standard = isMinSize.and(isMaxSize).or(isEven.negate()).negate().or(n -> n == 15);
+        var fused = Pipeline.intPredicate(isMinSize).and(isMaxSize).or(Pipeline.intPredicate(isEven).negate()).negate().or(n -> n == 15).compile();
+
+        for (int n = -5; n <= 30; n++) {
+            assertEquals(standard.test(n), fused.test(n), "n=" + n);
+        }
+    }
+
+    @Test
+    public void 조건은_왼쪽부터_단락_평가한다() {
+        var calls = new ArrayList<String>();
+        Predicate<String> a = s -> calls.add("a") && s.startsWith("a");
+        Predicate<String> b = s -> calls.add("b") && s.endsWith("b");
+        Predicate<String> c = s -> calls.add("c") && s.length() > 3;
+
+        var fused = Pipeline.predicate(a).and(b).or(c).compile();
+
+        assertTrue(fused.test("ab"));
+        assertEquals(List.of("a", "b"), calls);
+
+        calls.clear();
+        assertTrue(fused.test("xyzw"));
+        assertEquals(List.of("a", "c"), calls, "a 가 거짓이면 b 를 호출하지 않는다.");
+    }
+
+    @Test
+    public void 두_번_반전하면_원래_조건과_같다() {
+        var fused = Pipeline.longPredicate(v -> v > 0).negate().negate().compile();
+        var doubleFused = Pipeline.doublePredicate(v -> v > 0.5).and(v -> v < 1.5).negate().compile();
+
+        assertTrue(fused.test(1));
+        assertFalse(fused.test(0));
+        assertFalse(doubleFused.test(1.0));
+        assertTrue(doubleFused.test(2.0));
+    }
+
+    @Test
+    public void 조건이_너무_많으면_예외가_발생한다() {
+        var pipeline = Pipeline.intPredicate(n -> n > 0);
+        for (int i = 0; i < PipelineCompiler.MAX_CONDITIONS; i++) {
+            pipeline = pipeline.and(n -> n < 1_000);
+        }
+        var tooMany = pipeline;
+
+        assertThrows(IllegalArgumentException.class, tooMany::compile);
+    }
+}
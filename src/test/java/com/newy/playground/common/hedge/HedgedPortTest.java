@@ -0,0 +1,110 @@
+package com.newy.playground.common.hedge;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HedgedPortTest {
+    private final HedgePolicy policy = HedgePolicy.defaults()
+            .withMinSamples(10)
+            .withWindowSize(10)
+            .withMinDelay(Duration.ofMillis(5))
+            .withBudgetRatio(1);
+
+    @Test
+    public void 느린_호출은_백업_호출의_응답을_사용한다() {
+        var counter = new AtomicInteger();
+        var hedged = HedgedPort.of(FirstOutPort.class, () -> {
+            // 11번째 호출만 느리게 응답한다.
+            if (counter.incrementAndGet() == 11) {
+                sleep(5_000);
+                return "Slow";
+            }
+            return "World";
+        }, policy);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("World", hedged.port().getFirstData());
+        }
+        assertEquals("World", hedged.port().getFirstData(), "백업 호출이 먼저 응답한다.");
+
+        var metrics = hedged.metrics();
+        assertEquals(11, metrics.calls());
+        assertEquals(1, metrics.hedged());
+        assertEquals(1, metrics.hedgeWins());
+    }
+
+    @Test
+    public void 예산이_없으면_백업_호출을_보내지_않는다() {
+        var counter = new AtomicInteger();
+        var hedged = HedgedPort.of(FirstOutPort.class, () -> {
+            if (counter.incrementAndGet() > 10) {
+                sleep(30);
+            }
+            return "World";
+        }, policy.withBudgetRatio(0));
+
+        for (int i = 0; i < 11; i++) {
+            assertEquals("World", hedged.port().getFirstData());
+        }
+
+        var metrics = hedged.metrics();
+        assertEquals(0, metrics.hedged());
+        assertEquals(1, metrics.budgetExhausted());
+        assertEquals(0, metrics.hedgeRate());
+    }
+
+    @Test
+    public void 모든_호출이_실패하면_첫_번째_예외를_던진다() {
+        var hedged = HedgedPort.of(FirstOutPort.class, () -> {
+            throw new RuntimeException("에러 발생!");
+        }, policy);
+
+        var exception = assertThrows(RuntimeException.class, () -> hedged.port().getFirstData());
+        assertEquals("에러 발생!", exception.getMessage());
+    }
+
+    @Test
+    public void Error_는_감싸지_않고_그대로_던진다() {
+        var counter = new AtomicInteger();
+        var hedged = HedgedPort.of(FirstOutPort.class, () -> {
+            if (counter.incrementAndGet() > 10) {
+                throw new AssertionError("Error 발생!");
+            }
+            return "World";
+        }, policy);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("World", hedged.port().getFirstData());
+        }
+        var error = assertThrows(AssertionError.class, () -> hedged.port().getFirstData(), "Executor 에서 실행한 호출");
+        assertEquals("Error 발생!", error.getMessage());
+    }
+
+    @Test
+    public void 샘플이_부족하면_호출_스레드에서_실행한다() {
+        var caller = Thread.currentThread();
+        var hedged = HedgedPort.of(FirstOutPort.class, () -> Thread.currentThread() == caller ? "Caller" : "Executor", policy);
+
+        assertEquals("Caller", hedged.port().getFirstData());
+        assertThrows(StackOverflowError.class, () -> HedgedPort.of(FirstOutPort.class, () -> {
+            throw new StackOverflowError();
+        }, policy).port().getFirstData(), "호출 스레드에서 실행한 호출");
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @FunctionalInterface
+    interface FirstOutPort {
+        String getFirstData();
+    }
+}
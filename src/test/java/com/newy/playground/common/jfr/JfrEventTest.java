@@ -0,0 +1,134 @@
+package com.newy.playground.common.jfr;
+
+import com.newy.playground.common.validation.BaseValidator;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.constraints.NotEmpty;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JfrEventTest {
+    @Test
+    public void 입력_유효성_검증을_이벤트로_기록한다() throws Exception {
+        var events = record(ValidationEvent.class, () -> {
+            new MarketInput("KRX");
+            assertThrows(ConstraintViolationException.class, () -> new MarketInput(""));
+        });
+
+        assertEquals(2, events.size());
+        assertEquals("MarketInput", events.get(0).getString("type"));
+        assertEquals(0, events.get(0).getInt("violations"));
+        assertEquals(1, events.get(1).getInt("violations"));
+    }
+
+    @Test
+    public void out_port_호출을_이벤트로_기록한다() throws Exception {
+        var port = OutPortRecorder.record(FirstOutPort.class, () -> "World");
+
+        var events = record(OutPortCallEvent.class, () -> assertEquals("World", port.getFirstData()));
+
+        assertEquals(1, events.size());
+        assertEquals("FirstOutPort", events.get(0).getString("port"));
+        assertEquals("getFirstData", events.get(0).getString("method"));
+        assertFalse(events.get(0).getBoolean("failed"));
+    }
+
+    @Test
+    public void repository_호출을_이벤트로_기록한다() throws Exception {
+        var repository = repositoryProxy(new CodeRepository() {
+            @Override
+            public Optional<String> findByCode(String code) {
+                return Optional.of(code);
+            }
+
+            @Override
+            public List<String> findByName(String name) {
+                return List.of(name, name);
+            }
+
+            @Override
+            public Optional<String> failByCode(String code) {
+                throw new IllegalStateException("실패");
+            }
+        });
+
+        var events = record(RepositoryCallEvent.class, () -> {
+            repository.findByCode("KRX");
+            repository.findByName("한국거래소");
+            assertThrows(IllegalStateException.class, () -> repository.failByCode("NYSE"));
+        });
+
+        assertEquals(3, events.size());
+        var findByCode = events.get(0);
+        assertEquals("CodeRepository", findByCode.getString("repository"));
+        assertEquals("findByCode", findByCode.getString("method"));
+        assertEquals("KRX", findByCode.getString("marketCode"));
+        assertEquals(1, findByCode.getInt("rows"));
+        assertFalse(findByCode.getBoolean("failed"));
+
+        var findByName = events.get(1);
+        assertEquals("findByName", findByName.getString("method"));
+        assertNull(findByName.getString("marketCode"), "@MarketCode 가 없는 String 파라미터는 거래소 코드로 기록하지 않는다.");
+        assertEquals(2, findByName.getInt("rows"));
+
+        var failByCode = events.get(2);
+        assertEquals("NYSE", failByCode.getString("marketCode"));
+        assertEquals(0, failByCode.getInt("rows"));
+        assertTrue(failByCode.getBoolean("failed"));
+    }
+
+    @Test
+    public void recording이_꺼져있으면_이벤트를_기록하지_않는다() {
+        assertFalse(new OutPortCallEvent().isEnabled());
+    }
+
+    private List<RecordedEvent> record(Class<? extends jdk.jfr.Event> eventType, Runnable action) throws Exception {
+        var file = Files.createTempFile("jfr-event-test", ".jfr");
+        try (var recording = new Recording()) {
+            recording.enable(eventType).withThreshold(Duration.ZERO);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static CodeRepository repositoryProxy(CodeRepository target) {
+        var proxyFactory = new ProxyFactory(target);
+        proxyFactory.addInterface(CodeRepository.class);
+        proxyFactory.addAdvice(new RepositoryCallInterceptor(CodeRepository.class));
+        return (CodeRepository) proxyFactory.getProxy();
+    }
+
+    interface CodeRepository {
+        Optional<String> findByCode(@MarketCode String code);
+
+        List<String> findByName(String name);
+
+        Optional<String> failByCode(@MarketCode String code);
+    }
+
+    @FunctionalInterface
+    interface FirstOutPort {
+        String getFirstData();
+    }
+
+    record MarketInput(@NotEmpty String code) implements BaseValidator {
+        MarketInput(String code) {
+            this.code = code;
+            validate();
+        }
+    }
+}
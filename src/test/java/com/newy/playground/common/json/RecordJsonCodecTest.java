@@ -0,0 +1,159 @@
+package com.newy.playground.common.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.newy.playground.common.validation.BaseValidator;
+import com.newy.playground.json.JsonCodecs;
+import com.newy.playground.json.JsonParseException;
+import com.newy.playground.json.JsonReader;
+import com.newy.playground.json.JsonRecord;
+import com.newy.playground.json.JsonWriteException;
+import com.newy.playground.json.JsonWriter;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class RecordJsonCodecTest {
+    private final JsonCodecs codecs = JsonCodecs.load(getClass().getClassLoader());
+
+    enum Side {
+        BUY, SELL
+    }
+
+    @JsonRecord
+    record Fee(BigDecimal rate, Long minimum) {
+    }
+
+    @JsonRecord
+    record OrderInput(@NotEmpty String code, @Min(1) long quantity, double price, Side side, Boolean postOnly, List<String> tags, List<Fee> fees) implements BaseValidator {
+        OrderInput(String code, long quantity, double price, Side side, Boolean postOnly, List<String> tags, List<Fee> fees) {
+            this.code = code;
+            this.quantity = quantity;
+            this.price = price;
+            this.side = side;
+            this.postOnly = postOnly;
+            this.tags = tags;
+            this.fees = fees;
+            validate();
+        }
+    }
+
+    private final OrderInput order = new OrderInput(
+            "KRW-BTC \"한글\" 🚀\n", 3, 50_123.25, Side.BUY, null,
+            List.of("a", "b"), List.of(new Fee(new BigDecimal("0.0005"), 10L), new Fee(BigDecimal.ONE, null))
+    );
+
+    @Test
+    public void 쓴_JSON_을_다시_읽으면_같은_Record_가_된다() throws IOException {
+        var codec = codecs.find(OrderInput.class);
+        assertNotNull(codec, "애노테이션 프로세서가 코덱을 등록해야 한다.");
+
+        assertEquals(order, codec.read(new JsonReader(write(order))));
+        assertEquals(order, codec.read(new JsonReader(new ByteArrayInputStream(write(order)), 16)), "버퍼보다 긴 입력도 읽는다.");
+    }
+
+    @Test
+    public void Jackson_과_같은_JSON_을_읽고_쓴다() throws IOException {
+        var mapper = new ObjectMapper();
+        var codec = codecs.find(OrderInput.class);
+
+        assertEquals(order, mapper.readValue(write(order), OrderInput.class));
+        assertEquals(order, codec.read(new JsonReader(mapper.writeValueAsBytes(order))));
+    }
+
+    @Test
+    public void 모르는_필드는_건너뛰고_없는_필드는_기본값을_사용한다() throws IOException {
+        var json = """
+                {"unknown": {"a": [1, 2.5e3, true, null, "\\"x"]}, "quantity": 10, "code": "K\\u0052W", "price": -1.5E2}
+                """;
+
+        var result = codecs.find(OrderInput.class).read(new JsonReader(json.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(new OrderInput("KRW", 10, -150, null, null, null, null), result);
+    }
+
+    @Test
+    public void 생성자의_입력_유효성_검증을_실행한다() {
+        var codec = codecs.find(OrderInput.class);
+
+        assertThrows(ConstraintViolationException.class, () -> codec.read(new JsonReader("{\"code\": \"\", \"quantity\": 1}".getBytes())));
+        assertThrows(ConstraintViolationException.class, () -> codec.read(new JsonReader("{\"code\": \"KRW\", \"quantity\": 0}".getBytes())));
+    }
+
+    @Test
+    public void JSON_형식_오류는_HttpMessageNotReadableException_으로_바꾼다() {
+        var converter = new RecordJsonHttpMessageConverter(codecs);
+        assertTrue(converter.canRead(OrderInput.class, null));
+        assertFalse(converter.canRead(String.class, null));
+
+        assertThrows(JsonParseException.class, () -> codecs.find(OrderInput.class).read(new JsonReader("{\"code\": \"KRW\",}".getBytes())));
+        assertThrows(HttpMessageNotReadableException.class, () -> converter.read(OrderInput.class, new MockHttpInputMessage("{\"quantity\": 1.5}".getBytes())));
+        assertThrows(HttpMessageNotReadableException.class, () -> converter.read(OrderInput.class, new MockHttpInputMessage("{\"code\": \"KRW\", \"quantity\": 1} {}".getBytes())));
+        assertThrows(JsonParseException.class, () -> codecs.find(OrderInput.class).read(new JsonReader("{\"side\": \"HOLD\"}".getBytes())));
+        assertThrows(HttpMessageNotReadableException.class, () -> converter.read(OrderInput.class, new MockHttpInputMessage("{\"code\": \"KRW\", \"quantity\": 1, \"side\": \"HOLD\"}".getBytes())), "없는 enum 상수");
+    }
+
+    @Test
+    public void 생성자의_입력_유효성_검증에_실패하면_400_을_반환한다() throws Exception {
+        var mockMvc = MockMvcBuilders.standaloneSetup(new OrderController())
+                .setMessageConverters(new RecordJsonHttpMessageConverter(codecs))
+                .build();
+
+        mockMvc.perform(post("/orders").contentType(MediaType.APPLICATION_JSON).content("{\"code\": \"KRW\", \"quantity\": 1}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value("KRW"));
+        mockMvc.perform(post("/orders").contentType(MediaType.APPLICATION_JSON).content("{\"code\": \"\", \"quantity\": 1}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(result -> assertInstanceOf(ConstraintViolationException.class, result.getResolvedException().getCause()));
+        mockMvc.perform(post("/orders").contentType(MediaType.APPLICATION_JSON).content("{\"code\": \"KRW\", \"quantity\": 0}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void NaN_과_Infinity_는_쓰지_않고_HttpMessageNotWritableException_으로_바꾼다() {
+        var converter = new RecordJsonHttpMessageConverter(codecs);
+
+        for (var price : new double[]{Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY}) {
+            var input = new OrderInput("KRW", 1, price, Side.SELL, null, null, null);
+            assertThrows(JsonWriteException.class, () -> write(input));
+            assertThrows(HttpMessageNotWritableException.class, () -> converter.write(input, MediaType.APPLICATION_JSON, new MockHttpOutputMessage()));
+        }
+    }
+
+    @RestController
+    static class OrderController {
+        @PostMapping("/orders")
+        public OrderInput create(@RequestBody OrderInput input) {
+            return input;
+        }
+    }
+
+    private byte[] write(OrderInput value) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        var writer = new JsonWriter(bytes, 16);
+        codecs.find(OrderInput.class).write(writer, value);
+        writer.flush();
+        return bytes.toByteArray();
+    }
+}
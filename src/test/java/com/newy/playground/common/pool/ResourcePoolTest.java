@@ -0,0 +1,108 @@
+package com.newy.playground.common.pool;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResourcePoolTest {
+    private final AtomicInteger opened = new AtomicInteger();
+
+    @Test
+    public void 반납한_리소스를_다시_대여한다() {
+        try (var pool = new ResourcePool<>(FakeResource::new, PoolConfig.defaults())) {
+            FakeResource first;
+            try (var lease = pool.borrow()) {
+                first = lease.get();
+            }
+            try (var lease = pool.borrow()) {
+                assertSame(first, lease.get());
+            }
+
+            var metrics = pool.metrics();
+            assertEquals(1, metrics.created());
+            assertEquals(2, metrics.borrows());
+            assertEquals(1, metrics.idle());
+            assertEquals(1, opened.get(), "try 블록이 끝나도 리소스를 닫지 않는다.");
+        }
+        assertEquals(0, opened.get(), "풀을 닫으면 유휴 리소스를 닫는다.");
+    }
+
+    @Test
+    public void 풀이_가득_차면_대기_시간_초과_예외가_발생한다() {
+        var config = PoolConfig.defaults().withMaxSize(1).withBorrowTimeout(Duration.ofMillis(10));
+        try (var pool = new ResourcePool<>(FakeResource::new, config); var ignored = pool.borrow()) {
+            assertThrows(ResourcePoolException.class, pool::borrow);
+            assertEquals(1, pool.metrics().timeouts());
+        }
+    }
+
+    @Test
+    public void 검증에_실패한_리소스는_해제하고_새로_생성한다() {
+        try (var pool = new ResourcePool<>(FakeResource::new, resource -> !resource.broken, PoolConfig.defaults())) {
+            try (var lease = pool.borrow()) {
+                lease.get().broken = true;
+            }
+            try (var lease = pool.borrow()) {
+                assertFalse(lease.get().broken);
+            }
+
+            var metrics = pool.metrics();
+            assertEquals(1, metrics.validationFailures());
+            assertEquals(2, metrics.created());
+            assertEquals(1, metrics.destroyed());
+        }
+    }
+
+    @Test
+    public void 오래된_유휴_리소스를_해제한다() {
+        var config = PoolConfig.defaults().withIdleTimeout(Duration.ZERO).withEvictionInterval(Duration.ZERO);
+        try (var pool = new ResourcePool<>(FakeResource::new, config)) {
+            pool.borrow().close();
+            pool.evictIdle();
+
+            assertEquals(0, pool.metrics().total());
+            assertEquals(1, pool.metrics().evicted());
+            assertEquals(0, opened.get());
+        }
+    }
+
+    @Test
+    public void 반납하지_않은_Lease가_GC되면_누수로_기록하고_리소스를_회수한다() throws InterruptedException {
+        var config = PoolConfig.defaults().withMaxSize(1).withLeakDetection(true);
+        try (var pool = new ResourcePool<>(FakeResource::new, config)) {
+            borrowWithoutClose(pool);
+
+            for (int i = 0; i < 50 && pool.metrics().leaks() == 0; i++) {
+                System.gc();
+                Thread.sleep(20);
+            }
+
+            assertEquals(1, pool.metrics().leaks());
+            assertEquals(0, opened.get());
+            assertDoesNotThrow(() -> pool.borrow().close(), "회수한 permit 으로 다시 대여할 수 있다.");
+        }
+    }
+
+    private void borrowWithoutClose(ResourcePool<FakeResource> pool) {
+        pool.borrow().get().increase();
+    }
+
+    class FakeResource implements AutoCloseable {
+        boolean broken;
+
+        FakeResource() {
+            opened.incrementAndGet();
+        }
+
+        void increase() {
+        }
+
+        @Override
+        public void close() {
+            opened.decrementAndGet();
+        }
+    }
+}
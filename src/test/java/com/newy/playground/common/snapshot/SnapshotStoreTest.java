@@ -0,0 +1,124 @@
+package com.newy.playground.common.snapshot;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SnapshotStoreTest {
+    private Path directory;
+    private SnapshotStore store;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("snapshot-store");
+        store = new SnapshotStore(directory, 2);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        store.close();
+        try (var files = Files.walk(directory)) {
+            for (var file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void 고정한_이후의_쓰기는_스냅샷에_반영되지_않고_쓴_페이지만_복사한다() {
+        var array = new CowLongArray(5_000);
+        array.set(0, 1);
+        array.set(4_999, 2);
+
+        var frozen = array.freeze();
+        array.set(0, 10);
+        array.add(1, 5);
+
+        assertEquals(1, frozen.get(0));
+        assertEquals(0, frozen.get(1));
+        assertEquals(2, frozen.get(4_999));
+        assertEquals(10, array.get(0));
+        assertEquals(1, array.copiedPages(), "같은 페이지에 여러 번 써도 1번만 복사한다.");
+    }
+
+    @Test
+    public void 저장한_스냅샷으로_복구한다() throws Exception {
+        var counter = new CounterComponent(100);
+        counter.values.set(3, 42);
+
+        var info = store.save(counter).get();
+        counter.values.set(3, 43); // 캡처 이후의 변경
+
+        var restored = new CounterComponent(100);
+        assertEquals(info.sequence(), store.restore(restored));
+        assertEquals(42, restored.values.get(3));
+        assertEquals(4 + 100 * Long.BYTES + 4, info.bytes() - headerSize("counter"), "배열 길이 + 값 + crc");
+    }
+
+    @Test
+    public void 최근_스냅샷이_깨졌으면_이전_스냅샷으로_복구한다() throws Exception {
+        var counter = new CounterComponent(10);
+        for (int i = 1; i <= 3; i++) {
+            counter.values.set(0, i);
+            counter.sequence = i;
+            store.save(counter).get();
+        }
+
+        var files = store.snapshots("counter");
+        assertEquals(2, files.size(), "최근 2개만 남긴다.");
+
+        try (var channel = FileChannel.open(files.getLast(), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{9, 9, 9}), headerSize("counter") + 8);
+        }
+
+        var restored = new CounterComponent(10);
+        assertEquals(2, store.restore(restored));
+        assertEquals(2, restored.values.get(0));
+    }
+
+    @Test
+    public void 스냅샷이_없으면_0부터_재생한다() throws IOException {
+        assertEquals(0, store.restore(new CounterComponent(10)));
+    }
+
+    // magic + format + name(UTF) + sequence
+    private static long headerSize(String name) {
+        return 4 + 4 + 2 + name.length() + 8;
+    }
+
+    static class CounterComponent implements SnapshotComponent {
+        final CowLongArray values;
+        long sequence = 7;
+
+        CounterComponent(int length) {
+            this.values = new CowLongArray(length);
+        }
+
+        @Override
+        public String name() {
+            return "counter";
+        }
+
+        @Override
+        public SnapshotImage capture() {
+            var frozen = values.freeze();
+            return new SnapshotImage(sequence, frozen::writeTo);
+        }
+
+        @Override
+        public void restore(DataInput in) throws IOException {
+            values.readFrom(in);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.newy.playground.market;
+
+import com.newy.playground.market.writebehind.MarketWriteBehindBuffer;
+import com.newy.playground.study.spring.test_config.TestContainerConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * write-behind 버퍼가 다른 스레드에서 커밋하기 때문에, 테스트 트랜잭션을 사용하지 않는다. (코드는 테스트마다 새로 만든다)
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestContainerConfig.class)
+public class MarketControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MarketService marketService;
+
+    @Autowired
+    private MarketRepository marketRepository;
+
+    @Autowired
+    private MarketWriteBehindBuffer writeBehindBuffer;
+
+    @Test
+    public void ID_로_거래소를_조회한다() throws Exception {
+        var market = marketService.create(uniqueCode());
+
+        mockMvc.perform(get("/markets/{id}", market.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(market.getId()))
+                .andExpect(jsonPath("$.code").value(market.getCode()));
+        mockMvc.perform(get("/markets/{id}", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/markets/{id}", "abc"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void 코드로_거래소를_조회한다() throws Exception {
+        var market = marketService.create(uniqueCode());
+
+        mockMvc.perform(get("/markets").param("code", market.getCode()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(market.getId()));
+        mockMvc.perform(get("/markets").param("code", uniqueCode()))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/markets"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void 거래소를_만든다() throws Exception {
+        var code = uniqueCode();
+
+        mockMvc.perform(post("/markets").contentType(MediaType.APPLICATION_JSON).content(body(code)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").isNumber())
+                .andExpect(jsonPath("$.code").value(code));
+        assertTrue(marketRepository.findByCode(code).isPresent());
+    }
+
+    @Test
+    public void 잘못된_요청으로_거래소를_만들면_400_을_반환한다() throws Exception {
+        mockMvc.perform(post("/markets").contentType(MediaType.APPLICATION_JSON).content(body(" ")))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/markets").contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/markets").contentType(MediaType.APPLICATION_JSON).content(body("X".repeat(51))))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/markets").contentType(MediaType.APPLICATION_JSON).content("{\"code\":"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void 코드_변경은_write_behind_버퍼로_쓴다() throws Exception {
+        var market = marketService.create(uniqueCode());
+        var first = uniqueCode();
+        var last = uniqueCode();
+
+        mockMvc.perform(put("/markets/{id}/code", market.getId()).contentType(MediaType.APPLICATION_JSON).content(body(first)))
+                .andExpect(status().isAccepted());
+        mockMvc.perform(put("/markets/{id}/code", market.getId()).contentType(MediaType.APPLICATION_JSON).content(body(last)))
+                .andExpect(status().isAccepted());
+
+        assertTrue(writeBehindBuffer.flush(Duration.ofSeconds(5)));
+        assertEquals(last, marketRepository.findById(market.getId()).orElseThrow().getCode());
+    }
+
+    @Test
+    public void 없는_거래소의_코드_변경은_404_를_반환한다() throws Exception {
+        mockMvc.perform(put("/markets/{id}/code", Long.MAX_VALUE).contentType(MediaType.APPLICATION_JSON).content(body("ABC")))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void 컬럼보다_긴_코드는_버퍼에_넣지_않고_400_을_반환한다() throws Exception {
+        var market = marketService.create(uniqueCode());
+
+        mockMvc.perform(put("/markets/{id}/code", market.getId()).contentType(MediaType.APPLICATION_JSON).content(body("X".repeat(51))))
+                .andExpect(status().isBadRequest());
+    }
+
+    static String uniqueCode() {
+        return "T-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    static String body(String code) {
+        return "{\"code\":\"" + code + "\"}";
+    }
+}
@@ -0,0 +1,78 @@
+package com.newy.playground.market;
+
+import com.newy.playground.study.spring.test_config.TestContainerConfig;
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(TestContainerConfig.class)
+public class MarketRepositoryTest {
+    @Autowired
+    private MarketRepository marketRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    public void 바이트코드_향상으로_엔티티가_변경된_필드를_추적한다() {
+        var id = marketRepository.save(new Market("ABC")).getId();
+        entityManager.flush();
+        entityManager.clear();
+
+        var market = marketRepository.findById(id).orElseThrow();
+        var tracker = assertInstanceOf(SelfDirtinessTracker.class, market, "빌드 시 엔티티에 SelfDirtinessTracker 가 추가된다.");
+        assertFalse(tracker.$$_hibernate_hasDirtyAttributes());
+
+        market.changeCode("XYZ");
+        assertArrayEquals(new String[]{"code"}, tracker.$$_hibernate_getDirtyAttributes());
+
+        entityManager.flush();
+        entityManager.clear();
+        assertEquals("XYZ", marketRepository.findById(id).orElseThrow().getCode());
+    }
+
+    @Test
+    public void 생성_변경_일시는_DB가_채운다() {
+        var id = marketRepository.save(new Market("ABC")).getId();
+        entityManager.flush();
+        entityManager.clear();
+
+        var market = marketRepository.findByCode("ABC").orElseThrow();
+        assertEquals(id, market.getId());
+        assertNotNull(market.getCreatedAt());
+        assertNotNull(market.getUpdatedAt());
+    }
+
+    /**
+     * PostgreSQL 의 NOW() 는 트랜잭션 시작 시간이기 때문에, 과거 일시로 INSERT 한 뒤 같은 트랜잭션에서 UPDATE 해서 확인한다.
+     */
+    @Test
+    public void 변경하면_DB가_변경_일시를_갱신한다() {
+        var code = "T-" + UUID.randomUUID().toString().substring(0, 8);
+        var past = LocalDateTime.of(2000, 1, 1, 0, 0);
+        entityManager.createNativeQuery("INSERT INTO market (code, created_at, updated_at) VALUES (:code, :past, :past)")
+                .setParameter("code", code)
+                .setParameter("past", past)
+                .executeUpdate();
+        var market = marketRepository.findByCode(code).orElseThrow();
+        assertEquals(past, market.getUpdatedAt());
+
+        market.changeCode("XYZ");
+        entityManager.flush();
+        entityManager.clear();
+
+        var updated = marketRepository.findById(market.getId()).orElseThrow();
+        assertEquals("XYZ", updated.getCode());
+        assertEquals(past, updated.getCreatedAt(), "생성 일시는 바뀌지 않는다.");
+        assertTrue(updated.getUpdatedAt().isAfter(past), "변경 일시는 MySQL 의 ON UPDATE, PostgreSQL 의 트리거가 갱신한다.");
+    }
+}
@@ -0,0 +1,150 @@
+package com.newy.playground.market.backtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.DoubleUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BacktestEngineTest {
+    private static final long MINUTE = 60_000;
+    private static final long DAY = 24 * 60 * MINUTE;
+
+    // 거래소마다 위상이 다른 사인파 가격을 10초 간격으로 만든다.
+    private final TickSource source = (marketId, from, to, handler) -> {
+        for (long t = Math.max(0, from - from % 10_000); t < to; t += 10_000) {
+            if (t >= from) {
+                handler.onTick(marketId, t, 100 + 10 * Math.sin(t / (double) (30 * MINUTE) + marketId), 1);
+            }
+        }
+    };
+
+    // 직전 가격보다 오르면 매수, 내리면 매도한다.
+    private final BacktestStrategy momentum = new BacktestStrategy(
+            "momentum",
+            () -> new DoubleUnaryOperator() {
+                private double previous = Double.NaN;
+
+                @Override
+                public double applyAsDouble(double price) {
+                    var change = Double.isNaN(previous) ? 0 : price - previous;
+                    previous = price;
+                    return change;
+                }
+            },
+            change -> change > 0,
+            change -> change < 0
+    );
+
+    private final long[] markets = {5, 3, 1, 4, 2, 3};
+    private final BacktestEngine engine = new BacktestEngine(source, BacktestConfig.defaults().withChunkMillis(DAY / 4).withWarmupMillis(MINUTE));
+
+    @Test
+    public void 스레드_수와_관계없이_결과가_같다() {
+        try (var single = new ForkJoinPool(1); var parallel = new ForkJoinPool(4)) {
+            var expected = engine.run(momentum, markets, 0, 2 * DAY, single);
+            var actual = engine.run(momentum, markets, 0, 2 * DAY, parallel);
+
+            assertEquals(expected.markets(), actual.markets());
+            assertEquals(expected.total(), actual.total());
+            assertEquals(5 * 8, actual.units());
+        }
+    }
+
+    @Test
+    public void 거래소_ID_순서로_결과를_합친다() {
+        var report = engine.run(momentum, markets, 0, DAY);
+
+        assertEquals(5, report.markets().size(), "중복된 거래소는 1번만 실행한다.");
+        for (int i = 0; i < report.markets().size(); i++) {
+            assertEquals(i + 1, report.markets().get(i).marketId());
+        }
+
+        var total = report.markets().stream().reduce(BacktestResult.empty(-1), BacktestResult::then);
+        assertEquals(total, report.total());
+        assertEquals(5 * DAY / 10_000, report.total().ticks(), "warm-up 틱은 세지 않는다.");
+        assertTrue(report.total().trades() > 0);
+    }
+
+    @Test
+    public void 구간_결과를_이어_붙이면_전체_자산_곡선의_최대_하락_폭을_계산한다() {
+        // 자산 곡선: 0 -> 5 -> 2 | -> -2 -> 3
+        var first = new BacktestResult(1, 0, 2, 1, 2, 5, 0, 3);
+        var second = new BacktestResult(1, 0, 2, 1, 1, 1, -4, 5);
+
+        var merged = first.then(second);
+
+        assertEquals(3, merged.pnl());
+        assertEquals(5, merged.peak());
+        assertEquals(-2, merged.trough());
+        assertEquals(7, merged.maxDrawdown());
+        assertEquals(0.5, merged.winRate());
+    }
+
+    @Test
+    public void 스레드_1개_대비_속도_향상을_측정한다() {
+        var report = engine.compareWithSingleThread(momentum, markets, 0, DAY, 2);
+
+        assertTrue(report.identical());
+        assertEquals(2, report.parallelism());
+    }
+
+    @Test
+    public void 기본_설정은_거래소마다_전체_기간을_이어서_실행한_결과와_같다() {
+        var continuous = new BacktestEngine(source, BacktestConfig.defaults().withWarmupMillis(MINUTE));
+        var report = continuous.run(momentum, markets, 0, 2 * DAY);
+
+        assertEquals(5, report.units(), "구간을 나누지 않는다.");
+        for (var result : report.markets()) {
+            var expected = runSequentially(result.marketId(), 0, 2 * DAY);
+            assertEquals(expected[0], result.trades());
+            assertEquals(expected[1], result.pnl(), 1e-9);
+        }
+
+        for (var chunkMillis : new long[]{2 * DAY, 10 * DAY}) {
+            var chunked = new BacktestEngine(source, BacktestConfig.defaults().withWarmupMillis(MINUTE).withChunkMillis(chunkMillis));
+            assertEquals(report.markets(), chunked.run(momentum, markets, 0, 2 * DAY).markets(), "구간이 전체 기간보다 길면 결과가 같다.");
+        }
+        assertNotEquals(report.markets(), engine.run(momentum, markets, 0, 2 * DAY).markets(), "구간을 나누면 구간 경계에서 청산한다.");
+    }
+
+    /**
+     * 엔진을 사용하지 않고, 거래소 1개의 전체 기간을 이어서 실행한다.
+     *
+     * @return {매매 수, 실현 손익}
+     */
+    private double[] runSequentially(long marketId, long from, long to) {
+        var signal = momentum.signalFactory().get();
+        var run = new Object() {
+            boolean holding;
+            double entryPrice;
+            double lastPrice;
+            long trades;
+            double pnl;
+
+            void close(double price) {
+                holding = false;
+                trades++;
+                pnl += price - entryPrice;
+            }
+        };
+        source.scan(marketId, from - MINUTE, to, (id, tradedAt, price, volume) -> {
+            var value = signal.applyAsDouble(price);
+            if (tradedAt < from) {
+                return;
+            }
+            run.lastPrice = price;
+            if (!run.holding && momentum.entry().test(value)) {
+                run.holding = true;
+                run.entryPrice = price;
+            } else if (run.holding && momentum.exit().test(value)) {
+                run.close(price);
+            }
+        });
+        if (run.holding) {
+            run.close(run.lastPrice);
+        }
+        return new double[]{run.trades, run.pnl};
+    }
+}
@@ -0,0 +1,144 @@
+package com.newy.playground.market.event;
+
+import com.newy.playground.market.orderbook.Side;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShardedEventProcessorTest {
+    @Test
+    public void 이벤트_타입별_메서드로_전달한다() {
+        var calls = new ArrayList<String>();
+        var handler = new MarketEventHandler() {
+            @Override
+            public void onQuote(QuoteEvent event) {
+                calls.add("quote");
+            }
+
+            @Override
+            public void onTrade(TradeEvent event) {
+                calls.add("trade");
+            }
+
+            @Override
+            public void onOrder(OrderEvent event) {
+                calls.add("order:" + event.action());
+            }
+
+            @Override
+            public void onStatus(StatusEvent event) {
+                calls.add("status:" + event.status());
+            }
+        };
+
+        handler.onEvent(new QuoteEvent(1, 0, 99, 101));
+        handler.onEvent(new TradeEvent(1, 0, 100, 1));
+        handler.onEvent(new OrderEvent(1, 0, OrderEvent.Action.ADD, 7, Side.BUY, 100, 1));
+        handler.onEvent(new StatusEvent(1, 0, StatusEvent.Status.HALTED));
+
+        assertEquals(List.of("quote", "trade", "order:ADD", "status:HALTED"), calls);
+    }
+
+    @Test
+    public void 큐가_가득_차면_거절하고_들어온_순서대로_꺼낸다() {
+        var queue = new MpscArrayQueue<Integer>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(i));
+        }
+        assertFalse(queue.offer(4));
+        assertEquals(4, queue.size());
+
+        var drained = new ArrayList<Integer>();
+        assertEquals(3, queue.drain(drained::add, 3));
+        assertTrue(queue.offer(4));
+        assertEquals(2, queue.drain(drained::add, 10));
+
+        assertEquals(List.of(0, 1, 2, 3, 4), drained);
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void 같은_거래소의_이벤트는_같은_샤드에서_보낸_순서대로_처리한다() throws InterruptedException {
+        var producers = 4;
+        var marketsPerProducer = 25;
+        var eventsPerMarket = 2_000;
+        var threadsByMarket = new ConcurrentHashMap<Long, String>();
+        var violations = new AtomicLong();
+        var config = ProcessorConfig.defaults().withShards(4).withQueueCapacity(1_024).withMaxBatchSize(64);
+
+        var processor = new ShardedEventProcessor(config, shard -> new MarketEventHandler() {
+            // 샤드 스레드에서만 사용하기 때문에 동기화하지 않는다.
+            private final Map<Long, Long> lastTimestamps = new HashMap<>();
+
+            @Override
+            public void onTrade(TradeEvent event) {
+                var previous = lastTimestamps.put(event.marketId(), event.timestamp());
+                if (previous != null && previous >= event.timestamp()) {
+                    violations.incrementAndGet();
+                }
+                var thread = Thread.currentThread().getName();
+                if (!thread.equals(threadsByMarket.computeIfAbsent(event.marketId(), id -> thread))) {
+                    violations.incrementAndGet();
+                }
+            }
+        });
+        processor.start();
+
+        var threads = new ArrayList<Thread>();
+        for (int p = 0; p < producers; p++) {
+            var firstMarket = p * marketsPerProducer;
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < eventsPerMarket; i++) {
+                    for (int m = 0; m < marketsPerProducer; m++) {
+                        processor.publish(new TradeEvent(firstMarket + m, i, 100, 1));
+                    }
+                }
+            }));
+        }
+        for (var thread : threads) {
+            thread.join();
+        }
+        processor.close();
+
+        assertEquals(0, violations.get());
+        assertEquals(producers * marketsPerProducer, threadsByMarket.size());
+
+        var metrics = processor.metrics();
+        assertEquals(4, metrics.size());
+        assertEquals((long) producers * marketsPerProducer * eventsPerMarket, metrics.stream().mapToLong(ShardMetrics::processed).sum());
+        for (var shard : metrics) {
+            assertEquals(0, shard.queueDepth());
+            assertTrue(shard.maxBatchSize() <= 64);
+            assertTrue(shard.processed() > 0, "연속된 market.id 도 모든 샤드에 나뉜다.");
+        }
+    }
+
+    @Test
+    public void 처리하지_못한_이벤트가_큐에_쌓이면_거절한다() {
+        var processor = new ShardedEventProcessor(
+                ProcessorConfig.defaults().withShards(1).withQueueCapacity(2).withIdlePark(Duration.ofMillis(1)),
+                shard -> new MarketEventHandler() {
+                }
+        );
+
+        assertTrue(processor.offer(new TradeEvent(1, 0, 1, 1)));
+        assertTrue(processor.offer(new TradeEvent(2, 0, 1, 1)));
+        assertFalse(processor.offer(new TradeEvent(3, 0, 1, 1)), "처리기를 시작하지 않았다.");
+
+        var metrics = processor.metrics().getFirst();
+        assertEquals(2, metrics.queueDepth());
+        assertEquals(1, metrics.rejected());
+
+        processor.start();
+        processor.close();
+        assertEquals(2, processor.metrics().getFirst().processed());
+    }
+}
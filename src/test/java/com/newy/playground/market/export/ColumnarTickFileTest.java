@@ -0,0 +1,139 @@
+package com.newy.playground.market.export;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ColumnarTickFileTest {
+    private Path directory;
+    private Path file;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("columnar-tick");
+        file = directory.resolve("ticks.tcol");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        try (var files = Files.walk(directory)) {
+            for (var path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test
+    public void close_를_여러_번_호출해도_파일을_한_번만_완성한다() throws IOException {
+        var writer = ColumnarTickWriter.open(file, 10);
+        writer.append(1, "KRW-1", 1_000, 100.0, 1.0);
+        writer.close();
+        var size = Files.size(file);
+
+        assertDoesNotThrow(writer::close);
+        assertEquals(size, Files.size(file));
+        try (var reader = ColumnarTickReader.open(file)) {
+            assertEquals(1, reader.rowCount());
+        }
+    }
+
+    @Test
+    public void 쓴_행을_같은_순서로_읽는다() throws IOException {
+        var expected = new ArrayList<String>();
+        try (var writer = ColumnarTickWriter.open(file, 100)) {
+            for (int i = 0; i < 250; i++) {
+                var marketId = 1 + i / 100;
+                var code = "KRW-" + marketId;
+                writer.append(marketId, code, 1_000L + i, 100.0 + i * 0.25, i % 7);
+                expected.add(row(marketId, code, 1_000L + i, 100.0 + i * 0.25, i % 7));
+            }
+        }
+
+        var actual = new ArrayList<String>();
+        try (var reader = ColumnarTickReader.open(file)) {
+            var result = reader.scan(EnumSet.allOf(TickColumn.class), (marketId, code, tradedAt, price, volume) ->
+                    actual.add(row(marketId, code, tradedAt, price, volume)));
+
+            assertEquals(List.of("KRW-1", "KRW-2", "KRW-3"), reader.dictionary());
+            assertEquals(3, reader.blocks().size());
+            assertEquals(250, reader.rowCount());
+            assertEquals(250, result.rows());
+        }
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void 요청하지_않은_컬럼은_읽지_않는다() throws IOException {
+        try (var writer = ColumnarTickWriter.open(file, 10)) {
+            for (int i = 0; i < 30; i++) {
+                writer.append(7, "KRW-BTC", i, i * 2.0, 1.0);
+            }
+        }
+
+        var sum = new AtomicLong();
+        try (var reader = ColumnarTickReader.open(file)) {
+            reader.scan(EnumSet.of(TickColumn.PRICE), (marketId, code, tradedAt, price, volume) -> {
+                assertEquals(0, marketId);
+                assertNull(code);
+                assertEquals(0, tradedAt);
+                assertEquals(0.0, volume);
+                sum.addAndGet((long) price);
+            });
+        }
+        assertEquals(2 * (29 * 30 / 2), sum.get());
+    }
+
+    @Test
+    public void 구간_밖의_블록은_건너뛴다() throws IOException {
+        try (var writer = ColumnarTickWriter.open(file, 100)) {
+            for (int i = 0; i < 1_000; i++) {
+                writer.append(1, "KRW-BTC", i, i, 1);
+            }
+        }
+
+        var tradedAts = new ArrayList<Long>();
+        try (var reader = ColumnarTickReader.open(file)) {
+            // [250, 420) 은 블록 2, 3, 4 에 걸쳐 있다.
+            var result = reader.scan(250, 420, EnumSet.of(TickColumn.PRICE), (marketId, code, tradedAt, price, volume) ->
+                    tradedAts.add((long) price));
+
+            assertEquals(3, result.blocksRead());
+            assertEquals(7, result.blocksSkipped());
+            assertEquals(170, result.rows());
+        }
+        assertEquals(250, tradedAts.getFirst().longValue());
+        assertEquals(419, tradedAts.getLast().longValue());
+    }
+
+    @Test
+    public void 압축_파일은_원본_레코드보다_작다() throws IOException {
+        try (var writer = ColumnarTickWriter.open(file, 4_096)) {
+            for (int i = 0; i < 20_000; i++) {
+                writer.append(i / 5_000, "KRW-" + i / 5_000, 1_700_000_000_000L + i * 100L, 50_000 + (i % 10), i % 3);
+            }
+        }
+        // 행마다 long 2개 + double 2개 + code
+        assertTrue(Files.size(file) < 20_000L * 32 / 4, "size=" + Files.size(file));
+    }
+
+    @Test
+    public void footer_가_없는_파일은_열지_않는다() throws IOException {
+        Files.write(file, new byte[]{0x54, 0x43, 0x4F, 0x4C, 0, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0});
+        assertThrows(IOException.class, () -> ColumnarTickReader.open(file));
+    }
+
+    private static String row(long marketId, String code, long tradedAt, double price, double volume) {
+        return marketId + "," + code + "," + tradedAt + "," + price + "," + volume;
+    }
+}
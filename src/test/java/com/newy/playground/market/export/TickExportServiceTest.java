@@ -0,0 +1,86 @@
+package com.newy.playground.market.export;
+
+import com.newy.playground.market.Market;
+import com.newy.playground.market.MarketRepository;
+import com.newy.playground.market.timeseries.Tick;
+import com.newy.playground.market.timeseries.TickRepository;
+import com.newy.playground.market.timeseries.TimeSeriesConfig;
+import com.newy.playground.market.timeseries.TimeSeriesPartitionManager;
+import com.newy.playground.study.spring.test_config.TestContainerConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@Import({TestContainerConfig.class, TimeSeriesConfig.class, TickRepository.class, TimeSeriesPartitionManager.class, TickExportService.class})
+public class TickExportServiceTest {
+    @Autowired
+    private MarketRepository marketRepository;
+
+    @Autowired
+    private TickRepository tickRepository;
+
+    @Autowired
+    private TimeSeriesPartitionManager partitionManager;
+
+    @Autowired
+    private TickExportService exportService;
+
+    private final LocalDate today = LocalDate.now(ZoneOffset.UTC);
+    private final long todayMillis = today.atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+    private Path file;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        partitionManager.maintain(today);
+        file = Files.createTempFile("tick-export", ".tcol");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void 구간의_틱을_거래소_시간_순서로_내보내고_다시_읽는다() throws IOException {
+        var first = marketRepository.saveAndFlush(new Market("KRW-A")).getId();
+        var second = marketRepository.saveAndFlush(new Market("KRW-B")).getId();
+        tickRepository.insertAll(List.of(
+                new Tick(second, todayMillis + 1_000, 200.0, 1.0),
+                new Tick(first, todayMillis + 2_000, 101.0, 2.0),
+                new Tick(first, todayMillis + 1_000, 100.0, 3.0),
+                new Tick(first, todayMillis + 10_000, 102.0, 4.0)
+        ));
+
+        var result = exportService.export(todayMillis, todayMillis + 10_000, file, 2);
+
+        assertEquals(3, result.rows(), "to 는 포함하지 않는다.");
+        assertEquals(2, result.blocks());
+        assertEquals(Files.size(file), result.bytes());
+
+        var rows = new ArrayList<String>();
+        try (var reader = ColumnarTickReader.open(file)) {
+            reader.scan(EnumSet.allOf(TickColumn.class), (marketId, code, tradedAt, price, volume) ->
+                    rows.add(marketId + "/" + code + "/" + (tradedAt - todayMillis) + "/" + price + "/" + volume));
+        }
+        assertEquals(List.of(
+                first + "/KRW-A/1000/100.0/3.0",
+                first + "/KRW-A/2000/101.0/2.0",
+                second + "/KRW-B/1000/200.0/1.0"
+        ), rows);
+    }
+}
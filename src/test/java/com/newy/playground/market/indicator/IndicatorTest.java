@@ -0,0 +1,148 @@
+package com.newy.playground.market.indicator;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndicatorTest {
+    private static final double DELTA = 1e-9;
+
+    private final double[] prices = new Random(7).doubles(500, 90, 110).toArray();
+
+    @Test
+    public void 이동_평균은_구간을_다시_계산한_값과_같다() {
+        var sma = new Sma(20);
+        for (int i = 0; i < prices.length; i++) {
+            var value = sma.applyAsDouble(prices[i]);
+            if (i < 19) {
+                assertTrue(Double.isNaN(value));
+            } else {
+                assertEquals(mean(i - 19, i + 1), value, DELTA);
+            }
+        }
+    }
+
+    @Test
+    public void 긴_스트림에서도_이동_평균에_오차가_쌓이지_않는다() {
+        var sma = new Sma(20);
+        var largePrices = new Random(11).doubles(1_000_000, 0, 1).map(noise -> 100_000 + noise).toArray();
+        for (int i = 0; i < largePrices.length; i++) {
+            var value = sma.applyAsDouble(largePrices[i]);
+            if (i < 19) {
+                continue;
+            }
+            assertEquals(Arrays.stream(largePrices, i - 19, i + 1).average().orElseThrow(), value, DELTA, "i=" + i);
+        }
+    }
+
+    @Test
+    public void 표준_편차와_볼린저_밴드는_구간을_다시_계산한_값과_같다() {
+        var deviation = new RollingStdDev(20);
+        var bands = new BollingerBands(20, 2);
+        for (int i = 0; i < prices.length; i++) {
+            deviation.applyAsDouble(prices[i]);
+            var percentB = bands.applyAsDouble(prices[i]);
+            if (i < 19) {
+                continue;
+            }
+
+            var mean = mean(i - 19, i + 1);
+            var expected = Math.sqrt(Arrays.stream(prices, i - 19, i + 1).map(p -> (p - mean) * (p - mean)).sum() / 20);
+            assertEquals(expected, deviation.value(), 1e-6);
+            assertEquals(mean + 2 * expected, bands.upper(), 1e-6);
+            assertEquals((prices[i] - bands.lower()) / (bands.upper() - bands.lower()), percentB, DELTA);
+        }
+    }
+
+    @Test
+    public void 크고_거의_일정한_가격에서도_표준_편차를_잃지_않는다() {
+        var deviation = new RollingStdDev(20);
+        var largePrices = new Random(11).doubles(100_000, 0, 0.01).map(noise -> 100_000 + noise).toArray();
+        for (int i = 0; i < largePrices.length; i++) {
+            deviation.applyAsDouble(largePrices[i]);
+            if (i < 19 || i % 1_000 != 0) {
+                continue;
+            }
+
+            var mean = Arrays.stream(largePrices, i - 19, i + 1).average().orElseThrow();
+            var expected = Math.sqrt(Arrays.stream(largePrices, i - 19, i + 1).map(p -> (p - mean) * (p - mean)).sum() / 20);
+            assertEquals(expected, deviation.value(), expected * 1e-5, "i=" + i);
+            assertEquals(mean, deviation.mean(), 1e-6);
+        }
+    }
+
+    @Test
+    public void 지수_이동_평균은_단순_평균으로_시작한다() {
+        var ema = new Ema(3);
+        assertTrue(Double.isNaN(ema.applyAsDouble(1)));
+        assertTrue(Double.isNaN(ema.applyAsDouble(2)));
+        assertEquals(2, ema.applyAsDouble(3), DELTA);
+        assertEquals(2 + 0.5 * (6 - 2), ema.applyAsDouble(6), DELTA);
+    }
+
+    @Test
+    public void RSI_는_오르기만_하면_100_내리기만_하면_0_이다() {
+        var rising = new Rsi(5);
+        var falling = new Rsi(5);
+        for (int i = 0; i < 10; i++) {
+            rising.applyAsDouble(i);
+            falling.applyAsDouble(-i);
+        }
+        assertEquals(100, rising.value(), DELTA);
+        assertEquals(0, falling.value(), DELTA);
+
+        var rsi = new Rsi(2);
+        rsi.applyAsDouble(10);
+        rsi.applyAsDouble(12); // +2
+        assertEquals(80, rsi.applyAsDouble(11.5), DELTA, "평균 이익 1, 평균 손실 0.25"); // -0.5
+    }
+
+    @Test
+    public void VWAP_는_구간의_거래량_가중_평균이다() {
+        var vwap = new Vwap(2);
+        assertTrue(Double.isNaN(vwap.applyAsDouble(100, 1)));
+        assertEquals((100 * 1 + 110 * 3) / 4.0, vwap.applyAsDouble(110, 3), DELTA);
+        assertEquals((110 * 3 + 90 * 1) / 4.0, vwap.applyAsDouble(90, 1), DELTA);
+    }
+
+    @Test
+    public void 지표를_연결하면_앞_지표가_준비된_이후의_값만_넘긴다() {
+        var chained = new Sma(2).andThen(new Sma(2));
+        assertTrue(Double.isNaN(chained.applyAsDouble(1)));
+        assertTrue(Double.isNaN(chained.applyAsDouble(3)), "첫 번째 SMA 값 2 만 들어갔다.");
+        assertEquals((2 + 4) / 2.0, chained.applyAsDouble(5), DELTA);
+        assertTrue(chained.isReady());
+
+        chained.reset();
+        assertFalse(chained.isReady());
+    }
+
+    @Test
+    public void 갱신할_때_객체를_만들지_않는다() {
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        var indicator = new Rsi(14).andThen(new Ema(9)).andThen(new BollingerBands(20, 2));
+        var vwap = new Vwap(100);
+
+        var sink = 0.0;
+        for (int i = 0; i < 100_000; i++) {
+            sink += indicator.applyAsDouble(prices[i % prices.length]) + vwap.applyAsDouble(prices[i % prices.length], i & 7);
+        }
+
+        var before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 1_000_000; i++) {
+            sink += indicator.applyAsDouble(prices[i % prices.length]) + vwap.applyAsDouble(prices[i % prices.length], i & 7);
+        }
+        var allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertFalse(Double.isInfinite(sink));
+        assertTrue(allocated < 64 * 1024, "1백만 번 갱신에 할당한 바이트=" + allocated);
+    }
+
+    private double mean(int from, int to) {
+        return Arrays.stream(prices, from, to).sum() / (to - from);
+    }
+}
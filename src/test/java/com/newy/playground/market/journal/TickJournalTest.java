@@ -0,0 +1,161 @@
+package com.newy.playground.market.journal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TickJournalTest {
+    private final JournalConfig config = JournalConfig.defaults().withSegmentRecords(100).withIndexInterval(10);
+    private Path directory;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("tick-journal");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        try (var files = Files.walk(directory)) {
+            for (var file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void 세그먼트가_가득_차면_다음_세그먼트에_기록한다() throws IOException {
+        try (var journal = TickJournal.open(directory, config)) {
+            appendTicks(journal, 250);
+
+            assertEquals(250, journal.size());
+            assertEquals(3, journal.segmentCount());
+        }
+    }
+
+    @Test
+    public void 다시_열면_기록한_레코드를_순서대로_재생한다() throws IOException {
+        try (var journal = TickJournal.open(directory, config)) {
+            appendTicks(journal, 250);
+            journal.appendMarketEvent(1, 250_000, 7, 1.5);
+        }
+
+        try (var journal = TickJournal.open(directory, config)) {
+            assertEquals(251, journal.size());
+
+            var timestamps = new ArrayList<Long>();
+            var events = new ArrayList<String>();
+            journal.replay((type, marketId, timestamp, value1, value2) -> {
+                timestamps.add(timestamp);
+                if (type == TickJournal.MARKET_EVENT) {
+                    events.add(marketId + ":" + (int) value1 + ":" + value2);
+                }
+            });
+
+            assertEquals(251, timestamps.size());
+            assertEquals(timestamps.stream().sorted().toList(), timestamps);
+            assertEquals(List.of("1:7:1.5"), events);
+
+            journal.appendTick(1, 251_000, 1, 1);
+            assertEquals(252, journal.size(), "마지막 세그먼트 뒤에 이어서 기록한다.");
+        }
+    }
+
+    @Test
+    public void 시간_구간과_거래소로_재생한다() throws IOException {
+        try (var journal = TickJournal.open(directory, config)) {
+            appendTicks(journal, 250);
+
+            var count = new AtomicLong();
+            journal.replay(100_000, 150_000, (type, marketId, timestamp, value1, value2) -> {
+                assertTrue(timestamp >= 100_000 && timestamp < 150_000);
+                count.incrementAndGet();
+            });
+            assertEquals(50, count.get());
+
+            var prices = new ArrayList<Double>();
+            journal.replayTicks(2, (marketId, tradedAt, price, volume) -> prices.add(price));
+            assertEquals(83, prices.size());
+            assertEquals(2.0, (double) prices.getFirst());
+        }
+    }
+
+    @Test
+    public void 거래소_1개의_시간_구간_틱만_재생한다() throws IOException {
+        try (var journal = TickJournal.open(directory, config)) {
+            appendTicks(journal, 250);
+            journal.appendMarketEvent(2, 120_000, 1, 0);
+
+            var timestamps = new ArrayList<Long>();
+            journal.replayTicks(2, 95_000, 201_000, (marketId, tradedAt, price, volume) -> {
+                assertEquals(2, marketId);
+                timestamps.add(tradedAt);
+            });
+
+            assertEquals(36, timestamps.size(), "세그먼트 경계(100)를 넘는 구간도 재생한다.");
+            assertEquals(95_000, (long) timestamps.getFirst());
+            assertEquals(200_000, (long) timestamps.getLast());
+        }
+    }
+
+    @Test
+    public void 마지막에_쓰다가_깨진_레코드는_다시_열_때_버린다() throws IOException {
+        try (var journal = TickJournal.open(directory, config)) {
+            appendTicks(journal, 5);
+        }
+        corrupt(JournalSegment.fileOf(directory, 0), 4);
+
+        try (var journal = TickJournal.open(directory, config)) {
+            assertEquals(4, journal.size());
+        }
+    }
+
+    @Test
+    public void 완성된_세그먼트의_레코드가_깨지면_재생할_때_예외가_발생한다() throws IOException {
+        try (var journal = TickJournal.open(directory, config)) {
+            appendTicks(journal, 150);
+        }
+        corrupt(JournalSegment.fileOf(directory, 0), 10);
+
+        try (var journal = TickJournal.open(directory, config)) {
+            assertThrows(JournalCorruptedException.class, () -> journal.replay((type, marketId, timestamp, value1, value2) -> {
+            }));
+        }
+    }
+
+    @Test
+    public void 지정한_sequence_부터_재생한다() throws IOException {
+        try (var journal = TickJournal.open(directory, config)) {
+            appendTicks(journal, 250);
+
+            var sequence = new AtomicLong(95);
+            journal.replayFrom(95, (type, marketId, timestamp, value1, value2) ->
+                    assertEquals(sequence.getAndIncrement(), (long) value1));
+            assertEquals(250, sequence.get());
+        }
+    }
+
+    private void appendTicks(TickJournal journal, int count) {
+        for (int i = 0; i < count; i++) {
+            journal.appendTick(i % 3, i * 1_000L, i, 1);
+        }
+    }
+
+    private void corrupt(Path file, int recordIndex) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{1, 2, 3}), (long) recordIndex * JournalSegment.RECORD_SIZE + JournalSegment.VALUE1);
+        }
+    }
+}
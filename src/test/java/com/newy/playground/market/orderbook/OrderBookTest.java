@@ -0,0 +1,232 @@
+package com.newy.playground.market.orderbook;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrderBookTest {
+    private final List<String> trades = new ArrayList<>();
+    private final MatchListener recorder = (maker, taker, price, quantity) ->
+            trades.add(maker + "<-" + taker + "@" + price + "x" + quantity);
+
+    @Test
+    public void 최우선_호가와_호가_잔량을_조회한다() {
+        var book = new OrderBook(1, 16, 16);
+        assertEquals(OrderBook.NO_PRICE, book.bestBid());
+        assertEquals(OrderBook.NO_PRICE, book.bestAsk());
+
+        book.add(1, Side.BUY, 99, 10, recorder);
+        book.add(2, Side.BUY, 100, 5, recorder);
+        book.add(3, Side.BUY, 100, 7, recorder);
+        book.add(4, Side.SELL, 102, 3, recorder);
+        book.add(5, Side.SELL, 101, 4, recorder);
+
+        assertEquals(100, book.bestBid());
+        assertEquals(12, book.bestBidQuantity());
+        assertEquals(101, book.bestAsk());
+        assertEquals(4, book.bestAskQuantity());
+        assertEquals(5, book.orderCount());
+        assertEquals(2, book.levelCount(Side.BUY));
+        assertTrue(trades.isEmpty());
+
+        var prices = new long[5];
+        var quantities = new long[5];
+        assertEquals(2, book.depth(Side.SELL, 5, prices, quantities));
+        assertArrayEquals(new long[]{101, 102}, Arrays.copyOf(prices, 2));
+        assertArrayEquals(new long[]{4, 3}, Arrays.copyOf(quantities, 2));
+    }
+
+    @Test
+    public void 가격_우선_시간_우선으로_체결한다() {
+        var book = new OrderBook(1, 16, 16);
+        book.add(1, Side.SELL, 101, 5, recorder);
+        book.add(2, Side.SELL, 100, 3, recorder);
+        book.add(3, Side.SELL, 100, 4, recorder);
+
+        var remaining = book.add(10, Side.BUY, 101, 10, recorder);
+
+        assertEquals(0, remaining);
+        assertEquals(List.of("2<-10@100x3", "3<-10@100x4", "1<-10@101x3"), trades);
+        assertEquals(101, book.bestAsk());
+        assertEquals(2, book.bestAskQuantity());
+        assertEquals(OrderBook.NO_PRICE, book.bestBid());
+    }
+
+    @Test
+    public void 체결하고_남은_수량은_호가창에_등록한다() {
+        var book = new OrderBook(1, 16, 16);
+        book.add(1, Side.BUY, 100, 5, recorder);
+
+        var remaining = book.add(2, Side.SELL, 99, 8, recorder);
+
+        assertEquals(3, remaining);
+        assertEquals(List.of("1<-2@100x5"), trades);
+        assertEquals(OrderBook.NO_PRICE, book.bestBid());
+        assertEquals(99, book.bestAsk());
+        assertEquals(1, book.orderCount());
+    }
+
+    @Test
+    public void 주문을_취소한다() {
+        var book = new OrderBook(1, 16, 16);
+        book.add(1, Side.BUY, 100, 5, recorder);
+        book.add(2, Side.BUY, 100, 6, recorder);
+
+        assertTrue(book.cancel(1));
+        assertFalse(book.cancel(1), "이미 취소한 주문");
+        assertEquals(6, book.bestBidQuantity());
+
+        assertTrue(book.cancel(2));
+        assertEquals(OrderBook.NO_PRICE, book.bestBid());
+        assertEquals(0, book.levelCount(Side.BUY));
+        assertEquals(0, book.orderCount());
+    }
+
+    @Test
+    public void 수량만_줄이면_시간_우선_순위를_유지한다() {
+        var book = new OrderBook(1, 16, 16);
+        book.add(1, Side.SELL, 100, 5, recorder);
+        book.add(2, Side.SELL, 100, 5, recorder);
+
+        book.modify(1, 100, 2, recorder);
+        book.add(10, Side.BUY, 100, 3, recorder);
+
+        assertEquals(List.of("1<-10@100x2", "2<-10@100x1"), trades);
+    }
+
+    @Test
+    public void 가격을_바꾸거나_수량을_늘리면_순위를_잃고_매칭될_수_있다() {
+        var book = new OrderBook(1, 16, 16);
+        book.add(1, Side.SELL, 100, 5, recorder);
+        book.add(2, Side.SELL, 100, 5, recorder);
+        book.add(3, Side.BUY, 98, 4, recorder);
+
+        book.modify(1, 100, 6, recorder);
+        book.add(10, Side.BUY, 100, 5, recorder);
+        assertEquals(List.of("2<-10@100x5"), trades);
+
+        book.modify(3, 100, 4, recorder);
+        assertEquals(List.of("2<-10@100x5", "1<-3@100x4"), trades);
+        assertEquals(2, book.bestAskQuantity());
+    }
+
+    @Test
+    public void 잘못된_주문은_예외가_발생한다() {
+        var book = new OrderBook(1, 1, 1);
+        book.add(1, Side.BUY, 100, 5, recorder);
+
+        assertThrows(IllegalArgumentException.class, () -> book.add(1, Side.BUY, 100, 5, recorder));
+        assertThrows(IllegalArgumentException.class, () -> book.add(2, Side.BUY, 100, 0, recorder));
+        assertThrows(IllegalStateException.class, () -> book.add(2, Side.BUY, 100, 5, recorder));
+    }
+
+    @Test
+    public void 잘못된_가격으로_정정하면_호가창을_바꾸지_않는다() {
+        var book = new OrderBook(1, 16, 16);
+        book.add(1, Side.BUY, 100, 5, recorder);
+        book.add(2, Side.BUY, 100, 5, recorder);
+
+        assertThrows(IllegalArgumentException.class, () -> book.modify(1, OrderBook.NO_PRICE, 10, recorder));
+        assertEquals(2, book.orderCount());
+        assertEquals(100, book.bestBid());
+        assertEquals(10, book.bestBidQuantity());
+
+        book.add(3, Side.SELL, 100, 5, recorder);
+        assertEquals(List.of("1<-3@100x5"), trades, "시간 우선 순위도 유지한다.");
+    }
+
+    @Test
+    public void 가격_단계가_가득_차면_체결하기_전에_예외가_발생한다() {
+        var book = new OrderBook(1, 16, 2);
+        book.add(1, Side.BUY, 100, 5, recorder);
+        book.add(2, Side.BUY, 100, 5, recorder);
+        book.add(3, Side.BUY, 99, 5, recorder);
+        book.add(4, Side.SELL, 101, 5, recorder);
+
+        assertThrows(IllegalStateException.class, () -> book.add(5, Side.BUY, 98, 5, recorder));
+        assertThrows(IllegalStateException.class, () -> book.add(5, Side.BUY, 101, 10, recorder), "남은 수량을 등록할 수 없으면 체결하지 않는다.");
+        assertTrue(trades.isEmpty());
+        assertEquals(5, book.bestAskQuantity());
+        assertEquals(4, book.orderCount());
+
+        assertThrows(IllegalStateException.class, () -> book.modify(1, 97, 5, recorder));
+        assertEquals(10, book.bestBidQuantity(), "정정에 실패하면 원래 주문으로 되돌린다.");
+        assertEquals(4, book.orderCount());
+
+        assertEquals(0, book.add(5, Side.BUY, 101, 5, recorder), "모두 체결되면 가격 단계가 필요 없다.");
+        assertEquals(List.of("4<-5@101x5"), trades);
+    }
+
+    @Test
+    public void 주문_슬롯이_가득_차도_체결로_슬롯이_반환되면_등록한다() {
+        var book = new OrderBook(1, 2, 16);
+        book.add(1, Side.SELL, 101, 5, recorder);
+        book.add(2, Side.SELL, 102, 5, recorder);
+
+        assertThrows(IllegalStateException.class, () -> book.add(3, Side.BUY, 100, 1, recorder));
+        assertEquals(3, book.add(3, Side.BUY, 101, 8, recorder));
+        assertEquals(List.of("1<-3@101x5"), trades);
+        assertEquals(101, book.bestBid());
+        assertEquals(2, book.orderCount());
+    }
+
+    @Test
+    public void 같은_주문_순서를_재생하면_같은_체결과_호가창이_만들어진다() {
+        var first = replay(42);
+        var second = replay(42);
+
+        assertEquals(first, second);
+        assertFalse(first.isEmpty());
+
+        // 기준 결과. 매칭 규칙을 바꾸지 않았는데 값이 달라지면 회귀다.
+        var expectedTrades = first.subList(0, first.size() - 2);
+        assertEquals(1_615, expectedTrades.size());
+        assertEquals("9<-10@1001x30", expectedTrades.getFirst());
+        assertEquals("8854<-8862@999x42", expectedTrades.getLast());
+        assertEquals(-674_971_581, String.join(",", expectedTrades).hashCode());
+        assertEquals(List.of(
+                "BUY[1000, 999, 998, 997, 996, 995, 994, 993, 992, 991][109, 209, 2163, 5867, 6410, 6130, 5769, 6335, 6293, 6628]",
+                "SELL[1001, 1002, 1003, 1004, 1005, 1006, 1007, 1008, 1009, 1010][20, 3836, 5179, 5708, 6562, 6110, 6967, 6446, 7210, 6205]"
+        ), first.subList(first.size() - 2, first.size()));
+    }
+
+    private List<String> replay(long seed) {
+        trades.clear();
+        var random = new Random(seed);
+        var book = new OrderBook(1, 4_096, 256);
+        var nextOrderId = 1L;
+
+        for (int i = 0; i < 20_000; i++) {
+            var op = random.nextInt(10);
+            if (op < 6 || nextOrderId == 1) {
+                var side = random.nextBoolean() ? Side.BUY : Side.SELL;
+                var price = 1_000 + (side == Side.BUY ? -random.nextInt(20) : random.nextInt(20)) + random.nextInt(5) - 2;
+                if (book.orderCount() < 4_000) {
+                    book.add(nextOrderId++, side, price, 1 + random.nextInt(100), recorder);
+                }
+            } else if (op < 9) {
+                book.cancel(1 + random.nextLong(nextOrderId - 1));
+            } else {
+                book.modify(1 + random.nextLong(nextOrderId - 1), 990 + random.nextInt(20), 1 + random.nextInt(100), recorder);
+            }
+
+            var bid = book.bestBid();
+            var ask = book.bestAsk();
+            assertTrue(bid == OrderBook.NO_PRICE || ask == OrderBook.NO_PRICE || bid < ask, "매칭 후 호가가 교차하지 않는다.");
+        }
+
+        var result = new ArrayList<>(trades);
+        var prices = new long[10];
+        var quantities = new long[10];
+        for (var side : Side.values()) {
+            var count = book.depth(side, 10, prices, quantities);
+            result.add(side + Arrays.toString(Arrays.copyOf(prices, count)) + Arrays.toString(Arrays.copyOf(quantities, count)));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,171 @@
+package com.newy.playground.market.outbox;
+
+import com.newy.playground.market.MarketRepository;
+import com.newy.playground.market.MarketService;
+import com.newy.playground.study.spring.test_config.TestContainerConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({TestContainerConfig.class, OutboxConfig.class, MarketService.class, MarketOutboxRelay.class})
+public class MarketOutboxRelayTest {
+    @Autowired
+    private MarketService marketService;
+
+    @Autowired
+    private MarketOutboxRelay relay;
+
+    @Autowired
+    private MarketOutboxRepository outboxRepository;
+
+    @Autowired
+    private MarketEventSink sink;
+
+    @Autowired
+    private MarketRepository marketRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        ((InMemoryMarketEventSink) sink).clear();
+    }
+
+    @Test
+    public void 거래소_변경과_같은_트랜잭션에서_아웃박스에_이벤트를_저장한다() {
+        var market = marketService.create("ABC");
+        marketService.changeCode(market.getId(), "XYZ");
+
+        var outbox = outboxRepository.findAll();
+        assertEquals(2, outbox.size());
+        assertEquals(MarketChangeType.CREATED, outbox.get(0).getEventType());
+        assertEquals(MarketChangeType.CODE_CHANGED, outbox.get(1).getEventType());
+    }
+
+    @Test
+    public void 아웃박스_이벤트를_거래소별_순서대로_전달하고_삭제한다() {
+        var first = marketService.create("A");
+        var second = marketService.create("B");
+        marketService.changeCode(first.getId(), "A2");
+        marketService.changeCode(second.getId(), "B2");
+        marketService.changeCode(first.getId(), "A3");
+
+        var result = relay.relayBatch();
+
+        assertEquals(5, result.delivered());
+        assertEquals(0, outboxRepository.count());
+
+        var delivered = ((InMemoryMarketEventSink) sink).delivered();
+        var firstMarketEvents = delivered.stream()
+                .filter(message -> message.marketId() == first.getId())
+                .map(MarketChangeMessage::eventType)
+                .toList();
+        assertEquals(List.of(MarketChangeType.CREATED, MarketChangeType.CODE_CHANGED, MarketChangeType.CODE_CHANGED), firstMarketEvents);
+        assertEquals(delivered.stream().map(MarketChangeMessage::id).sorted().toList(), delivered.stream().map(MarketChangeMessage::id).toList());
+    }
+
+    @Test
+    public void 전달할_이벤트가_없으면_아무것도_하지_않는다() {
+        assertEquals(0, relay.relayBatch().locked());
+        assertEquals(0, ((InMemoryMarketEventSink) sink).delivered().size());
+    }
+
+    /**
+     * 두 Relay 가 각자의 트랜잭션에서 잠가야 하기 때문에, 테스트 트랜잭션 없이 커밋한 이벤트로 실행하고 직접 정리한다.
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void 두_Relay_가_동시에_실행해도_이벤트를_한_번씩만_거래소별_순서대로_전달한다() throws Exception {
+        var marketIds = new ArrayList<Long>();
+        var prefix = "R" + System.nanoTime() % 1_000_000;
+        try {
+            for (int m = 0; m < 10; m++) {
+                var market = marketService.create(prefix + "-" + m);
+                marketIds.add(market.getId());
+                for (int change = 1; change <= 4; change++) {
+                    marketService.changeCode(market.getId(), prefix + "-" + m + "-" + change);
+                }
+            }
+
+            var delivered = new ConcurrentLinkedQueue<MarketChangeMessage>();
+            MarketEventSink slowSink = messages -> {
+                delivered.addAll(messages);
+                sleep(5); // 다른 Relay 가 잠긴 이벤트를 만나도록 트랜잭션을 길게 유지한다.
+            };
+            var properties = new OutboxProperties(7, 1000);
+            var relays = List.of(
+                    new MarketOutboxRelay(jdbcTemplate, transactionTemplate, slowSink, properties),
+                    new MarketOutboxRelay(jdbcTemplate, transactionTemplate, slowSink, properties)
+            );
+
+            var start = new CountDownLatch(1);
+            try (var executor = Executors.newFixedThreadPool(relays.size())) {
+                var futures = new ArrayList<Future<?>>();
+                for (var relay : relays) {
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        while (relay.relayBatch().locked() > 0) {
+                            Thread.onSpinWait();
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (var future : futures) {
+                    future.get(30, TimeUnit.SECONDS);
+                }
+            }
+
+            var ids = delivered.stream().map(MarketChangeMessage::id).toList();
+            assertEquals(50, ids.size());
+            assertEquals(50, new HashSet<>(ids).size(), "같은 이벤트를 두 번 전달하지 않는다.");
+
+            var lastIdByMarket = new HashMap<Long, Long>();
+            for (var message : delivered) {
+                var previous = lastIdByMarket.put(message.marketId(), message.id());
+                assertTrue(previous == null || previous < message.id(), "거래소별 전달 순서를 지킨다. marketId=" + message.marketId());
+            }
+        } finally {
+            if (!marketIds.isEmpty()) {
+                jdbcTemplate.update("DELETE FROM market_outbox WHERE market_id IN (:ids)", Map.of("ids", marketIds));
+                marketRepository.deleteAllById(marketIds);
+            }
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
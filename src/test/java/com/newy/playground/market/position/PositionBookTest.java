@@ -0,0 +1,90 @@
+package com.newy.playground.market.position;
+
+import com.newy.playground.common.snapshot.SnapshotStore;
+import com.newy.playground.market.journal.JournalConfig;
+import com.newy.playground.market.journal.TickJournal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PositionBookTest {
+    private final JournalConfig config = JournalConfig.defaults().withSegmentRecords(1_000).withIndexInterval(100);
+    private Path directory;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("position-book");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        try (var files = Files.walk(directory)) {
+            for (var file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void 스냅샷과_이후의_변경만_재생해서_복구한다() throws Exception {
+        try (var book = PositionBook.open(10, directory.resolve("journal"), config);
+             var store = new SnapshotStore(directory.resolve("snapshots"), 2)) {
+            for (int i = 0; i < 5_000; i++) {
+                book.apply(i % 10, i, 1, 100);
+            }
+            var snapshot = store.save(book);
+            book.apply(3, 5_000, -2, 110); // 스냅샷 저장을 기다리지 않고 변경한다.
+            book.apply(4, 5_001, 5, 90);
+            assertEquals(5_000, snapshot.get().sequence());
+        }
+
+        try (var book = PositionBook.open(10, directory.resolve("journal"), config);
+             var store = new SnapshotStore(directory.resolve("snapshots"), 2)) {
+            assertEquals(2, book.recover(store), "스냅샷 이후의 변경 2건만 재생한다.");
+            assertEquals(498, book.quantity(3));
+            assertEquals(500 * 100 - 2 * 110, book.cost(3));
+            assertEquals(505, book.quantity(4));
+            assertEquals(500, book.quantity(0));
+        }
+    }
+
+    @Test
+    public void 스냅샷의_sequence_는_디스크에_반영된_저널을_넘지_않는다() throws Exception {
+        try (var book = PositionBook.open(10, directory.resolve("journal"), config);
+             var store = new SnapshotStore(directory.resolve("snapshots"), 2)) {
+            for (int round = 1; round <= 3; round++) {
+                for (int i = 0; i < 700; i++) {
+                    book.apply(i % 10, i, 1, 100);
+                }
+                assertTrue(book.durableSequence() < round * 700L, "아직 flush 하지 않은 변경이 있다.");
+
+                var snapshot = store.save(book).get();
+                assertEquals(round * 700L, snapshot.sequence());
+                assertTrue(snapshot.sequence() <= book.durableSequence());
+            }
+        }
+    }
+
+    @Test
+    public void 스냅샷이_없으면_저널_전체를_재생한다() throws IOException {
+        try (var book = PositionBook.open(10, directory.resolve("journal"), config)) {
+            book.apply(1, 0, 3, 10);
+        }
+        try (var journal = TickJournal.open(directory.resolve("journal"), config)) {
+            journal.appendTick(1, 1, 10, 1); // 다른 종류의 레코드는 무시한다.
+        }
+
+        try (var book = PositionBook.open(10, directory.resolve("journal"), config);
+             var store = new SnapshotStore(directory.resolve("snapshots"), 2)) {
+            assertEquals(1, book.recover(store));
+            assertEquals(3, book.quantity(1));
+        }
+    }
+}
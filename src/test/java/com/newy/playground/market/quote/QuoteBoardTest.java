@@ -0,0 +1,74 @@
+package com.newy.playground.market.quote;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QuoteBoardTest {
+    @Test
+    public void 최신_호가를_조회한다() {
+        var board = new QuoteBoard(16);
+        var view = new QuoteView();
+
+        assertFalse(board.read(1, view), "한 번도 갱신하지 않은 거래소");
+
+        board.update(1, 99.5, 100.5, 100.0, 1_000);
+        board.update(1, 99.0, 101.0, 100.5, 2_000);
+
+        assertTrue(board.read(1, view));
+        assertEquals(99.0, view.bid());
+        assertEquals(101.0, view.ask());
+        assertEquals(100.5, view.last());
+        assertEquals(2_000, view.timestamp());
+        assertEquals(2, view.version());
+        assertEquals(100.5, board.last(1));
+    }
+
+    @Test
+    public void 범위를_벗어난_거래소는_예외가_발생한다() {
+        var board = new QuoteBoard(16);
+        assertThrows(IndexOutOfBoundsException.class, () -> board.update(16, 1, 1, 1, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> board.read(-1, new QuoteView()));
+    }
+
+    @Test
+    public void 읽기_스레드는_쓰는_중인_값을_읽지_않는다() throws InterruptedException {
+        var board = new QuoteBoard(4);
+        var running = new AtomicBoolean(true);
+        var failure = new AtomicReference<String>();
+
+        // 쓰기 스레드는 bid, ask, last 를 항상 같은 값으로 갱신한다.
+        var writer = new Thread(() -> {
+            for (long i = 1; running.get(); i++) {
+                board.update(1, i, i, i, i);
+            }
+        });
+        var readers = new Thread[4];
+        for (int r = 0; r < readers.length; r++) {
+            readers[r] = new Thread(() -> {
+                var view = new QuoteView();
+                while (running.get()) {
+                    if (board.read(1, view) && (view.bid() != view.ask() || view.ask() != view.last() || view.last() != view.timestamp())) {
+                        failure.set(view.toString());
+                    }
+                }
+            });
+        }
+
+        writer.start();
+        for (var reader : readers) {
+            reader.start();
+        }
+        Thread.sleep(300);
+        running.set(false);
+        writer.join();
+        for (var reader : readers) {
+            reader.join();
+        }
+
+        assertNull(failure.get(), "일관되지 않은 값을 읽었다.");
+    }
+}
@@ -0,0 +1,182 @@
+package com.newy.playground.market.quote.stream;
+
+import com.newy.playground.market.quote.QuoteBoard;
+import com.newy.playground.market.quote.QuoteView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QuoteStreamHubTest {
+    private final QuoteBoard board = new QuoteBoard(16);
+    private final QuoteStreamProperties properties = new QuoteStreamProperties(Duration.ZERO, 4, Duration.ofSeconds(10), Duration.ofMinutes(1));
+    private QuoteStreamHub hub = new QuoteStreamHub(board, properties);
+
+    @AfterEach
+    public void tearDown() {
+        hub.close();
+    }
+
+    @Test
+    public void 구독한_거래소의_변경만_전송한다() throws InterruptedException {
+        var sink = new RecordingSink();
+        hub.subscribe(new long[]{1}, sink);
+
+        board.update(1, 99, 101, 100, 1_000);
+        board.update(2, 9, 11, 10, 1_000);
+        hub.tick();
+        await(() -> sink.frames().size() == 1);
+
+        hub.tick(); // 변경 없음
+        Thread.sleep(50);
+
+        assertEquals(1, sink.frames().size());
+        var text = new String(sink.frames().getFirst().bytes(), StandardCharsets.UTF_8);
+        assertTrue(text.startsWith("id:1-1\nevent:quote\ndata:{\"marketId\":1,\"bid\":99.0"), text);
+        assertTrue(text.endsWith("}\n\n"));
+        assertEquals(1, hub.metrics().framesEncoded());
+    }
+
+    @Test
+    public void NaN_과_Infinity_는_null_로_인코딩한다() {
+        board.update(1, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, 1_000);
+        var view = new QuoteView();
+        assertTrue(board.read(1, view));
+
+        var text = new String(QuoteFrame.encode(view, 0).bytes(), StandardCharsets.UTF_8);
+
+        assertTrue(text.contains("data:{\"marketId\":1,\"bid\":null,\"ask\":null,\"last\":null,\"timestamp\":1000}\n\n"), text);
+    }
+
+    @Test
+    public void 같은_거래소의_구독자는_인코딩한_이벤트를_공유한다() {
+        var first = new RecordingSink();
+        var second = new RecordingSink();
+        hub.subscribe(new long[]{1, 2}, first);
+        hub.subscribe(new long[]{1}, second);
+
+        board.update(1, 99, 101, 100, 1_000);
+        hub.tick();
+        await(() -> first.frames().size() == 1 && second.frames().size() == 1);
+
+        assertSame(first.frames().getFirst().bytes(), second.frames().getFirst().bytes());
+        assertEquals(1, hub.metrics().framesEncoded());
+        assertEquals(2, hub.metrics().framesOffered());
+    }
+
+    @Test
+    public void 새_구독자는_마지막_호가부터_받는다() {
+        hub.subscribe(new long[]{1}, new RecordingSink());
+        board.update(1, 99, 101, 100, 1_000);
+        hub.tick();
+
+        var late = new RecordingSink();
+        hub.subscribe(new long[]{1}, late);
+
+        await(() -> late.frames().size() == 1);
+    }
+
+    @Test
+    public void 느린_구독자는_거래소별_최신_값으로_합쳐서_받고_빠른_구독자를_막지_않는다() {
+        var slow = new RecordingSink();
+        slow.blockFirstSend();
+        var fast = new RecordingSink();
+        hub.subscribe(new long[]{1}, slow);
+        hub.subscribe(new long[]{1}, fast);
+
+        for (int i = 1; i <= 5; i++) {
+            board.update(1, 99, 101, 100 + i, i);
+            hub.tick();
+            var expected = i;
+            await(() -> fast.frames().size() == expected);
+        }
+        slow.release();
+        await(() -> slow.frames().size() == 2);
+
+        assertEquals(List.of(1L, 5L), slow.frames().stream().map(QuoteFrame::version).toList(), "2 ~ 4 는 5 로 합쳐졌다.");
+        var metrics = hub.metrics();
+        assertEquals(3, metrics.framesConflated());
+        assertEquals(7, metrics.framesSent());
+    }
+
+    @Test
+    public void 전송이_오래_걸리는_구독자는_연결을_끊는다() throws InterruptedException {
+        hub = new QuoteStreamHub(board, new QuoteStreamProperties(Duration.ZERO, 4, Duration.ofMillis(10), Duration.ofMinutes(1)));
+        var slow = new RecordingSink();
+        slow.blockFirstSend();
+        var subscription = hub.subscribe(new long[]{1}, slow);
+
+        board.update(1, 99, 101, 100, 1_000);
+        hub.tick();
+        Thread.sleep(50);
+        hub.tick();
+
+        assertTrue(subscription.isClosed());
+        await(() -> slow.closed);
+        assertEquals(1, hub.metrics().slowDisconnects());
+        assertEquals(0, hub.metrics().subscribers());
+        slow.release();
+    }
+
+    @Test
+    public void 구독할_수_있는_거래소_수를_넘으면_예외가_발생한다() {
+        assertThrows(IllegalArgumentException.class, () -> hub.subscribe(new long[]{1, 2, 3, 4, 5}, new RecordingSink()));
+        assertThrows(IllegalArgumentException.class, () -> hub.subscribe(new long[]{16}, new RecordingSink()));
+        assertThrows(IllegalArgumentException.class, () -> hub.subscribe(new long[]{}, new RecordingSink()));
+    }
+
+    private static void await(BooleanSupplier condition) {
+        var deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("시간 안에 조건을 만족하지 못했습니다.");
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    static class RecordingSink implements QuoteStreamSink {
+        private final List<QuoteFrame> frames = new CopyOnWriteArrayList<>();
+        private volatile CountDownLatch blocker;
+        volatile boolean closed;
+
+        void blockFirstSend() {
+            blocker = new CountDownLatch(1);
+        }
+
+        void release() {
+            blocker.countDown();
+        }
+
+        List<QuoteFrame> frames() {
+            return frames;
+        }
+
+        @Override
+        public void send(List<QuoteFrame> batch) throws java.io.IOException {
+            frames.addAll(batch);
+            var latch = blocker;
+            if (latch != null) {
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new java.io.InterruptedIOException();
+                }
+                blocker = null;
+            }
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.newy.playground.market.timeseries;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static com.newy.playground.market.timeseries.CandleResolution.FIVE_MINUTES;
+import static com.newy.playground.market.timeseries.CandleResolution.ONE_MINUTE;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CandleAggregatorTest {
+    private static final long MINUTE = 60_000;
+    private static final long GRACE = 5_000;
+
+    private final List<Candle> emitted = new ArrayList<>();
+    private final CandleSink sink = (marketId, resolution, openTime, open, high, low, close, volume) ->
+            emitted.add(new Candle(marketId, resolution, openTime, open, high, low, close, volume));
+
+    @Test
+    public void 다음_캔들의_틱이_grace를_지나면_이전_캔들을_마감한다() {
+        var aggregator = new CandleAggregator(4, GRACE, sink, ONE_MINUTE);
+
+        aggregator.onTick(1, 1_000, 10, 1);
+        aggregator.onTick(1, 30_000, 12, 1);
+        aggregator.onTick(1, 50_000, 9, 1);
+        aggregator.onTick(1, MINUTE + 1_000, 11, 1);
+        assertTrue(emitted.isEmpty(), "grace 가 지나기 전에는 마감하지 않는다.");
+
+        aggregator.onTick(1, MINUTE + GRACE, 11, 1);
+        assertEquals(List.of(new Candle(1, ONE_MINUTE, 0, 10, 12, 9, 9, 3)), emitted);
+    }
+
+    @Test
+    public void grace_안에_늦게_도착한_틱은_이전_캔들에_반영한다() {
+        var aggregator = new CandleAggregator(4, GRACE, sink, ONE_MINUTE);
+
+        aggregator.onTick(1, 1_000, 10, 1);
+        aggregator.onTick(1, 30_000, 12, 1);
+        aggregator.onTick(1, MINUTE + 1_000, 11, 1);
+        aggregator.onTick(1, 40_000, 8, 2); // 늦게 도착했지만, 체결 시간이 가장 늦어서 종가가 된다.
+        aggregator.onTick(1, MINUTE + GRACE + 1_000, 11, 1);
+        aggregator.onTick(1, 20_000, 100, 1); // grace 를 넘긴 틱은 버린다.
+
+        assertEquals(new Candle(1, ONE_MINUTE, 0, 10, 12, 8, 8, 4), emitted.getFirst());
+        assertEquals(1, emitted.size());
+        assertEquals(1, aggregator.lateTicks());
+    }
+
+    @Test
+    public void 틱이_없던_구간에_grace_안으로_늦게_도착한_틱은_그_구간의_캔들을_만든다() {
+        var aggregator = new CandleAggregator(4, GRACE, sink, ONE_MINUTE);
+
+        aggregator.onTick(1, 1_000, 10, 1);
+        aggregator.onTick(1, 2 * MINUTE + 1_000, 12, 1); // 1분 구간을 건너뛴다. 0분 캔들은 grace 가 지나서 마감한다.
+        aggregator.onTick(1, MINUTE + 58_000, 11, 2); // 1분 구간의 종료 + grace 전에 도착했다.
+        aggregator.onTick(1, MINUTE + 30_000, 13, 1);
+        aggregator.onTick(1, 2 * MINUTE + GRACE, 12, 1);
+
+        assertEquals(List.of(
+                new Candle(1, ONE_MINUTE, 0, 10, 10, 10, 10, 1),
+                new Candle(1, ONE_MINUTE, MINUTE, 13, 13, 11, 11, 3)
+        ), emitted);
+        assertEquals(0, aggregator.lateTicks());
+
+        aggregator.flush();
+        assertEquals(new Candle(1, ONE_MINUTE, 2 * MINUTE, 12, 12, 12, 12, 2), emitted.getLast());
+    }
+
+    @Test
+    public void 여러_단위의_캔들을_함께_계산한다() {
+        var aggregator = new CandleAggregator(4, GRACE, sink, ONE_MINUTE, FIVE_MINUTES);
+
+        for (int minute = 0; minute < 5; minute++) {
+            aggregator.onTick(1, minute * MINUTE, minute + 1, 1);
+        }
+        aggregator.flush();
+
+        assertEquals(6, emitted.size());
+        assertTrue(emitted.contains(new Candle(1, FIVE_MINUTES, 0, 1, 5, 1, 5, 5)));
+    }
+
+    @Test
+    public void 틱이_없는_거래소는_advanceTo로_마감한다() {
+        var aggregator = new CandleAggregator(4, GRACE, sink, ONE_MINUTE);
+
+        aggregator.onTick(2, 1_000, 10, 1);
+        aggregator.advanceTo(MINUTE + GRACE - 1);
+        assertTrue(emitted.isEmpty());
+
+        aggregator.advanceTo(MINUTE + GRACE);
+        assertEquals(List.of(new Candle(2, ONE_MINUTE, 0, 10, 10, 10, 10, 1)), emitted);
+
+        aggregator.onTick(2, 2_000, 10, 1);
+        assertEquals(1, emitted.size(), "이미 마감한 캔들의 틱은 버린다.");
+    }
+
+    /**
+     * 실시간으로는 grace 안에서 순서가 뒤섞여 도착하고, 재구성할 때는 {@link TickRepository#scan} 처럼 체결 시간 순서로 읽는다.
+     */
+    @Test
+    public void 늦게_도착한_틱이_있어도_시간_순서로_재구성한_캔들과_같다() {
+        var random = new Random(42);
+        var ticks = new ArrayList<Tick>();
+        for (int i = 0; i < 10_000; i++) {
+            ticks.add(new Tick(random.nextInt(4), i * 100L, 100 + random.nextGaussian(), random.nextInt(10)));
+        }
+
+        // 도착 시간 = 체결 시간 + grace 보다 작은 지연
+        var arrivals = new ArrayList<long[]>();
+        for (int i = 0; i < ticks.size(); i++) {
+            arrivals.add(new long[]{ticks.get(i).tradedAt() + random.nextInt((int) GRACE - 1_000), i});
+        }
+        arrivals.sort((a, b) -> Long.compare(a[0], b[0]));
+        var live = new ArrayList<Tick>(ticks.size());
+        for (var arrival : arrivals) {
+            live.add(ticks.get((int) arrival[1]));
+        }
+        assertNotEquals(ticks, live, "늦게 도착한 틱이 있어야 한다.");
+
+        var liveAggregator = aggregate(live);
+        var liveCandles = sorted(emitted);
+        emitted.clear();
+        aggregate(ticks);
+
+        assertEquals(0, liveAggregator.lateTicks());
+        assertFalse(liveCandles.isEmpty());
+        assertEquals(sorted(emitted), liveCandles, "마감 순서는 다를 수 있지만 캔들은 같다.");
+    }
+
+    private CandleAggregator aggregate(List<Tick> ticks) {
+        var aggregator = new CandleAggregator(4, GRACE, sink, ONE_MINUTE, FIVE_MINUTES);
+        for (var tick : ticks) {
+            aggregator.onTick(tick.marketId(), tick.tradedAt(), tick.price(), tick.volume());
+        }
+        aggregator.flush();
+        return aggregator;
+    }
+
+    private static List<Candle> sorted(List<Candle> candles) {
+        return candles.stream()
+                .sorted(Comparator.comparingLong(Candle::marketId).thenComparing(Candle::resolution).thenComparingLong(Candle::openTime))
+                .toList();
+    }
+}
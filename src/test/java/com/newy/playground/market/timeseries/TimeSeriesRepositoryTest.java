@@ -0,0 +1,170 @@
+package com.newy.playground.market.timeseries;
+
+import com.newy.playground.market.Market;
+import com.newy.playground.market.MarketRepository;
+import com.newy.playground.study.spring.test_config.TestContainerConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({TestContainerConfig.class, TimeSeriesConfig.class, TickRepository.class, CandleRepository.class, TimeSeriesPartitionManager.class})
+public class TimeSeriesRepositoryTest {
+    private static final long DAY = 24 * 60 * 60 * 1000L;
+    private static final String RETENTION_TABLE = "retention_test_tick";
+
+    @Autowired
+    private MarketRepository marketRepository;
+
+    @Autowired
+    private TickRepository tickRepository;
+
+    @Autowired
+    private CandleRepository candleRepository;
+
+    @Autowired
+    private TimeSeriesPartitionManager partitionManager;
+
+    @Autowired
+    private TimeSeriesDialect dialect;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDate today = LocalDate.now(ZoneOffset.UTC);
+    private final long todayMillis = today.atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+    private long marketId;
+
+    @BeforeEach
+    public void setUp() {
+        partitionManager.maintain(today);
+        marketId = marketRepository.saveAndFlush(new Market("ABC")).getId();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + RETENTION_TABLE);
+    }
+
+    @Test
+    public void 보관_기간부터_미래_파티션까지_미리_만든다() {
+        var names = partitionManager.partitionNames("market_tick");
+
+        assertTrue(names.contains(PartitionInterval.DAY.partitionName(today.minusDays(30))));
+        assertFalse(names.contains(PartitionInterval.DAY.partitionName(today.minusDays(31))));
+        assertTrue(names.contains(PartitionInterval.DAY.partitionName(today)));
+        assertTrue(names.contains(PartitionInterval.DAY.partitionName(today.plusDays(3))));
+        assertTrue(partitionManager.partitionNames("market_candle").contains(PartitionInterval.MONTH.partitionName(today.withDayOfMonth(1))));
+    }
+
+    /**
+     * 파티션 삭제는 MySQL 에서 자동 커밋되어 되돌릴 수 없기 때문에, 다른 테스트가 사용하는 테이블 대신 전용 테이블로 확인한다.
+     */
+    @Test
+    public void 보관_기간이_지난_파티션을_삭제한다() {
+        createRetentionTable();
+        partitionManager.maintain(RETENTION_TABLE, PartitionInterval.DAY, today, 30);
+
+        partitionManager.maintain(RETENTION_TABLE, PartitionInterval.DAY, today.plusDays(31), 30);
+
+        var names = partitionManager.partitionNames(RETENTION_TABLE);
+        assertFalse(names.contains(PartitionInterval.DAY.partitionName(today)));
+        assertTrue(names.contains(PartitionInterval.DAY.partitionName(today.plusDays(1))), "보관 기간 안의 파티션은 남긴다.");
+        assertTrue(names.contains(PartitionInterval.DAY.partitionName(today.plusDays(31))));
+        assertTrue(partitionManager.partitionNames("market_tick").contains(PartitionInterval.DAY.partitionName(today)), "다른 테이블은 바꾸지 않는다.");
+    }
+
+    @Test
+    public void 중간에_빠진_파티션을_다시_만든다() {
+        createRetentionTable();
+        partitionManager.maintain(RETENTION_TABLE, PartitionInterval.DAY, today, 30);
+        var missing = PartitionInterval.DAY.partitionName(today.plusDays(1));
+        dialect.dropPartition(jdbcTemplate, RETENTION_TABLE, missing);
+        assertFalse(partitionManager.partitionNames(RETENTION_TABLE).contains(missing));
+
+        partitionManager.maintain(RETENTION_TABLE, PartitionInterval.DAY, today, 30);
+
+        var names = partitionManager.partitionNames(RETENTION_TABLE);
+        for (int day = 0; day <= 3; day++) {
+            assertTrue(names.contains(PartitionInterval.DAY.partitionName(today.plusDays(day))), names.toString());
+        }
+    }
+
+    @Test
+    public void 틱을_대량_적재하고_구간으로_조회한다() {
+        tickRepository.insertAll(List.of(
+                new Tick(marketId, todayMillis + 1_000, 100.0, 1.0),
+                new Tick(marketId, todayMillis + 2_000, 101.5, 2.0),
+                new Tick(marketId, todayMillis + DAY + 1_000, 99.0, 3.0)
+        ));
+
+        var ticks = tickRepository.findAll(marketId, todayMillis, todayMillis + DAY);
+
+        assertEquals(List.of(
+                new Tick(marketId, todayMillis + 1_000, 100.0, 1.0),
+                new Tick(marketId, todayMillis + 2_000, 101.5, 2.0)
+        ), ticks);
+    }
+
+    /**
+     * PostgreSQL 은 DEFAULT 파티션이 없기 때문에, 과거 파티션이 없으면 적재에 실패한다.
+     */
+    @Test
+    public void 보관_기간_안의_과거_틱을_적재한다() {
+        var yesterdayMillis = todayMillis - DAY;
+        tickRepository.insertAll(List.of(
+                new Tick(marketId, yesterdayMillis + 1_000, 100.0, 1.0),
+                new Tick(marketId, yesterdayMillis + 2_000, 101.0, 2.0)
+        ));
+
+        assertEquals(List.of(
+                new Tick(marketId, yesterdayMillis + 1_000, 100.0, 1.0),
+                new Tick(marketId, yesterdayMillis + 2_000, 101.0, 2.0)
+        ), tickRepository.findAll(marketId, yesterdayMillis, todayMillis));
+        assertTrue(partitionManager.partitionNames("market_tick").contains(PartitionInterval.DAY.partitionName(today.minusDays(1))));
+    }
+
+    @Test
+    public void 하루_구간_조회는_파티션_1개만_읽는다() {
+        var from = "'" + EpochMillis.toDateTime(todayMillis) + "'";
+        var to = "'" + EpochMillis.toDateTime(todayMillis + DAY) + "'";
+        var sql = "SELECT * FROM market_tick WHERE market_id = 1 AND traded_at >= " + from + " AND traded_at < " + to;
+
+        var plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql).stream().map(Object::toString).toList());
+
+        var todayPartition = PartitionInterval.DAY.partitionName(today);
+        var tomorrowPartition = PartitionInterval.DAY.partitionName(today.plusDays(1));
+        assertTrue(plan.contains(todayPartition), plan);
+        assertFalse(plan.contains(tomorrowPartition), plan);
+        if (dialect == TimeSeriesDialect.MYSQL) {
+            assertTrue(plan.contains("partitions=" + todayPartition + ","), plan);
+        }
+    }
+
+    @Test
+    public void 같은_캔들을_다시_저장하면_덮어쓴다() {
+        var candle = new Candle(marketId, CandleResolution.ONE_MINUTE, todayMillis, 1, 3, 1, 2, 10);
+        candleRepository.upsertAll(List.of(candle));
+        candleRepository.upsertAll(List.of(new Candle(marketId, CandleResolution.ONE_MINUTE, todayMillis, 1, 4, 1, 3, 20)));
+
+        var candles = candleRepository.findAll(marketId, CandleResolution.ONE_MINUTE, todayMillis, todayMillis + DAY);
+
+        assertEquals(List.of(new Candle(marketId, CandleResolution.ONE_MINUTE, todayMillis, 1, 4, 1, 3, 20)), candles);
+    }
+
+    private void createRetentionTable() {
+        jdbcTemplate.execute(dialect == TimeSeriesDialect.MYSQL
+                ? "CREATE TABLE " + RETENTION_TABLE + " (traded_at DATETIME(6) NOT NULL) PARTITION BY RANGE COLUMNS (traded_at) (PARTITION p19700101 VALUES LESS THAN ('1970-01-02'))"
+                : "CREATE TABLE " + RETENTION_TABLE + " (traded_at TIMESTAMP(6) NOT NULL) PARTITION BY RANGE (traded_at)");
+    }
+}
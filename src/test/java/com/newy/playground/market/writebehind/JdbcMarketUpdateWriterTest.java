@@ -0,0 +1,79 @@
+package com.newy.playground.market.writebehind;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.newy.playground.market.MarketService;
+import com.newy.playground.market.outbox.MarketChangeType;
+import com.newy.playground.market.outbox.MarketOutbox;
+import com.newy.playground.market.outbox.MarketOutboxRepository;
+import com.newy.playground.study.spring.test_config.TestContainerConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({TestContainerConfig.class, MarketService.class})
+public class JdbcMarketUpdateWriterTest {
+    @Autowired
+    private MarketService marketService;
+
+    @Autowired
+    private MarketOutboxRepository outboxRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private JdbcMarketUpdateWriter writer;
+
+    @BeforeEach
+    public void setUp() {
+        writer = new JdbcMarketUpdateWriter(jdbcTemplate, transactionTemplate, objectMapper);
+    }
+
+    @Test
+    public void 거래소_코드를_한_번에_바꾸고_아웃박스에_이벤트를_저장한다() {
+        var first = marketService.create("A");
+        var second = marketService.create("B");
+        outboxRepository.deleteAllInBatch();
+
+        writer.write(List.of(new MarketUpdate(first.getId(), "A2"), new MarketUpdate(second.getId(), "B2")));
+
+        assertEquals("A2", codeOf(first.getId()));
+        assertEquals("B2", codeOf(second.getId()));
+        var outbox = outboxRepository.findAll();
+        assertEquals(List.of(first.getId(), second.getId()), outbox.stream().map(MarketOutbox::getMarketId).toList());
+        assertEquals(MarketChangeType.CODE_CHANGED, outbox.get(0).getEventType());
+    }
+
+    @Test
+    public void 없는_거래소의_변경은_이벤트를_만들지_않는다() {
+        var market = marketService.create("A");
+        outboxRepository.deleteAllInBatch();
+
+        writer.write(List.of(new MarketUpdate(market.getId(), "A2"), new MarketUpdate(market.getId() + 1_000, "X")));
+
+        var outbox = outboxRepository.findAll();
+        assertEquals(1, outbox.size());
+        assertEquals(market.getId(), outbox.get(0).getMarketId());
+    }
+
+    private String codeOf(long marketId) {
+        return jdbcTemplate.queryForObject("SELECT code FROM market WHERE id = ?", String.class, marketId);
+    }
+}
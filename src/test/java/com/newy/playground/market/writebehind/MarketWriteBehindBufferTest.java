@@ -0,0 +1,209 @@
+package com.newy.playground.market.writebehind;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MarketWriteBehindBufferTest {
+    @TempDir
+    private Path directory;
+    private WriteBehindProperties properties;
+    private final List<List<MarketUpdate>> written = new CopyOnWriteArrayList<>();
+    private MarketWriteBehindBuffer buffer;
+
+    @BeforeEach
+    public void setUp() {
+        properties = WriteBehindProperties.defaults()
+                .withFlushInterval(Duration.ofHours(1))
+                .withRetries(3, Duration.ofMillis(1))
+                .withDirectory(directory);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        buffer.stop();
+    }
+
+    @Test
+    public void 같은_거래소의_변경은_마지막_값_1개로_합친다() throws InterruptedException {
+        buffer = start(properties, written::add);
+        for (int i = 0; i < 1_000; i++) {
+            buffer.changeCode(3 - i % 3, "CODE-" + i);
+        }
+
+        assertTrue(buffer.flush(Duration.ofSeconds(5)));
+
+        assertEquals(List.of(List.of(
+                new MarketUpdate(1, "CODE-998"),
+                new MarketUpdate(2, "CODE-997"),
+                new MarketUpdate(3, "CODE-999")
+        )), written, "marketId 순서로 트랜잭션 1개에 쓴다.");
+        var metrics = buffer.metrics();
+        assertEquals(1_000, metrics.updates());
+        assertEquals(997, metrics.coalesced());
+        assertEquals(3, metrics.rowsWritten());
+        assertEquals(1, metrics.flushes());
+        assertEquals(0.997, metrics.coalescingRatio(), 1e-9);
+    }
+
+    @Test
+    public void batchSize_만큼_쌓이면_주기를_기다리지_않고_쓴다() throws InterruptedException {
+        buffer = start(properties.withBatchSize(10), written::add);
+        for (long id = 1; id <= 25; id++) {
+            buffer.changeCode(id, "C" + id);
+        }
+
+        awaitRows(20);
+        assertTrue(written.stream().allMatch(batch -> batch.size() <= 10), "트랜잭션 1개에 batchSize 개까지만 쓴다.");
+        assertTrue(buffer.flush(Duration.ofSeconds(5)));
+        assertEquals(25, buffer.metrics().rowsWritten());
+    }
+
+    @Test
+    public void 버퍼가_가득_차면_새_거래소의_변경을_기다리게_한_후_거절한다() throws InterruptedException {
+        var release = new CountDownLatch(1);
+        buffer = start(properties.withCapacity(4).withBatchSize(4).withOfferTimeout(Duration.ofMillis(50)), updates -> {
+            await(release);
+            written.add(updates);
+        });
+
+        // 첫 4개는 flush 스레드가 가져가서 쓰는 중이고(멈춤), 다음 4개로 버퍼가 다시 가득 찬다.
+        for (long id = 1; id <= 4; id++) {
+            buffer.changeCode(id, "A");
+        }
+        awaitPending(0);
+        for (long id = 5; id <= 8; id++) {
+            buffer.changeCode(id, "B");
+        }
+
+        assertThrows(WriteBehindRejectedException.class, () -> buffer.changeCode(9, "C"));
+        assertDoesNotThrow(() -> buffer.changeCode(8, "C"), "대기 중인 거래소의 변경은 자리를 차지하지 않는다.");
+        assertEquals(1, buffer.metrics().rejected());
+
+        release.countDown();
+        assertTrue(buffer.flush(Duration.ofSeconds(5)));
+        assertEquals(new MarketUpdate(8, "C"), written.getLast().getLast());
+    }
+
+    @Test
+    public void 실패한_변경은_다시_쓴다() throws InterruptedException {
+        var calls = new AtomicInteger();
+        buffer = start(properties, updates -> {
+            if (calls.getAndIncrement() == 0) {
+                throw new IllegalStateException("DB 장애");
+            }
+            written.add(updates);
+        });
+        buffer.changeCode(1, "A");
+
+        assertTrue(buffer.flush(Duration.ofSeconds(5)));
+        assertEquals(List.of(List.of(new MarketUpdate(1, "A"))), written);
+        assertEquals(1, buffer.metrics().failures());
+    }
+
+    @Test
+    public void 재시도해도_실패하는_행만_dead_letter_로_보내고_나머지는_쓴다() throws InterruptedException, IOException {
+        buffer = start(properties.withRetries(2, Duration.ofMillis(1)), updates -> {
+            // 코드가 컬럼 크기보다 긴 행은 항상 실패한다.
+            if (updates.stream().anyMatch(update -> update.code().length() > 50)) {
+                throw new IllegalStateException("value too long");
+            }
+            written.add(updates);
+        });
+        for (long id = 1; id <= 5; id++) {
+            buffer.changeCode(id, id == 2 ? "X".repeat(51) : "C" + id);
+        }
+
+        assertTrue(buffer.flush(Duration.ofSeconds(5)));
+        buffer.changeCode(6, "C6");
+        assertTrue(buffer.flush(Duration.ofSeconds(5)), "dead letter 로 보낸 후에는 다음 변경을 막지 않는다.");
+
+        assertEquals(List.of(1L, 3L, 4L, 5L, 6L), written.stream().flatMap(List::stream).map(MarketUpdate::marketId).toList());
+        var metrics = buffer.metrics();
+        assertEquals(1, metrics.deadLettered());
+        assertEquals(3 + 1, metrics.failures(), "batch 3번(최초 + 재시도 2번) + 행 1개");
+        assertEquals(List.of(new MarketUpdate(2, "X".repeat(51))), new MarketUpdateFile(directory.resolve("dead-letter.bin")).readAll());
+    }
+
+    @Test
+    public void 종료_시간_안에_쓰지_못한_변경은_spill_파일에_저장하고_다음_시작_시_쓴다() throws InterruptedException, IOException {
+        var release = new CountDownLatch(1);
+        buffer = start(properties.withBatchSize(1).withShutdownTimeout(Duration.ofMillis(100)), updates -> {
+            await(release);
+            throw new IllegalStateException("DB 응답 없음");
+        });
+        buffer.changeCode(1, "A");
+        awaitPending(0);
+        buffer.changeCode(2, "B");
+        buffer.changeCode(3, "C");
+
+        buffer.stop();
+        release.countDown();
+
+        assertEquals(3, buffer.metrics().spilled(), "쓰는 중이던 변경도 저장한다.");
+        assertTrue(Files.exists(directory.resolve("pending.spill")));
+
+        buffer = start(properties, written::add);
+        assertTrue(buffer.flush(Duration.ofSeconds(5)));
+        assertEquals(List.of(List.of(new MarketUpdate(1, "A"), new MarketUpdate(2, "B"), new MarketUpdate(3, "C"))), written);
+        assertFalse(Files.exists(directory.resolve("pending.spill")), "다시 쓴 후에 spill 파일을 삭제한다.");
+    }
+
+    @Test
+    public void 종료할_때_남은_변경을_모두_쓰고_이후_변경은_거절한다() {
+        buffer = start(properties, written::add);
+        for (long id = 1; id <= 100; id++) {
+            buffer.changeCode(id, "C" + id);
+        }
+
+        buffer.stop();
+
+        assertEquals(100, written.stream().mapToInt(List::size).sum());
+        assertFalse(buffer.isRunning());
+        assertThrows(WriteBehindRejectedException.class, () -> buffer.changeCode(1, "X"));
+    }
+
+    private static MarketWriteBehindBuffer start(WriteBehindProperties properties, MarketUpdateWriter writer) {
+        var buffer = new MarketWriteBehindBuffer(updates -> writer.write(new ArrayList<>(updates)), properties);
+        buffer.start();
+        return buffer;
+    }
+
+    private void awaitRows(int rows) throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (written.stream().mapToInt(List::size).sum() < rows) {
+            assertTrue(System.nanoTime() < deadline, "시간 안에 쓰지 않았다.");
+            Thread.sleep(5);
+        }
+    }
+
+    private void awaitPending(int pending) throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (buffer.metrics().pending() != pending) {
+            assertTrue(System.nanoTime() < deadline, "시간 안에 flush 하지 않았다.");
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
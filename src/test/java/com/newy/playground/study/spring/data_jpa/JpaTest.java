@@ -16,24 +16,24 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @Repository
-interface MarketRepository extends JpaRepository<Market, Long> {
-    Optional<Market> findByCode(String code);
+interface MarketRepository1 extends JpaRepository<Market1, Long> {
+    Optional<Market1> findByCode(String code);
 }
 
 @Entity
 @Table(name = "market")
-class Market {
+class Market1 {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     private String code;
 
-    Market(String code) {
+    Market1(String code) {
         this.code = code;
     }
 
-    public Market() {
+    public Market1() {
 
     }
 
@@ -50,13 +50,13 @@ class Market {
 @Import(TestContainerConfig.class)
 public class JpaTest {
     @Autowired
-    private MarketRepository marketRepository;
+    private MarketRepository1 marketRepository;
 
     @Test
     @Transactional
     public void test() {
 
-        Market market = new Market("ABC");
+        Market1 market = new Market1("ABC");
         marketRepository.save(market);
         var result = marketRepository.findByCode("ABC");
 